@@ -0,0 +1,155 @@
+package com.example.streaming.benchmark;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.service.CsvUserWriter;
+import com.example.streaming.service.FastXlsxUserWriter;
+import com.example.streaming.service.UserBatch;
+import com.example.streaming.service.UserBatchPool;
+import com.example.streaming.service.UserColumn;
+import com.example.streaming.service.UserRowWriter;
+import com.example.streaming.util.CsvWriter;
+import com.example.streaming.util.SpreadsheetMlWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 행 객체 방식과 컬럼형 배치 방식의 export 비교 (1 op = rows건 전체 export 1회)
+ *
+ * JDBC 드라이버가 돌려주는 값(원시 값 + String)을 미리 만들어 두고,
+ * ROW는 행마다 UserDto를 만들어 writeRow로, BATCH는 풀의 UserBatch에 채워 writeBatch로 렌더링한다.
+ * 결과 매핑 + 렌더링 비용만 비교하기 위함 (DB 조회 제외). -prof gc로 행당 할당량 비교
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=ColumnarBatchBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ColumnarBatchBenchmark {
+
+    public enum Writer {
+        CSV, FAST_XLSX
+    }
+
+    public enum Layout {
+        ROW, BATCH
+    }
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"CSV", "FAST_XLSX"})
+    public Writer writer;
+
+    @Param({"ROW", "BATCH"})
+    public Layout layout;
+
+    // 드라이버가 돌려주는 값 (ResultSet.getLong/getString 등의 결과)
+    private long[] ids;
+    private String[] usernames;
+    private String[] emails;
+    private int[] ages;
+    private String[] departments;
+    private long[] createdAtMillis;
+    private boolean[] actives;
+
+    private UserBatchPool pool;
+
+    @Setup
+    public void setUp() {
+        UserDto[] users = ExportWorkloads.syntheticUsers();
+        int size = users.length;
+        ids = new long[size];
+        usernames = new String[size];
+        emails = new String[size];
+        ages = new int[size];
+        departments = new String[size];
+        createdAtMillis = new long[size];
+        actives = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            UserDto user = users[i];
+            ids[i] = user.getId();
+            usernames[i] = user.getUsername();
+            emails[i] = user.getEmail();
+            ages[i] = user.getAge();
+            departments[i] = user.getDepartment();
+            createdAtMillis[i] = user.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+            actives[i] = user.getActive();
+        }
+        pool = new UserBatchPool(UserBatch.DEFAULT_CAPACITY, 4);
+    }
+
+    @Benchmark
+    public long export(ExportThroughput throughput) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        if (writer == Writer.CSV) {
+            CsvWriter csvWriter = new CsvWriter(out);
+            csvWriter.writeBom();
+            render(new CsvUserWriter(csvWriter));
+            csvWriter.flush();
+        } else {
+            SpreadsheetMlWriter xlsxWriter = new SpreadsheetMlWriter(out);
+            render(new FastXlsxUserWriter(xlsxWriter, "사용자 목록", UserColumn.ALL));
+            xlsxWriter.close();
+        }
+        throughput.record(rows, out);
+        return out.getCount();
+    }
+
+    private void render(UserRowWriter target) throws IOException {
+        int size = ids.length;
+        if (layout == Layout.ROW) {
+            for (int row = 0; row < rows; row++) {
+                int i = row % size;
+                UserDto user = new UserDto();
+                user.setId(ids[i]);
+                user.setUsername(usernames[i]);
+                user.setEmail(emails[i]);
+                user.setAge(ages[i]);
+                user.setDepartment(departments[i]);
+                long millis = createdAtMillis[i];
+                user.setCreatedAt(LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                        (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC));
+                user.setActive(actives[i]);
+                target.writeRow(user);
+            }
+            return;
+        }
+
+        UserBatch batch = pool.acquire();
+        for (int row = 0; row < rows; row++) {
+            int i = row % size;
+            int r = batch.addRow();
+            batch.setId(r, ids[i]);
+            batch.setUsername(r, usernames[i]);
+            batch.setEmail(r, emails[i]);
+            batch.setAge(r, ages[i]);
+            batch.setDepartment(r, departments[i]);
+            batch.setCreatedAt(r, createdAtMillis[i]);
+            batch.setActive(r, actives[i]);
+            if (batch.isFull()) {
+                target.writeBatch(batch);
+                pool.release(batch);
+                batch = pool.acquire();
+            }
+        }
+        target.writeBatch(batch);
+        pool.release(batch);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.streaming.benchmark;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.util.ContentEncoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 압축 레벨별 CPU 비용 ↔ 절감 바이트 비교 (1 op = rows건 export 1회 + 압축)
+ *
+ * bytes 카운터는 압축 후 바이트. 압축 전 크기는 ExportWriterBenchmark의 같은 writer/rows 결과와 비교
+ * (bytes/op = bytes/s ÷ ops/s). ops/s 감소분이 레벨별 CPU 비용이다.
+ * FAST_XLSX는 이미 ZIP이라 거의 줄지 않음 → export.compression.mime-types 기본값에서 제외한 근거
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=CompressionBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"CSV", "FAST_XLSX"})
+    public ExportWriterBenchmark.Writer writer;
+
+    @Param({"GZIP", "ZSTD"})
+    public ContentEncoding encoding;
+
+    @Param({"1", "3", "6", "9"})
+    public int level;
+
+    @Param({"65536"})
+    public int bufferSize;
+
+    private UserDto[] users;
+
+    @Setup
+    public void setUp() {
+        users = ExportWorkloads.syntheticUsers();
+    }
+
+    @Benchmark
+    public long export(ExportThroughput throughput) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (OutputStream compressed = encoding.wrap(out, level, bufferSize)) {
+            switch (writer) {
+                case CSV -> ExportWorkloads.writeCsv(users, rows, compressed);
+                case FAST_XLSX -> ExportWorkloads.writeFastXlsx(users, rows, compressed);
+                default -> throw new IllegalArgumentException("지원하지 않는 writer: " + writer);
+            }
+        }
+        throughput.record(rows, out);
+        return out.getCount();
+    }
+}
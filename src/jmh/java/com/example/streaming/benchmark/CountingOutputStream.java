@@ -0,0 +1,25 @@
+package com.example.streaming.benchmark;
+
+import java.io.OutputStream;
+
+/**
+ * 바이트 수만 세고 버리는 OutputStream (소켓/디스크 I/O 비용 제외)
+ */
+final class CountingOutputStream extends OutputStream {
+
+    private long count = 0;
+
+    @Override
+    public void write(int b) {
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        count += len;
+    }
+
+    long getCount() {
+        return count;
+    }
+}
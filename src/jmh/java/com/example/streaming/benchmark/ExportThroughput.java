@@ -0,0 +1,29 @@
+package com.example.streaming.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 보조 처리량 카운터 - ops/s와 함께 rows/s, bytes/s로 리포트됨
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class ExportThroughput {
+
+    public long rows;
+    public long bytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        rows = 0;
+        bytes = 0;
+    }
+
+    void record(int rowCount, CountingOutputStream out) {
+        rows += rowCount;
+        bytes += out.getCount();
+    }
+}
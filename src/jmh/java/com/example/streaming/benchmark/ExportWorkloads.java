@@ -0,0 +1,145 @@
+package com.example.streaming.benchmark;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.service.CsvUserWriter;
+import com.example.streaming.service.ExcelUserWriter;
+import com.example.streaming.service.FastXlsxUserWriter;
+import com.example.streaming.service.JsonUserWriter;
+import com.example.streaming.service.SharedStringPolicy;
+import com.example.streaming.service.UserColumn;
+import com.example.streaming.util.CsvWriter;
+import com.example.streaming.util.ExcelUtil;
+import com.example.streaming.util.SpreadsheetMlWriter;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * 벤치마크 공통 데이터/실행 경로
+ *
+ * 합성 사용자 데이터는 UserDatasetGenerator(insertGeneratedUsers)와 같은 값으로 미리 만들어 두고 순환해서 사용한다.
+ * DB 조회 비용을 빼고 행 렌더링 + 직렬화 비용만 측정하기 위함
+ */
+final class ExportWorkloads {
+
+    /**
+     * 미리 만들어 두는 행 수 (요청 행 수만큼 순환)
+     */
+    private static final int POOL_SIZE = 4096;
+
+    private static final String[] DEPARTMENTS = {"Engineering", "Marketing", "Sales", "HR", "Finance"};
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 9, 30, 15);
+
+    private ExportWorkloads() {
+    }
+
+    static UserDto[] syntheticUsers() {
+        UserDto[] users = new UserDto[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            long x = i + 1;
+            users[i] = UserDto.builder()
+                    .id(x)
+                    .username(String.format("user_%06d", x))
+                    .email("user" + x + "@company.com")
+                    .age(20 + (int) (x % 40))
+                    .department(DEPARTMENTS[(int) (x % 5)])
+                    .createdAt(BASE_TIME.minusDays(x % 365).minusSeconds(x))
+                    .active(x % 10 != 0)
+                    .build();
+        }
+        return users;
+    }
+
+    /**
+     * SXSSF 경로 (StreamingExcelService.writeStreamingExcel과 같은 구성)
+     *
+     * @param sharedStyles false면 스타일 없이 기록 (스타일 적용 비용 비교용)
+     */
+    static void writeSxssf(UserDto[] users, int rows, OutputStream out,
+                           int windowSize, boolean compressTempFiles, boolean sharedStyles) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(windowSize);
+        workbook.setCompressTempFiles(compressTempFiles);
+        try {
+            Sheet sheet = workbook.createSheet("사용자 목록");
+            CellStyle headerStyle = sharedStyles ? ExcelUserWriter.createHeaderStyle(workbook) : null;
+            CellStyle dataStyle = sharedStyles ? ExcelUserWriter.createDataStyle(workbook) : null;
+            CellStyle dateStyle = sharedStyles ? ExcelUserWriter.createDateStyle(workbook) : null;
+
+            ExcelUserWriter writer = new ExcelUserWriter(sheet, headerStyle, dataStyle, dateStyle,
+                    UserColumn.ALL, Integer.MAX_VALUE);
+            for (int i = 0; i < rows; i++) {
+                writer.writeRow(users[i % POOL_SIZE]);
+            }
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * 메모리 XSSF 경로 (StreamingExcelService.createInMemoryExcel과 같은 구성 - 임시파일 없음, 미리 잡은 버퍼)
+     */
+    static void writeXssf(UserDto[] users, int rows, OutputStream out) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            ExcelUserWriter writer = ExcelUtil.createUserSheet(workbook, UserColumn.ALL, Integer.MAX_VALUE);
+            for (int i = 0; i < rows; i++) {
+                writer.writeRow(users[i % POOL_SIZE]);
+            }
+            out.write(ExcelUtil.toBytes(workbook, rows));
+        }
+    }
+
+    /**
+     * CSV 경로 (StreamingCsvService.writeStreamingCsv와 같은 구성)
+     */
+    static void writeCsv(UserDto[] users, int rows, OutputStream out) throws IOException {
+        CsvWriter csvWriter = new CsvWriter(out);
+        csvWriter.writeBom();
+        CsvUserWriter writer = new CsvUserWriter(csvWriter);
+        for (int i = 0; i < rows; i++) {
+            writer.writeRow(users[i % POOL_SIZE]);
+        }
+        csvWriter.flush();
+    }
+
+    /**
+     * JSON 경로 (JsonStreamService.writeJson과 같은 구성 - flush 주기는 export.json.flush-rows 기본값)
+     */
+    static void writeJson(UserDto[] users, int rows, OutputStream out, boolean array) throws IOException {
+        JsonUserWriter writer = new JsonUserWriter(out, UserColumn.ALL, array);
+        for (int i = 0; i < rows; i++) {
+            writer.writeRow(users[i % POOL_SIZE]);
+            if ((i + 1) % 1000 == 0) {
+                writer.flush();
+            }
+        }
+        writer.finish();
+    }
+
+    /**
+     * 직접 XML 경로 (StreamingExcelService.writeFastExcel과 같은 구성)
+     */
+    static void writeFastXlsx(UserDto[] users, int rows, OutputStream out) throws IOException {
+        writeFastXlsx(users, rows, out, SharedStringPolicy.NONE);
+    }
+
+    /**
+     * 직접 XML 경로 - 문자열 열의 공유 문자열 사용 기준 지정
+     */
+    static void writeFastXlsx(UserDto[] users, int rows, OutputStream out, SharedStringPolicy sharedStrings)
+            throws IOException {
+        SpreadsheetMlWriter xlsxWriter = new SpreadsheetMlWriter(out);
+        FastXlsxUserWriter writer = new FastXlsxUserWriter(xlsxWriter, "사용자 목록", UserColumn.ALL,
+                SpreadsheetMlWriter.MAX_ROWS_PER_SHEET - 1, sharedStrings);
+        for (int i = 0; i < rows; i++) {
+            writer.writeRow(users[i % POOL_SIZE]);
+        }
+        xlsxWriter.close();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.streaming.benchmark;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.service.SharedStringPolicy;
+import com.example.streaming.service.UserColumn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 출력 형식별 export 처리량 비교 (1 op = rows건 전체 export 1회)
+ *
+ * 같은 합성 데이터를 SXSSF / CSV / 직접 XML / JSON(NDJSON, 배열) writer로 렌더링해서 바이트 카운터로 흘려보낸다.
+ * -prof gc의 gc.alloc.rate.norm을 rows로 나누면 행당 할당량
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=ExportWriterBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExportWriterBenchmark {
+
+    public enum Writer {
+        SXSSF, CSV, FAST_XLSX, FAST_XLSX_SHARED, NDJSON, JSON_ARRAY
+    }
+
+    /**
+     * FAST_XLSX_SHARED - 부서는 항상 공유 문자열, 나머지 문자열 열은 앞 1000행으로 자동 선택
+     */
+    private static final SharedStringPolicy SHARED_STRINGS =
+            new SharedStringPolicy(Set.of(UserColumn.DEPARTMENT), 1000, 64, 4096);
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"SXSSF", "CSV", "FAST_XLSX", "FAST_XLSX_SHARED", "NDJSON", "JSON_ARRAY"})
+    public Writer writer;
+
+    private UserDto[] users;
+
+    @Setup
+    public void setUp() {
+        users = ExportWorkloads.syntheticUsers();
+    }
+
+    @Benchmark
+    public long export(ExportThroughput throughput) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        switch (writer) {
+            case SXSSF -> ExportWorkloads.writeSxssf(users, rows, out, 100, false, true);
+            case CSV -> ExportWorkloads.writeCsv(users, rows, out);
+            case FAST_XLSX -> ExportWorkloads.writeFastXlsx(users, rows, out);
+            case FAST_XLSX_SHARED -> ExportWorkloads.writeFastXlsx(users, rows, out, SHARED_STRINGS);
+            case NDJSON -> ExportWorkloads.writeJson(users, rows, out, false);
+            case JSON_ARRAY -> ExportWorkloads.writeJson(users, rows, out, true);
+        }
+        throughput.record(rows, out);
+        return out.getCount();
+    }
+}
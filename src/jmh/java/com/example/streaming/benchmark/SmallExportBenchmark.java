@@ -0,0 +1,62 @@
+package com.example.streaming.benchmark;
+
+import com.example.streaming.dto.UserDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 소량 export 지연시간 비교 - 메모리 XSSF vs SXSSF (1 op = rows건 전체 export 1회)
+ *
+ * 행이 적을수록 SXSSF의 임시파일 생성/쓰기/재읽기 비용 비중이 커진다.
+ * 두 방식의 평균 시간이 역전되는 rows가 export.strategy.in-memory-max-rows 기준값 (-prof gc로 할당량도 함께 확인)
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=SmallExportBenchmark jmhStrategyThreshold (역전 행 수 출력)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class SmallExportBenchmark {
+
+    public enum Strategy {
+        XSSF, SXSSF
+    }
+
+    @Param({"100", "1000", "2000", "5000", "10000", "20000"})
+    public int rows;
+
+    @Param({"XSSF", "SXSSF"})
+    public Strategy strategy;
+
+    private UserDto[] users;
+
+    @Setup
+    public void setUp() {
+        users = ExportWorkloads.syntheticUsers();
+    }
+
+    @Benchmark
+    public long export(ExportThroughput throughput) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        switch (strategy) {
+            case XSSF -> ExportWorkloads.writeXssf(users, rows, out);
+            case SXSSF -> ExportWorkloads.writeSxssf(users, rows, out, 100, false, true);
+        }
+        throughput.record(rows, out);
+        return out.getCount();
+    }
+}
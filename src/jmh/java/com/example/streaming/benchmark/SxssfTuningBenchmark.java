@@ -0,0 +1,62 @@
+package com.example.streaming.benchmark;
+
+import com.example.streaming.dto.UserDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SXSSF 설정별 처리량 비교 (1 op = rows건 전체 export 1회)
+ *
+ * - windowSize: ROW_ACCESS_WINDOW_SIZE (메모리에 유지하는 행 수)
+ * - compressTempFiles: 임시파일 gzip 압축 여부 (디스크 사용량 ↔ CPU)
+ * - sharedStyles: 공유 스타일 적용 여부 (스타일 적용 비용)
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=SxssfTuningBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SxssfTuningBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int windowSize;
+
+    @Param({"false", "true"})
+    public boolean compressTempFiles;
+
+    @Param({"true", "false"})
+    public boolean sharedStyles;
+
+    private UserDto[] users;
+
+    @Setup
+    public void setUp() {
+        users = ExportWorkloads.syntheticUsers();
+    }
+
+    @Benchmark
+    public long export(ExportThroughput throughput) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        ExportWorkloads.writeSxssf(users, rows, out, windowSize, compressTempFiles, sharedStyles);
+        throughput.record(rows, out);
+        return out.getCount();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.streaming.config;
+
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.service.ExportAdmissionScheduler;
+import com.example.streaming.service.ExportCostEstimator;
+import com.example.streaming.service.ShardedExcelService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * export 요청을 ExportAdmissionScheduler의 대기열에 넣고, 자리를 배정받은 요청만 실행
+ *
+ * 클라이언트는 ExportClientResolver로 구분한다 (신뢰할 프록시나 인증된 요청의 clientHeader, 나머지는 원격 주소).
+ * 비용은 요청 파라미터의 조회 조건으로 추정한 행 수 × 열 수(ExportCostEstimator), 점유 커넥션 수는 경로별 fetch 스레드 수로 정한다.
+ * 배정받은 자리는 응답이 끝난 뒤(afterCompletion) 반납하고, 배정받지 못하면 503 + Retry-After로 거절한다.
+ */
+@Slf4j
+@Component
+public class ExportAdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ExportAdmissionInterceptor.class.getName() + ".PERMIT";
+
+    private static final DefaultFormattingConversionService CONVERSION_SERVICE = new DefaultFormattingConversionService();
+
+    private final ExportAdmissionScheduler admissionScheduler;
+    private final ExportCostEstimator costEstimator;
+    private final ExportClientResolver clientResolver;
+    private final ShardedExcelService shardedExcelService;
+    private final Counter rejectedCounter;
+
+    public ExportAdmissionInterceptor(ExportAdmissionScheduler admissionScheduler, ExportCostEstimator costEstimator,
+                                      ExportClientResolver clientResolver, ShardedExcelService shardedExcelService,
+                                      MeterRegistry registry) {
+        this.admissionScheduler = admissionScheduler;
+        this.costEstimator = costEstimator;
+        this.clientResolver = clientResolver;
+        this.shardedExcelService = shardedExcelService;
+        this.rejectedCounter = Counter.builder("export.rejected")
+                .description("동시 실행 상한으로 거절한 export 요청 수")
+                .tag("reason", "admission")
+                .register(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        String client = clientResolver.resolve(request);
+        long cost = costEstimator.estimate(bindFilter(request));
+        Optional<ExportAdmissionScheduler.Permit> permit =
+                admissionScheduler.acquire(client, cost, connectionsFor(request));
+        if (permit.isPresent()) {
+            request.setAttribute(PERMIT_ATTRIBUTE, permit.get());
+            return true;
+        }
+
+        rejectedCounter.increment();
+        long retryAfter = admissionScheduler.getRetryAfterSeconds();
+        log.warn("동시 실행 상한으로 export 요청 거절 - {} {}, 클라이언트: {}, Retry-After: {}s",
+                request.getMethod(), request.getRequestURI(), client, retryAfter);
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("실행 중인 export가 많아서 요청을 처리할 수 없습니다. " + retryAfter + "초 후 다시 시도하세요.");
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof ExportAdmissionScheduler.Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.release();
+        }
+    }
+
+    /**
+     * 요청 파라미터를 컨트롤러와 같은 규칙으로 UserExportFilter에 바인딩
+     * 잘못된 값은 무시하고 추정 - 요청 자체는 컨트롤러의 바인딩에서 400으로 끝남
+     */
+    private static UserExportFilter bindFilter(HttpServletRequest request) {
+        UserExportFilter filter = new UserExportFilter();
+        ServletRequestDataBinder binder = new ServletRequestDataBinder(filter);
+        binder.setConversionService(CONVERSION_SERVICE);
+        binder.setAllowedFields("department", "active", "minAge", "maxAge", "createdFrom", "createdTo", "columns");
+        binder.bind(request);
+        return filter;
+    }
+
+    /**
+     * export가 점유할 DB 커넥션 수 - fetch 스레드마다 하나
+     * (로컬 파일 export는 DB도 fetch 스레드도 쓰지 않고 전용 해석 스레드 풀에서 실행)
+     */
+    private int connectionsFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return switch (path) {
+            case "/test/excel/sharded" -> shardedExcelService.resolveShardCount();
+            case "/test/excel/parts" -> shardedExcelService.resolvePartThreads();
+            case "/test/excel/file", "/test/csv/file" -> 0;
+            default -> 1;
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.streaming.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.security.Principal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * export 수락 제어(ExportAdmissionScheduler)의 클라이언트 구분 키
+ *
+ * clientHeader(기본 X-Client-Id)는 호출자가 마음대로 정할 수 있어서, 그대로 믿으면 요청마다 값을 바꿔
+ * maxPerClient와 clientWeights를 우회할 수 있다. 그래서 헤더는 다음 경우에만 쓴다.
+ * 1. 직접 연결한 주소가 trustedProxies에 속함 (헤더는 프록시가 채운 값)
+ * 2. 인증된 요청 (헤더가 없으면 사용자 이름)
+ * 나머지는 원격 주소로 구분한다.
+ */
+@Component
+public class ExportClientResolver {
+
+    private static final String UNKNOWN_CLIENT = "unknown";
+
+    private final String clientHeader;
+    private final List<TrustedNetwork> trustedProxies;
+
+    public ExportClientResolver(ExportProperties exportProperties) {
+        ExportProperties.Admission admission = exportProperties.getAdmission();
+        this.clientHeader = admission.getClientHeader();
+        this.trustedProxies = admission.getTrustedProxies().stream().map(TrustedNetwork::parse).toList();
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        Principal principal = request.getUserPrincipal();
+        String header = request.getHeader(clientHeader);
+        if (StringUtils.hasText(header) && (principal != null || isTrustedProxy(remoteAddress))) {
+            return header.trim();
+        }
+        return principal != null ? principal.getName() : remoteAddress;
+    }
+
+    /**
+     * 리액티브 요청 - Servlet 컨테이너 위에서 실행되면 원래 요청으로 판단
+     */
+    public String resolve(ServerHttpRequest request) {
+        HttpServletRequest servletRequest = ServerHttpRequestDecorator.getNativeRequest(request);
+        if (servletRequest != null) {
+            return resolve(servletRequest);
+        }
+        return Optional.ofNullable(request.getRemoteAddress())
+                .map(InetSocketAddress::getAddress)
+                .map(InetAddress::getHostAddress)
+                .orElse(UNKNOWN_CLIENT);
+    }
+
+    private boolean isTrustedProxy(String remoteAddress) {
+        if (trustedProxies.isEmpty() || !StringUtils.hasText(remoteAddress)) {
+            return false;
+        }
+        byte[] address;
+        try {
+            // 원격 주소는 IP 문자열이므로 이름 조회 없이 변환됨
+            address = InetAddress.getByName(remoteAddress).getAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+        return trustedProxies.stream().anyMatch(network -> network.contains(address));
+    }
+
+    /**
+     * 신뢰할 프록시 주소 또는 대역 (예: 10.0.0.5, 10.0.0.0/8, ::1)
+     */
+    private record TrustedNetwork(byte[] address, int prefixLength) {
+
+        static TrustedNetwork parse(String value) {
+            String trimmed = value.trim();
+            int slash = trimmed.indexOf('/');
+            try {
+                byte[] address = InetAddress.getByName(slash < 0 ? trimmed : trimmed.substring(0, slash)).getAddress();
+                int prefixLength = slash < 0 ? address.length * 8 : Integer.parseInt(trimmed.substring(slash + 1));
+                if (prefixLength < 0 || prefixLength > address.length * 8) {
+                    throw new IllegalArgumentException("trusted-proxies 대역 길이가 잘못되었습니다: " + value);
+                }
+                return new TrustedNetwork(address, prefixLength);
+            } catch (UnknownHostException | NumberFormatException e) {
+                throw new IllegalArgumentException("trusted-proxies 주소가 잘못되었습니다: " + value, e);
+            }
+        }
+
+        boolean contains(byte[] candidate) {
+            if (candidate.length != address.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (candidate[i] != address[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits) & 0xFF;
+            return (candidate[fullBytes] & mask) == (address[fullBytes] & mask);
+        }
+    }
+}
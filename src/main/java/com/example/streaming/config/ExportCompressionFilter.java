@@ -0,0 +1,217 @@
+package com.example.streaming.config;
+
+import com.example.streaming.util.ContentEncoding;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+
+/**
+ * export 응답 실시간 압축 필터 (Content-Encoding: gzip / zstd)
+ *
+ * Tomcat 기본 압축(server.compression)은 레벨을 정할 수 없고 zstd를 지원하지 않아서 직접 압축한다.
+ * 1. 협상: Accept-Encoding에서 zstd → gzip 순으로 선택, 응답에는 Vary: Accept-Encoding
+ * 2. 대상: 서비스가 출력 스트림을 처음 열 때의 Content-Type이 설정된 형식(export.compression.mime-types)일 때만
+ * 3. 스트리밍: 행을 쓰는 대로 압축해서 내보내고, 서비스의 flush()는 압축 블록 flush로 전달 (첫 바이트 지연 없음)
+ * 4. 마무리: 요청이 정상 종료되면 압축 스트림을 닫아 트레일러를 씀
+ *    export가 중간에 실패하면 마무리하지 않아서 클라이언트가 잘린 응답을 완전한 파일로 받지 않도록 함
+ *
+ * 압축 후 실제 전송 바이트는 export.response.bytes{encoding}으로 기록 (압축 전 바이트는 export.bytes)
+ */
+@Slf4j
+public class ExportCompressionFilter extends OncePerRequestFilter {
+
+    private final ExportProperties.Compression compression;
+    private final MeterRegistry registry;
+
+    public ExportCompressionFilter(ExportProperties properties, MeterRegistry registry) {
+        this.compression = properties.getCompression();
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !compression.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        ContentEncoding encoding = ContentEncoding.negotiate(
+                request.getHeader(HttpHeaders.ACCEPT_ENCODING), compression.isZstdEnabled());
+        if (encoding == ContentEncoding.IDENTITY) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        CompressingResponse compressingResponse = new CompressingResponse(response, encoding);
+        filterChain.doFilter(request, compressingResponse);
+        compressingResponse.finish();
+    }
+
+    /**
+     * 출력 스트림을 처음 열 때 압축 여부를 결정하는 응답 래퍼
+     */
+    private class CompressingResponse extends HttpServletResponseWrapper {
+
+        private final ContentEncoding encoding;
+
+        private boolean decided = false;
+        private CompressingOutputStream compressed;
+
+        CompressingResponse(HttpServletResponse response, ContentEncoding encoding) {
+            super(response);
+            this.encoding = encoding;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (!decided) {
+                decided = true;
+                if (isCompressible()) {
+                    // 압축 후 길이는 미리 알 수 없으므로 chunked 전송
+                    super.setContentLengthLong(-1);
+                    super.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.getToken());
+                    compressed = new CompressingOutputStream(super.getOutputStream(), encoding);
+                    log.debug("export 응답 압축 - {}, level: {}", encoding.getToken(), compression.levelFor(encoding));
+                }
+            }
+            return compressed != null ? compressed : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            // 오류 응답 등 문자 출력은 압축하지 않음
+            if (compressed == null) {
+                decided = true;
+            }
+            return super.getWriter();
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            if (compressed == null) {
+                super.setContentLength(len);
+            }
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (compressed == null) {
+                super.setContentLengthLong(len);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (compressed != null) {
+                compressed.flush();
+            }
+            super.flushBuffer();
+        }
+
+        private boolean isCompressible() {
+            String contentType = getContentType();
+            if (isCommitted() || contentType == null || containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+                return false;
+            }
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return compression.getMimeTypes().stream()
+                    .map(MediaType::parseMediaType)
+                    .anyMatch(type -> type.includes(mediaType));
+        }
+
+        private void finish() throws IOException {
+            if (compressed != null) {
+                compressed.close();
+            }
+        }
+    }
+
+    /**
+     * 압축 스트림을 ServletOutputStream으로 노출하고 압축 후 바이트 수를 기록
+     */
+    private class CompressingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream target;
+        private final OutputStream compressor;
+        private final Counter wireBytes;
+
+        CompressingOutputStream(ServletOutputStream target, ContentEncoding encoding) throws IOException {
+            this.target = target;
+            this.wireBytes = Counter.builder("export.response.bytes")
+                    .description("압축 후 전송한 export 응답 바이트")
+                    .baseUnit("bytes")
+                    .tag("encoding", encoding.getToken())
+                    .register(registry);
+            this.compressor = encoding.wrap(new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    target.write(b);
+                    wireBytes.increment();
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    target.write(b, off, len);
+                    wireBytes.increment(len);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    target.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    target.close();
+                }
+            }, compression.levelFor(encoding), (int) compression.getBufferSize().toBytes());
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            compressor.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            compressor.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            compressor.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            compressor.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return target.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            target.setWriteListener(writeListener);
+        }
+    }
+}
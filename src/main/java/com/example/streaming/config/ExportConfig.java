@@ -0,0 +1,186 @@
+package com.example.streaming.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * export 실행 환경 설정
+ *
+ * spring.threads.virtual.enabled=true 이고 Java 21 이상에서 실행하면
+ * Tomcat 요청 스레드와 함께 export의 fetch/render 단계도 가상 스레드에서 실행된다.
+ * 가상 스레드 모드의 fetch 스레드 수는 스레드 비용이 아니라 DB 커넥션으로 제한한다 (수락 제어의 커넥션 예산).
+ * 보관 시간이 지난 export 파일 정리는 @Scheduled로 주기 실행한다.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ExportProperties.class)
+public class ExportConfig {
+
+    /**
+     * 비동기 export 작업 전용 스레드 풀
+     * 동시 실행 수와 대기열을 모두 제한해서 작업이 몰려도 최고 메모리 사용량이 예측 가능하도록 함
+     * (대기열이 가득 차면 TaskRejectedException)
+     *
+     * 대기열/거절 동작이 필요하므로 가상 스레드 모드에서도 플랫폼 스레드 풀을 사용한다.
+     * 작업 수가 concurrency로 제한되므로 스레드 수가 병목이 되지 않는다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor exportJobExecutor(ExportProperties properties) {
+        ExportProperties.Job job = properties.getJob();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("export-job-");
+        executor.setCorePoolSize(job.getConcurrency());
+        executor.setMaxPoolSize(job.getConcurrency());
+        executor.setQueueCapacity(job.getQueueCapacity());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * 리액티브 스트리밍의 커서 조회/인코딩 스케줄러
+     * 느린 클라이언트를 기다리는 동안에는 작업이 없으므로, 스트림 수와 관계없이 적은 스레드를 청크 단위로 나눠 쓴다.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler exportReactiveScheduler(ExportProperties properties) {
+        return Schedulers.newBoundedElastic(properties.getReactive().getThreads(),
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "export-reactive");
+    }
+
+    /**
+     * 기본 모드 - 플랫폼 스레드 풀
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    static class PlatformThreadExecutors {
+
+        /**
+         * 파이프라인 fetch 단계 전용 스레드 풀
+         * DB 조회만 담당하므로 스레드 수가 곧 파이프라인 export가 점유하는 최대 커넥션 수
+         *
+         * 수락된 export의 fetch 작업이 대기열에서 기다리면 요청 스레드를 잡은 채 stall-timeout이 흐르므로,
+         * 수락 제어의 커넥션 예산은 fetch 스레드 수를 넘을 수 없다 (기동 시 검사).
+         */
+        @Bean
+        public ThreadPoolTaskExecutor exportFetchExecutor(ExportProperties properties, DataSource dataSource) {
+            checkConnectionBudget(properties, dataSource);
+            int threads = properties.getPipeline().getFetchThreads();
+            int budget = properties.getAdmission().getConnectionBudget();
+            if (budget > threads) {
+                throw new IllegalStateException("export.admission.connection-budget(" + budget
+                        + ")가 export.pipeline.fetch-threads(" + threads + ")보다 큽니다 - "
+                        + "수락된 export가 fetch 대기열에서 기다리다 stall-timeout으로 실패할 수 있습니다");
+            }
+            return fetchExecutor(properties, threads, null);
+        }
+
+        /**
+         * 로컬 CSV 파일 export의 범위 해석 전용 스레드 풀
+         * DB를 쓰지 않으므로 fetch 스레드(= 커넥션)를 나눠 쓰지 않고, 동시에 수락된 파일 export가
+         * 모두 범위를 올려도 거절되지 않도록 대기열을 (해석 스레드 수 × 최대 동시 export 수)로 잡음
+         */
+        @Bean
+        public ThreadPoolTaskExecutor exportParseExecutor(ExportProperties properties) {
+            return parseExecutor(properties, null);
+        }
+    }
+
+    /**
+     * 가상 스레드 모드 (spring.threads.virtual.enabled=true, Java 21+)
+     *
+     * 동시 실행 수 제한(concurrencyLimit)처럼 제출한 쪽을 멈추면, 파이프라인을 여러 개 먼저 시작하는 export
+     * (MERGED 샤드, 파일 export)끼리 자리를 나눠 가진 채 서로의 drain을 기다리며 멈출 수 있으므로
+     * 제출은 항상 대기열에 넣고 바로 반환한다 (대기열이 가득 차면 TaskRejectedException).
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    static class VirtualThreadExecutors {
+
+        /**
+         * fetch 스레드 풀 - 가상 스레드는 만들고 기다리는 비용이 작으므로 스레드 수를 pipeline.fetch-threads가 아니라
+         * 수락 제어의 커넥션 예산으로 잡음
+         * 수락된 export의 샤드/분할 파일 조회는 대기열에서 기다리지 않고 바로 커넥션을 받아 동시에 실행된다.
+         * (pipeline.fetch-threads는 export 하나의 샤드/분할 파일 수 상한으로만 쓰임)
+         */
+        @Bean
+        public ThreadPoolTaskExecutor exportFetchExecutor(ExportProperties properties, DataSource dataSource) {
+            checkConnectionBudget(properties, dataSource);
+            return fetchExecutor(properties, Math.max(1, properties.getAdmission().getConnectionBudget()),
+                    new VirtualThreadTaskExecutor("export-fetch-vt-").getVirtualThreadFactory());
+        }
+
+        @Bean
+        public ThreadPoolTaskExecutor exportParseExecutor(ExportProperties properties) {
+            return parseExecutor(properties, new VirtualThreadTaskExecutor("export-parse-vt-").getVirtualThreadFactory());
+        }
+    }
+
+    /**
+     * 커넥션 예산이 풀에서 비동기 작업 몫과 여유 커넥션 하나를 뺀 만큼을 넘지 않는지 기동 시 검사
+     * 비동기 작업(job.concurrency)은 수락 제어를 거치지 않고 작업마다 커넥션을 하나씩 쓰고,
+     * 수락 전에 실행하는 비용 추정 COUNT와 작업 상태 조회 등도 커넥션이 필요하다.
+     * 예산이 풀을 다 쓰면 이 조회들이 공정 대기열 대신 Hikari connection-timeout으로 기다리게 된다.
+     */
+    private static void checkConnectionBudget(ExportProperties properties, DataSource dataSource) {
+        if (!(dataSource instanceof HikariDataSource hikari)) {
+            return;
+        }
+        int budget = properties.getAdmission().getConnectionBudget();
+        int jobs = properties.getJob().getConcurrency();
+        int available = hikari.getMaximumPoolSize() - jobs - 1;
+        if (budget > available) {
+            throw new IllegalStateException("export.admission.connection-budget(" + budget + ")가 커넥션 풀 크기("
+                    + hikari.getMaximumPoolSize() + ") - export.job.concurrency(" + jobs + ") - 1 = " + available
+                    + "보다 큽니다 - 비용 추정/상태 조회가 쓸 커넥션이 남지 않습니다");
+        }
+    }
+
+    /**
+     * fetch 스레드 풀 - 대기열은 수락 제어의 커넥션 예산
+     * 수락된 export의 fetch 작업 수는 예산을 넘지 않지만, 취소된 export의 fetch 작업은 자리를 반납한 뒤에도
+     * 잠깐 실행 중일 수 있으므로 예산만큼의 대기열을 따로 둬서 수락된 작업이 거절되지 않도록 함
+     *
+     * @param threadFactory 작업 스레드 생성 (null이면 이름 접두사를 붙인 플랫폼 스레드)
+     */
+    private static ThreadPoolTaskExecutor fetchExecutor(ExportProperties properties, int threads,
+                                                        ThreadFactory threadFactory) {
+        return boundedExecutor("export-fetch-", threads,
+                Math.max(1, properties.getAdmission().getConnectionBudget()), threadFactory);
+    }
+
+    /**
+     * 범위 해석 스레드 풀 - 대기열은 (해석 스레드 수 × 최대 동시 export 수)
+     */
+    private static ThreadPoolTaskExecutor parseExecutor(ExportProperties properties, ThreadFactory threadFactory) {
+        int threads = properties.getFileSource().resolveParseThreads();
+        return boundedExecutor("export-parse-", threads,
+                threads * Math.max(1, properties.getAdmission().getMaxConcurrent()), threadFactory);
+    }
+
+    private static ThreadPoolTaskExecutor boundedExecutor(String threadNamePrefix, int threads, int queueCapacity,
+                                                          ThreadFactory threadFactory) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        if (threadFactory != null) {
+            executor.setThreadFactory(threadFactory);
+        }
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,549 @@
+package com.example.streaming.config;
+
+import com.example.streaming.service.ShardMode;
+import com.example.streaming.service.SharedStringPolicy;
+import com.example.streaming.service.UserBatch;
+import com.example.streaming.service.UserColumn;
+import com.example.streaming.util.ContentEncoding;
+import com.example.streaming.util.SpreadsheetMlWriter;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * export 관련 설정 (application.yml의 export.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "export")
+public class ExportProperties {
+
+    private final Pipeline pipeline = new Pipeline();
+
+    private final Shard shard = new Shard();
+
+    private final Job job = new Job();
+
+    private final Memory memory = new Memory();
+
+    private final Keyset keyset = new Keyset();
+
+    private final Compression compression = new Compression();
+
+    private final Cache cache = new Cache();
+
+    private final Xlsx xlsx = new Xlsx();
+
+    private final Ingest ingest = new Ingest();
+
+    private final FileSource fileSource = new FileSource();
+
+    private final Admission admission = new Admission();
+
+    private final Reactive reactive = new Reactive();
+
+    private final Json json = new Json();
+
+    private final Strategy strategy = new Strategy();
+
+    private final Dataset dataset = new Dataset();
+
+    /**
+     * fetch/render 분리 파이프라인 설정
+     */
+    @Getter
+    @Setter
+    public static class Pipeline {
+
+        /**
+         * fetch 단계와 render 단계 사이 버퍼 크기 (행 수)
+         */
+        private int bufferSize = 1024;
+
+        /**
+         * fetch 단계 전용 스레드 수 (동시에 실행할 수 있는 파이프라인 export 수)
+         * 가상 스레드 모드에서는 fetch 스레드 풀 크기가 admission.connection-budget이고, 이 값은 export 하나의
+         * 샤드/분할 파일 수 상한으로만 쓰임
+         */
+        private int fetchThreads = 4;
+
+        /**
+         * 컬럼형 export의 배치 하나 행 수 (버퍼에는 buffer-size / batch-rows개의 배치가 들어감)
+         */
+        private int batchRows = UserBatch.DEFAULT_CAPACITY;
+
+        /**
+         * render 단계가 다음 행을 기다리는 최대 시간 - 넘으면 export를 취소 (첫 행까지의 쿼리 실행 시간 포함)
+         */
+        private Duration stallTimeout = Duration.ofMinutes(5);
+    }
+
+    /**
+     * ID 범위 샤드 병렬 export 설정
+     */
+    @Getter
+    @Setter
+    public static class Shard {
+
+        /**
+         * 샤드 수 (0 이하면 CPU 코어 수) - 샤드마다 fetch 스레드와 DB 커넥션을 하나씩 쓰므로
+         * pipeline.fetch-threads와 admission.connection-budget을 넘을 수 없음
+         */
+        private int count = 0;
+
+        /**
+         * 요청에 mode가 없을 때 사용할 결과 구성 방식
+         */
+        private ShardMode mode = ShardMode.MERGED;
+
+        /**
+         * MERGED 모드의 샤드별 fetch/render 버퍼 크기 (행 수) - 샤드당 메모리 상한
+         */
+        private int bufferSize = 1024;
+    }
+
+    /**
+     * 비동기 export 작업 설정
+     */
+    @Getter
+    @Setter
+    public static class Job {
+
+        /**
+         * 동시에 실행할 작업 수 - 작업마다 스레드 하나와 DB 커넥션 하나를 점유
+         */
+        private int concurrency = 2;
+
+        /**
+         * 실행 대기열 크기 - 가득 차면 새 작업은 거절(503)
+         */
+        private int queueCapacity = 20;
+
+        /**
+         * 완료된 export 파일 저장 디렉터리
+         */
+        private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "streaming-export-jobs");
+
+        /**
+         * 작업 종료 후 결과 파일과 상태를 보관하는 시간
+         */
+        private Duration retention = Duration.ofHours(1);
+
+        /**
+         * 보관 시간이 지난 작업을 정리하는 주기 (ExportJobService.purgeExpiredJobs)
+         */
+        private Duration purgeInterval = Duration.ofMinutes(1);
+    }
+
+    /**
+     * 메모리 압박 대응 설정 (MemoryPressureGovernor)
+     * 사용률은 old 영역(tenured) 힙 풀의 최대 크기 대비 비율
+     */
+    @Getter
+    @Setter
+    public static class Memory {
+
+        /**
+         * 이 사용률을 넘으면 export 조회 속도를 늦추고 SXSSF window를 줄임
+         */
+        private double throttleThreshold = 0.70;
+
+        /**
+         * GC 후에도 이 사용률을 넘으면 새 export 요청을 503으로 거절하고 진행 중인 export의 조회를 멈춤
+         */
+        private double rejectThreshold = 0.85;
+
+        /**
+         * 압박 상태에서 조회 속도를 늦출 때 체크 주기마다 쉬는 시간
+         */
+        private Duration throttleDelay = Duration.ofMillis(20);
+
+        /**
+         * 거절 상태에서 조회를 멈추고 기다리는 최대 시간 (초과하면 느린 속도로 계속 진행)
+         */
+        private Duration maxPause = Duration.ofSeconds(5);
+
+        /**
+         * 거절 응답의 Retry-After
+         */
+        private Duration retryAfter = Duration.ofSeconds(30);
+    }
+
+    /**
+     * keyset 페이지 조회 + 이어받기 export 설정
+     */
+    @Getter
+    @Setter
+    public static class Keyset {
+
+        /**
+         * 페이지 하나에서 조회할 행 수 - 페이지마다 쿼리 한 번, 체크포인트 한 번
+         */
+        private int pageSize = 1000;
+
+        /**
+         * export마다 보관할 CSV 체크포인트 수 (오래된 것부터 버림)
+         * 클라이언트가 받은 위치보다 앞선 체크포인트가 없으면 처음부터 다시 생성해서 건너뜀
+         */
+        private int maxCheckpoints = 64;
+
+        /**
+         * 마지막 요청 이후 체크포인트를 보관하는 시간
+         */
+        private Duration retention = Duration.ofHours(1);
+
+        /**
+         * 보관 시간이 지난 export를 정리하는 주기 (KeysetExportService.purgeExpiredExports)
+         */
+        private Duration purgeInterval = Duration.ofMinutes(1);
+    }
+
+    /**
+     * export 응답/임시파일 압축 설정
+     * 레벨별 CPU 비용과 절감 바이트는 CompressionBenchmark(src/jmh)로 비교
+     */
+    @Getter
+    @Setter
+    public static class Compression {
+
+        /**
+         * Accept-Encoding에 따라 export 응답을 압축할지 여부
+         */
+        private boolean enabled = true;
+
+        /**
+         * 압축할 응답 Content-Type - xlsx는 이미 ZIP(deflate)이라 다시 압축해도 거의 줄지 않음
+         */
+        private List<String> mimeTypes = new ArrayList<>(List.of(
+                "text/csv", "application/x-ndjson", "application/json"));
+
+        /**
+         * gzip 압축 레벨 (1: 가장 빠름 ~ 9: 가장 작음)
+         */
+        private int gzipLevel = 3;
+
+        /**
+         * zstd 사용 여부 (클라이언트가 Accept-Encoding: zstd를 보낼 때만)
+         */
+        private boolean zstdEnabled = false;
+
+        /**
+         * zstd 압축 레벨 (1 ~ 22)
+         */
+        private int zstdLevel = 3;
+
+        /**
+         * 압축 출력 버퍼 크기 - CsvWriter 버퍼(64KB)와 맞춰서 한 번에 압축해 내보냄
+         */
+        private DataSize bufferSize = DataSize.ofKilobytes(64);
+
+        /**
+         * SXSSF 임시파일 gzip 압축 (디스크 I/O ↔ CPU)
+         */
+        private boolean sxssfTempFiles = false;
+
+        /**
+         * 압축 방식별 레벨
+         */
+        public int levelFor(ContentEncoding encoding) {
+            return encoding == ContentEncoding.ZSTD ? zstdLevel : gzipLevel;
+        }
+    }
+
+    /**
+     * 렌더링된 export 파일 캐시 설정 (ExportCacheService)
+     */
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /**
+         * 캐시 파일 저장 디렉터리 - 시작할 때 이전 실행의 파일은 삭제 (색인이 메모리에만 있으므로)
+         */
+        private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "streaming-export-cache");
+
+        /**
+         * 캐시 파일 크기 합 상한 - 넘으면 가장 오래 쓰지 않은 파일부터 삭제
+         */
+        private DataSize maxSize = DataSize.ofGigabytes(1);
+
+        /**
+         * 캐시할 export 수 상한 (형식 + 조회 조건 + 열 선택 조합 수)
+         */
+        private int maxEntries = 32;
+    }
+
+    /**
+     * xlsx 시트 분할 / 분할 파일 ZIP export 설정
+     */
+    @Getter
+    @Setter
+    public static class Xlsx {
+
+        /**
+         * 시트 하나의 데이터 행 수 상한 - 넘으면 헤더를 다시 쓴 새 시트로 넘어감
+         */
+        private int maxRowsPerSheet = 1_000_000;
+
+        /**
+         * 분할 ZIP export에서 xlsx 파일 하나에 담을 행 수 (id 범위로 나누므로 대략적인 값)
+         */
+        private int partRows = 500_000;
+
+        /**
+         * 분할 ZIP export에서 동시에 작성할 xlsx 파일 수
+         * 파일마다 fetch 스레드와 DB 커넥션을 하나씩 쓰므로 pipeline.fetch-threads와 admission.connection-budget을 넘을 수 없음
+         */
+        private int partThreads = 2;
+
+        /**
+         * 직접 XML xlsx에서 항상 공유 문자열 테이블로 쓸 문자열 열 (예: DEPARTMENT)
+         */
+        private List<UserColumn> sharedStringColumns = new ArrayList<>();
+
+        /**
+         * 나머지 문자열 열의 공유 문자열 자동 선택에 쓸 앞부분 행 수 (0이면 자동 선택 안 함)
+         */
+        private int sharedStringSampleRows = 1000;
+
+        /**
+         * 표본에서 값 종류가 이 수 이하인 열을 공유 문자열로 전환
+         */
+        private int sharedStringMaxDistinct = 64;
+
+        /**
+         * 공유 문자열 테이블 크기 상한 (넘는 새 값은 inlineStr, 0이면 공유 문자열 사용 안 함)
+         */
+        private int sharedStringLimit = SpreadsheetMlWriter.DEFAULT_SHARED_STRING_LIMIT;
+
+        /**
+         * 직접 XML xlsx writer에 넘길 공유 문자열 사용 기준
+         */
+        public SharedStringPolicy sharedStringPolicy() {
+            return new SharedStringPolicy(Set.copyOf(sharedStringColumns), sharedStringSampleRows,
+                    sharedStringMaxDistinct, sharedStringLimit);
+        }
+
+        /**
+         * 시트당 데이터 행 수 - xlsx 시트 최대 행 수에서 헤더 1행을 뺀 값을 넘지 않도록 제한
+         */
+        public int getMaxRowsPerSheet() {
+            return Math.max(1, Math.min(maxRowsPerSheet, SpreadsheetMlWriter.MAX_ROWS_PER_SHEET - 1));
+        }
+    }
+
+    /**
+     * CSV/xlsx 일괄 import 설정 (UserImportService)
+     */
+    @Getter
+    @Setter
+    public static class Ingest {
+
+        /**
+         * 커밋 단위 행 수 - 이 수만큼 insert를 JDBC 배치로 모아 실행하고 커밋
+         * 실패하면 마지막으로 커밋한 청크까지만 저장됨
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * 응답에 담을 거부 행 사유 수 상한 (거부 행 수 자체는 모두 셈)
+         */
+        private int maxErrors = 100;
+
+        /**
+         * CSV 파서 읽기 버퍼 크기 (레코드 하나가 더 길면 자동으로 늘어남)
+         */
+        private DataSize bufferSize = DataSize.ofKilobytes(64);
+    }
+
+    /**
+     * 로컬 CSV 파일 export 설정 (FileExportService)
+     */
+    @Getter
+    @Setter
+    public static class FileSource {
+
+        /**
+         * 읽을 수 있는 CSV 파일 디렉터리 - 요청의 파일 이름은 이 디렉터리 밖을 가리킬 수 없음
+         */
+        private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "streaming-export-sources");
+
+        /**
+         * 파일을 나눠 동시에 해석할 범위 수 (0이면 CPU 코어 수) - 파일 export 전용 해석 스레드 수이기도 함
+         */
+        private int parseThreads = 0;
+
+        /**
+         * 한 번에 매핑할 크기 - 가장 긴 레코드보다 커야 함 (최대 2GB)
+         */
+        private DataSize windowSize = DataSize.ofMegabytes(256);
+
+        /**
+         * 실제 해석 범위 수 (0 이하면 CPU 코어 수)
+         */
+        public int resolveParseThreads() {
+            return parseThreads > 0 ? parseThreads : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    /**
+     * export 요청 수락 제어 설정 (ExportAdmissionScheduler)
+     * 비용 = 예상 행 수(조건 없으면 countAllUsers, 있으면 countUsers) × 출력 열 수
+     */
+    @Getter
+    @Setter
+    public static class Admission {
+
+        /**
+         * 동시에 실행할 export 요청 수 (전체)
+         */
+        private int maxConcurrent = 8;
+
+        /**
+         * 클라이언트 하나가 동시에 실행할 수 있는 export 요청 수
+         */
+        private int maxPerClient = 2;
+
+        /**
+         * export가 나눠 쓸 DB 커넥션 수 - 커넥션 풀 크기 - job.concurrency - 1 이하 (나머지는 상태 조회, 비용 추정, import 몫, 기동 시 검사)
+         * 플랫폼 스레드 모드에서는 pipeline.fetch-threads 이하 (기동 시 검사), 가상 스레드 모드에서는 fetch 스레드 풀 크기
+         */
+        private int connectionBudget = 4;
+
+        /**
+         * 대기열 크기 - 가득 차면 새 요청은 바로 거절(503)
+         */
+        private int maxQueue = 100;
+
+        /**
+         * 대기열에서 기다리는 최대 시간 - 넘으면 거절(503)
+         */
+        private Duration queueTimeout = Duration.ofSeconds(30);
+
+        /**
+         * 거절 응답의 Retry-After
+         */
+        private Duration retryAfter = Duration.ofSeconds(5);
+
+        /**
+         * 클라이언트를 구분할 요청 헤더 - trustedProxies를 거친 요청이나 인증된 요청에서만 사용 (나머지는 원격 주소)
+         */
+        private String clientHeader = "X-Client-Id";
+
+        /**
+         * clientHeader를 채워 보내는 프록시의 주소 또는 대역 (예: 10.0.0.5, 10.0.0.0/8)
+         * 직접 연결한 주소(getRemoteAddr)와 비교하며, 비어 있으면 인증되지 않은 요청의 헤더는 무시
+         */
+        private List<String> trustedProxies = new ArrayList<>();
+
+        /**
+         * 클라이언트별 가중치 (기본 1) - 가중치가 클수록 같은 비용을 더 빨리 배정받음
+         */
+        private Map<String, Integer> clientWeights = new HashMap<>();
+
+        /**
+         * 이 비용 이하의 export를 작은 요청으로 분류 (대기 시간 계측 태그)
+         */
+        private long smallExportCost = 1_000_000;
+
+        /**
+         * 비용 추정에 쓰는 행 수 캐시 시간 (전체 행 수와 조회 조건별 행 수)
+         */
+        private Duration rowCountTtl = Duration.ofSeconds(10);
+
+        public int weightOf(String client) {
+            return Math.max(1, clientWeights.getOrDefault(client, 1));
+        }
+    }
+
+    /**
+     * 리액티브 스트리밍 설정 (ReactiveUserStreamService)
+     */
+    @Getter
+    @Setter
+    public static class Reactive {
+
+        /**
+         * 응답 청크(DataBuffer) 하나에 담을 행 수 - 클라이언트가 청크 하나를 받아 가야 다음 행을 커서에서 읽음
+         */
+        private int chunkRows = 256;
+
+        /**
+         * 커서 조회/인코딩 스케줄러 스레드 수 - 스트림마다 스레드를 점유하지 않고 청크 단위로 나눠 씀
+         */
+        private int threads = 4;
+    }
+
+    /**
+     * JSON 스트리밍 설정 (JsonStreamService)
+     */
+    @Getter
+    @Setter
+    public static class Json {
+
+        /**
+         * 응답을 flush할 행 간격 - 작을수록 클라이언트가 행을 빨리 받지만 소켓 쓰기(패킷) 수가 늘어남
+         */
+        private int flushRows = 1000;
+
+        /**
+         * 응답 버퍼 크기 - 두 flush 사이의 행이 한 번에 나가도록 flush-rows 분량(행당 약 150바이트)보다 크게
+         */
+        private DataSize bufferSize = DataSize.ofKilobytes(256);
+    }
+
+    /**
+     * export 방식 자동 선택 설정 (ExportStrategySelector)
+     */
+    @Getter
+    @Setter
+    public static class Strategy {
+
+        /**
+         * 이 행 수 이하면 메모리 XSSF, 넘으면 SXSSF 스트리밍
+         * 기준값: ./gradlew jmh -Pjmh.includes=SmallExportBenchmark jmhStrategyThreshold 가 출력하는
+         * 두 방식의 평균 지연시간 역전 행 수 - 운영 장비에서 측정한 값으로 설정
+         * 기본값 5000은 벤치마크에서 나온 값이 아니라 정한 값 (측정하면 행 수별 ms/op와 함께 여기에 기록)
+         */
+        private int inMemoryMaxRows = 5000;
+
+        /**
+         * 메모리 XSSF가 실제로 기록할 최대 행 수 (0 이하면 in-memory-max-rows의 2배)
+         * 예상 행 수는 캐시 값이거나 조회 시점이 달라서 틀릴 수 있으므로, 넘으면 조회를 멈추고 SXSSF 스트리밍으로 다시 export
+         */
+        private int inMemoryHardMaxRows = 0;
+
+        public int getInMemoryHardMaxRows() {
+            return inMemoryHardMaxRows > 0
+                    ? Math.max(inMemoryHardMaxRows, inMemoryMaxRows)
+                    : (int) Math.min(Integer.MAX_VALUE, 2L * inMemoryMaxRows);
+        }
+    }
+
+    /**
+     * 테스트 데이터 설정 (UserDatasetGenerator)
+     */
+    @Getter
+    @Setter
+    public static class Dataset {
+
+        /**
+         * 기동 시 users 행 수를 이 값까지 채움 (0이면 생성하지 않음) - 파일 DB에 한 번 만들어 두고 재사용
+         */
+        private long rows = 0;
+
+        /**
+         * INSERT 한 문장으로 생성할 행 수 - 문장마다 커밋되어 DB 트랜잭션 로그가 커지지 않음
+         */
+        private int chunkRows = 100_000;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.streaming.config;
+
+import com.example.streaming.service.MemoryPressureGovernor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 메모리 위험 단계(CRITICAL)에서 새 export 요청을 503 + Retry-After로 거절
+ *
+ * 진행 중인 export는 MemoryPressureGovernor가 속도를 조절하고,
+ * 새 export는 응답을 쓰기 전에 여기서 막아서 힙 사용량이 더 늘지 않도록 한다.
+ */
+@Slf4j
+@Component
+public class MemoryPressureInterceptor implements HandlerInterceptor {
+
+    private final MemoryPressureGovernor memoryPressureGovernor;
+    private final Counter rejectedCounter;
+
+    public MemoryPressureInterceptor(MemoryPressureGovernor memoryPressureGovernor, MeterRegistry registry) {
+        this.memoryPressureGovernor = memoryPressureGovernor;
+        this.rejectedCounter = Counter.builder("export.rejected")
+                .description("메모리 압박으로 거절한 export 요청 수")
+                .tag("reason", "memory")
+                .register(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (memoryPressureGovernor.isAcceptingExports()) {
+            return true;
+        }
+
+        rejectedCounter.increment();
+        long retryAfter = memoryPressureGovernor.getRetryAfterSeconds();
+        log.warn("메모리 압박으로 export 요청 거절 - {} {}, Retry-After: {}s",
+                request.getMethod(), request.getRequestURI(), retryAfter);
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("서버 메모리가 부족해서 export 요청을 처리할 수 없습니다. " + retryAfter + "초 후 다시 시도하세요.");
+        return false;
+    }
+}
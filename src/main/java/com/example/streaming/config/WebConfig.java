@@ -0,0 +1,68 @@
+package com.example.streaming.config;
+
+import com.example.streaming.controller.ReactiveUserStreamHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.reactive.ServletHttpHandlerAdapter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC 설정
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final MemoryPressureInterceptor memoryPressureInterceptor;
+    private final ExportAdmissionInterceptor exportAdmissionInterceptor;
+
+    /**
+     * export를 시작하는 경로에만 메모리 압박 거절 적용
+     * (작업 상태 조회, 완료 파일 다운로드처럼 힙을 쓰지 않는 요청은 제외)
+     * 메모리 압박으로 거절할 요청이 대기열에 들어가지 않도록 수락 제어는 그다음에 적용
+     * (비동기 작업은 자체 실행 대기열이 있고, import는 export가 아니므로 수락 제어에서 제외)
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(memoryPressureInterceptor)
+                .addPathPatterns("/test/excel/**", "/test/csv/**", "/test/payments/excel", "/test/export/jobs",
+                        "/test/export/keyset", "/test/export/keyset/*", "/test/export/cached", "/test/import",
+                        "/users/stream");
+        registry.addInterceptor(exportAdmissionInterceptor)
+                .addPathPatterns("/test/excel/**", "/test/csv/**", "/test/payments/excel",
+                        "/test/export/keyset", "/test/export/keyset/*", "/test/export/cached", "/users/stream");
+    }
+
+    /**
+     * 스트리밍 export 응답에만 압축 필터 적용
+     * (완료 파일 다운로드는 Range 요청의 바이트 위치가 압축 전 파일 기준이어야 하므로 제외,
+     * 캐시 파일은 Content-Length와 함께 파일 채널에서 그대로 전송하므로 제외)
+     */
+    @Bean
+    public FilterRegistrationBean<ExportCompressionFilter> exportCompressionFilter(ExportProperties properties,
+                                                                                   MeterRegistry registry) {
+        FilterRegistrationBean<ExportCompressionFilter> registration =
+                new FilterRegistrationBean<>(new ExportCompressionFilter(properties, registry));
+        registration.addUrlPatterns("/test/excel/*", "/test/csv/*", "/test/export/keyset", "/test/export/keyset/*",
+                "/users/stream");
+        return registration;
+    }
+
+    /**
+     * 리액티브 스트리밍 API - DispatcherServlet 대신 spring-web의 리액티브 Servlet 어댑터로 실행
+     * (비동기 Servlet I/O라 소켓이 쓰기 가능해질 때만 다음 청크를 요청, 압축 필터와 MVC 인터셉터는 적용되지 않음)
+     */
+    @Bean
+    public ServletRegistrationBean<ServletHttpHandlerAdapter> reactiveExportServlet(ReactiveUserStreamHandler handler) {
+        ServletRegistrationBean<ServletHttpHandlerAdapter> registration =
+                new ServletRegistrationBean<>(new ServletHttpHandlerAdapter(handler), "/test/reactive/*");
+        registration.setName("reactiveExportServlet");
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+}
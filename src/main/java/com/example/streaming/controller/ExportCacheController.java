@@ -0,0 +1,44 @@
+package com.example.streaming.controller;
+
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.service.ExportCacheService;
+import com.example.streaming.service.ExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 캐시된 export API
+ *
+ * 1. GET    /test/export/cached?format=XLSX → 캐시 파일 다운로드 (X-Export-Cache: HIT / MISS / COALESCED)
+ *    조회 조건/열 선택은 /test/excel/streaming과 같은 파라미터이며 조합마다 따로 캐시됨
+ * 2. DELETE /test/export/cached             → 캐시 전체 삭제 (기존 행 수정 후 등)
+ */
+@Slf4j
+@RequestMapping("/test/export/cached")
+@RestController
+@RequiredArgsConstructor
+public class ExportCacheController {
+
+    private final ExportCacheService exportCacheService;
+
+    @GetMapping
+    public void download(@RequestParam(defaultValue = "XLSX") ExportFormat format, UserExportFilter filter,
+                         HttpServletResponse response) {
+        long startTime = System.currentTimeMillis();
+        ExportCacheService.CacheResult result = exportCacheService.serve(response, format, filter);
+        log.info("=== 캐시 export 완료 - {}, 처리시간: {}ms ===", result, System.currentTimeMillis() - startTime);
+    }
+
+    @DeleteMapping
+    public Map<String, Integer> invalidate() {
+        return Map.of("removed", exportCacheService.invalidateAll());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.streaming.controller;
+
+import com.example.streaming.dto.ExportJobStatus;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.service.ExportFormat;
+import com.example.streaming.service.ExportJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+
+/**
+ * 비동기 export 작업 API
+ *
+ * 1. POST /test/export/jobs?format=XLSX  → 202 + 작업 상태 (Location: 상태 조회 경로)
+ *    조회 조건/열 선택은 /test/excel/streaming과 같은 파라미터 (department, active, minAge, ..., columns)
+ * 2. GET  /test/export/jobs/{jobId}      → 처리 건수, 처리량, 남은 시간
+ * 3. GET  /test/export/jobs/{jobId}/file → 완료 파일 다운로드 (Range 요청으로 이어받기 가능)
+ */
+@Slf4j
+@RequestMapping("/test/export/jobs")
+@RestController
+@RequiredArgsConstructor
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+
+    @PostMapping
+    public ResponseEntity<ExportJobStatus> submit(@RequestParam(defaultValue = "XLSX") ExportFormat format,
+                                                  UserExportFilter filter) {
+        try {
+            ExportJobStatus status = exportJobService.submit(format, filter);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/test/export/jobs/" + status.getJobId()))
+                    .body(status);
+
+        } catch (TaskRejectedException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "export 작업 대기열이 가득 찼습니다", e);
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ExportJobStatus getStatus(@PathVariable String jobId) {
+        return exportJobService.getStatus(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "export 작업이 없습니다: " + jobId));
+    }
+
+    /**
+     * 완료 파일 다운로드
+     * Resource 본문은 Spring MVC가 Range 헤더를 처리해서 206 Partial Content로 응답하므로
+     * 중간에 끊긴 다운로드를 Range: bytes=N- 로 이어받을 수 있다.
+     */
+    @GetMapping("/{jobId}/file")
+    public ResponseEntity<Resource> download(@PathVariable String jobId) {
+        if (exportJobService.getStatus(jobId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "export 작업이 없습니다: " + jobId);
+        }
+
+        ExportJobService.ExportFile file = exportJobService.getCompletedFile(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "export 작업이 아직 완료되지 않았습니다: " + jobId));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(file.format().getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.filename()).build().toString())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(new FileSystemResource(file.path()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.streaming.controller;
+
+import com.example.streaming.dto.ExportCheckpointStatus;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.service.ExportFormat;
+import com.example.streaming.service.KeysetExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 이어받기 가능한 keyset export API
+ *
+ * 1. GET /test/export/keyset?format=CSV               → 새 export 다운로드 (X-Export-Id: 이어받기 토큰)
+ *    조회 조건과 열 선택은 다른 export와 같은 파라미터 (department, active, minAge, maxAge, createdFrom, createdTo, columns)
+ * 2. GET /test/export/keyset/{exportId}?offset=N      → 끊긴 다운로드를 받은 바이트 수(N) 다음부터 이어받기
+ *    조건은 1에서 보관한 것을 그대로 사용
+ * 3. GET /test/export/keyset/{exportId}/checkpoint    → 마지막 키, 전송한 행/바이트 수
+ *
+ * 전체 크기를 미리 알 수 없는 스트리밍 응답이라 Range/206 대신 export ID + offset을 이어받기 토큰으로 쓴다.
+ * 이어받은 응답 본문은 원래 파일의 offset 위치부터이므로 받은 파일 뒤에 그대로 붙이면 된다.
+ */
+@Slf4j
+@RequestMapping("/test/export/keyset")
+@RestController
+@RequiredArgsConstructor
+public class KeysetExportController {
+
+    private static final String EXPORT_ID_HEADER = "X-Export-Id";
+    private static final String EXPORT_OFFSET_HEADER = "X-Export-Offset";
+
+    private final KeysetExportService keysetExportService;
+
+    @GetMapping
+    public void download(@RequestParam(defaultValue = "CSV") ExportFormat format, UserExportFilter filter,
+                         HttpServletResponse response) {
+        ExportCheckpointStatus checkpoint = keysetExportService.begin(format, filter);
+        stream(checkpoint, 0, response);
+    }
+
+    @GetMapping("/{exportId}")
+    public void resume(@PathVariable String exportId, @RequestParam(defaultValue = "0") long offset,
+                       HttpServletResponse response) {
+        ExportCheckpointStatus checkpoint = getCheckpoint(exportId);
+        if (offset < 0 || offset > checkpoint.getBytesEmitted()) {
+            throw new ResponseStatusException(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE,
+                    "offset은 0 이상 " + checkpoint.getBytesEmitted() + " 이하여야 합니다: " + offset);
+        }
+        stream(checkpoint, offset, response);
+    }
+
+    @GetMapping("/{exportId}/checkpoint")
+    public ExportCheckpointStatus getCheckpoint(@PathVariable String exportId) {
+        return keysetExportService.getCheckpoint(exportId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "keyset export가 없습니다: " + exportId));
+    }
+
+    private void stream(ExportCheckpointStatus checkpoint, long offset, HttpServletResponse response) {
+        ExportFormat format = ExportFormat.valueOf(checkpoint.getFormat());
+
+        // 응답 헤더는 첫 바이트를 쓰기 전에 설정
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("users_keyset_" + checkpoint.getExportId() + "." + format.getExtension()).build().toString());
+        response.setHeader(EXPORT_ID_HEADER, checkpoint.getExportId());
+        response.setHeader(EXPORT_OFFSET_HEADER, String.valueOf(offset));
+
+        try {
+            keysetExportService.write(checkpoint.getExportId(), offset, response.getOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("응답 스트림 열기 실패", e);
+        }
+    }
+}
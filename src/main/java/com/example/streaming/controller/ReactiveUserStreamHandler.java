@@ -0,0 +1,158 @@
+package com.example.streaming.controller;
+
+import com.example.streaming.config.ExportClientResolver;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.service.ExportAdmissionScheduler;
+import com.example.streaming.service.ExportCostEstimator;
+import com.example.streaming.service.MemoryPressureGovernor;
+import com.example.streaming.service.ReactiveUserStreamService;
+import com.example.streaming.service.StreamFormat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.DataBinder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 리액티브 스트리밍 API (spring-web의 ServletHttpHandlerAdapter로 /test/reactive/* 에 등록)
+ *
+ * GET /test/reactive/users?format=CSV|NDJSON|JSON&department=...&columns=ID,EMAIL
+ *
+ * MVC 컨트롤러와 달리 응답을 논블로킹으로 쓴다. 소켓이 쓰기 가능해질 때만 다음 청크를 요청하므로
+ * 느린 클라이언트를 기다리는 동안 요청 스레드도, 조회 스레드도 점유하지 않고 커서도 더 읽지 않는다.
+ * MVC 인터셉터 밖에서 실행되므로 메모리 압박 거절과 수락 제어(ExportAdmissionScheduler)를 여기서 직접 적용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReactiveUserStreamHandler implements HttpHandler {
+
+    private static final String USERS_PATH = "/users";
+
+    private static final DefaultFormattingConversionService CONVERSION_SERVICE = new DefaultFormattingConversionService();
+
+    private final ReactiveUserStreamService reactiveUserStreamService;
+    private final MemoryPressureGovernor memoryPressureGovernor;
+    private final ExportAdmissionScheduler admissionScheduler;
+    private final ExportCostEstimator costEstimator;
+    private final ExportClientResolver clientResolver;
+
+    @Override
+    public Mono<Void> handle(ServerHttpRequest request, ServerHttpResponse response) {
+        if (!USERS_PATH.equals(request.getPath().pathWithinApplication().value())) {
+            return reject(response, HttpStatus.NOT_FOUND, "경로가 없습니다: " + request.getPath().value(), null);
+        }
+        if (request.getMethod() != HttpMethod.GET) {
+            response.getHeaders().setAllow(Set.of(HttpMethod.GET));
+            return reject(response, HttpStatus.METHOD_NOT_ALLOWED, "GET만 지원합니다.", null);
+        }
+
+        StreamFormat format;
+        UserExportFilter filter;
+        try {
+            format = parseFormat(request.getQueryParams().getFirst("format"));
+            filter = bindFilter(request.getQueryParams());
+        } catch (IllegalArgumentException e) {
+            return reject(response, HttpStatus.BAD_REQUEST, e.getMessage(), null);
+        }
+
+        if (!memoryPressureGovernor.isAcceptingExports()) {
+            long retryAfter = memoryPressureGovernor.getRetryAfterSeconds();
+            log.warn("메모리 압박으로 리액티브 스트림 요청 거절 - Retry-After: {}s", retryAfter);
+            return reject(response, HttpStatus.SERVICE_UNAVAILABLE,
+                    "서버 메모리가 부족해서 export 요청을 처리할 수 없습니다. " + retryAfter + "초 후 다시 시도하세요.", retryAfter);
+        }
+
+        String client = clientResolver.resolve(request);
+        // 비용 추정(COUNT)과 대기열 대기는 블로킹이므로 boundedElastic에서
+        return Mono.fromCallable(() -> admissionScheduler.acquire(client,
+                        costEstimator.estimate(filter), 1))
+                .subscribeOn(Schedulers.boundedElastic())
+                // 대기 중에 클라이언트가 끊으면 배정받은 자리는 버려지므로 여기서 반납
+                .doOnDiscard(Optional.class, ReactiveUserStreamHandler::releaseDiscarded)
+                .flatMap(permit -> permit
+                        .map(admitted -> stream(response, filter, format).doFinally(signal -> admitted.release()))
+                        .orElseGet(() -> {
+                            long retryAfter = admissionScheduler.getRetryAfterSeconds();
+                            log.warn("동시 실행 상한으로 리액티브 스트림 요청 거절 - 클라이언트: {}, Retry-After: {}s",
+                                    client, retryAfter);
+                            return reject(response, HttpStatus.SERVICE_UNAVAILABLE,
+                                    "실행 중인 export가 많아서 요청을 처리할 수 없습니다. " + retryAfter + "초 후 다시 시도하세요.",
+                                    retryAfter);
+                        }));
+    }
+
+    private Mono<Void> stream(ServerHttpResponse response, UserExportFilter filter, StreamFormat format) {
+        HttpHeaders headers = response.getHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, format.getContentType());
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename("users_reactive." + format.getExtension()).build());
+        return response.writeWith(reactiveUserStreamService.streamUsers(filter, format, response.bufferFactory()));
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response, HttpStatus status, String message, Long retryAfter) {
+        response.setStatusCode(status);
+        if (retryAfter != null) {
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        }
+        response.getHeaders().setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+        DataBuffer body = response.bufferFactory().wrap(message.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(body));
+    }
+
+    private static void releaseDiscarded(Optional<?> permit) {
+        permit.ifPresent(admitted -> ((ExportAdmissionScheduler.Permit) admitted).release());
+    }
+
+    private static StreamFormat parseFormat(String value) {
+        if (!StringUtils.hasText(value)) {
+            return StreamFormat.CSV;
+        }
+        try {
+            return StreamFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 형식입니다: " + value + " (CSV, NDJSON, JSON)");
+        }
+    }
+
+    /**
+     * 쿼리 파라미터를 UserExportFilter로 바인딩 (MVC의 @ModelAttribute와 같은 변환 규칙)
+     */
+    private static UserExportFilter bindFilter(MultiValueMap<String, String> params) {
+        MutablePropertyValues values = new MutablePropertyValues();
+        params.forEach((name, list) -> values.add(name, list.size() == 1 ? list.get(0) : list.toArray(new String[0])));
+
+        UserExportFilter filter = new UserExportFilter();
+        DataBinder binder = new DataBinder(filter);
+        binder.setConversionService(CONVERSION_SERVICE);
+        binder.setAllowedFields("department", "active", "minAge", "maxAge", "createdFrom", "createdTo", "columns");
+        binder.bind(values);
+        if (binder.getBindingResult().hasErrors()) {
+            List<String> fields = binder.getBindingResult().getFieldErrors().stream()
+                    .map(error -> error.getField() + "=" + error.getRejectedValue())
+                    .toList();
+            throw new IllegalArgumentException("잘못된 조회 조건입니다: " + fields);
+        }
+        return filter;
+    }
+}
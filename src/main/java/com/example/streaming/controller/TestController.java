@@ -1,17 +1,35 @@
 package com.example.streaming.controller;
 
 import com.example.streaming.dto.UserDto;
+import com.example.streaming.dto.UserExportFilter;
 import com.example.streaming.repository.UserMapper;
+import com.example.streaming.service.ColumnarExportService;
+import com.example.streaming.service.ExportFormat;
+import com.example.streaming.service.ExportStrategy;
+import com.example.streaming.service.ExportStrategySelector;
+import com.example.streaming.service.FileExportService;
+import com.example.streaming.service.ShardMode;
+import com.example.streaming.service.ShardedExcelService;
+import com.example.streaming.service.StreamingCsvService;
 import com.example.streaming.service.StreamingExcelService;
+import com.example.streaming.service.UserColumn;
+import com.example.streaming.service.UserDatasetGenerator;
 import com.example.streaming.util.ExcelUtil;
 import com.example.streaming.util.MemoryMonitor;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RequestMapping("/test")
@@ -21,11 +39,26 @@ public class TestController {
     private final MemoryMonitor memoryMonitor;
     private final UserMapper mapper;
     private final StreamingExcelService streamingExcelService;
+    private final StreamingCsvService streamingCsvService;
+    private final ShardedExcelService shardedExcelService;
+    private final FileExportService fileExportService;
+    private final ColumnarExportService columnarExportService;
+    private final ExportStrategySelector exportStrategySelector;
+    private final UserDatasetGenerator userDatasetGenerator;
 
-    public TestController(MemoryMonitor memoryMonitor, UserMapper mapper, StreamingExcelService streamingExcelService) {
+    public TestController(MemoryMonitor memoryMonitor, UserMapper mapper, StreamingExcelService streamingExcelService,
+                          StreamingCsvService streamingCsvService, ShardedExcelService shardedExcelService,
+                          FileExportService fileExportService, ColumnarExportService columnarExportService,
+                          ExportStrategySelector exportStrategySelector, UserDatasetGenerator userDatasetGenerator) {
         this.memoryMonitor = memoryMonitor;
         this.mapper = mapper;
         this.streamingExcelService = streamingExcelService;
+        this.streamingCsvService = streamingCsvService;
+        this.shardedExcelService = shardedExcelService;
+        this.fileExportService = fileExportService;
+        this.columnarExportService = columnarExportService;
+        this.exportStrategySelector = exportStrategySelector;
+        this.userDatasetGenerator = userDatasetGenerator;
     }
 
     @GetMapping("/payments/excel")
@@ -91,15 +124,18 @@ public class TestController {
     /**
      * 스트리밍 방식: ResultHandler + SXSSFWorkbook
      * 예상: 100만건도 안정적 처리, 90% 메모리 절약
+     *
+     * @param filter 조회 조건과 열 선택 (모두 선택 사항, 스트리밍 방식 공통)
+     *               department, active, minAge, maxAge, createdFrom/createdTo(ISO 일시), columns=ID,EMAIL,...
      */
     @GetMapping("/excel/streaming")
-    public void downloadStreamingExcel(HttpServletResponse response) {
+    public void downloadStreamingExcel(UserExportFilter filter, HttpServletResponse response) {
         memoryMonitor.logMemoryStatus("=== 스트리밍 방식 Excel 생성 시작 ===");
         long startTime = System.currentTimeMillis();
         
         try {
             // 스트리밍 서비스 호출
-            streamingExcelService.createStreamingExcel(response);
+            streamingExcelService.createStreamingExcel(response, filter);
             
             long endTime = System.currentTimeMillis();
             log.info("=== 스트리밍 방식 완료 - 처리시간: {}ms ===", (endTime - startTime));
@@ -111,46 +147,248 @@ public class TestController {
         }
     }
 
+    /**
+     * 파이프라인 방식: fetch 스레드(ResultHandler) → bounded 버퍼 → render 스레드(SXSSF)
+     * 예상: DB 조회와 Excel 렌더링이 겹쳐서 /excel/streaming 대비 처리시간 단축
+     * 두 방식의 처리 시간은 MemoryMonitor 로그(처리 시간 [...])로 비교
+     */
+    @GetMapping("/excel/pipeline")
+    public void downloadPipelinedExcel(UserExportFilter filter, HttpServletResponse response) {
+        memoryMonitor.logMemoryStatus("=== 파이프라인 방식 Excel 생성 시작 ===");
+        long startTime = System.currentTimeMillis();
+
+        try {
+            streamingExcelService.createPipelinedExcel(response, filter);
+
+            long endTime = System.currentTimeMillis();
+            log.info("=== 파이프라인 방식 완료 - 처리시간: {}ms ===", (endTime - startTime));
+            memoryMonitor.logMemoryStatus("=== 파이프라인 방식 Excel 생성 완료 ===");
+
+        } catch (Exception e) {
+            log.error("파이프라인 방식 Excel 생성 실패", e);
+            throw new RuntimeException("파이프라인 Excel 생성 실패", e);
+        }
+    }
+
+    /**
+     * 직접 XML 방식: POI 셀 객체 없이 SpreadsheetML을 응답 스트림에 바로 기록
+     * 예상: 임시파일 없음, 행당 할당량이 SXSSF보다 크게 줄어듦 (로그의 "할당량" 비교)
+     */
+    @GetMapping("/excel/fast")
+    public void downloadFastExcel(UserExportFilter filter, HttpServletResponse response) {
+        memoryMonitor.logMemoryStatus("=== 직접 XML 방식 Excel 생성 시작 ===");
+        long startTime = System.currentTimeMillis();
+
+        try {
+            streamingExcelService.createFastExcel(response, filter);
+
+            long endTime = System.currentTimeMillis();
+            log.info("=== 직접 XML 방식 완료 - 처리시간: {}ms ===", (endTime - startTime));
+            memoryMonitor.logMemoryStatus("=== 직접 XML 방식 Excel 생성 완료 ===");
+
+        } catch (Exception e) {
+            log.error("직접 XML 방식 Excel 생성 실패", e);
+            throw new RuntimeException("직접 XML Excel 생성 실패", e);
+        }
+    }
+
+    /**
+     * 자동 선택 방식: 예상 행 수가 export.strategy.in-memory-max-rows 이하면 메모리 XSSF, 넘으면 SXSSF 스트리밍
+     * 예상: 소량은 임시파일 없이 더 빨리 응답하고 Content-Length가 붙음, 대량은 스트리밍 방식과 같은 메모리
+     *
+     * @param filter 조회 조건과 열 선택
+     */
+    @GetMapping("/excel/auto")
+    public void downloadAutoExcel(UserExportFilter filter, HttpServletResponse response) {
+        long startTime = System.currentTimeMillis();
+
+        try {
+            ExportStrategySelector.Selection selection = exportStrategySelector.select(filter);
+            ExportStrategy strategy = selection.strategy();
+            if (strategy == ExportStrategy.IN_MEMORY) {
+                // 실제 행이 예상보다 많으면 스트리밍으로 다시 export
+                strategy = streamingExcelService.createInMemoryExcel(response, filter, selection.expectedRows());
+            } else {
+                streamingExcelService.createStreamingExcel(response, filter);
+            }
+
+            long endTime = System.currentTimeMillis();
+            log.info("=== 자동 선택 방식 완료 - 방식: {}, 예상: {}건, 처리시간: {}ms ===",
+                    strategy, selection.expectedRows(), (endTime - startTime));
+
+        } catch (Exception e) {
+            log.error("자동 선택 방식 Excel 생성 실패", e);
+            throw new RuntimeException("자동 선택 Excel 생성 실패", e);
+        }
+    }
+
+    /**
+     * 샤드 병렬 방식: id 범위로 나눈 샤드를 별도 커넥션/스레드에서 동시에 조회
+     * 결과는 id 오름차순
+     *
+     * @param mode   MERGED(한 시트로 병합) 또는 SHEET_PER_SHARD(샤드별 시트), 없으면 export.shard.mode
+     * @param filter 조회 조건과 열 선택
+     */
+    @GetMapping("/excel/sharded")
+    public void downloadShardedExcel(@RequestParam(required = false) ShardMode mode, UserExportFilter filter,
+                                     HttpServletResponse response) {
+        memoryMonitor.logMemoryStatus("=== 샤드 병렬 방식 Excel 생성 시작 ===");
+        long startTime = System.currentTimeMillis();
+
+        try {
+            shardedExcelService.createShardedExcel(response, mode, filter);
+
+            long endTime = System.currentTimeMillis();
+            log.info("=== 샤드 병렬 방식 완료 - 처리시간: {}ms ===", (endTime - startTime));
+            memoryMonitor.logMemoryStatus("=== 샤드 병렬 방식 Excel 생성 완료 ===");
+
+        } catch (IllegalArgumentException e) {
+            // 응답을 쓰기 전에 거절 (SHEET_PER_SHARD 용량 초과)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("샤드 병렬 방식 Excel 생성 실패", e);
+            throw new RuntimeException("샤드 병렬 Excel 생성 실패", e);
+        }
+    }
+
+    /**
+     * 분할 ZIP 방식: id 범위별 xlsx 파일을 병렬로 작성해서 ZIP 하나로 응답
+     * 시트 최대 행 수(1,048,576)를 훨씬 넘는 규모에서 파일 하나가 너무 커지지 않도록 나눔
+     * 파일당 행 수와 동시 작성 수는 export.xlsx.part-rows, part-threads
+     *
+     * @param filter 조회 조건과 열 선택
+     */
+    @GetMapping("/excel/parts")
+    public void downloadPartitionedZip(UserExportFilter filter, HttpServletResponse response) {
+        memoryMonitor.logMemoryStatus("=== 분할 ZIP 방식 Excel 생성 시작 ===");
+        long startTime = System.currentTimeMillis();
+
+        try {
+            shardedExcelService.createPartitionedZip(response, filter);
+
+            long endTime = System.currentTimeMillis();
+            log.info("=== 분할 ZIP 방식 완료 - 처리시간: {}ms ===", (endTime - startTime));
+            memoryMonitor.logMemoryStatus("=== 분할 ZIP 방식 Excel 생성 완료 ===");
+
+        } catch (Exception e) {
+            log.error("분할 ZIP 방식 Excel 생성 실패", e);
+            throw new RuntimeException("분할 ZIP Excel 생성 실패", e);
+        }
+    }
+
+    /**
+     * 소켓 직결 CSV 방식: ResultHandler + 재사용 바이트 버퍼
+     * 예상: 임시파일 없이 일정한 메모리, 첫 행 처리 직후 다운로드 시작
+     *
+     * @param bom    UTF-8 BOM 포함 여부 (기본 포함 - Excel 한글 헤더 깨짐 방지)
+     * @param filter 조회 조건과 열 선택
+     */
+    @GetMapping("/csv/streaming")
+    public void downloadStreamingCsv(@RequestParam(defaultValue = "true") boolean bom, UserExportFilter filter,
+                                     HttpServletResponse response) {
+        memoryMonitor.logMemoryStatus("=== 스트리밍 방식 CSV 생성 시작 ===");
+        long startTime = System.currentTimeMillis();
+
+        try {
+            streamingCsvService.createStreamingCsv(response, filter, bom);
+
+            long endTime = System.currentTimeMillis();
+            log.info("=== 스트리밍 방식 CSV 완료 - 처리시간: {}ms ===", (endTime - startTime));
+            memoryMonitor.logMemoryStatus("=== 스트리밍 방식 CSV 생성 완료 ===");
+
+        } catch (Exception e) {
+            log.error("스트리밍 방식 CSV 생성 실패", e);
+            throw new RuntimeException("스트리밍 CSV 생성 실패", e);
+        }
+    }
+
+    /**
+     * 컬럼형 배치 방식: 원시 배열 배치 파이프라인 → 직접 XML xlsx
+     * 예상: 행마다 UserDto/박싱/LocalDateTime을 만들지 않아 할당량과 GC가 직접 XML 방식보다 작음
+     *
+     * @param filter 조회 조건과 열 선택
+     */
+    @GetMapping("/excel/columnar")
+    public void downloadColumnarExcel(UserExportFilter filter, HttpServletResponse response) {
+        long startTime = System.currentTimeMillis();
+        columnarExportService.createColumnarExport(response, filter, ExportFormat.XLSX, false);
+        log.info("=== 컬럼형 방식 Excel 완료 - 처리시간: {}ms ===", System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * 컬럼형 배치 방식: 원시 배열 배치 파이프라인 → CSV
+     *
+     * @param bom    UTF-8 BOM 포함 여부
+     * @param filter 조회 조건과 열 선택
+     */
+    @GetMapping("/csv/columnar")
+    public void downloadColumnarCsv(@RequestParam(defaultValue = "true") boolean bom, UserExportFilter filter,
+                                    HttpServletResponse response) {
+        long startTime = System.currentTimeMillis();
+        columnarExportService.createColumnarExport(response, filter, ExportFormat.CSV, bom);
+        log.info("=== 컬럼형 방식 CSV 완료 - 처리시간: {}ms ===", System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * 로컬 CSV 파일 변환: 메모리 매핑 + 범위 병렬 해석 → 직접 XML xlsx
+     * 야간 덤프처럼 디스크에 있는 users CSV를 DB 조회 없이 변환 (export.file-source.directory 안의 파일만)
+     *
+     * @param file    소스 디렉터리 기준 파일 이름 (예: users_dump.csv)
+     * @param columns 출력할 열 (없으면 전체)
+     */
+    @GetMapping("/excel/file")
+    public void downloadExcelFromFile(@RequestParam String file,
+                                      @RequestParam(required = false) List<UserColumn> columns,
+                                      HttpServletResponse response) {
+        exportFile(file, ExportFormat.XLSX, columns, response);
+    }
+
+    /**
+     * 로컬 CSV 파일 변환: 메모리 매핑 + 범위 병렬 해석 → CSV (열 선택/정규화)
+     */
+    @GetMapping("/csv/file")
+    public void downloadCsvFromFile(@RequestParam String file,
+                                    @RequestParam(required = false) List<UserColumn> columns,
+                                    HttpServletResponse response) {
+        exportFile(file, ExportFormat.CSV, columns, response);
+    }
+
     /**
      * 메모리 사용량 실시간 모니터링
      * 브라우저에서 주기적으로 호출하여 메모리 상태 확인 가능
      */
     @GetMapping("/memory/status")
-    public String getMemoryStatus() {
+    public Map<String, Object> getMemoryStatus() {
         memoryMonitor.logMemoryStatus("실시간 모니터링");
-        
-        return String.format("""
-            {
-                "currentMB": %d,
-                "maxMB": %d,
-                "usagePercent": %.2f,
-                "timestamp": "%s"
-            }
-            """, 
-            memoryMonitor.getCurrentMemoryUsageMB(),
-            memoryMonitor.getMaxMemoryMB(),
-            memoryMonitor.getMemoryUsagePercentage(),
-            java.time.LocalDateTime.now()
-        );
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("currentMB", memoryMonitor.getCurrentMemoryUsageMB());
+        status.put("maxMB", memoryMonitor.getMaxMemoryMB());
+        status.put("usagePercent", Math.round(memoryMonitor.getMemoryUsagePercentage() * 100) / 100.0);
+        status.put("heapPoolsMB", memoryMonitor.getHeapPoolUsageMB());
+        status.put("timestamp", LocalDateTime.now());
+        return status;
     }
 
     // ========== 데이터 준비용 엔드포인트 ==========
     
     /**
-     * 테스트 데이터 생성 (100만건)
+     * 테스트 데이터 생성 (기본 50만건 추가)
      * 충분한 메모리로 애플리케이션 실행해서 데이터 준비용
+     * 값은 순번으로만 정해지므로 빈 테이블에서 같은 행 수를 만들면 항상 같은 데이터
+     *
+     * @param rows 추가할 행 수
      */
     @GetMapping("/data/setup")
-    public String setupTestData() {
+    public String setupTestData(@RequestParam(defaultValue = "500000") long rows) {
         memoryMonitor.logMemoryStatus("대량 데이터 생성 시작");
         long startTime = System.currentTimeMillis();
         
         try {
             // H2 데이터베이스에 직접 대량 삽입
-            mapper.createLargeDataset();
+            long totalCount = userDatasetGenerator.generate(rows);
             
             long endTime = System.currentTimeMillis();
-            int totalCount = mapper.countAllUsers();
             
             log.info("대량 데이터 생성 완료 - 총 {}건, 처리시간: {}ms", totalCount, (endTime - startTime));
             memoryMonitor.logMemoryStatus("대량 데이터 생성 완료");
@@ -162,4 +400,19 @@ public class TestController {
             return "데이터 생성 실패: " + e.getMessage();
         }
     }
+
+    private void exportFile(String file, ExportFormat format, List<UserColumn> columns, HttpServletResponse response) {
+        Path source;
+        try {
+            source = fileExportService.resolveSource(file)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "파일이 없습니다: " + file));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        long startTime = System.currentTimeMillis();
+        fileExportService.exportFile(response, source, format,
+                columns == null || columns.isEmpty() ? UserColumn.ALL : columns.stream().distinct().toList());
+        log.info("=== 파일 export 완료 - {}, {}, 처리시간: {}ms ===", file, format, System.currentTimeMillis() - startTime);
+    }
 }
@@ -0,0 +1,58 @@
+package com.example.streaming.controller;
+
+import com.example.streaming.dto.ImportResult;
+import com.example.streaming.service.ExportFormat;
+import com.example.streaming.service.UserImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 사용자 일괄 import API
+ *
+ * POST /test/import (multipart/form-data, file=users.csv|users.xlsx, format=CSV|XLSX 생략 시 확장자로 판단)
+ * → 저장/거부 건수, 초당 저장 행 수, 거부 행 목록 (행 번호는 헤더를 1행으로 센 파일 기준)
+ * 열 이름은 export 헤더(ID, 사용자명, ...) 또는 컬럼명(username, ...) 모두 허용하므로 export 파일을 그대로 올릴 수 있다.
+ */
+@Slf4j
+@RequestMapping("/test/import")
+@RestController
+@RequiredArgsConstructor
+public class UserImportController {
+
+    private final UserImportService userImportService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportResult importUsers(@RequestParam("file") MultipartFile file,
+                                    @RequestParam(required = false) ExportFormat format) {
+        if (file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "빈 파일입니다");
+        }
+        ExportFormat resolved = format != null ? format : formatOf(file.getOriginalFilename());
+
+        try {
+            return userImportService.importUsers(file, resolved);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private ExportFormat formatOf(String filename) {
+        String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+        return Arrays.stream(ExportFormat.values())
+                .filter(candidate -> name.endsWith("." + candidate.getExtension()))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "파일 형식을 알 수 없습니다 (format=CSV|XLSX 지정): " + filename));
+    }
+}
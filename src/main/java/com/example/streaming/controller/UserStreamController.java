@@ -0,0 +1,43 @@
+package com.example.streaming.controller;
+
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.service.JsonStreamService;
+import com.example.streaming.service.StreamFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * API 소비자용 사용자 JSON 스트리밍
+ *
+ * GET /users/stream?format=NDJSON|JSON&department=...&columns=ID,EMAIL
+ *
+ * 1. NDJSON (기본): 한 줄에 사용자 하나 - 받는 쪽이 전체를 기다리지 않고 줄 단위로 처리
+ * 2. JSON: 사용자 배열 하나 - 배열을 통째로 파싱하는 클라이언트용 (서버는 똑같이 스트리밍)
+ */
+@Slf4j
+@RequestMapping("/users/stream")
+@RestController
+@RequiredArgsConstructor
+public class UserStreamController {
+
+    private final JsonStreamService jsonStreamService;
+
+    @GetMapping
+    public void stream(@RequestParam(defaultValue = "NDJSON") StreamFormat format, UserExportFilter filter,
+                       HttpServletResponse response) {
+        if (format == StreamFormat.CSV) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "CSV는 /test/csv/streaming을 사용하세요 (NDJSON, JSON)");
+        }
+        long startTime = System.currentTimeMillis();
+        jsonStreamService.createJsonStream(response, filter, format);
+        log.info("=== JSON 스트리밍 완료 - 형식: {}, 처리시간: {}ms ===", format, System.currentTimeMillis() - startTime);
+    }
+}
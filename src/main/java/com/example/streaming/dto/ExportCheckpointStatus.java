@@ -0,0 +1,64 @@
+package com.example.streaming.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * 이어받기 가능한 keyset export의 체크포인트 응답
+ */
+@Getter
+@Builder
+public class ExportCheckpointStatus {
+
+    /**
+     * export ID (이어받기 토큰)
+     */
+    private final String exportId;
+
+    /**
+     * 파일 형식 (XLSX, CSV)
+     */
+    private final String format;
+
+    /**
+     * 조회 조건과 열 선택 - 이어받기도 이 조건으로 조회
+     */
+    private final UserExportFilter filter;
+
+    /**
+     * 전송을 끝까지 마쳤는지 여부
+     */
+    private final boolean completed;
+
+    /**
+     * 마지막으로 내보낸 행의 키 (created_at) - 아직 없으면 null
+     */
+    private final LocalDateTime lastCreatedAt;
+
+    /**
+     * 마지막으로 내보낸 행의 키 (id) - 아직 없으면 null
+     */
+    private final Long lastId;
+
+    /**
+     * 지금까지 내보낸 행 수
+     */
+    private final long rowsEmitted;
+
+    /**
+     * 지금까지 응답으로 내보낸 바이트 수 (이어받기 offset의 상한)
+     */
+    private final long bytesEmitted;
+
+    /**
+     * 이어받기 경로 - offset에 클라이언트가 받은 바이트 수를 넣어 요청
+     */
+    private final String resumeUrl;
+
+    private final Instant createdAt;
+
+    private final Instant updatedAt;
+}
@@ -0,0 +1,70 @@
+package com.example.streaming.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * 비동기 export 작업 상태 응답
+ */
+@Getter
+@Builder
+public class ExportJobStatus {
+
+    /**
+     * 작업 ID
+     */
+    private final String jobId;
+
+    /**
+     * 파일 형식 (XLSX, CSV)
+     */
+    private final String format;
+
+    /**
+     * 작업 상태 (QUEUED, RUNNING, COMPLETED, FAILED)
+     */
+    private final String state;
+
+    /**
+     * 지금까지 처리한 행 수
+     */
+    private final long processedRows;
+
+    /**
+     * 전체 예상 행 수 (작업 시작 시점의 건수)
+     */
+    private final long totalRows;
+
+    /**
+     * 처리량 (행/초)
+     */
+    private final long rowsPerSecond;
+
+    /**
+     * 남은 예상 시간 (초) - 계산할 수 없으면 null
+     */
+    private final Long etaSeconds;
+
+    /**
+     * 완료된 파일 크기 (바이트)
+     */
+    private final Long fileSize;
+
+    /**
+     * 실패 사유
+     */
+    private final String error;
+
+    /**
+     * 다운로드 경로 (완료 시)
+     */
+    private final String downloadUrl;
+
+    private final Instant submittedAt;
+
+    private final Instant startedAt;
+
+    private final Instant finishedAt;
+}
@@ -0,0 +1,59 @@
+package com.example.streaming.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 일괄 import 결과 응답
+ */
+@Getter
+@Builder
+public class ImportResult {
+
+    /**
+     * 파일 형식 (XLSX, CSV)
+     */
+    private final String format;
+
+    /**
+     * 읽은 데이터 행 수 (헤더, 빈 행 제외)
+     */
+    private final long totalRows;
+
+    /**
+     * 저장한 행 수
+     */
+    private final long importedRows;
+
+    /**
+     * 변환/검증에 실패해서 건너뛴 행 수
+     */
+    private final long rejectedRows;
+
+    /**
+     * 커밋한 청크 수
+     */
+    private final long chunks;
+
+    /**
+     * 전체 소요 시간 (밀리초)
+     */
+    private final long elapsedMs;
+
+    /**
+     * 초당 저장 행 수
+     */
+    private final long rowsPerSecond;
+
+    /**
+     * 거부된 행 목록 (앞에서부터 export.ingest.max-errors건까지)
+     */
+    private final List<ImportRowError> errors;
+
+    /**
+     * 거부된 행이 목록 상한보다 많아서 일부만 담겼는지 여부
+     */
+    private final boolean errorsTruncated;
+}
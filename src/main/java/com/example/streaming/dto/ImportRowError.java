@@ -0,0 +1,29 @@
+package com.example.streaming.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * import에서 거부된 행
+ */
+@Getter
+@AllArgsConstructor
+public class ImportRowError {
+
+    /**
+     * 시트 이름 (CSV는 null)
+     */
+    private final String sheet;
+
+    /**
+     * 파일에서의 행 번호 (1부터, 헤더 포함 - 스프레드시트에 보이는 번호)
+     */
+    private final long row;
+
+    /**
+     * 거부 사유 (열 이름: 메시지)
+     */
+    private final List<String> messages;
+}
@@ -1,5 +1,10 @@
 package com.example.streaming.dto;
 
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +15,7 @@ import java.time.LocalDateTime;
 /**
  * 사용자 정보 DTO
  * MyBatis ResultHandler 테스트를 위한 사용자 데이터 모델
+ * 검증 제약은 일괄 import에서 행을 넣기 전에 확인 (users 테이블 컬럼 정의와 같은 길이/NOT NULL)
  */
 @Data
 @Builder
@@ -25,21 +31,29 @@ public class UserDto {
     /**
      * 사용자명
      */
+    @NotBlank
+    @Size(max = 50)
     private String username;
 
     /**
      * 이메일
      */
+    @NotBlank
+    @Email
+    @Size(max = 100)
     private String email;
 
     /**
      * 나이
      */
+    @Min(0)
+    @Max(150)
     private Integer age;
 
     /**
      * 부서
      */
+    @Size(max = 50)
     private String department;
 
     /**
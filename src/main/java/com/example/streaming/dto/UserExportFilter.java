@@ -0,0 +1,78 @@
+package com.example.streaming.dto;
+
+import com.example.streaming.service.UserColumn;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * export 조회 조건과 열 선택
+ * 조건은 모두 선택 사항이며 지정한 것만 WHERE 절에 들어간다 (UserMapper.xml의 exportFilter)
+ */
+@Data
+public class UserExportFilter {
+
+    /**
+     * 부서
+     */
+    private String department;
+
+    /**
+     * 활성 상태
+     */
+    private Boolean active;
+
+    /**
+     * 최소 나이 (포함)
+     */
+    private Integer minAge;
+
+    /**
+     * 최대 나이 (포함)
+     */
+    private Integer maxAge;
+
+    /**
+     * 생성일시 시작 (포함)
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    /**
+     * 생성일시 끝 (미포함)
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    /**
+     * 출력할 열 (순서대로) - 없으면 전체 열
+     */
+    private List<UserColumn> columns;
+
+    /**
+     * 조건 없는 전체 export
+     */
+    public static UserExportFilter none() {
+        return new UserExportFilter();
+    }
+
+    /**
+     * 행을 거르는 조건이 하나라도 있는지 (열 선택은 행 수와 무관하므로 제외)
+     */
+    public boolean hasConditions() {
+        return department != null || active != null || minAge != null || maxAge != null
+                || createdFrom != null || createdTo != null;
+    }
+
+    /**
+     * 출력할 열 - 지정하지 않았으면 전체 열, 중복은 처음 위치만 사용
+     */
+    public List<UserColumn> getColumns() {
+        if (columns == null || columns.isEmpty()) {
+            return UserColumn.ALL;
+        }
+        return columns.stream().distinct().toList();
+    }
+}
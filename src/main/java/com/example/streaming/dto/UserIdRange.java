@@ -0,0 +1,20 @@
+package com.example.streaming.dto;
+
+import lombok.Data;
+
+/**
+ * 사용자 ID 범위 (샤드 분할 기준)
+ */
+@Data
+public class UserIdRange {
+
+    /**
+     * 최소 사용자 ID
+     */
+    private Long minId;
+
+    /**
+     * 최대 사용자 ID
+     */
+    private Long maxId;
+}
@@ -0,0 +1,152 @@
+package com.example.streaming.metrics;
+
+import com.example.streaming.util.MemoryMonitor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * export 경로 Micrometer 계측
+ *
+ * export 한 건마다 start()로 ExportRecording을 만들어 처리 건수/출력 바이트/단계별 시간을 기록한다.
+ * 모든 meter에는 export 종류 태그(export=xlsx-streaming, csv-streaming 등)가 붙는다.
+ *
+ * - export.rows, export.bytes: 처리 건수/출력 바이트 (rate()로 초당 처리량)
+ * - export.ttfb: 시작부터 첫 바이트 출력까지 시간 (SXSSF는 모든 행을 임시파일에 쓴 뒤에야 첫 바이트가 나감)
+ * - export.stage{stage=fetch|render|flush}: DB 조회 / 행 렌더링 / 최종 출력 시간
+ * - export.duration{outcome=success|failure|fallback}: 전체 소요 시간 (fallback: 다른 방식으로 다시 export)
+ * - export.allocated: export 한 건이 호출 스레드에서 할당한 바이트 (ThreadMXBean)
+ * - export.active: 진행 중인 export 수
+ * - export.sxssf.temp.bytes: 디스크에 남아 있는 SXSSF 임시파일 크기 합
+ *
+ * 힙 풀별 사용량(jvm.memory.*)과 GC 일시정지(jvm.gc.pause)는 Actuator의 JVM 계측이 함께 노출한다.
+ */
+@Slf4j
+@Component
+public class ExportMetrics {
+
+    /**
+     * POI TempFile 기본 위치 ({java.io.tmpdir}/poifiles)와 SXSSF 시트 임시파일 접두사
+     */
+    private static final String POI_TEMP_DIRECTORY = "poifiles";
+    private static final String SXSSF_TEMP_FILE_PREFIX = "poi-sxssf-sheet";
+
+    private final MeterRegistry registry;
+    private final MemoryMonitor memoryMonitor;
+    private final AtomicInteger activeExports = new AtomicInteger();
+
+    public ExportMetrics(MeterRegistry registry, MemoryMonitor memoryMonitor) {
+        this.registry = registry;
+        this.memoryMonitor = memoryMonitor;
+
+        Gauge.builder("export.active", activeExports, AtomicInteger::get)
+                .description("진행 중인 export 수")
+                .register(registry);
+        Gauge.builder("export.sxssf.temp.bytes", this, ExportMetrics::sxssfTempFileBytes)
+                .description("디스크에 있는 SXSSF 임시파일 크기 합")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * export 한 건의 계측 시작 - 반드시 같은 스레드에서 success()/failure()로 끝내야 함
+     *
+     * @param export export 종류 태그 값 (예: xlsx-streaming)
+     */
+    public ExportRecording start(String export) {
+        activeExports.incrementAndGet();
+        return new ExportRecording(this, export, memoryMonitor.getCurrentThreadAllocatedBytes());
+    }
+
+    Counter rows(String export) {
+        return Counter.builder("export.rows")
+                .description("export 처리 건수")
+                .baseUnit("rows")
+                .tag("export", export)
+                .register(registry);
+    }
+
+    Counter bytes(String export) {
+        return Counter.builder("export.bytes")
+                .description("export 출력 바이트")
+                .baseUnit("bytes")
+                .tag("export", export)
+                .register(registry);
+    }
+
+    Timer timeToFirstByte(String export) {
+        return Timer.builder("export.ttfb")
+                .description("export 시작부터 첫 바이트 출력까지 시간")
+                .tag("export", export)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    Timer stage(String export, String stage) {
+        return Timer.builder("export.stage")
+                .description("export 단계별 소요 시간 (fetch: DB 조회, render: 행 렌더링, flush: 최종 출력)")
+                .tag("export", export)
+                .tag("stage", stage)
+                .register(registry);
+    }
+
+    void finish(ExportRecording recording, String outcome, long durationNanos, long startAllocatedBytes) {
+        activeExports.decrementAndGet();
+
+        Timer.builder("export.duration")
+                .description("export 전체 소요 시간")
+                .tag("export", recording.getExport())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        long endAllocatedBytes = memoryMonitor.getCurrentThreadAllocatedBytes();
+        if (startAllocatedBytes >= 0 && endAllocatedBytes >= 0) {
+            DistributionSummary.builder("export.allocated")
+                    .description("export 한 건이 호출 스레드에서 할당한 힙 바이트")
+                    .baseUnit("bytes")
+                    .tag("export", recording.getExport())
+                    .register(registry)
+                    .record(endAllocatedBytes - startAllocatedBytes);
+        }
+    }
+
+    /**
+     * SXSSF 임시파일 크기 합 (스크레이프할 때만 계산)
+     */
+    private double sxssfTempFileBytes() {
+        Path directory = Path.of(System.getProperty("java.io.tmpdir"), POI_TEMP_DIRECTORY);
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(SXSSF_TEMP_FILE_PREFIX))
+                    .mapToLong(ExportMetrics::sizeOrZero)
+                    .sum();
+        } catch (IOException e) {
+            log.debug("SXSSF 임시파일 크기 계산 실패: {}", directory, e);
+            return Double.NaN;
+        }
+    }
+
+    private static long sizeOrZero(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            // 측정 중 삭제된 임시파일
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.streaming.metrics;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * export 한 건의 계측 기록 (ExportMetrics.start()로 생성)
+ *
+ * 행 렌더링 기록(rowRendered)은 여러 렌더링 스레드에서 동시에 호출해도 되고,
+ * 나머지 단계 기록과 success()/failure()는 export를 시작한 스레드에서 호출한다.
+ */
+public class ExportRecording {
+
+    private final ExportMetrics metrics;
+    private final String export;
+    private final long startAllocatedBytes;
+    private final long startNanos = System.nanoTime();
+
+    private final Counter rowsCounter;
+    private final Counter bytesCounter;
+    private final LongAdder renderNanos = new LongAdder();
+
+    private volatile boolean firstByteWritten = false;
+    private long fetchNanos = 0;
+    private long flushNanos = 0;
+
+    private long fetchStartNanos;
+    private long fetchStartRenderNanos;
+    private long flushStartNanos;
+    private boolean finished = false;
+
+    ExportRecording(ExportMetrics metrics, String export, long startAllocatedBytes) {
+        this.metrics = metrics;
+        this.export = export;
+        this.startAllocatedBytes = startAllocatedBytes;
+        this.rowsCounter = metrics.rows(export);
+        this.bytesCounter = metrics.bytes(export);
+    }
+
+    public String getExport() {
+        return export;
+    }
+
+    /**
+     * 출력 스트림 계측 - 출력 바이트와 첫 바이트 시점을 기록
+     */
+    public OutputStream meter(OutputStream out) {
+        return new MeteredOutputStream(out);
+    }
+
+    /**
+     * 행 하나 렌더링 완료
+     *
+     * @param renderStartNanos 렌더링 시작 시점의 System.nanoTime()
+     */
+    public void rowRendered(long renderStartNanos) {
+        renderNanos.add(System.nanoTime() - renderStartNanos);
+        rowsCounter.increment();
+    }
+
+    /**
+     * 여러 행을 한 번에 렌더링 완료 (컬럼형 배치)
+     *
+     * @param renderStartNanos 렌더링 시작 시점의 System.nanoTime()
+     * @param rows             렌더링한 행 수
+     */
+    public void rowsRendered(long renderStartNanos, int rows) {
+        renderNanos.add(System.nanoTime() - renderStartNanos);
+        rowsCounter.increment(rows);
+    }
+
+    /**
+     * 조회 시작 - ResultHandler처럼 조회 중에 렌더링이 끼어드는 경우
+     * fetchFinished()에서 그 사이 렌더링 시간을 빼고 순수 조회 시간만 기록
+     */
+    public void fetchStarted() {
+        fetchStartNanos = System.nanoTime();
+        fetchStartRenderNanos = renderNanos.sum();
+    }
+
+    public void fetchFinished() {
+        long renderedDuringFetch = renderNanos.sum() - fetchStartRenderNanos;
+        fetchNanos += Math.max(0, System.nanoTime() - fetchStartNanos - renderedDuringFetch);
+    }
+
+    /**
+     * 다른 스레드에서 측정한 조회 시간 기록 (파이프라인 fetch 단계, 샤드/분할 파일 조회)
+     * 측정은 fetch 스레드에서 하더라도 기록은 export를 시작한 스레드에서 함
+     */
+    public void recordFetch(long nanos) {
+        fetchNanos += nanos;
+    }
+
+    public void flushStarted() {
+        flushStartNanos = System.nanoTime();
+    }
+
+    public void flushFinished() {
+        flushNanos += System.nanoTime() - flushStartNanos;
+    }
+
+    public void success() {
+        finish("success");
+    }
+
+    public void failure() {
+        finish("failure");
+    }
+
+    /**
+     * 응답을 쓰기 전에 중단하고 다른 방식으로 다시 export함
+     */
+    public void fallback() {
+        finish("fallback");
+    }
+
+    private void finish(String outcome) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+
+        metrics.stage(export, "fetch").record(fetchNanos, TimeUnit.NANOSECONDS);
+        metrics.stage(export, "render").record(renderNanos.sum(), TimeUnit.NANOSECONDS);
+        metrics.stage(export, "flush").record(flushNanos, TimeUnit.NANOSECONDS);
+        metrics.finish(this, outcome, System.nanoTime() - startNanos, startAllocatedBytes);
+    }
+
+    private void firstByte() {
+        firstByteWritten = true;
+        metrics.timeToFirstByte(export).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 출력 바이트 계측 스트림 (close는 대상 스트림으로 전달)
+     */
+    private class MeteredOutputStream extends FilterOutputStream {
+
+        MeteredOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            written(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            written(len);
+        }
+
+        private void written(int len) {
+            if (len <= 0) {
+                return;
+            }
+            if (!firstByteWritten) {
+                firstByte();
+            }
+            bytesCounter.increment(len);
+        }
+    }
+}
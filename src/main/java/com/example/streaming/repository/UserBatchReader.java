@@ -0,0 +1,129 @@
+package com.example.streaming.repository;
+
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.service.UserBatch;
+import com.example.streaming.service.UserBatchPool;
+import com.example.streaming.service.UserColumn;
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 컬럼형 배치 조회 (UserMapper.xml의 findUsersColumnar)
+ *
+ * 매퍼의 ResultHandler 경로는 행마다 결과 객체(UserDto 또는 Map)를 만들고 값을 박싱하므로,
+ * SQL 생성과 파라미터 바인딩만 MyBatis에 맡기고 ResultSet은 직접 읽어 UserBatch 배열에 채운다.
+ * 1. 동적 SQL: 매퍼 XML의 조건/열 선택을 그대로 사용 (BoundSql)
+ * 2. 읽기: 열 번호로 getLong/getInt/getBoolean/getString - created_at은 SQL에서 밀리초로 변환해서 받음
+ * 3. 전달: 배치가 차면 handler로 넘기고 풀에서 새 배치를 빌림 (반납은 받은 쪽에서)
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBatchReader {
+
+    private static final String STATEMENT = UserMapper.class.getName() + ".findUsersColumnar";
+
+    private final SqlSessionFactory sqlSessionFactory;
+
+    /**
+     * 조건에 맞는 사용자를 배치 단위로 조회
+     *
+     * @param filter  조회 조건과 열 선택 (배치에는 선택한 열만 채워짐)
+     * @param pool    배치를 빌릴 풀
+     * @param handler 가득 찬 배치(마지막은 덜 찬 배치)를 받을 핸들러 - context.stop()으로 조회 중단
+     * @return 조회한 행 수
+     */
+    public long read(UserExportFilter filter, UserBatchPool pool, ResultHandler<UserBatch> handler) throws SQLException {
+        MapperMethod.ParamMap<Object> parameter = new MapperMethod.ParamMap<>();
+        parameter.put("filter", filter);
+        UserColumn[] columns = filter.getColumns().toArray(new UserColumn[0]);
+
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            MappedStatement statement = session.getConfiguration().getMappedStatement(STATEMENT);
+            BoundSql boundSql = statement.getBoundSql(parameter);
+            Connection connection = session.getConnection();
+
+            try (PreparedStatement ps = connection.prepareStatement(boundSql.getSql(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                if (statement.getFetchSize() != null) {
+                    ps.setFetchSize(statement.getFetchSize());
+                }
+                new DefaultParameterHandler(statement, parameter, boundSql).setParameters(ps);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    return readBatches(rs, columns, pool, handler);
+                }
+            }
+        }
+    }
+
+    private long readBatches(ResultSet rs, UserColumn[] columns, UserBatchPool pool,
+                             ResultHandler<UserBatch> handler) throws SQLException {
+        DefaultResultContext<UserBatch> context = new DefaultResultContext<>();
+        long rows = 0;
+        UserBatch batch = pool.acquire();
+        while (rs.next()) {
+            int row = batch.addRow();
+            for (int i = 0; i < columns.length; i++) {
+                int index = i + 1;
+                switch (columns[i]) {
+                    case ID -> batch.setId(row, rs.getLong(index));
+                    case USERNAME -> batch.setUsername(row, rs.getString(index));
+                    case EMAIL -> batch.setEmail(row, rs.getString(index));
+                    case AGE -> {
+                        int age = rs.getInt(index);
+                        if (!rs.wasNull()) {
+                            batch.setAge(row, age);
+                        }
+                    }
+                    case DEPARTMENT -> batch.setDepartment(row, rs.getString(index));
+                    case CREATED_AT -> {
+                        long millis = rs.getLong(index);
+                        if (!rs.wasNull()) {
+                            batch.setCreatedAt(row, millis);
+                        }
+                    }
+                    case ACTIVE -> {
+                        boolean active = rs.getBoolean(index);
+                        if (!rs.wasNull()) {
+                            batch.setActive(row, active);
+                        }
+                    }
+                }
+            }
+            rows++;
+
+            if (batch.isFull()) {
+                emit(context, batch, handler);
+                if (context.isStopped()) {
+                    return rows;
+                }
+                batch = pool.acquire();
+            }
+        }
+
+        if (batch.size() > 0) {
+            emit(context, batch, handler);
+        } else {
+            pool.release(batch);
+        }
+        return rows;
+    }
+
+    private void emit(DefaultResultContext<UserBatch> context, UserBatch batch, ResultHandler<UserBatch> handler) {
+        context.nextResultObject(batch);
+        handler.handleResult(context);
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.streaming.repository;
 
 import com.example.streaming.dto.UserDto;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.dto.UserIdRange;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper
@@ -12,6 +17,39 @@ public interface UserMapper {
     List<UserDto> findAllUsers();
 
     // 스트리밍용 메소드 - void 리턴, ResultHandler 파라미터
-    void findAllUsersStreaming(ResultHandler<UserDto> handler);
+    // filter의 조건과 열 선택을 SQL로 내려보냄 (선택하지 않은 열은 조회하지 않음)
+    void findUsersStreaming(@Param("filter") UserExportFilter filter, ResultHandler<UserDto> handler);
 
-}
\ No newline at end of file
+    // 커서 스트리밍 - 호출한 쪽에서 필요한 만큼 꺼내 씀 (트랜잭션 안에서 사용 후 close 필요)
+    Cursor<UserDto> findAllUsersCursor();
+
+    // 조건/열 선택 커서 - 직접 연 SqlSession에서 사용 (리액티브 스트리밍이 요청한 만큼만 꺼내 읽음)
+    Cursor<UserDto> findUsersCursor(@Param("filter") UserExportFilter filter);
+
+    // 샤드 분할용 ID 범위 - filter 조건에 맞는 행 기준 (없으면 min/max가 null)
+    UserIdRange findUserIdRange(@Param("filter") UserExportFilter filter);
+
+    // 샤드 스트리밍 - fromId 이상 toId 미만 중 filter 조건에 맞는 행의 선택한 열, ID 순
+    void findUsersByIdRangeStreaming(@Param("fromId") long fromId, @Param("toId") long toId,
+                                     @Param("filter") UserExportFilter filter, ResultHandler<UserDto> handler);
+
+    // keyset 페이지 조회 - id가 snapshotMaxId 이하이고 filter 조건에 맞는 행 중 (afterCreatedAt, afterId) 다음부터
+    // created_at, id 내림차순으로 limit건 (키와 선택한 열만, 나머지 필드는 null)
+    // afterId가 null이면 처음부터. 페이지마다 짧은 쿼리로 끝나므로 긴 트랜잭션/커넥션 점유 없음
+    List<UserDto> findUsersPage(@Param("afterCreatedAt") LocalDateTime afterCreatedAt, @Param("afterId") Long afterId,
+                                @Param("snapshotMaxId") long snapshotMaxId, @Param("filter") UserExportFilter filter,
+                                @Param("limit") int limit);
+
+    /**
+     * 순번 from~to(포함)의 사용자를 생성 - 값은 순번으로만 정해지므로 같은 범위는 항상 같은 데이터
+     */
+    int insertGeneratedUsers(@Param("from") long from, @Param("to") long to);
+
+    // 일괄 import - ExecutorType.BATCH 세션에서 호출 (생성 키는 돌려받지 않음)
+    int insertUser(UserDto user);
+
+    int countAllUsers();
+
+    int countUsers(@Param("filter") UserExportFilter filter);
+
+}
@@ -0,0 +1,128 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.metrics.ExportMetrics;
+import com.example.streaming.metrics.ExportRecording;
+import com.example.streaming.repository.UserBatchReader;
+import com.example.streaming.util.CsvWriter;
+import com.example.streaming.util.MemoryMonitor;
+import com.example.streaming.util.SpreadsheetMlWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.OutputStream;
+import java.util.concurrent.Executor;
+
+/**
+ * 컬럼형 배치 export 서비스
+ *
+ * 파이프라인 export와 같은 fetch/render 분리 구조지만, 버퍼에 UserDto 대신 UserBatch를 넘긴다.
+ * 1. fetch: UserBatchReader가 ResultSet을 원시 배열/바이트 영역에 바로 채움 (행마다 객체/박싱 없음)
+ * 2. render: writer.writeBatch가 배치째로 원시 값을 인코딩하고 배치를 풀에 반납
+ * 3. 메모리: 배치는 풀에서 재사용하므로 export 중 새로 생기는 객체는 JDBC 드라이버의 문자열 정도
+ *
+ * 버퍼 크기는 행 수 기준 설정(pipeline.buffer-size)을 배치 수로 환산해서 사용한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ColumnarExportService {
+
+    private final UserBatchReader userBatchReader;
+    private final MemoryMonitor memoryMonitor;
+    private final ExportProperties exportProperties;
+    private final ExportMetrics exportMetrics;
+    private final MemoryPressureGovernor memoryPressureGovernor;
+
+    @Qualifier("exportFetchExecutor")
+    private final Executor exportFetchExecutor;
+
+    /**
+     * 컬럼형 배치 방식으로 export 생성 및 응답
+     *
+     * @param response   HTTP 응답 객체
+     * @param filter     조회 조건과 열 선택
+     * @param format     출력 형식
+     * @param includeBom CSV의 UTF-8 BOM 포함 여부 (xlsx는 무시)
+     */
+    public void createColumnarExport(HttpServletResponse response, UserExportFilter filter, ExportFormat format,
+                                     boolean includeBom) {
+        long startTime = System.currentTimeMillis();
+        long startAllocated = memoryMonitor.getCurrentThreadAllocatedBytes();
+        memoryMonitor.logMemoryStatus("컬럼형 export 시작");
+
+        ExportProperties.Pipeline properties = exportProperties.getPipeline();
+        int batchRows = Math.max(1, properties.getBatchRows());
+        int bufferBatches = Math.max(2, properties.getBufferSize() / batchRows);
+        // 버퍼에 든 배치 + 채우는 중인 배치 + 렌더링 중인 배치
+        UserBatchPool pool = new UserBatchPool(batchRows, bufferBatches + 2);
+
+        ExportRecording recording = exportMetrics.start(format == ExportFormat.XLSX ? "xlsx-columnar" : "csv-columnar");
+        ExportPipeline<UserBatch> pipeline = new ExportPipeline<>(exportFetchExecutor, bufferBatches, properties.getStallTimeout());
+        try {
+            pipeline.start(handler -> userBatchReader.read(filter, pool, handler));
+            log.info("컬럼형 데이터 처리 시작 - 배치: {}행, 버퍼: {}개, 조건: {}", batchRows, bufferBatches, filter);
+
+            response.setContentType(format.getContentType());
+            response.setHeader("Content-Disposition", "attachment; filename=users_columnar." + format.getExtension());
+            OutputStream out = recording.meter(response.getOutputStream());
+
+            long rows;
+            if (format == ExportFormat.XLSX) {
+                SpreadsheetMlWriter xlsxWriter = new SpreadsheetMlWriter(out);
+                FastXlsxUserWriter writer = new FastXlsxUserWriter(xlsxWriter, "사용자 목록", filter.getColumns(),
+                        exportProperties.getXlsx().getMaxRowsPerSheet(), exportProperties.getXlsx().sharedStringPolicy());
+                rows = render(pipeline, pool, writer, recording);
+                recording.flushStarted();
+                xlsxWriter.close();
+                recording.flushFinished();
+            } else {
+                CsvWriter csvWriter = new CsvWriter(out);
+                if (includeBom) {
+                    csvWriter.writeBom();
+                }
+                CsvUserWriter writer = new CsvUserWriter(csvWriter, filter.getColumns(), true);
+                rows = render(pipeline, pool, writer, recording);
+                recording.flushStarted();
+                csvWriter.flush();
+                recording.flushFinished();
+            }
+            recording.recordFetch(pipeline.getFetchNanos());
+
+            log.info("컬럼형 export 완료 - 총 처리건수: {}건, fetch 대기(render 병목): {}ms, render 대기(DB 병목): {}ms",
+                    rows, pipeline.getFetchWaitMillis(), pipeline.getRenderWaitMillis());
+            memoryMonitor.logElapsed("컬럼형 export (" + format + ")", System.currentTimeMillis() - startTime, rows);
+            memoryMonitor.logAllocation("컬럼형 export (" + format + ")", startAllocated, rows);
+            recording.success();
+
+        } catch (Exception e) {
+            recording.failure();
+            log.error("컬럼형 export 중 오류 발생", e);
+            throw new RuntimeException("컬럼형 export 실패", e);
+        } finally {
+            pipeline.abort();
+        }
+    }
+
+    /**
+     * 버퍼의 배치를 렌더링하고 풀에 반납 - 메모리 압박 확인은 배치마다 한 번
+     *
+     * @return 렌더링한 행 수
+     */
+    private long render(ExportPipeline<UserBatch> pipeline, UserBatchPool pool, UserRowWriter writer,
+                        ExportRecording recording) throws Exception {
+        pipeline.drain(batch -> {
+            long renderStart = System.nanoTime();
+            writer.writeBatch(batch);
+            recording.rowsRendered(renderStart, batch.size());
+            pool.release(batch);
+
+            writer.applyMemoryPressure(memoryPressureGovernor.throttle());
+        });
+        return writer.getRowCount();
+    }
+}
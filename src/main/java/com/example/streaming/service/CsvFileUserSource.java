@@ -0,0 +1,126 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.util.CsvReader;
+import com.example.streaming.util.CsvRecord;
+import com.example.streaming.util.MappedCsvReader;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * 로컬 CSV 파일 사용자 행 소스
+ *
+ * MappedCsvReader 레코드를 UserDto로 바꿔 ResultHandler로 넘긴다.
+ * DB 조회(UserMapper.findUsersStreaming)와 같은 ResultHandler&lt;UserDto&gt; 형태라서
+ * ExportPipeline과 기존 writer(FastXlsxUserWriter, CsvUserWriter 등)를 그대로 쓸 수 있다.
+ * 1. 헤더: import와 같은 규칙(UserColumn.fromHeader)으로 열 순서를 맞춤, 모르는 열은 무시
+ * 2. 값: 숫자/일시/불리언은 CsvRecord에서 바이트로 바로 변환 (문자열 열만 String 생성)
+ * 3. 병렬: split()한 범위마다 read()를 다른 스레드에서 호출 가능
+ *
+ * export 덤프처럼 기계가 만든 파일이 대상이라 값 변환에 실패하면 행을 건너뛰지 않고 형식 오류로 중단한다.
+ */
+public class CsvFileUserSource implements Closeable {
+
+    private final MappedCsvReader reader;
+    private final UserColumn[] columns;
+
+    /**
+     * 첫 데이터 레코드 위치 (헤더 다음)
+     */
+    private final long dataStart;
+
+    private CsvFileUserSource(MappedCsvReader reader, UserColumn[] columns, long dataStart) {
+        this.reader = reader;
+        this.columns = columns;
+        this.dataStart = dataStart;
+    }
+
+    /**
+     * 파일을 매핑하고 헤더 행을 읽음
+     *
+     * @param windowSize 한 번에 매핑할 크기 (가장 긴 레코드보다 커야 함)
+     */
+    public static CsvFileUserSource open(Path file, long windowSize) throws IOException {
+        MappedCsvReader reader = new MappedCsvReader(file, windowSize);
+        try {
+            String[][] header = new String[1][];
+            long[] headerEnd = {reader.size()};
+            reader.read(new MappedCsvReader.Range(0, reader.size()), record -> {
+                header[0] = record.toStrings();
+                headerEnd[0] = record.getEndOffset();
+                return false;
+            });
+
+            UserColumn[] columns = new UserColumn[header[0] != null ? header[0].length : 0];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = UserColumn.fromHeader(header[0][i]).orElse(null);
+            }
+            return new CsvFileUserSource(reader, columns, headerEnd[0]);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 데이터 레코드를 parts개 이하의 범위로 나눔 (범위 순서 = 파일 순서)
+     */
+    public List<MappedCsvReader.Range> split(int parts) throws IOException {
+        return reader.split(dataStart, parts);
+    }
+
+    /**
+     * 범위의 행을 UserDto로 바꿔 handler로 전달 - handler가 ResultContext.stop()하면 중단
+     *
+     * @return 전달한 행 수
+     */
+    public long read(MappedCsvReader.Range range, ResultHandler<UserDto> handler) throws IOException {
+        DefaultResultContext<UserDto> context = new DefaultResultContext<>();
+        return reader.read(range, record -> {
+            context.nextResultObject(toUser(record));
+            handler.handleResult(context);
+            return !context.isStopped();
+        });
+    }
+
+    public long size() {
+        return reader.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private UserDto toUser(CsvRecord record) {
+        UserDto user = new UserDto();
+        int count = Math.min(record.size(), columns.length);
+        for (int i = 0; i < count; i++) {
+            UserColumn column = columns[i];
+            if (column == null || record.isEmpty(i)) {
+                continue;
+            }
+            try {
+                switch (column) {
+                    case ID -> user.setId(record.getLong(i));
+                    case USERNAME -> user.setUsername(record.getString(i));
+                    case EMAIL -> user.setEmail(record.getString(i));
+                    case AGE -> user.setAge(record.getInt(i));
+                    case DEPARTMENT -> user.setDepartment(record.getString(i));
+                    case CREATED_AT -> user.setCreatedAt(record.getDateTime(i));
+                    case ACTIVE -> user.setActive(record.getBoolean(i));
+                }
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new CsvReader.CsvFormatException(column.getHeader() + " 값 오류 (레코드 끝 offset "
+                        + record.getEndOffset() + "): " + e.getMessage());
+            }
+        }
+        return user;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.util.CsvWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 사용자 데이터 CSV 렌더러
+ *
+ * 생성 시 헤더 행을 쓰고, writeRow마다 CsvWriter 버퍼에 한 행씩 인코딩한다.
+ * 열 구성은 ExcelUserWriter와 동일 (열 목록을 주면 그 열만 순서대로)
+ */
+public class CsvUserWriter implements UserRowWriter {
+
+    private final CsvWriter csvWriter;
+    private final UserColumn[] columns;
+    private int rowCount = 0;
+
+    public CsvUserWriter(CsvWriter csvWriter) throws IOException {
+        this(csvWriter, UserColumn.ALL, true);
+    }
+
+    /**
+     * @param columns       출력할 열 (순서대로)
+     * @param includeHeader false면 헤더 없이 데이터 행만 씀 (이어받기처럼 헤더를 이미 보낸 경우)
+     */
+    public CsvUserWriter(CsvWriter csvWriter, List<UserColumn> columns, boolean includeHeader) throws IOException {
+        this.csvWriter = csvWriter;
+        this.columns = columns.toArray(new UserColumn[0]);
+        if (includeHeader) {
+            writeHeader();
+        }
+    }
+
+    @Override
+    public void writeRow(UserDto user) throws IOException {
+        for (UserColumn column : columns) {
+            switch (column) {
+                case ID -> csvWriter.writeField(user.getId());
+                case USERNAME -> csvWriter.writeField(user.getUsername());
+                case EMAIL -> csvWriter.writeField(user.getEmail());
+                case AGE -> csvWriter.writeField(user.getAge());
+                case DEPARTMENT -> csvWriter.writeField(user.getDepartment());
+                case CREATED_AT -> csvWriter.writeField(user.getCreatedAt());
+                case ACTIVE -> csvWriter.writeField(user.getActive());
+            }
+        }
+        csvWriter.endRow();
+        rowCount++;
+    }
+
+    /**
+     * 배치 출력 - 박싱 값이나 String 없이 원시 배열과 UTF-8 바이트를 바로 씀
+     */
+    @Override
+    public void writeBatch(UserBatch batch) throws IOException {
+        for (int row = 0; row < batch.size(); row++) {
+            for (UserColumn column : columns) {
+                switch (column) {
+                    case ID -> csvWriter.writeField(batch.getId(row));
+                    case USERNAME -> writeString(batch, UserBatch.USERNAME, row);
+                    case EMAIL -> writeString(batch, UserBatch.EMAIL, row);
+                    case AGE -> {
+                        if (batch.isAgeNull(row)) {
+                            csvWriter.writeEmptyField();
+                        } else {
+                            csvWriter.writeField(batch.getAge(row));
+                        }
+                    }
+                    case DEPARTMENT -> writeString(batch, UserBatch.DEPARTMENT, row);
+                    case CREATED_AT -> {
+                        if (batch.isCreatedAtNull(row)) {
+                            csvWriter.writeEmptyField();
+                        } else {
+                            csvWriter.writeDateTimeField(batch.getCreatedAtMillis(row));
+                        }
+                    }
+                    case ACTIVE -> csvWriter.writeField(batch.isActiveNull(row) ? null : Boolean.valueOf(batch.isActive(row)));
+                }
+            }
+            csvWriter.endRow();
+            rowCount++;
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    private void writeString(UserBatch batch, int field, int row) throws IOException {
+        csvWriter.writeUtf8Field(batch.stringBytes(field, row), batch.stringOffset(field, row), batch.stringLength(field, row));
+    }
+
+    private void writeHeader() throws IOException {
+        for (UserColumn column : columns) {
+            csvWriter.writeField(column.getHeader());
+        }
+        csvWriter.endRow();
+    }
+}
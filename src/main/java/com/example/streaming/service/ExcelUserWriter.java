@@ -0,0 +1,232 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.UserDto;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 사용자 데이터 Excel 시트 렌더러
+ *
+ * 헤더/스타일/데이터 행 생성 로직을 한 곳에 모아
+ * ResultHandler 직접 처리, 파이프라인 처리 등 어떤 경로로 쓰더라도 같은 시트가 만들어지도록 함
+ *
+ * 스타일은 워크북 단위 자원이므로 createHeaderStyle/createDataStyle/createDateStyle로 한 번만 만들어
+ * 같은 워크북의 여러 시트에서 재사용한다.
+ * 생성일시는 날짜 서식 숫자 셀, 활성상태는 불리언 셀로 기록한다 (문자열 변환 없음).
+ * 열 목록을 주면 그 열만 순서대로 쓴다 (기본은 전체 열).
+ * 시트당 행 수 상한을 주면 상한에 도달할 때마다 같은 워크북에 새 시트("이름 (2)", ...)를 만들고 헤더부터 다시 쓴다.
+ * 새 시트 생성은 워크북 구조를 바꾸므로 한 워크북에서 여러 스레드가 상한 있는 writer를 동시에 쓰면 안 된다.
+ */
+public class ExcelUserWriter implements UserRowWriter {
+
+    public static final String[] HEADERS = UserColumn.ALL.stream().map(UserColumn::getHeader).toArray(String[]::new);
+
+    /**
+     * 메모리 압박 중 SXSSF 시트가 메모리에 유지할 최대 행 수
+     */
+    private static final int PRESSURE_WINDOW_SIZE = 10;
+
+    private final CellStyle headerStyle;
+    private final CellStyle dataStyle;
+    private final CellStyle dateStyle;
+    private final UserColumn[] columns;
+    private final int maxRowsPerSheet;
+    private final String sheetName;
+    private Sheet sheet;
+    private int sheetCount = 1;
+    private int currentRowNum = 1; // 헤더 다음 행부터 시작
+    private int rowCount = 0;
+    private boolean windowShrunk = false;
+
+    public ExcelUserWriter(Sheet sheet, CellStyle headerStyle, CellStyle dataStyle) {
+        this(sheet, headerStyle, dataStyle, UserColumn.ALL);
+    }
+
+    public ExcelUserWriter(Sheet sheet, CellStyle headerStyle, CellStyle dataStyle, List<UserColumn> columns) {
+        this(sheet, headerStyle, dataStyle, columns, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxRowsPerSheet 시트 하나의 데이터 행 수 상한 (헤더 제외) - 넘으면 새 시트로 넘어감
+     */
+    public ExcelUserWriter(Sheet sheet, CellStyle headerStyle, CellStyle dataStyle, List<UserColumn> columns,
+                           int maxRowsPerSheet) {
+        this(sheet, headerStyle, dataStyle, createDateStyle(sheet.getWorkbook()), columns, maxRowsPerSheet);
+    }
+
+    /**
+     * @param dateStyle 생성일시 셀 스타일 (날짜 표시 형식) - 여러 writer가 같은 워크북을 쓰면 하나를 만들어 공유
+     */
+    public ExcelUserWriter(Sheet sheet, CellStyle headerStyle, CellStyle dataStyle, CellStyle dateStyle,
+                           List<UserColumn> columns, int maxRowsPerSheet) {
+        this.sheet = sheet;
+        this.sheetName = sheet.getSheetName();
+        this.headerStyle = headerStyle;
+        this.dataStyle = dataStyle;
+        this.dateStyle = dateStyle;
+        this.columns = columns.toArray(new UserColumn[0]);
+        this.maxRowsPerSheet = maxRowsPerSheet;
+        createHeader();
+    }
+
+    /**
+     * 사용자 데이터로 Excel 행 생성 (선택한 열만)
+     */
+    @Override
+    public void writeRow(UserDto user) throws IOException {
+        if (currentRowNum > maxRowsPerSheet) {
+            rollover();
+        }
+        Row row = sheet.createRow(currentRowNum++);
+        rowCount++;
+
+        for (int col = 0; col < columns.length; col++) {
+            Cell cell = row.createCell(col);
+            cell.setCellStyle(dataStyle);
+            switch (columns[col]) {
+                case ID -> cell.setCellValue(user.getId());
+                case USERNAME -> cell.setCellValue(user.getUsername());
+                case EMAIL -> cell.setCellValue(user.getEmail());
+                case AGE -> {
+                    if (user.getAge() != null) {
+                        cell.setCellValue(user.getAge());
+                    }
+                }
+                case DEPARTMENT -> cell.setCellValue(user.getDepartment());
+                case CREATED_AT -> {
+                    cell.setCellStyle(dateStyle);
+                    if (user.getCreatedAt() != null) {
+                        cell.setCellValue(user.getCreatedAt());
+                    }
+                }
+                case ACTIVE -> {
+                    if (user.getActive() != null) {
+                        cell.setCellValue(user.getActive());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 지금까지 쓴 데이터 행 수 (헤더 제외)
+     */
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 지금까지 만든 시트 수
+     */
+    public int getSheetCount() {
+        return sheetCount;
+    }
+
+    /**
+     * 메모리 압박 중에는 SXSSF window를 줄이고 메모리의 행을 바로 임시파일로 내보냄
+     * 압박이 풀리면 워크북의 원래 window 크기로 되돌림
+     */
+    @Override
+    public void applyMemoryPressure(MemoryPressure pressure) throws IOException {
+        if (!(sheet instanceof SXSSFSheet streamingSheet)) {
+            return;
+        }
+
+        boolean shrink = pressure != MemoryPressure.NORMAL;
+        if (shrink == windowShrunk) {
+            return;
+        }
+        if (shrink) {
+            streamingSheet.setRandomAccessWindowSize(PRESSURE_WINDOW_SIZE);
+            streamingSheet.flushRows(PRESSURE_WINDOW_SIZE);
+        } else {
+            streamingSheet.setRandomAccessWindowSize(streamingSheet.getWorkbook().getRandomAccessWindowSize());
+        }
+        windowShrunk = shrink;
+    }
+
+    /**
+     * 다 찬 시트의 남은 행을 임시파일로 내보내고 헤더가 있는 새 시트로 넘어감
+     */
+    private void rollover() throws IOException {
+        if (sheet instanceof SXSSFSheet streamingSheet) {
+            streamingSheet.flushRows();
+        }
+
+        sheetCount++;
+        sheet = sheet.getWorkbook().createSheet(sheetName + " (" + sheetCount + ")");
+        currentRowNum = 1;
+        createHeader();
+
+        // 압박 중에 넘어갔으면 새 시트에도 줄인 window 적용
+        if (windowShrunk && sheet instanceof SXSSFSheet streamingSheet) {
+            streamingSheet.setRandomAccessWindowSize(PRESSURE_WINDOW_SIZE);
+        }
+    }
+
+    /**
+     * 헤더 행 생성
+     */
+    private void createHeader() {
+        Row headerRow = sheet.createRow(0);
+
+        for (int i = 0; i < columns.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(columns[i].getHeader());
+            cell.setCellStyle(headerStyle);
+        }
+    }
+
+    /**
+     * 헤더 스타일 생성
+     */
+    public static CellStyle createHeaderStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        Font font = workbook.createFont();
+
+        // 헤더 폰트 설정
+        font.setBold(true);
+        font.setFontHeightInPoints((short) 12);
+        style.setFont(font);
+
+        // 헤더 배경색 설정
+        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+
+        // 경계선 설정
+        style.setBorderTop(BorderStyle.THIN);
+        style.setBorderBottom(BorderStyle.THIN);
+        style.setBorderLeft(BorderStyle.THIN);
+        style.setBorderRight(BorderStyle.THIN);
+
+        return style;
+    }
+
+    /**
+     * 데이터 스타일 생성
+     */
+    public static CellStyle createDataStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+
+        // 경계선 설정
+        style.setBorderTop(BorderStyle.THIN);
+        style.setBorderBottom(BorderStyle.THIN);
+        style.setBorderLeft(BorderStyle.THIN);
+        style.setBorderRight(BorderStyle.THIN);
+
+        return style;
+    }
+
+    /**
+     * 생성일시 스타일 생성 - 데이터 스타일 경계선 + 날짜 표시 형식 (직접 XML xlsx의 STYLE_DATE와 같은 형식)
+     */
+    public static CellStyle createDateStyle(Workbook workbook) {
+        CellStyle style = createDataStyle(workbook);
+        style.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+        return style;
+    }
+}
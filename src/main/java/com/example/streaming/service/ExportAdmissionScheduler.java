@@ -0,0 +1,277 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * export 요청 수락 제어 - 동시 실행 상한과 비용 가중 공정 대기열
+ *
+ * 큰 export 몇 건이 요청 스레드와 DB 커넥션을 모두 차지하면 뒤에 온 작은 export까지 커넥션 풀 대기로 느려진다.
+ * 응답을 쓰기 전에 여기서 실행 순서를 정해서, 큰 export가 도는 중에도 작은 export의 지연이 낮게 유지되도록 한다.
+ * 1. 상한: 전체 동시 실행 수, 클라이언트별 동시 실행 수, export가 나눠 쓰는 DB 커넥션 수
+ * 2. 순서: 가중 공정 큐 - 요청마다 가상 완료 시각(시작 시각 + 비용 / 가중치)을 매기고 작은 값부터 배정
+ *    시작 시각은 max(현재 가상 시각, 같은 클라이언트의 직전 완료 시각)이므로,
+ *    큰 export를 연달아 보내는 클라이언트는 뒤로 밀리고 작은 export는 앞으로 온다
+ * 3. 클라이언트 상한에 걸린 요청은 건너뛰고 다음 요청을 배정, 전체/커넥션 상한에 걸리면 앞 요청이 자리를 얻을 때까지 멈춤
+ *    (작은 요청이 계속 끼어들어 커넥션을 많이 쓰는 요청이 굶지 않도록)
+ * 4. 대기열이 가득 차거나 queueTimeout 안에 배정받지 못하면 빈 값 - 호출한 쪽에서 503 + Retry-After
+ *
+ * 대기 중인 요청은 각자 Condition에서 기다리고, 배정/반납은 ReentrantLock 안에서 처리한다.
+ */
+@Slf4j
+@Component
+public class ExportAdmissionScheduler {
+
+    private static final Comparator<Ticket> FAIR_ORDER =
+            Comparator.comparingDouble((Ticket ticket) -> ticket.finishTag).thenComparingLong(ticket -> ticket.sequence);
+
+    private final ExportProperties.Admission properties;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeSet<Ticket> waiting = new TreeSet<>(FAIR_ORDER);
+    private final Map<String, ClientState> clients = new HashMap<>();
+    private double virtualTime;
+    private long sequence;
+    private int active;
+    private int connectionsInUse;
+
+    private final Timer smallWaitTimer;
+    private final Timer largeWaitTimer;
+
+    public ExportAdmissionScheduler(ExportProperties exportProperties, MeterRegistry registry) {
+        this.properties = exportProperties.getAdmission();
+
+        Gauge.builder("export.admission.queue", this, ExportAdmissionScheduler::getQueueDepth)
+                .description("수락을 기다리는 export 요청 수")
+                .register(registry);
+        Gauge.builder("export.admission.active", this, ExportAdmissionScheduler::getActiveCount)
+                .description("실행 중인 export 요청 수")
+                .register(registry);
+        Gauge.builder("export.admission.connections", this, ExportAdmissionScheduler::getConnectionsInUse)
+                .description("실행 중인 export가 점유한 DB 커넥션 수")
+                .register(registry);
+        this.smallWaitTimer = waitTimer(registry, "small");
+        this.largeWaitTimer = waitTimer(registry, "large");
+    }
+
+    /**
+     * 실행 자리를 배정받을 때까지 대기
+     *
+     * @param client      클라이언트 식별자
+     * @param cost        예상 비용 (행 수 × 열 수)
+     * @param connections export가 점유할 DB 커넥션 수 (0이면 DB를 쓰지 않음)
+     * @return 배정받은 자리 (대기열이 가득 찼거나 시간 초과면 빈 값)
+     */
+    public Optional<Permit> acquire(String client, long cost, int connections) throws InterruptedException {
+        long startNanos = System.nanoTime();
+        Ticket ticket;
+
+        lock.lock();
+        try {
+            if (waiting.size() >= properties.getMaxQueue()) {
+                log.warn("export 대기열 가득 참 - 클라이언트: {}, 대기: {}건", client, waiting.size());
+                return Optional.empty();
+            }
+
+            ClientState state = clients.computeIfAbsent(client, key -> new ClientState());
+            double startTag = Math.max(virtualTime, state.lastFinishTag);
+            double finishTag = startTag + (double) Math.max(1, cost) / properties.weightOf(client);
+            state.lastFinishTag = finishTag;
+            state.waiting++;
+
+            // 예산보다 많은 커넥션을 요구하면 예산 전체를 쓰는 것으로 (영원히 배정받지 못하는 일이 없도록)
+            int clampedConnections = Math.min(Math.max(0, connections), properties.getConnectionBudget());
+            ticket = new Ticket(client, state, clampedConnections, startTag, finishTag, sequence++, lock.newCondition());
+            waiting.add(ticket);
+            dispatch();
+
+            long remainingNanos = properties.getQueueTimeout().toNanos();
+            try {
+                while (!ticket.granted && remainingNanos > 0) {
+                    remainingNanos = ticket.admitted.awaitNanos(remainingNanos);
+                }
+            } finally {
+                if (!ticket.granted) {
+                    waiting.remove(ticket);
+                    state.waiting--;
+                    forgetIfIdle(client, state);
+                    // 앞에서 자리를 막고 있던 요청이 빠졌으므로 뒤 요청을 다시 배정
+                    dispatch();
+                }
+            }
+            if (!ticket.granted) {
+                log.warn("export 대기 시간 초과 - 클라이언트: {}, 비용: {}, 대기: {}건", client, cost, waiting.size());
+                return Optional.empty();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        long waitNanos = System.nanoTime() - startNanos;
+        (cost <= properties.getSmallExportCost() ? smallWaitTimer : largeWaitTimer).record(waitNanos, TimeUnit.NANOSECONDS);
+        log.debug("export 수락 - 클라이언트: {}, 비용: {}, 커넥션: {}, 대기: {}ms",
+                client, cost, ticket.connections, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        return Optional.of(new Permit(ticket));
+    }
+
+    public long getRetryAfterSeconds() {
+        return properties.getRetryAfter().toSeconds();
+    }
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActiveCount() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getConnectionsInUse() {
+        lock.lock();
+        try {
+            return connectionsInUse;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 가상 완료 시각 순으로 상한 안에서 배정 (lock 안에서 호출)
+     */
+    private void dispatch() {
+        Iterator<Ticket> iterator = waiting.iterator();
+        while (iterator.hasNext() && active < properties.getMaxConcurrent()) {
+            Ticket ticket = iterator.next();
+            if (ticket.state.active >= properties.getMaxPerClient()) {
+                // 같은 클라이언트의 export가 끝나야 하므로 다른 클라이언트에게 양보
+                continue;
+            }
+            if (connectionsInUse + ticket.connections > properties.getConnectionBudget()) {
+                // 앞 요청이 커넥션을 얻을 때까지 뒤 요청도 대기
+                return;
+            }
+
+            iterator.remove();
+            ticket.state.waiting--;
+            ticket.state.active++;
+            active++;
+            connectionsInUse += ticket.connections;
+            virtualTime = Math.max(virtualTime, ticket.startTag);
+            ticket.granted = true;
+            ticket.admitted.signal();
+        }
+    }
+
+    private void release(Ticket ticket) {
+        lock.lock();
+        try {
+            ticket.state.active--;
+            active--;
+            connectionsInUse -= ticket.connections;
+            forgetIfIdle(ticket.client, ticket.state);
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 진행 중인 요청이 없고 완료 시각도 지난 클라이언트는 상태를 버림 (lock 안에서 호출)
+     */
+    private void forgetIfIdle(String client, ClientState state) {
+        if (state.active == 0 && state.waiting == 0 && state.lastFinishTag <= virtualTime) {
+            clients.remove(client);
+        }
+    }
+
+    private static Timer waitTimer(MeterRegistry registry, String size) {
+        return Timer.builder("export.admission.wait")
+                .description("export 요청이 실행 자리를 배정받기까지 기다린 시간")
+                .tag("size", size)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    /**
+     * 배정받은 실행 자리 - export가 끝나면 반드시 반납 (여러 번 호출해도 한 번만 반납)
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final Ticket ticket;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Ticket ticket) {
+            this.ticket = ticket;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                ExportAdmissionScheduler.this.release(ticket);
+            }
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+    }
+
+    /**
+     * 클라이언트별 진행 상태 (lock 안에서만 접근)
+     */
+    private static final class ClientState {
+        private int active;
+        private int waiting;
+        private double lastFinishTag;
+    }
+
+    /**
+     * 대기열의 요청 하나
+     */
+    private static final class Ticket {
+        private final String client;
+        private final ClientState state;
+        private final int connections;
+        private final double startTag;
+        private final double finishTag;
+        private final long sequence;
+        private final Condition admitted;
+        private boolean granted;
+
+        private Ticket(String client, ClientState state, int connections, double startTag, double finishTag, long sequence,
+                       Condition admitted) {
+            this.client = client;
+            this.state = state;
+            this.connections = connections;
+            this.startTag = startTag;
+            this.finishTag = finishTag;
+            this.sequence = sequence;
+            this.admitted = admitted;
+        }
+    }
+}
@@ -0,0 +1,482 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.dto.UserIdRange;
+import com.example.streaming.repository.UserMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 렌더링된 export 파일 캐시
+ *
+ * 같은 "전체 사용자" export가 하루에도 수십 번 요청되는데, 매번 전체 조회 + 렌더링을 다시 하지 않도록
+ * 한 번 만든 파일을 로컬 디스크에 두고 그대로 보낸다.
+ * 1. 키: 형식 + 조회 조건 + 열 선택 (UserExportFilter의 equals)
+ * 2. 색인: 메모리의 LRU (파일 크기 합 / 개수 상한을 넘으면 가장 오래 쓰지 않은 파일부터 삭제)
+ * 3. 무효화: 요청마다 users 테이블 버전(행 수 + 최대 ID)을 확인해서 바뀌었으면 전체 삭제
+ *    행 추가/삭제는 감지하지만 기존 행의 수정은 감지하지 못하므로 그런 경우 invalidateAll() 호출
+ * 4. 동시 요청 병합: 같은 키의 렌더링이 진행 중이면 새로 만들지 않고 끝나기를 기다렸다가 렌더링한 파일을 직접 넘겨받음
+ *    (색인을 거치지 않으므로 캐시에 넣지 못한 파일 - 크기 상한 초과, 렌더링 중 테이블 변경 - 도 다시 렌더링하지 않음)
+ * 5. 전송: FileChannel.transferTo로 파일 → 응답 (힙 버퍼로 읽어 들이지 않음), Content-Length 포함
+ *
+ * 색인과 크기 합은 ReentrantLock으로 보호한다. 파일마다 진행 중인 전송 수를 세어 두고,
+ * 색인에서 빠진 파일(LRU, 무효화, 저장 생략)은 마지막 전송이 끝난 뒤에 삭제한다.
+ */
+@Slf4j
+@Service
+public class ExportCacheService {
+
+    /**
+     * 캐시 결과 응답 헤더 (HIT / MISS / COALESCED)
+     */
+    public static final String CACHE_HEADER = "X-Export-Cache";
+
+    private final StreamingExcelService streamingExcelService;
+    private final StreamingCsvService streamingCsvService;
+    private final UserMapper userMapper;
+    private final ExportProperties.Cache properties;
+    private final MeterRegistry registry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<CacheKey, CacheEntry> index = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<CacheKey, Render> rendering = new ConcurrentHashMap<>();
+
+    // lock으로 보호
+    private long totalBytes;
+    private TableVersion indexVersion;
+
+    public ExportCacheService(StreamingExcelService streamingExcelService, StreamingCsvService streamingCsvService,
+                              UserMapper userMapper, ExportProperties exportProperties, MeterRegistry registry) {
+        this.streamingExcelService = streamingExcelService;
+        this.streamingCsvService = streamingCsvService;
+        this.userMapper = userMapper;
+        this.properties = exportProperties.getCache();
+        this.registry = registry;
+
+        deleteLeftoverFiles();
+
+        Gauge.builder("export.cache.bytes", this, ExportCacheService::getTotalBytes)
+                .description("export 캐시 파일 크기 합")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("export.cache.entries", this, ExportCacheService::getEntryCount)
+                .description("export 캐시 파일 수")
+                .register(registry);
+    }
+
+    /**
+     * 캐시된 export 파일을 응답으로 전송 (없거나 오래됐으면 렌더링해서 캐시에 넣은 뒤 전송)
+     *
+     * @param response HTTP 응답 객체
+     * @param format   파일 형식
+     * @param filter   조회 조건과 열 선택
+     * @return 캐시 결과
+     */
+    public CacheResult serve(HttpServletResponse response, ExportFormat format, UserExportFilter filter) {
+        CacheKey key = new CacheKey(format, filter);
+
+        try {
+            while (true) {
+                TableVersion version = readTableVersion();
+
+                CacheEntry cached = acquireCached(key, version);
+                if (cached != null) {
+                    transfer(cached, response, format, CacheResult.HIT);
+                    return CacheResult.HIT;
+                }
+
+                Render render = new Render();
+                Render inFlight = rendering.putIfAbsent(key, render);
+                if (inFlight != null) {
+                    if (!join(inFlight)) {
+                        // 렌더링이 방금 끝나서 합류하지 못함 - 끝난 렌더링을 치우고 캐시에서 다시 찾음
+                        rendering.remove(key, inFlight);
+                        continue;
+                    }
+                    log.debug("export 캐시 렌더링 대기 - {}", key);
+                    transfer(awaitRender(inFlight), response, format, CacheResult.COALESCED);
+                    return CacheResult.COALESCED;
+                }
+
+                CacheEntry entry;
+                try {
+                    entry = renderEntry(key, version);
+                    handOff(key, entry, render);
+                } catch (IOException | RuntimeException e) {
+                    render.result.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    rendering.remove(key, render);
+                }
+                transfer(entry, response, format, CacheResult.MISS);
+                return CacheResult.MISS;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("캐시 export 전송 실패", e);
+        }
+    }
+
+    /**
+     * 모든 캐시 파일 삭제 (기존 행 수정처럼 테이블 버전으로 감지할 수 없는 변경 후 호출)
+     *
+     * @return 삭제한 파일 수
+     */
+    public int invalidateAll() {
+        lock.lock();
+        try {
+            int removed = index.size();
+            clearIndex();
+            log.info("export 캐시 전체 삭제 - {}건", removed);
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * users 테이블 버전 - 행 수와 최대 ID (둘 다 인덱스/행 수 정보만으로 바로 계산됨)
+     */
+    private TableVersion readTableVersion() {
+        UserIdRange range = userMapper.findUserIdRange(UserExportFilter.none());
+        return new TableVersion(userMapper.countAllUsers(), range != null ? range.getMaxId() : null);
+    }
+
+    /**
+     * 현재 버전의 캐시 파일이 있으면 전송 수를 올려서 반환 (버전이 바뀌었으면 전체 무효화 후 null)
+     * 전송이 끝나기 전에는 LRU로 색인에서 빠져도 파일이 삭제되지 않는다.
+     */
+    private CacheEntry acquireCached(CacheKey key, TableVersion version) {
+        lock.lock();
+        try {
+            if (!version.equals(indexVersion)) {
+                if (!index.isEmpty()) {
+                    log.info("users 테이블 변경 감지 - export 캐시 {}건 무효화 ({} → {})", index.size(), indexVersion, version);
+                }
+                clearIndex();
+                indexVersion = version;
+            }
+
+            CacheEntry entry = index.get(key);
+            if (entry != null) {
+                entry.transfers++;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 임시 파일에 렌더링하고 완료되면 캐시 경로로 이동
+     */
+    private CacheEntry renderEntry(CacheKey key, TableVersion version) throws IOException {
+        Path directory = properties.getDirectory();
+        String name = UUID.randomUUID().toString();
+        Path target = directory.resolve(name + "." + key.format().getExtension());
+        Path partial = directory.resolve(name + ".part");
+
+        Files.createDirectories(directory);
+        long startTime = System.currentTimeMillis();
+        try (OutputStream out = Files.newOutputStream(partial)) {
+            switch (key.format()) {
+                // 캐시 채우는 시간을 줄이기 위해 POI 객체 없이 바로 기록하는 writer 사용
+                case XLSX -> streamingExcelService.writeFastExcel(out, key.filter(), new AtomicLong());
+                case CSV -> streamingCsvService.writeStreamingCsv(out, key.filter(), true, new AtomicLong());
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(partial);
+            throw e;
+        }
+
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        CacheEntry entry = new CacheEntry(target, Files.size(target), version);
+        log.info("export 캐시 렌더링 완료 - {}, {}bytes, {}ms", key, entry.size, System.currentTimeMillis() - startTime);
+        return entry;
+    }
+
+    /**
+     * 렌더링한 파일을 렌더링한 요청과 기다리던 요청에 넘기고 색인에 추가
+     * 합류를 여기서 마감하므로 전송 수는 (렌더링한 요청 1 + 기다리던 요청 수)로 정해진다.
+     */
+    private void handOff(CacheKey key, CacheEntry entry, Render render) {
+        lock.lock();
+        try {
+            render.closed = true;
+            entry.transfers = 1 + render.waiters;
+            admit(key, entry);
+        } finally {
+            lock.unlock();
+        }
+        render.result.complete(entry);
+    }
+
+    /**
+     * 진행 중인 렌더링에 합류 (결과 파일의 전송 수에 포함됨)
+     *
+     * @return false면 이미 결과를 넘긴 뒤라 합류하지 못함
+     */
+    private boolean join(Render render) {
+        lock.lock();
+        try {
+            if (render.closed) {
+                return false;
+            }
+            render.waiters++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 잠금 안에서 호출 - 렌더링한 파일을 색인에 추가하고 상한을 넘은 만큼 오래된 파일 삭제
+     * 렌더링 중에 테이블이 바뀌었거나 파일 하나가 크기 상한보다 크면 색인에 넣지 않음 (전송이 모두 끝나면 삭제)
+     */
+    private void admit(CacheKey key, CacheEntry entry) {
+        long maxBytes = properties.getMaxSize().toBytes();
+        if (!entry.version.equals(indexVersion) || entry.size > maxBytes) {
+            log.info("export 캐시 저장 생략 - {}, {}bytes, 버전: {}", key, entry.size, entry.version);
+            discard(entry);
+            return;
+        }
+
+        CacheEntry previous = index.put(key, entry);
+        if (previous != null) {
+            remove(previous);
+        }
+        totalBytes += entry.size;
+
+        Iterator<CacheEntry> eldest = index.values().iterator();
+        while (eldest.hasNext() && (totalBytes > maxBytes || index.size() > properties.getMaxEntries())) {
+            CacheEntry evicted = eldest.next();
+            eldest.remove();
+            remove(evicted);
+            log.debug("export 캐시 LRU 삭제 - {}, {}bytes", evicted.path.getFileName(), evicted.size);
+        }
+    }
+
+    /**
+     * 파일 → 응답 전송
+     * 서블릿 출력 스트림은 소켓 채널이 아니므로 JDK가 다이렉트 버퍼로 복사하지만 힙으로 읽어 들이지는 않음
+     */
+    private void transfer(CacheEntry entry, HttpServletResponse response, ExportFormat format,
+                          CacheResult result) throws IOException {
+        counter(result).increment();
+
+        try (FileChannel channel = FileChannel.open(entry.path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentType(format.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("users_cached." + format.getExtension()).build().toString());
+            response.setHeader(CACHE_HEADER, result.name());
+            response.setContentLengthLong(size);
+
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+            log.info("캐시 export 전송 - {}, {}bytes", result, size);
+        } finally {
+            release(entry);
+        }
+    }
+
+    private CacheEntry awaitRender(Render render) {
+        try {
+            return render.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("캐시 export 렌더링 실패", e.getCause());
+        }
+    }
+
+    /**
+     * 잠금 안에서 호출
+     */
+    private void clearIndex() {
+        List<CacheEntry> entries = new ArrayList<>(index.values());
+        index.clear();
+        entries.forEach(this::remove);
+    }
+
+    /**
+     * 잠금 안에서 호출 - 색인에서 뺀 항목의 크기를 빼고 파일 삭제
+     */
+    private void remove(CacheEntry entry) {
+        totalBytes -= entry.size;
+        discard(entry);
+    }
+
+    /**
+     * 잠금 안에서 호출 - 색인에 없는 파일은 전송 중이 아니면 바로, 전송 중이면 마지막 전송 후 삭제
+     */
+    private void discard(CacheEntry entry) {
+        entry.discarded = true;
+        if (entry.transfers == 0) {
+            deleteQuietly(entry.path);
+        }
+    }
+
+    /**
+     * 전송 하나 종료
+     */
+    private void release(CacheEntry entry) {
+        lock.lock();
+        try {
+            entry.transfers--;
+            if (entry.transfers == 0 && entry.discarded) {
+                deleteQuietly(entry.path);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Counter counter(CacheResult result) {
+        return Counter.builder("export.cache.requests")
+                .description("export 캐시 요청 수")
+                .tag("result", result.name().toLowerCase(Locale.ROOT))
+                .register(registry);
+    }
+
+    private double getTotalBytes() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double getEntryCount() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 색인은 메모리에만 있으므로 이전 실행이 남긴 캐시 파일은 삭제
+     */
+    private void deleteLeftoverFiles() {
+        Path directory = properties.getDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(Files::isRegularFile).forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("이전 export 캐시 파일 정리 실패: {}", directory, e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("export 캐시 파일 삭제 실패: {}", path, e);
+        }
+    }
+
+    /**
+     * 캐시 조회 결과
+     */
+    public enum CacheResult {
+        /**
+         * 캐시 파일 전송
+         */
+        HIT,
+        /**
+         * 렌더링 후 전송
+         */
+        MISS,
+        /**
+         * 같은 키의 진행 중인 렌더링을 기다렸다가 전송
+         */
+        COALESCED
+    }
+
+    /**
+     * 캐시 키 - 요청에서 바인딩된 filter는 이후 수정하지 않으므로 그대로 키로 사용
+     */
+    private record CacheKey(ExportFormat format, UserExportFilter filter) {
+    }
+
+    /**
+     * 테이블 버전 - 둘 중 하나라도 바뀌면 행이 추가/삭제된 것
+     */
+    private record TableVersion(int rowCount, Long maxId) {
+    }
+
+    /**
+     * 렌더링한 파일 하나 - 전송 수와 삭제 표시는 lock으로 보호
+     */
+    private static final class CacheEntry {
+
+        private final Path path;
+        private final long size;
+        private final TableVersion version;
+
+        /**
+         * 진행 중이거나 예약된 전송 수
+         */
+        private int transfers;
+
+        /**
+         * 색인에서 빠짐 - 전송이 모두 끝나면 파일 삭제
+         */
+        private boolean discarded;
+
+        private CacheEntry(Path path, long size, TableVersion version) {
+            this.path = path;
+            this.size = size;
+            this.version = version;
+        }
+    }
+
+    /**
+     * 진행 중인 렌더링 - 결과를 넘기기 전에 합류한 요청 수만큼 전송 수를 미리 잡아 둠 (waiters, closed는 lock으로 보호)
+     */
+    private static final class Render {
+
+        private final CompletableFuture<CacheEntry> result = new CompletableFuture<>();
+        private int waiters;
+        private boolean closed;
+    }
+}
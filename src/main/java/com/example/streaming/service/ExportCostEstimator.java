@@ -0,0 +1,135 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.repository.UserMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * export 요청의 예상 비용 (ExportAdmissionScheduler의 대기열 순서에 사용)
+ *
+ * 비용 = 예상 행 수 × 출력 열 수. 요청마다 COUNT를 실행하면 그 자체가 DB 부하가 되므로
+ * 행 수는 rowCountTtl 동안 캐시하고, 만료 후 첫 요청 하나만 다시 조회한다 (나머지는 이전 값 사용).
+ * 1. 조건 없음: 전체 행 수 (countAllUsers)
+ * 2. 조건 있음: 같은 조건의 행 수 (countUsers) - 조건별로 따로 캐시, 열 선택은 행 수와 무관하므로 키에서 제외
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExportCostEstimator {
+
+    /**
+     * 조건별 행 수 캐시 상한 - 넘으면 만료된 항목부터 정리
+     */
+    private static final int MAX_CACHED_FILTERS = 1000;
+
+    private final UserMapper userMapper;
+    private final ExportProperties exportProperties;
+
+    private final CachedRowCount totalRows = new CachedRowCount();
+    private final Map<FilterKey, CachedRowCount> filteredRows = new ConcurrentHashMap<>();
+
+    /**
+     * @param filter 조회 조건과 출력 열
+     */
+    public long estimate(UserExportFilter filter) {
+        return Math.max(1, estimateRows(filter)) * Math.max(1, filter.getColumns().size());
+    }
+
+    /**
+     * 조건에 맞는 예상 행 수
+     */
+    public long estimateRows(UserExportFilter filter) {
+        if (!filter.hasConditions()) {
+            return estimateRows();
+        }
+        FilterKey key = FilterKey.of(filter);
+        CachedRowCount cached = filteredRows.get(key);
+        if (cached == null) {
+            evictExpired();
+            cached = filteredRows.computeIfAbsent(key, ignored -> new CachedRowCount());
+        }
+        return cached.get(() -> userMapper.countUsers(filter), rowCountTtl());
+    }
+
+    /**
+     * 전체 행 수
+     */
+    public long estimateRows() {
+        return totalRows.get(userMapper::countAllUsers, rowCountTtl());
+    }
+
+    private Duration rowCountTtl() {
+        return exportProperties.getAdmission().getRowCountTtl();
+    }
+
+    private void evictExpired() {
+        if (filteredRows.size() < MAX_CACHED_FILTERS) {
+            return;
+        }
+        filteredRows.values().removeIf(CachedRowCount::isExpired);
+        if (filteredRows.size() >= MAX_CACHED_FILTERS) {
+            // 짧은 시간에 서로 다른 조건이 몰림 - 전부 비우고 다시 채움
+            filteredRows.clear();
+        }
+    }
+
+    /**
+     * TTL 캐시된 행 수 하나
+     */
+    private static final class CachedRowCount {
+
+        private final ReentrantLock refreshLock = new ReentrantLock();
+        private volatile long rows = -1;
+        private volatile long expiresAtNanos;
+
+        long get(LongSupplier count, Duration ttl) {
+            long cached = rows;
+            if (cached >= 0 && !isExpired()) {
+                return cached;
+            }
+            // 다른 요청이 이미 조회 중이면 이전 값으로 진행 (처음 한 번은 기다림)
+            if (cached >= 0 && !refreshLock.tryLock()) {
+                return cached;
+            }
+            if (cached < 0) {
+                refreshLock.lock();
+            }
+            try {
+                if (rows < 0 || isExpired()) {
+                    rows = count.getAsLong();
+                    expiresAtNanos = System.nanoTime() + ttl.toNanos();
+                    log.debug("export 비용 추정 행 수 갱신 - {}건", rows);
+                }
+                return rows;
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+    }
+
+    /**
+     * 행 수를 정하는 조건만 모은 캐시 키
+     */
+    private record FilterKey(String department, Boolean active, Integer minAge, Integer maxAge,
+                             LocalDateTime createdFrom, LocalDateTime createdTo) {
+
+        static FilterKey of(UserExportFilter filter) {
+            return new FilterKey(filter.getDepartment(), filter.getActive(), filter.getMinAge(), filter.getMaxAge(),
+                    filter.getCreatedFrom(), filter.getCreatedTo());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.streaming.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * export 파일 형식
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"),
+
+    CSV("text/csv; charset=UTF-8", "csv");
+
+    /**
+     * 응답 Content-Type
+     */
+    private final String contentType;
+
+    /**
+     * 파일 확장자
+     */
+    private final String extension;
+}
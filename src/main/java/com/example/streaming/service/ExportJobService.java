@@ -0,0 +1,226 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.example.streaming.dto.ExportJobStatus;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.repository.UserMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비동기 export 작업 서비스
+ *
+ * /excel/streaming 같은 동기 방식은 export가 끝날 때까지 Tomcat 스레드와 HTTP 연결을 붙잡는다.
+ * 이 서비스는 작업을 제출받아 즉시 작업 ID를 돌려주고, 제한된 스레드 풀에서 파일로 export한다.
+ * 1. 제출: 대기열에 넣고 바로 반환 (대기열이 가득 차면 TaskRejectedException)
+ * 2. 진행 상황: ResultHandler의 처리 건수를 그대로 노출 + 처리량/남은 시간 계산
+ * 3. 다운로드: 완료된 파일을 로컬 디스크에서 제공 (Range 요청 지원은 컨트롤러에서)
+ * 4. 정리: 보관 시간이 지난 작업은 purgeInterval마다 파일과 함께 삭제
+ *    (제출/조회 시에도 먼저 정리하므로 만료된 작업의 파일은 내려가지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportJobService {
+
+    private final StreamingExcelService streamingExcelService;
+    private final StreamingCsvService streamingCsvService;
+    private final UserMapper userMapper;
+    private final ExportProperties exportProperties;
+
+    @Qualifier("exportJobExecutor")
+    private final Executor exportJobExecutor;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * export 작업 제출
+     *
+     * @param filter 조회 조건과 열 선택
+     * @return 제출된 작업 상태 (QUEUED)
+     * @throws TaskRejectedException 실행 대기열이 가득 찬 경우
+     */
+    public ExportJobStatus submit(ExportFormat format, UserExportFilter filter) {
+        purgeExpiredJobs();
+
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), format, filter);
+        jobs.put(job.id, job);
+
+        try {
+            exportJobExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            log.warn("export 작업 대기열 초과 - 작업 거절: {}", format);
+            throw e;
+        }
+
+        log.info("export 작업 제출 - jobId: {}, format: {}, 조건: {}", job.id, format, filter);
+        return job.toStatus();
+    }
+
+    /**
+     * 작업 상태 조회
+     */
+    public Optional<ExportJobStatus> getStatus(String jobId) {
+        purgeExpiredJobs();
+        return Optional.ofNullable(jobs.get(jobId)).map(ExportJob::toStatus);
+    }
+
+    /**
+     * 완료된 작업의 결과 파일 (완료 전이거나 없는 작업이면 empty)
+     */
+    public Optional<ExportFile> getCompletedFile(String jobId) {
+        purgeExpiredJobs();
+        ExportJob job = jobs.get(jobId);
+        if (job == null || job.state != ExportJobState.COMPLETED) {
+            return Optional.empty();
+        }
+        return Optional.of(new ExportFile(job.file, job.format, "users_" + job.id + "." + job.format.getExtension()));
+    }
+
+    /**
+     * 작업 실행 - 임시 파일에 쓰고 완료되면 최종 경로로 이동
+     */
+    private void run(ExportJob job) {
+        job.startedAt = Instant.now();
+        job.state = ExportJobState.RUNNING;
+
+        Path directory = exportProperties.getJob().getDirectory();
+        Path target = directory.resolve(job.id + "." + job.format.getExtension());
+        Path partial = directory.resolve(job.id + ".part");
+
+        try {
+            Files.createDirectories(directory);
+            job.totalRows = userMapper.countUsers(job.filter);
+
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                switch (job.format) {
+                    case XLSX -> streamingExcelService.writeStreamingExcel(out, job.filter, job.processedRows);
+                    case CSV -> streamingCsvService.writeStreamingCsv(out, job.filter, true, job.processedRows);
+                }
+            }
+
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.file = target;
+            job.fileSize = Files.size(target);
+            job.finishedAt = Instant.now();
+            job.state = ExportJobState.COMPLETED;
+
+            log.info("export 작업 완료 - jobId: {}, {}건, {}bytes, {}ms", job.id, job.processedRows.get(),
+                    job.fileSize, Duration.between(job.startedAt, job.finishedAt).toMillis());
+
+        } catch (Exception e) {
+            log.error("export 작업 실패 - jobId: {}", job.id, e);
+            job.error = e.getMessage();
+            job.finishedAt = Instant.now();
+            job.state = ExportJobState.FAILED;
+            deleteQuietly(partial);
+        }
+    }
+
+    /**
+     * 보관 시간이 지난 완료/실패 작업과 파일 삭제
+     * 새 요청이 없어도 디스크가 비워지도록 주기적으로도 실행
+     */
+    @Scheduled(fixedDelayString = "${export.job.purge-interval:1m}", initialDelayString = "${export.job.purge-interval:1m}")
+    public void purgeExpiredJobs() {
+        Instant expiry = Instant.now().minus(exportProperties.getJob().getRetention());
+
+        jobs.values().removeIf(job -> {
+            boolean expired = job.finishedAt != null && job.finishedAt.isBefore(expiry);
+            if (expired && job.file != null) {
+                deleteQuietly(job.file);
+            }
+            return expired;
+        });
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("export 파일 삭제 실패: {}", path, e);
+        }
+    }
+
+    /**
+     * 완료된 export 파일
+     */
+    public record ExportFile(Path path, ExportFormat format, String filename) {
+    }
+
+    /**
+     * 작업 상태 - 작업 스레드가 갱신하고 요청 스레드가 읽으므로 필드는 volatile
+     */
+    private static class ExportJob {
+        private final String id;
+        private final ExportFormat format;
+        private final UserExportFilter filter;
+        private final Instant submittedAt = Instant.now();
+        private final AtomicLong processedRows = new AtomicLong();
+
+        private volatile ExportJobState state = ExportJobState.QUEUED;
+        private volatile long totalRows;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile Path file;
+        private volatile Long fileSize;
+        private volatile String error;
+
+        private ExportJob(String id, ExportFormat format, UserExportFilter filter) {
+            this.id = id;
+            this.format = format;
+            this.filter = filter;
+        }
+
+        private ExportJobStatus toStatus() {
+            long processed = processedRows.get();
+            Instant start = startedAt;
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+
+            long elapsedMs = start != null ? Duration.between(start, end).toMillis() : 0;
+            long rowsPerSecond = elapsedMs > 0 ? processed * 1000 / elapsedMs : 0;
+
+            Long etaSeconds = null;
+            if (state == ExportJobState.COMPLETED) {
+                etaSeconds = 0L;
+            } else if (state == ExportJobState.RUNNING && rowsPerSecond > 0) {
+                etaSeconds = Math.max(0, totalRows - processed) / rowsPerSecond;
+            }
+
+            return ExportJobStatus.builder()
+                    .jobId(id)
+                    .format(format.name())
+                    .state(state.name())
+                    .processedRows(processed)
+                    .totalRows(totalRows)
+                    .rowsPerSecond(rowsPerSecond)
+                    .etaSeconds(etaSeconds)
+                    .fileSize(fileSize)
+                    .error(error)
+                    .downloadUrl(state == ExportJobState.COMPLETED ? "/test/export/jobs/" + id + "/file" : null)
+                    .submittedAt(submittedAt)
+                    .startedAt(start)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.streaming.service;
+
+/**
+ * 비동기 export 작업 상태
+ */
+public enum ExportJobState {
+
+    QUEUED,
+
+    RUNNING,
+
+    COMPLETED,
+
+    FAILED
+}
@@ -0,0 +1,304 @@
+package com.example.streaming.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * fetch 단계와 render 단계를 분리한 생산자/소비자 export 파이프라인
+ *
+ * 기존 방식은 요청 스레드 하나가 JDBC 디코딩 → 행 렌더링 → 임시파일 플러시를 순서대로 수행해서
+ * POI가 XML을 쓰는 동안 DB가 놀고, DB가 fetch하는 동안 POI가 논다.
+ * 이 파이프라인은 두 단계를 다른 스레드에서 돌리고 그 사이에 bounded 버퍼를 둔다.
+ *
+ * 1. fetch 단계: fetchExecutor 스레드에서 MyBatis ResultHandler로 행을 받아 버퍼에 넣음
+ * 2. render 단계: 호출 스레드(요청 스레드)에서 버퍼의 행을 꺼내 렌더링
+ * 3. backpressure: 버퍼가 차면 fetch 단계가 대기 → 메모리는 버퍼 크기만큼만 사용
+ * 4. 오류/취소 전파: 한쪽이 실패하면 다른 쪽도 즉시 중단하고 원래 예외를 호출자에게 던짐
+ * 5. 정체 감지: render 단계가 stallTimeout 동안 행을 하나도 받지 못하면 취소하고 TimeoutException
+ *    (fetch 작업이 실행기 대기열에서 시작하지 못하는 경우에도 요청 스레드가 무한히 기다리지 않음)
+ *
+ * 보통은 run()으로 두 단계를 한 번에 실행하고, 여러 파이프라인의 fetch를 먼저 동시에 띄워야 할 때는
+ * start()와 drain()을 나눠서 호출한다 (샤드 병렬 export).
+ * 인스턴스는 한 번의 export에만 사용한다.
+ *
+ * @param <T> 행 타입
+ */
+@Slf4j
+public class ExportPipeline<T> {
+
+    /**
+     * 취소 여부를 확인하는 대기 주기
+     */
+    private static final long POLL_INTERVAL_MS = 100;
+
+    /**
+     * fetch 종료 표시 (정상 종료/오류 모두)
+     */
+    private static final Object END_OF_STREAM = new Object();
+
+    private final Executor fetchExecutor;
+    private final BlockingQueue<Object> buffer;
+    private final long stallTimeoutNanos;
+
+    private CompletableFuture<Void> fetchTask;
+
+    /**
+     * fetch 작업 실행 여부 - 시작 전에 취소하면 drain/abort가 먼저 차지해서 작업이 조회 없이 끝나게 함
+     */
+    private final AtomicBoolean fetchClaimed = new AtomicBoolean();
+
+    private volatile boolean cancelled = false;
+    private volatile Throwable fetchFailure;
+
+    private long fetchedCount = 0;
+    private long renderedCount = 0;
+
+    /**
+     * fetch 단계가 조회에 쓴 시간 (버퍼 대기 제외)
+     */
+    private long fetchNanos = 0;
+
+    /**
+     * 버퍼가 가득 차서 fetch 단계가 기다린 시간 (render가 병목)
+     */
+    private long fetchWaitNanos = 0;
+
+    /**
+     * 버퍼가 비어서 render 단계가 기다린 시간 (DB가 병목)
+     */
+    private long renderWaitNanos = 0;
+
+    /**
+     * @param stallTimeout render 단계가 다음 행을 기다리는 최대 시간
+     */
+    public ExportPipeline(Executor fetchExecutor, int bufferSize, Duration stallTimeout) {
+        this.fetchExecutor = fetchExecutor;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.stallTimeoutNanos = stallTimeout.toNanos();
+    }
+
+    /**
+     * fetch 단계 - 받은 ResultHandler로 행을 흘려보내는 조회 호출
+     * 예: handler -> userMapper.findUsersStreaming(filter, handler)
+     */
+    @FunctionalInterface
+    public interface FetchStage<T> {
+        void fetch(ResultHandler<T> handler) throws Exception;
+    }
+
+    /**
+     * render 단계 - 행 하나를 출력 형식으로 렌더링
+     */
+    @FunctionalInterface
+    public interface RenderStage<T> {
+        void render(T row) throws Exception;
+    }
+
+    /**
+     * 파이프라인 실행 - 모든 행이 렌더링되거나 한쪽이 실패할 때까지 호출 스레드를 점유
+     *
+     * @return 렌더링한 행 수
+     */
+    public long run(FetchStage<T> fetchStage, RenderStage<T> renderStage) throws Exception {
+        start(fetchStage);
+        return drain(renderStage);
+    }
+
+    /**
+     * fetch 단계만 시작 - 버퍼가 찰 때까지 미리 조회해 둠
+     */
+    public ExportPipeline<T> start(FetchStage<T> fetchStage) {
+        if (fetchTask != null) {
+            throw new IllegalStateException("이미 시작된 파이프라인입니다");
+        }
+        fetchTask = CompletableFuture.runAsync(() -> fetch(fetchStage), fetchExecutor);
+        return this;
+    }
+
+    /**
+     * render 단계 실행 - fetch가 끝날 때까지 버퍼의 행을 렌더링
+     *
+     * @return 렌더링한 행 수
+     */
+    public long drain(RenderStage<T> renderStage) throws Exception {
+        if (fetchTask == null) {
+            throw new IllegalStateException("start()를 먼저 호출해야 합니다");
+        }
+
+        try {
+            render(renderStage);
+        } catch (Throwable e) {
+            cancel();
+            throw e;
+        } finally {
+            // fetch 스레드가 DB 커넥션을 반납할 때까지 대기
+            awaitFetchCompletion();
+        }
+
+        if (fetchFailure != null) {
+            throw asException(fetchFailure);
+        }
+        return renderedCount;
+    }
+
+    /**
+     * 파이프라인 취소 - fetch 단계는 다음 행에서 조회를 중단함
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * 취소 후 fetch 단계가 끝날 때까지 대기 (아직 시작 전이면 조회 없이 끝나게 하고 바로 반환)
+     * drain()하지 않고 버리는 파이프라인 정리용
+     */
+    public void abort() {
+        cancel();
+        if (fetchTask != null) {
+            awaitFetchCompletion();
+        }
+    }
+
+    public long getFetchedCount() {
+        return fetchedCount;
+    }
+
+    public long getRenderedCount() {
+        return renderedCount;
+    }
+
+    /**
+     * fetch 단계가 조회에 쓴 시간 - fetch 완료(drain/abort 반환) 후에만 유효
+     */
+    public long getFetchNanos() {
+        return fetchNanos;
+    }
+
+    public long getFetchWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(fetchWaitNanos);
+    }
+
+    public long getRenderWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(renderWaitNanos);
+    }
+
+    private void fetch(FetchStage<T> fetchStage) {
+        if (!fetchClaimed.compareAndSet(false, true)) {
+            // 시작하기 전에 취소됨 - 기다리는 쪽이 없으므로 조회하지 않고 종료
+            return;
+        }
+        long fetchStart = System.nanoTime();
+        try {
+            fetchStage.fetch(this::enqueue);
+        } catch (Throwable e) {
+            if (!cancelled) {
+                log.error("파이프라인 fetch 단계 실패 - fetch 건수: {}", fetchedCount, e);
+            }
+            fetchFailure = e;
+        } finally {
+            fetchNanos = System.nanoTime() - fetchStart - fetchWaitNanos;
+            offerUntilCancelled(END_OF_STREAM);
+        }
+    }
+
+    private void enqueue(ResultContext<? extends T> context) {
+        if (cancelled || !offerUntilCancelled(context.getResultObject())) {
+            // render 단계가 중단됨 - 남은 행은 더 읽지 않음
+            context.stop();
+            return;
+        }
+        fetchedCount++;
+    }
+
+    /**
+     * 버퍼에 자리가 날 때까지 대기 (backpressure)
+     *
+     * @return false면 대기 중 취소됨
+     */
+    private boolean offerUntilCancelled(Object item) {
+        long waitStart = System.nanoTime();
+        try {
+            while (!buffer.offer(item, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                if (cancelled) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled = true;
+            return false;
+        } finally {
+            fetchWaitNanos += System.nanoTime() - waitStart;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void render(RenderStage<T> renderStage) throws Exception {
+        long lastReceived = System.nanoTime();
+        while (true) {
+            if (cancelled) {
+                throw new CancellationException("export 파이프라인이 취소됨");
+            }
+
+            long waitStart = System.nanoTime();
+            Object item = buffer.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            renderWaitNanos += System.nanoTime() - waitStart;
+
+            if (item == null) {
+                if (System.nanoTime() - lastReceived > stallTimeoutNanos) {
+                    cancel();
+                    throw new TimeoutException("export 파이프라인 정체 - " + TimeUnit.NANOSECONDS.toMillis(stallTimeoutNanos)
+                            + "ms 동안 fetch 단계에서 행이 오지 않음 (fetch 건수: " + fetchedCount + ")");
+                }
+                continue;
+            }
+            lastReceived = System.nanoTime();
+            if (item == END_OF_STREAM) {
+                return;
+            }
+
+            renderStage.render((T) item);
+            renderedCount++;
+        }
+    }
+
+    private void awaitFetchCompletion() {
+        if (fetchClaimed.compareAndSet(false, true)) {
+            // fetch 작업이 아직 시작 전 - 완료 처리해서 대기열에서 실행되더라도 조회하지 않게 함
+            fetchTask.complete(null);
+            return;
+        }
+        try {
+            fetchTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+        } catch (ExecutionException e) {
+            // fetch()가 모든 예외를 잡으므로 여기로 오지 않음
+            log.warn("파이프라인 fetch 작업 비정상 종료", e.getCause());
+        }
+    }
+
+    private static Exception asException(Throwable throwable) {
+        if (throwable instanceof Exception exception) {
+            return exception;
+        }
+        if (throwable instanceof Error error) {
+            throw error;
+        }
+        return new RuntimeException(throwable);
+    }
+}
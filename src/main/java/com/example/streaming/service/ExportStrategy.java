@@ -0,0 +1,27 @@
+package com.example.streaming.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * xlsx export 실행 방식 (ExportStrategySelector가 예상 행 수로 선택)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportStrategy {
+
+    /**
+     * 메모리 XSSF - 임시파일 없이 힙에서 완성 후 Content-Length와 함께 응답 (소량)
+     */
+    IN_MEMORY("in-memory"),
+
+    /**
+     * SXSSF 스트리밍 - 메모리는 일정, 행을 임시파일에 썼다가 마지막에 응답 (대량)
+     */
+    STREAMING("streaming");
+
+    /**
+     * 계측 태그 값
+     */
+    private final String tag;
+}
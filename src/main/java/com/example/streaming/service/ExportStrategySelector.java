@@ -0,0 +1,66 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.repository.UserMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 예상 행 수로 xlsx export 방식 선택
+ *
+ * 행이 적으면 SXSSF의 임시파일 생성/쓰기/재읽기 비용이 렌더링보다 커서 메모리 XSSF가 더 빠르고,
+ * 행이 많으면 메모리 XSSF는 행 수에 비례해 힙을 쓰므로 SXSSF 스트리밍이 필요하다.
+ * 1. 조건 없음: 캐시된 전체 행 수 (ExportCostEstimator - 요청마다 COUNT(*)를 실행하지 않음)
+ * 2. 조건 있음: 같은 조건으로 COUNT 조회
+ * 3. 계측: export.strategy.selected{strategy} 선택 횟수, export.strategy.threshold 현재 기준값
+ */
+@Slf4j
+@Component
+public class ExportStrategySelector {
+
+    private final UserMapper userMapper;
+    private final ExportCostEstimator costEstimator;
+    private final ExportProperties.Strategy properties;
+    private final Map<ExportStrategy, Counter> selected = new EnumMap<>(ExportStrategy.class);
+
+    public ExportStrategySelector(UserMapper userMapper, ExportCostEstimator costEstimator,
+                                  ExportProperties exportProperties, MeterRegistry registry) {
+        this.userMapper = userMapper;
+        this.costEstimator = costEstimator;
+        this.properties = exportProperties.getStrategy();
+
+        Gauge.builder("export.strategy.threshold", properties, ExportProperties.Strategy::getInMemoryMaxRows)
+                .description("메모리 XSSF로 처리하는 최대 행 수 (넘으면 SXSSF 스트리밍)")
+                .baseUnit("rows")
+                .register(registry);
+        for (ExportStrategy strategy : ExportStrategy.values()) {
+            selected.put(strategy, Counter.builder("export.strategy.selected")
+                    .description("자동 선택된 xlsx export 방식")
+                    .tag("strategy", strategy.getTag())
+                    .register(registry));
+        }
+    }
+
+    /**
+     * @param filter 조회 조건
+     * @return 선택한 방식과 그 근거가 된 예상 행 수
+     */
+    public Selection select(UserExportFilter filter) {
+        long expectedRows = filter.hasConditions() ? userMapper.countUsers(filter) : costEstimator.estimateRows();
+        ExportStrategy strategy = expectedRows <= properties.getInMemoryMaxRows()
+                ? ExportStrategy.IN_MEMORY : ExportStrategy.STREAMING;
+        selected.get(strategy).increment();
+        log.info("export 방식 선택 - {} (예상: {}건, 기준: {}건)", strategy, expectedRows, properties.getInMemoryMaxRows());
+        return new Selection(strategy, expectedRows);
+    }
+
+    public record Selection(ExportStrategy strategy, long expectedRows) {
+    }
+}
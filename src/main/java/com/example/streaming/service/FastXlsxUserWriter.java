@@ -0,0 +1,290 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.util.SpreadsheetMlWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 사용자 데이터 xlsx 시트 렌더러 (POI 셀 객체 없이 SpreadsheetML 직접 기록)
+ *
+ * ExcelUserWriter와 같은 열/헤더/테두리 스타일로 시트를 만들지만,
+ * 행마다 Row/Cell 객체나 중간 문자열을 만들지 않고 원시 값을 바로 XML로 쓴다.
+ * 생성일시는 날짜 서식 셀(일련번호), 활성상태는 불리언 셀로 기록한다.
+ * 문자열 열은 SharedStringPolicy에 따라 inlineStr 또는 공유 문자열 인덱스로 기록한다 (기본은 inlineStr).
+ * 열 목록을 주면 그 열만 순서대로 쓴다 (기본은 전체 열).
+ * 시트당 행 수 상한에 도달하면 새 시트("이름 (2)", ...)를 시작하고 헤더부터 다시 쓴다.
+ */
+public class FastXlsxUserWriter implements UserRowWriter {
+
+    /**
+     * 문자열 열 기록 방식
+     */
+    private enum TextMode {
+        INLINE, SAMPLING, SHARED
+    }
+
+    private final SpreadsheetMlWriter writer;
+    private final UserColumn[] columns;
+    private final String sheetName;
+    private final int maxRowsPerSheet;
+    private final SharedStringPolicy sharedStrings;
+    private int rowCount = 0;
+    private int sheetRowCount = 0;
+
+    /**
+     * 열 위치별 문자열 기록 방식 (문자열 열이 아니면 null)과 자동 선택 중 모은 값
+     */
+    private final TextMode[] textModes;
+    private final List<Set<String>> samples;
+    private boolean sampling;
+
+    /**
+     * 배치의 부서 사전 코드 → 공유 문자열 인덱스 + 1 (0은 아직 모름, -1은 테이블이 가득 차서 inlineStr)
+     */
+    private StringDictionary codedDictionary;
+    private int[] sharedIndexByCode;
+
+    public FastXlsxUserWriter(SpreadsheetMlWriter writer, String sheetName) throws IOException {
+        this(writer, sheetName, UserColumn.ALL);
+    }
+
+    public FastXlsxUserWriter(SpreadsheetMlWriter writer, String sheetName, List<UserColumn> columns) throws IOException {
+        this(writer, sheetName, columns, SpreadsheetMlWriter.MAX_ROWS_PER_SHEET - 1);
+    }
+
+    /**
+     * @param maxRowsPerSheet 시트 하나의 데이터 행 수 상한 (헤더 제외) - 넘으면 새 시트로 넘어감
+     */
+    public FastXlsxUserWriter(SpreadsheetMlWriter writer, String sheetName, List<UserColumn> columns,
+                              int maxRowsPerSheet) throws IOException {
+        this(writer, sheetName, columns, maxRowsPerSheet, SharedStringPolicy.NONE);
+    }
+
+    /**
+     * @param sharedStrings 문자열 열의 공유 문자열 사용 기준
+     */
+    public FastXlsxUserWriter(SpreadsheetMlWriter writer, String sheetName, List<UserColumn> columns,
+                              int maxRowsPerSheet, SharedStringPolicy sharedStrings) throws IOException {
+        this.writer = writer;
+        this.columns = columns.toArray(new UserColumn[0]);
+        this.sheetName = sheetName;
+        this.maxRowsPerSheet = maxRowsPerSheet;
+        this.sharedStrings = sharedStrings;
+
+        this.textModes = new TextMode[this.columns.length];
+        this.samples = new ArrayList<>(this.columns.length);
+        for (int i = 0; i < this.columns.length; i++) {
+            textModes[i] = isText(this.columns[i]) ? initialMode(this.columns[i]) : null;
+            samples.add(textModes[i] == TextMode.SAMPLING ? new HashSet<>() : null);
+            sampling |= textModes[i] == TextMode.SAMPLING;
+        }
+        if (sharedStrings.isEnabled()) {
+            writer.setSharedStringLimit(sharedStrings.limit());
+        }
+
+        writer.startSheet(sheetName);
+        writeHeader();
+    }
+
+    @Override
+    public void writeRow(UserDto user) throws IOException {
+        rollSheetIfFull();
+        writer.startRow();
+        for (int col = 0; col < columns.length; col++) {
+            switch (columns[col]) {
+                case ID -> writer.writeNumber(user.getId(), SpreadsheetMlWriter.STYLE_DATA);
+                case USERNAME -> writeText(col, user.getUsername());
+                case EMAIL -> writeText(col, user.getEmail());
+                case AGE -> writer.writeNumber(user.getAge(), SpreadsheetMlWriter.STYLE_DATA);
+                case DEPARTMENT -> writeText(col, user.getDepartment());
+                case CREATED_AT -> writer.writeDate(user.getCreatedAt(), SpreadsheetMlWriter.STYLE_DATE);
+                case ACTIVE -> writer.writeBoolean(user.getActive(), SpreadsheetMlWriter.STYLE_DATA);
+            }
+        }
+        endRow();
+    }
+
+    /**
+     * 배치 출력 - 박싱 값이나 String 없이 원시 배열과 UTF-8 바이트를 바로 씀
+     * 공유 문자열로 쓰는 부서는 사전 코드별로 인덱스를 기억해 두고 재사용
+     */
+    @Override
+    public void writeBatch(UserBatch batch) throws IOException {
+        for (int row = 0; row < batch.size(); row++) {
+            rollSheetIfFull();
+            writer.startRow();
+            for (int col = 0; col < columns.length; col++) {
+                switch (columns[col]) {
+                    case ID -> writer.writeNumber(batch.getId(row), SpreadsheetMlWriter.STYLE_DATA);
+                    case USERNAME -> writeText(col, batch, UserBatch.USERNAME, row);
+                    case EMAIL -> writeText(col, batch, UserBatch.EMAIL, row);
+                    case AGE -> {
+                        if (batch.isAgeNull(row)) {
+                            writer.writeBlank(SpreadsheetMlWriter.STYLE_DATA);
+                        } else {
+                            writer.writeNumber(batch.getAge(row), SpreadsheetMlWriter.STYLE_DATA);
+                        }
+                    }
+                    case DEPARTMENT -> writeText(col, batch, UserBatch.DEPARTMENT, row);
+                    case CREATED_AT -> {
+                        if (batch.isCreatedAtNull(row)) {
+                            writer.writeBlank(SpreadsheetMlWriter.STYLE_DATE);
+                        } else {
+                            writer.writeDate(batch.getCreatedAtMillis(row), SpreadsheetMlWriter.STYLE_DATE);
+                        }
+                    }
+                    case ACTIVE -> writer.writeBoolean(batch.isActiveNull(row) ? null : Boolean.valueOf(batch.isActive(row)),
+                            SpreadsheetMlWriter.STYLE_DATA);
+                }
+            }
+            endRow();
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    private void endRow() throws IOException {
+        writer.endRow();
+        rowCount++;
+        sheetRowCount++;
+        if (sampling && rowCount >= sharedStrings.sampleRows()) {
+            finishSampling();
+        }
+    }
+
+    private void writeText(int col, String value) throws IOException {
+        switch (textModes[col]) {
+            case SHARED -> writeShared(value);
+            case SAMPLING -> {
+                sample(col, value);
+                writer.writeString(value, SpreadsheetMlWriter.STYLE_DATA);
+            }
+            default -> writer.writeString(value, SpreadsheetMlWriter.STYLE_DATA);
+        }
+    }
+
+    private void writeText(int col, UserBatch batch, int field, int row) throws IOException {
+        TextMode mode = textModes[col];
+        if (mode == TextMode.SHARED) {
+            if (field == UserBatch.DEPARTMENT && batch.getDepartmentCode(row) >= 0) {
+                writeSharedCode(batch, row);
+            } else {
+                writeShared(batch.getString(field, row));
+            }
+            return;
+        }
+        if (mode == TextMode.SAMPLING) {
+            sample(col, batch.getString(field, row));
+        }
+        writeUtf8(batch, field, row);
+    }
+
+    /**
+     * 공유 문자열로 기록 - 테이블이 가득 차서 새 값을 넣을 수 없으면 inlineStr
+     */
+    private void writeShared(String value) throws IOException {
+        if (value == null) {
+            writer.writeBlank(SpreadsheetMlWriter.STYLE_DATA);
+            return;
+        }
+        int index = writer.sharedString(value);
+        if (index < 0) {
+            writer.writeString(value, SpreadsheetMlWriter.STYLE_DATA);
+        } else {
+            writer.writeSharedString(index, SpreadsheetMlWriter.STYLE_DATA);
+        }
+    }
+
+    private void writeSharedCode(UserBatch batch, int row) throws IOException {
+        StringDictionary dictionary = batch.getDepartments();
+        if (dictionary != codedDictionary) {
+            codedDictionary = dictionary;
+            sharedIndexByCode = new int[StringDictionary.MAX_SIZE];
+        }
+
+        int code = batch.getDepartmentCode(row);
+        int cached = sharedIndexByCode[code];
+        if (cached == 0) {
+            int index = writer.sharedString(dictionary.value(code));
+            cached = index < 0 ? -1 : index + 1;
+            sharedIndexByCode[code] = cached;
+        }
+        if (cached < 0) {
+            writeUtf8(batch, UserBatch.DEPARTMENT, row);
+        } else {
+            writer.writeSharedString(cached - 1, SpreadsheetMlWriter.STYLE_DATA);
+        }
+    }
+
+    private void writeUtf8(UserBatch batch, int field, int row) throws IOException {
+        writer.writeUtf8String(batch.stringBytes(field, row), batch.stringOffset(field, row), batch.stringLength(field, row),
+                SpreadsheetMlWriter.STYLE_DATA);
+    }
+
+    /**
+     * 자동 선택 표본 - 종류가 기준을 넘으면 바로 inlineStr로 확정
+     */
+    private void sample(int col, String value) {
+        if (value == null) {
+            return;
+        }
+        Set<String> values = samples.get(col);
+        values.add(value);
+        if (values.size() > sharedStrings.maxDistinct()) {
+            textModes[col] = TextMode.INLINE;
+            samples.set(col, null);
+        }
+    }
+
+    /**
+     * 표본 행을 다 쓰면 남은 후보 열을 공유 문자열로 전환
+     */
+    private void finishSampling() {
+        for (int col = 0; col < columns.length; col++) {
+            if (textModes[col] == TextMode.SAMPLING) {
+                textModes[col] = TextMode.SHARED;
+                samples.set(col, null);
+            }
+        }
+        sampling = false;
+    }
+
+    private TextMode initialMode(UserColumn column) {
+        if (!sharedStrings.isEnabled()) {
+            return TextMode.INLINE;
+        }
+        if (sharedStrings.columns().contains(column)) {
+            return TextMode.SHARED;
+        }
+        return sharedStrings.sampleRows() > 0 ? TextMode.SAMPLING : TextMode.INLINE;
+    }
+
+    private static boolean isText(UserColumn column) {
+        return column == UserColumn.USERNAME || column == UserColumn.EMAIL || column == UserColumn.DEPARTMENT;
+    }
+
+    private void rollSheetIfFull() throws IOException {
+        if (sheetRowCount == maxRowsPerSheet) {
+            // startSheet가 이전 시트를 닫음
+            writer.startSheet(sheetName + " (" + (writer.getSheetCount() + 1) + ")");
+            writeHeader();
+            sheetRowCount = 0;
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        writer.startRow();
+        for (UserColumn column : columns) {
+            writer.writeString(column.getHeader(), SpreadsheetMlWriter.STYLE_HEADER);
+        }
+        writer.endRow();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.metrics.ExportMetrics;
+import com.example.streaming.metrics.ExportRecording;
+import com.example.streaming.util.CsvWriter;
+import com.example.streaming.util.MappedCsvReader;
+import com.example.streaming.util.MemoryMonitor;
+import com.example.streaming.util.SpreadsheetMlWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * 로컬 CSV 파일 변환 export 서비스 (야간 users 덤프 → xlsx/CSV)
+ *
+ * DB 대신 export.file-source.directory의 CSV 파일을 읽어 기존 export writer로 변환한다.
+ * 1. 읽기: 파일을 메모리 매핑하고 레코드 경계에 맞춘 바이트 범위로 나눔 (CsvFileUserSource)
+ * 2. 해석: 범위마다 ExportPipeline 하나 - 전용 해석 스레드(exportParseExecutor)에서 범위를 동시에 해석해 각자의 버퍼에 채움
+ *    (DB export의 fetch 스레드를 나눠 쓰지 않으므로 파일 export가 몰려도 DB export가 밀리지 않음)
+ * 3. 렌더링: 요청 스레드가 범위 순서대로 버퍼를 비우므로 출력 행 순서는 파일 순서와 같음
+ *    (샤드 병렬 export의 MERGED 모드와 같은 구조, 메모리는 범위 수 × 버퍼 크기)
+ *
+ * 열 선택만 지원하고 행 조건은 적용하지 않는다 (파일 전체 변환).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileExportService {
+
+    /**
+     * 메모리 압박 확인 주기 (건수 기준)
+     */
+    private static final int PRESSURE_CHECK_INTERVAL = 1000;
+
+    private final MemoryMonitor memoryMonitor;
+    private final ExportProperties exportProperties;
+    private final ExportMetrics exportMetrics;
+    private final MemoryPressureGovernor memoryPressureGovernor;
+
+    @Qualifier("exportParseExecutor")
+    private final Executor exportParseExecutor;
+
+    /**
+     * 요청한 파일 이름을 소스 디렉터리 안의 경로로 변환
+     *
+     * @return 파일이 없으면 빈 값
+     * @throws IllegalArgumentException 디렉터리 밖을 가리키는 이름 (../ 등)
+     */
+    public Optional<Path> resolveSource(String name) {
+        Path directory = exportProperties.getFileSource().getDirectory().toAbsolutePath().normalize();
+        Path file = directory.resolve(name).normalize();
+        if (!file.startsWith(directory) || file.equals(directory)) {
+            throw new IllegalArgumentException("소스 디렉터리 밖의 파일은 읽을 수 없습니다: " + name);
+        }
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    /**
+     * CSV 파일을 지정한 형식으로 변환해서 응답
+     *
+     * @param response HTTP 응답 객체
+     * @param source   resolveSource()로 확인한 파일
+     * @param format   출력 형식
+     * @param columns  출력할 열 (순서대로)
+     */
+    public void exportFile(HttpServletResponse response, Path source, ExportFormat format, List<UserColumn> columns) {
+        long startTime = System.currentTimeMillis();
+        memoryMonitor.logMemoryStatus("파일 export 시작");
+        ExportProperties.FileSource properties = exportProperties.getFileSource();
+
+        ExportRecording recording = exportMetrics.start(format == ExportFormat.XLSX ? "xlsx-file" : "csv-file");
+        try (CsvFileUserSource users = CsvFileUserSource.open(source, properties.getWindowSize().toBytes())) {
+            List<MappedCsvReader.Range> ranges = users.split(properties.resolveParseThreads());
+            List<ExportPipeline<UserDto>> pipelines = new ArrayList<>(ranges.size());
+            try {
+                // 1. 모든 범위의 해석을 먼저 동시에 시작 (각자 버퍼가 찰 때까지 진행)
+                for (MappedCsvReader.Range range : ranges) {
+                    pipelines.add(new ExportPipeline<UserDto>(exportParseExecutor, exportProperties.getPipeline().getBufferSize(),
+                            exportProperties.getPipeline().getStallTimeout())
+                            .start(handler -> users.read(range, handler)));
+                }
+                log.info("파일 export 해석 시작 - {}, {}bytes, 범위 수: {}", source.getFileName(), users.size(), ranges.size());
+
+                // 2. 범위 순서대로 렌더링
+                String baseName = source.getFileName().toString().replaceFirst("\\.[^.]*$", "");
+                response.setContentType(format.getContentType());
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(baseName + "." + format.getExtension()).build().toString());
+                OutputStream out = recording.meter(response.getOutputStream());
+
+                long rows;
+                if (format == ExportFormat.XLSX) {
+                    SpreadsheetMlWriter xlsxWriter = new SpreadsheetMlWriter(out);
+                    FastXlsxUserWriter writer = new FastXlsxUserWriter(xlsxWriter, "사용자 목록", columns,
+                            exportProperties.getXlsx().getMaxRowsPerSheet(), exportProperties.getXlsx().sharedStringPolicy());
+                    rows = render(pipelines, writer, recording);
+                    recording.flushStarted();
+                    xlsxWriter.close();
+                    recording.flushFinished();
+                } else {
+                    CsvWriter csvWriter = new CsvWriter(out);
+                    csvWriter.writeBom();
+                    CsvUserWriter writer = new CsvUserWriter(csvWriter, columns, true);
+                    rows = render(pipelines, writer, recording);
+                    recording.flushStarted();
+                    csvWriter.flush();
+                    recording.flushFinished();
+                }
+                // 범위별 해석 시간 합
+                pipelines.forEach(pipeline -> recording.recordFetch(pipeline.getFetchNanos()));
+
+                memoryMonitor.logElapsed("파일 export (" + format + ", " + ranges.size() + " 범위)",
+                        System.currentTimeMillis() - startTime, rows);
+                recording.success();
+            } finally {
+                // 렌더링되지 않은 범위의 해석을 중단하고 매핑을 닫기 전에 끝나기를 기다림
+                pipelines.forEach(ExportPipeline::abort);
+            }
+
+        } catch (Exception e) {
+            recording.failure();
+            log.error("파일 export 중 오류 발생 - {}", source, e);
+            throw new RuntimeException("파일 export 실패", e);
+        }
+    }
+
+    /**
+     * 범위 순서대로 버퍼를 비우며 렌더링
+     * 메모리 압박 중에는 렌더링을 늦춰서 버퍼가 차면 해석도 함께 멈추도록 함
+     */
+    private long render(List<ExportPipeline<UserDto>> pipelines, UserRowWriter writer,
+                        ExportRecording recording) throws Exception {
+        long rows = 0;
+        for (ExportPipeline<UserDto> pipeline : pipelines) {
+            rows += pipeline.drain(user -> {
+                long renderStart = System.nanoTime();
+                writer.writeRow(user);
+                recording.rowRendered(renderStart);
+
+                if (writer.getRowCount() % PRESSURE_CHECK_INTERVAL == 0) {
+                    writer.applyMemoryPressure(memoryPressureGovernor.throttle());
+                }
+            });
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.metrics.ExportMetrics;
+import com.example.streaming.metrics.ExportRecording;
+import com.example.streaming.repository.UserMapper;
+import com.example.streaming.util.MemoryMonitor;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * API 소비자용 JSON 스트리밍 서비스 (NDJSON / JSON 배열)
+ *
+ * 조회 결과를 List로 모아 ObjectMapper로 한 번에 직렬화하지 않고,
+ * ResultHandler 콜백에서 받은 행을 JsonGenerator 하나로 바로 응답 스트림에 쓴다.
+ * 1. 메모리 일정: 처리 건수와 무관 (generator 버퍼 + 응답 버퍼)
+ * 2. 첫 바이트 전송: 첫 행 처리 직후
+ * 3. flush 주기: export.json.flush-rows행마다 - 행마다 flush하면 소켓 쓰기가 너무 잦고, 안 하면 응답 버퍼가 찰 때까지 지연
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JsonStreamService {
+
+    /**
+     * 메모리 체크 주기 (건수 기준)
+     */
+    private static final int MEMORY_CHECK_INTERVAL = 10000;
+
+    /**
+     * 메모리 압박 확인 주기 (건수 기준)
+     */
+    private static final int PRESSURE_CHECK_INTERVAL = 1000;
+
+    private final UserMapper userMapper;
+    private final MemoryMonitor memoryMonitor;
+    private final ExportMetrics exportMetrics;
+    private final MemoryPressureGovernor memoryPressureGovernor;
+    private final ExportProperties exportProperties;
+
+    /**
+     * JSON 스트리밍 응답
+     *
+     * @param response HTTP 응답 객체
+     * @param filter   조회 조건과 열 선택
+     * @param format   NDJSON 또는 JSON (배열)
+     */
+    public void createJsonStream(HttpServletResponse response, UserExportFilter filter, StreamFormat format) {
+        try {
+            // 응답 헤더와 버퍼 크기는 첫 바이트를 쓰기 전에 설정
+            response.setContentType(format.getContentType());
+            response.setBufferSize((int) exportProperties.getJson().getBufferSize().toBytes());
+
+            writeJson(response.getOutputStream(), filter, format, new AtomicLong());
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("응답 스트림 열기 실패", e);
+        }
+    }
+
+    /**
+     * 조건에 맞는 사용자를 JSON으로 OutputStream에 출력
+     *
+     * @param out      출력 대상 (닫지 않음)
+     * @param filter   조회 조건과 열 선택
+     * @param format   NDJSON 또는 JSON (배열)
+     * @param progress 처리 건수를 실시간으로 반영할 카운터
+     * @return 총 처리 건수
+     */
+    public long writeJson(OutputStream out, UserExportFilter filter, StreamFormat format, AtomicLong progress) {
+        if (format == StreamFormat.CSV) {
+            throw new IllegalArgumentException("JSON 형식이 아닙니다: " + format);
+        }
+        long startMB = memoryMonitor.getCurrentMemoryUsageMB();
+        memoryMonitor.logMemoryStatus("JSON 스트리밍 시작");
+
+        ExportRecording recording = exportMetrics.start(format.getExtension() + "-streaming");
+        try {
+            // 1. 출력 스트림에 직접 연결된 JSON 렌더러 (generator 하나를 끝까지 재사용)
+            JsonUserWriter writer = new JsonUserWriter(recording.meter(out), filter.getColumns(),
+                    format == StreamFormat.JSON);
+
+            // 2. MyBatis ResultHandler로 데이터 스트리밍 처리
+            int flushRows = Math.max(1, exportProperties.getJson().getFlushRows());
+            JsonStreamingResultHandler handler = new JsonStreamingResultHandler(writer, flushRows, progress, recording);
+            log.info("JSON 데이터 스트리밍 처리 시작 - 형식: {}, flush: {}행, 조건: {}", format, flushRows, filter);
+            recording.fetchStarted();
+            userMapper.findUsersStreaming(filter, handler);
+            recording.fetchFinished();
+
+            // 3. 배열 닫기 + 남은 버퍼 출력
+            recording.flushStarted();
+            writer.finish();
+            recording.flushFinished();
+
+            long endMB = memoryMonitor.getCurrentMemoryUsageMB();
+            log.info("JSON 스트리밍 완료 - 시작: {}MB, 종료: {}MB, 총 처리건수: {}건",
+                    startMB, endMB, handler.getProcessedCount());
+
+            memoryMonitor.logMemoryStatus("JSON 스트리밍 완료");
+            recording.success();
+
+            return handler.getProcessedCount();
+
+        } catch (Exception e) {
+            recording.failure();
+            log.error("JSON 스트리밍 중 오류 발생", e);
+            throw new RuntimeException("JSON 스트리밍 실패", e);
+        }
+    }
+
+    /**
+     * JSON 스트리밍용 ResultHandler
+     *
+     * 행을 받을 때마다 generator 버퍼에 쓰고, 첫 행과 flushRows행마다 응답으로 내보낸다.
+     */
+    private class JsonStreamingResultHandler implements ResultHandler<UserDto> {
+        private final JsonUserWriter writer;
+        private final int flushRows;
+        private final AtomicLong progress;
+        private final ExportRecording recording;
+        private int processedCount = 0;
+        private long peakMemoryMB = 0;
+
+        public JsonStreamingResultHandler(JsonUserWriter writer, int flushRows, AtomicLong progress,
+                                          ExportRecording recording) {
+            this.writer = writer;
+            this.flushRows = flushRows;
+            this.progress = progress;
+            this.recording = recording;
+            this.peakMemoryMB = memoryMonitor.getCurrentMemoryUsageMB();
+        }
+
+        @Override
+        public void handleResult(ResultContext<? extends UserDto> context) {
+            try {
+                long renderStart = System.nanoTime();
+                writer.writeRow(context.getResultObject());
+                recording.rowRendered(renderStart);
+                processedCount++;
+                progress.lazySet(processedCount);
+
+                // 첫 행은 즉시, 이후에는 flushRows행마다 내보냄
+                if (processedCount == 1 || processedCount % flushRows == 0) {
+                    writer.flush();
+                }
+
+                // 메모리 압박 시 조회 속도 조절
+                if (processedCount % PRESSURE_CHECK_INTERVAL == 0) {
+                    memoryPressureGovernor.throttle();
+                }
+
+                // 주기적 메모리 체크
+                if (processedCount % MEMORY_CHECK_INTERVAL == 0) {
+                    checkAndLogMemoryUsage();
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                context.stop();
+                throw new IllegalStateException("JSON 생성 중단 - 처리건수: " + processedCount, e);
+            } catch (IOException e) {
+                // 클라이언트 연결 종료 등 - 더 이상 쓸 곳이 없으므로 조회 중단
+                context.stop();
+                throw new UncheckedIOException("JSON 응답 스트림 쓰기 실패 - 처리건수: " + processedCount, e);
+            }
+        }
+
+        /**
+         * 메모리 사용량 체크 및 로깅
+         */
+        private void checkAndLogMemoryUsage() {
+            long currentMB = memoryMonitor.getCurrentMemoryUsageMB();
+
+            if (currentMB > peakMemoryMB) {
+                peakMemoryMB = currentMB;
+            }
+
+            log.info("JSON 스트리밍 진행: {}건 처리 - 현재 메모리: {}MB, 최고 메모리: {}MB",
+                    processedCount, currentMB, peakMemoryMB);
+        }
+
+        public int getProcessedCount() {
+            return processedCount;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.UserDto;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 사용자 데이터 JSON 렌더러 (NDJSON 또는 JSON 배열)
+ *
+ * export 한 건 동안 JsonGenerator 하나를 재사용해서 행마다 필드를 바로 쓴다.
+ * ObjectMapper로 UserDto를 직렬화하거나 List로 모아 한 번에 쓰지 않으므로 행당 중간 객체가 없다.
+ * 1. NDJSON: 한 줄에 객체 하나 - 받는 쪽이 줄 단위로 바로 처리 가능
+ * 2. JSON 배열: 생성 시 '[', finish()에서 ']' - 쉼표는 JsonGenerator가 넣음
+ * 열 목록을 주면 그 열만 순서대로 쓰고 (키는 UserDto 필드명), 생성일시는 ISO-8601 문자열로 쓴다.
+ */
+public class JsonUserWriter implements UserRowWriter, Flushable {
+
+    /**
+     * 스레드 안전 - generator 생성에만 사용
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+    private final UserColumn[] columns;
+    private final boolean array;
+    private int rowCount = 0;
+
+    /**
+     * @param out     출력 대상 (finish/flush가 닫지는 않음)
+     * @param columns 출력할 열 (순서대로)
+     * @param array   true면 JSON 배열, false면 NDJSON
+     */
+    public JsonUserWriter(OutputStream out, List<UserColumn> columns, boolean array) throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.columns = columns.toArray(new UserColumn[0]);
+        this.array = array;
+        if (array) {
+            generator.writeStartArray();
+        } else {
+            // 최상위 값 사이 기본 구분자(공백) 대신 writeRow에서 줄바꿈
+            generator.setRootValueSeparator(null);
+        }
+    }
+
+    @Override
+    public void writeRow(UserDto user) throws IOException {
+        generator.writeStartObject();
+        for (UserColumn column : columns) {
+            generator.writeFieldName(column.getFieldName());
+            switch (column) {
+                case ID -> writeNumber(user.getId());
+                case USERNAME -> generator.writeString(user.getUsername());
+                case EMAIL -> generator.writeString(user.getEmail());
+                case AGE -> writeNumber(user.getAge());
+                case DEPARTMENT -> generator.writeString(user.getDepartment());
+                case CREATED_AT -> generator.writeString(user.getCreatedAt() == null
+                        ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(user.getCreatedAt()));
+                case ACTIVE -> {
+                    if (user.getActive() == null) {
+                        generator.writeNull();
+                    } else {
+                        generator.writeBoolean(user.getActive());
+                    }
+                }
+            }
+        }
+        generator.writeEndObject();
+        if (!array) {
+            generator.writeRaw('\n');
+        }
+        rowCount++;
+    }
+
+    /**
+     * 마지막 행 이후 호출 - 배열을 닫고 남은 버퍼를 출력
+     */
+    public void finish() throws IOException {
+        if (array) {
+            generator.writeEndArray();
+        }
+        generator.flush();
+    }
+
+    /**
+     * generator 버퍼를 출력 대상으로 내보냄 (응답 스트림이면 그때까지의 행이 클라이언트로 전송됨)
+     */
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    private void writeNumber(Number value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.longValue());
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.example.streaming.dto.ExportCheckpointStatus;
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.dto.UserIdRange;
+import com.example.streaming.metrics.ExportMetrics;
+import com.example.streaming.metrics.ExportRecording;
+import com.example.streaming.repository.UserMapper;
+import com.example.streaming.util.CsvWriter;
+import com.example.streaming.util.MemoryMonitor;
+import com.example.streaming.util.SkippingOutputStream;
+import com.example.streaming.util.SpreadsheetMlWriter;
+import com.example.streaming.util.Utf8BufferedWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * keyset 페이지 조회 기반 이어받기 가능 export 서비스
+ *
+ * findUsersStreaming은 export 전체를 쿼리 하나(ORDER BY created_at DESC 전체 정렬)로 읽어서
+ * 조회 내내 커넥션을 점유하고, 연결이 중간에 끊기면 처음부터 다시 받아야 한다.
+ * 이 서비스는 (created_at, id) 인덱스 순서로 pageSize건씩 끊어서 조회하고 페이지마다 체크포인트를 남긴다.
+ * 1. 페이지 조회: 마지막 키 다음부터 인덱스 범위 탐색 → 정렬 없음, 쿼리마다 커넥션 반납 (긴 트랜잭션 없음)
+ * 2. 스냅샷 고정: 시작 시점의 최대 id를 상한으로 삼아서 이후 추가된 행은 포함하지 않음 (다시 생성해도 같은 결과)
+ *    import/데이터 생성처럼 created_at을 과거 값으로 넣는 경우도 있으므로 키 상한이 아니라 id로 거름
+ *    조회 조건과 열 선택도 시작할 때 정해서 export에 보관하고, 이어받기는 같은 조건으로 다시 조회
+ * 3. 체크포인트: 페이지를 응답으로 내보낼 때마다 (마지막 키, 누적 행 수, 누적 바이트) 기록
+ *    (페이지 중간에 끊기면 그때까지 넘긴 바이트 수도 남겨서 그 위치부터 이어받을 수 있게 함)
+ * 4. 이어받기: export ID와 클라이언트가 받은 바이트 수(offset)로 다시 요청하면
+ *    - CSV: offset 이하의 가장 가까운 체크포인트 키부터 다시 조회하고, offset까지는 건너뛰고 나머지만 전송
+ *    - XLSX: ZIP 압축 상태는 페이지 경계에서 재개할 수 없으므로 처음부터 다시 생성하고 offset까지 건너뜀
+ *      (조회/렌더링은 다시 하지만 이미 받은 바이트는 다시 보내지 않음)
+ *
+ * 스냅샷 이후 기존 행이 수정/삭제되면 이어받은 파일이 원본과 달라질 수 있다.
+ * 보관 시간이 지난 export는 purgeInterval마다, 그리고 시작/조회/이어받기 요청 시 정리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KeysetExportService {
+
+    /**
+     * 진행 로그 주기 (건수 기준)
+     */
+    private static final int PROGRESS_LOG_INTERVAL = 100000;
+
+    private final UserMapper userMapper;
+    private final MemoryMonitor memoryMonitor;
+    private final ExportProperties exportProperties;
+    private final ExportMetrics exportMetrics;
+    private final MemoryPressureGovernor memoryPressureGovernor;
+
+    private final Map<String, KeysetExport> exports = new ConcurrentHashMap<>();
+
+    /**
+     * 새 export 등록 - 지금 최대 id를 스냅샷 상한으로, 조회 조건과 열 선택을 이어받기 조건으로 고정
+     *
+     * @param filter 조회 조건과 열 선택
+     * @return 등록된 export의 체크포인트 (아직 전송 전)
+     */
+    public ExportCheckpointStatus begin(ExportFormat format, UserExportFilter filter) {
+        purgeExpiredExports();
+
+        // id 상한을 먼저 정하고 그 안에서 시작 키를 찾음 (사이에 추가된 행은 어느 쪽에도 들어가지 않음)
+        UserIdRange idRange = userMapper.findUserIdRange(UserExportFilter.none());
+        Long snapshotMaxId = idRange != null ? idRange.getMaxId() : null;
+        List<UserDto> newest = snapshotMaxId == null
+                ? List.of()
+                : userMapper.findUsersPage(null, null, snapshotMaxId, filter, 1);
+        KeysetExport export = new KeysetExport(UUID.randomUUID().toString(), format, filter, snapshotMaxId,
+                newest.isEmpty() ? null : newest.get(0), exportProperties.getKeyset().getMaxCheckpoints());
+        exports.put(export.id, export);
+
+        log.info("keyset export 등록 - exportId: {}, format: {}, 조건: {}, 상한 id: {}, 시작 키: {}",
+                export.id, format, filter, snapshotMaxId, export.start);
+        return export.toStatus();
+    }
+
+    /**
+     * 체크포인트 조회
+     */
+    public Optional<ExportCheckpointStatus> getCheckpoint(String exportId) {
+        purgeExpiredExports();
+        return Optional.ofNullable(exports.get(exportId)).map(KeysetExport::toStatus);
+    }
+
+    /**
+     * export 내용을 offset 위치부터 출력 (처음 요청은 offset 0)
+     * 같은 export를 다시 요청하면 이전 요청은 더 이상 체크포인트를 갱신하지 않는다.
+     *
+     * @param out    출력 대상 (닫지 않음)
+     * @param offset 클라이언트가 이미 받은 바이트 수 - 지금까지 전송한 바이트 수 이하
+     * @return 이번 요청에서 조회한 행 수
+     * @throws IllegalArgumentException export가 없거나 offset이 전송한 범위를 벗어난 경우
+     */
+    public long write(String exportId, long offset, OutputStream out) {
+        purgeExpiredExports();
+        KeysetExport export = exports.get(exportId);
+        if (export == null) {
+            throw new IllegalArgumentException("keyset export가 없습니다: " + exportId);
+        }
+        long emittedBytes = export.emittedBytes;
+        if (offset < 0 || offset > emittedBytes) {
+            throw new IllegalArgumentException("offset은 0 이상 " + emittedBytes + " 이하여야 합니다: " + offset);
+        }
+
+        int generation = export.claim();
+        Checkpoint resumeFrom = export.format == ExportFormat.CSV ? export.checkpointAtOrBefore(offset) : export.start;
+        long startTime = System.currentTimeMillis();
+        memoryMonitor.logMemoryStatus("keyset export 시작");
+        log.info("keyset export 시작 - exportId: {}, offset: {}, 재개 지점: {}", exportId, offset, resumeFrom);
+
+        ExportRecording recording = exportMetrics.start(export.format == ExportFormat.CSV ? "csv-keyset" : "xlsx-keyset");
+        Checkpoint current = resumeFrom;
+        SkippingOutputStream sink = null;
+        try {
+            // 1. 재개 지점부터 다시 생성하면서 offset까지는 버림
+            sink = new SkippingOutputStream(recording.meter(out),
+                    resumeFrom.bytes(), offset - resumeFrom.bytes());
+
+            Utf8BufferedWriter encoder;
+            UserRowWriter writer;
+            if (export.format == ExportFormat.CSV) {
+                CsvWriter csvWriter = new CsvWriter(sink);
+                boolean fromStart = resumeFrom.bytes() == 0;
+                if (fromStart) {
+                    csvWriter.writeBom();
+                }
+                writer = new CsvUserWriter(csvWriter, export.filter.getColumns(), fromStart);
+                encoder = csvWriter;
+            } else {
+                SpreadsheetMlWriter xlsxWriter = new SpreadsheetMlWriter(sink);
+                writer = new FastXlsxUserWriter(xlsxWriter, "사용자 목록", export.filter.getColumns(),
+                        exportProperties.getXlsx().getMaxRowsPerSheet(), exportProperties.getXlsx().sharedStringPolicy());
+                encoder = xlsxWriter;
+            }
+
+            // 2. 페이지 단위 조회 → 렌더링 → 전송 → 체크포인트
+            int pageSize = exportProperties.getKeyset().getPageSize();
+            while (!export.emptySnapshot) {
+                recording.fetchStarted();
+                List<UserDto> page = userMapper.findUsersPage(current.lastCreatedAt(), current.lastId(),
+                        export.snapshotMaxId, export.filter, pageSize);
+                recording.fetchFinished();
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                for (UserDto user : page) {
+                    long renderStart = System.nanoTime();
+                    writer.writeRow(user);
+                    recording.rowRendered(renderStart);
+                }
+                encoder.flush();
+
+                UserDto last = page.get(page.size() - 1);
+                Checkpoint previous = current;
+                current = new Checkpoint(last.getCreatedAt(), last.getId(), current.rows() + page.size(), sink.getPosition());
+                export.pageFlushed(generation, current, export.format == ExportFormat.CSV);
+
+                if (current.rows() / PROGRESS_LOG_INTERVAL != previous.rows() / PROGRESS_LOG_INTERVAL) {
+                    log.info("keyset export 진행 - exportId: {}, {}건, {}bytes", exportId, current.rows(), current.bytes());
+                }
+
+                // 메모리 압박 시 다음 페이지 조회를 늦춤
+                writer.applyMemoryPressure(memoryPressureGovernor.throttle());
+
+                if (page.size() < pageSize) {
+                    break;
+                }
+            }
+
+            // 3. 마무리 (XLSX는 워크북 파트와 ZIP 목차 기록)
+            recording.flushStarted();
+            if (encoder instanceof SpreadsheetMlWriter xlsxWriter) {
+                xlsxWriter.close();
+            } else {
+                encoder.flush();
+            }
+            recording.flushFinished();
+            export.completed(generation, new Checkpoint(current.lastCreatedAt(), current.lastId(), current.rows(), sink.getPosition()));
+
+            memoryMonitor.logElapsed("keyset export (" + export.format + ", offset " + offset + ")",
+                    System.currentTimeMillis() - startTime, current.rows() - resumeFrom.rows());
+            recording.success();
+
+            return current.rows() - resumeFrom.rows();
+
+        } catch (Exception e) {
+            // 페이지 중간에 끊겨도 그때까지 넘긴 바이트는 클라이언트가 받았을 수 있으므로 이어받기 범위에 포함
+            if (sink != null) {
+                export.emitted(sink.getPosition());
+            }
+            recording.failure();
+            log.error("keyset export 중단 - exportId: {}, 마지막 체크포인트: {}", exportId, current, e);
+            throw new RuntimeException("keyset export 실패", e);
+        }
+    }
+
+    /**
+     * 마지막 요청 이후 보관 시간이 지난 export 삭제
+     * 새 요청이 없어도 체크포인트가 남지 않도록 주기적으로도 실행
+     */
+    @Scheduled(fixedDelayString = "${export.keyset.purge-interval:1m}", initialDelayString = "${export.keyset.purge-interval:1m}")
+    public void purgeExpiredExports() {
+        Instant expiry = Instant.now().minus(exportProperties.getKeyset().getRetention());
+        exports.values().removeIf(export -> export.updatedAt.isBefore(expiry));
+    }
+
+    /**
+     * 재개 지점 - 이 키 다음 행부터 조회하면 rows번째 행 다음, 파일의 bytes 위치부터 이어짐
+     *
+     * @param lastCreatedAt 마지막으로 내보낸 행의 created_at (null이면 처음부터)
+     * @param lastId        마지막으로 내보낸 행의 id
+     * @param rows          지금까지 내보낸 행 수
+     * @param bytes         지금까지 내보낸 바이트 수
+     */
+    private record Checkpoint(LocalDateTime lastCreatedAt, Long lastId, long rows, long bytes) {
+    }
+
+    /**
+     * export 한 건의 스냅샷과 체크포인트
+     * 요청 스레드가 갱신하고 다른 요청 스레드가 읽으므로 체크포인트 목록은 lock, 나머지는 volatile
+     */
+    private static class KeysetExport {
+        private final String id;
+        private final ExportFormat format;
+
+        /**
+         * 조회 조건과 열 선택 - 이어받기도 같은 조건으로 조회해야 같은 바이트가 이어짐
+         */
+        private final UserExportFilter filter;
+        private final int maxCheckpoints;
+        private final Instant createdAt = Instant.now();
+
+        /**
+         * 스냅샷 상한 - 시작 시점의 최대 id (이보다 큰 id는 이후 추가된 행)
+         */
+        private final long snapshotMaxId;
+
+        /**
+         * 시작 키 - 스냅샷 안에서 가장 최신 행의 바로 위 키 (그 행부터 포함)
+         */
+        private final Checkpoint start;
+        private final boolean emptySnapshot;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * CSV 재개 지점 (바이트 오름차순, 오래된 것부터 버림)
+         */
+        private final Deque<Checkpoint> checkpoints = new ArrayDeque<>();
+
+        /**
+         * 체크포인트를 갱신할 수 있는 요청 - 같은 export를 다시 요청하면 증가
+         */
+        private int generation = 0;
+
+        /**
+         * 가장 멀리 전송한 지점
+         */
+        private volatile Checkpoint latest;
+
+        /**
+         * 응답으로 넘긴 최대 바이트 수 - 페이지 중간에 끊긴 요청까지 포함한 이어받기 offset 상한
+         * 내용은 스냅샷으로 고정되어 다시 생성해도 같으므로 이전 요청이 넘긴 바이트도 포함
+         */
+        private volatile long emittedBytes;
+        private volatile boolean completed;
+        private volatile Instant updatedAt = createdAt;
+
+        private KeysetExport(String id, ExportFormat format, UserExportFilter filter, Long snapshotMaxId, UserDto newest,
+                             int maxCheckpoints) {
+            this.id = id;
+            this.format = format;
+            this.filter = filter;
+            this.maxCheckpoints = Math.max(1, maxCheckpoints);
+            this.snapshotMaxId = snapshotMaxId != null ? snapshotMaxId : 0L;
+            this.emptySnapshot = newest == null;
+            this.start = newest == null
+                    ? new Checkpoint(null, null, 0, 0)
+                    : new Checkpoint(newest.getCreatedAt(), newest.getId() + 1, 0, 0);
+            this.latest = start;
+        }
+
+        /**
+         * 새 요청이 체크포인트 갱신 권한을 가져감
+         */
+        private int claim() {
+            lock.lock();
+            try {
+                updatedAt = Instant.now();
+                return ++generation;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * offset 이하에서 가장 가까운 재개 지점 (없으면 처음부터)
+         */
+        private Checkpoint checkpointAtOrBefore(long offset) {
+            lock.lock();
+            try {
+                Iterator<Checkpoint> descending = checkpoints.descendingIterator();
+                while (descending.hasNext()) {
+                    Checkpoint checkpoint = descending.next();
+                    if (checkpoint.bytes() <= offset) {
+                        return checkpoint;
+                    }
+                }
+                return start;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 페이지 전송 완료
+         *
+         * @param resumable 이 지점부터 다시 생성해도 같은 바이트가 이어지는지 (CSV만)
+         */
+        private void pageFlushed(int requestGeneration, Checkpoint checkpoint, boolean resumable) {
+            lock.lock();
+            try {
+                emittedBytes = Math.max(emittedBytes, checkpoint.bytes());
+                if (requestGeneration != generation) {
+                    return;
+                }
+                if (resumable && (checkpoints.isEmpty() || checkpoints.getLast().bytes() < checkpoint.bytes())) {
+                    checkpoints.addLast(checkpoint);
+                    if (checkpoints.size() > maxCheckpoints) {
+                        checkpoints.removeFirst();
+                    }
+                }
+                if (checkpoint.bytes() >= latest.bytes()) {
+                    latest = checkpoint;
+                }
+                updatedAt = Instant.now();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void completed(int requestGeneration, Checkpoint checkpoint) {
+            lock.lock();
+            try {
+                emittedBytes = Math.max(emittedBytes, checkpoint.bytes());
+                if (requestGeneration != generation) {
+                    return;
+                }
+                latest = checkpoint;
+                completed = true;
+                updatedAt = Instant.now();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 요청이 도중에 끊김 - position까지는 응답으로 넘겼음
+         */
+        private void emitted(long position) {
+            lock.lock();
+            try {
+                emittedBytes = Math.max(emittedBytes, position);
+                updatedAt = Instant.now();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private ExportCheckpointStatus toStatus() {
+            Checkpoint checkpoint = latest;
+            boolean emitted = checkpoint.rows() > 0;
+
+            return ExportCheckpointStatus.builder()
+                    .exportId(id)
+                    .format(format.name())
+                    .filter(filter)
+                    .completed(completed)
+                    .lastCreatedAt(emitted ? checkpoint.lastCreatedAt() : null)
+                    .lastId(emitted ? checkpoint.lastId() : null)
+                    .rowsEmitted(checkpoint.rows())
+                    .bytesEmitted(emittedBytes)
+                    .resumeUrl("/test/export/keyset/" + id)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
+    }
+}
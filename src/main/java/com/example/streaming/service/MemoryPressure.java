@@ -0,0 +1,22 @@
+package com.example.streaming.service;
+
+/**
+ * 힙 메모리 압박 단계 (MemoryPressureGovernor)
+ */
+public enum MemoryPressure {
+
+    /**
+     * 정상 - 제한 없음
+     */
+    NORMAL,
+
+    /**
+     * 압박 - 진행 중인 export의 조회 속도를 늦추고 SXSSF window를 줄임
+     */
+    ELEVATED,
+
+    /**
+     * 위험 - 새 export를 거절하고 진행 중인 export의 조회를 멈춤
+     */
+    CRITICAL
+}
@@ -0,0 +1,234 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 힙 메모리 압박에 따라 export 속도를 조절하는 governor
+ *
+ * 요청 스레드에서 사용률을 폴링하다 System.gc()를 호출하면 같은 노드의 모든 요청이 Full GC로 멈춘다.
+ * 대신 JVM이 보내는 알림으로 압박 단계를 갱신하고, export 쪽은 단계에 맞춰 스스로 속도를 줄인다.
+ * 1. 감지: old 영역 풀의 usage threshold 알림(압박 시작)과 GC 완료 알림(GC 후 사용량으로 단계 재계산)
+ * 2. 압박(ELEVATED): 조회 체크 주기마다 throttleDelay만큼 쉬고, SXSSF window를 줄여 메모리의 행을 바로 임시파일로 내보냄
+ * 3. 위험(CRITICAL): 새 export는 503 + Retry-After로 거절, 진행 중인 export는 단계가 내려갈 때까지 조회를 멈춤 (최대 maxPause)
+ *
+ * 단계 변경은 JMX 알림 스레드에서 일어나므로 상태는 volatile, 대기는 ReentrantLock/Condition을 사용한다.
+ */
+@Slf4j
+@Component
+public class MemoryPressureGovernor {
+
+    private final ExportProperties.Memory properties;
+    private final List<MemoryPoolMXBean> tenuredPools = new ArrayList<>();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final NotificationListener listener = this::handleNotification;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition relieved = lock.newCondition();
+
+    private volatile MemoryPressure pressure = MemoryPressure.NORMAL;
+
+    public MemoryPressureGovernor(ExportProperties exportProperties, MeterRegistry registry) {
+        this.properties = exportProperties.getMemory();
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            // usage threshold를 지원하는 힙 풀 = old 영역 (eden/survivor는 지원하지 않음)
+            if (pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported()) {
+                tenuredPools.add(pool);
+                long max = maxOf(pool.getUsage());
+                pool.setUsageThreshold((long) (max * properties.getThrottleThreshold()));
+                if (pool.isCollectionUsageThresholdSupported()) {
+                    pool.setCollectionUsageThreshold((long) (max * properties.getThrottleThreshold()));
+                }
+            }
+        }
+
+        addListener(ManagementFactory.getMemoryMXBean());
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            addListener(collector);
+        }
+
+        Gauge.builder("export.memory.pressure", this, governor -> governor.pressure.ordinal())
+                .description("메모리 압박 단계 (0: NORMAL, 1: ELEVATED, 2: CRITICAL)")
+                .register(registry);
+
+        log.info("메모리 압박 감시 시작 - 대상 풀: {}, 압박: {}%, 거절: {}%",
+                tenuredPools.stream().map(MemoryPoolMXBean::getName).toList(),
+                Math.round(properties.getThrottleThreshold() * 100), Math.round(properties.getRejectThreshold() * 100));
+    }
+
+    public MemoryPressure getPressure() {
+        return pressure;
+    }
+
+    /**
+     * 새 export를 받을 수 있는지 (CRITICAL이면 false)
+     */
+    public boolean isAcceptingExports() {
+        return pressure != MemoryPressure.CRITICAL;
+    }
+
+    public long getRetryAfterSeconds() {
+        return properties.getRetryAfter().toSeconds();
+    }
+
+    /**
+     * export 조회 경로에서 주기적으로 호출 - 압박 단계에 맞춰 호출 스레드를 늦춤
+     * NORMAL이면 volatile 읽기 한 번으로 바로 반환
+     *
+     * @return 대기 후의 압박 단계
+     */
+    public MemoryPressure throttle() throws InterruptedException {
+        MemoryPressure current = pressure;
+        if (current == MemoryPressure.NORMAL) {
+            return current;
+        }
+
+        if (current == MemoryPressure.CRITICAL) {
+            long remainingNanos = properties.getMaxPause().toNanos();
+            lock.lock();
+            try {
+                while (pressure == MemoryPressure.CRITICAL && remainingNanos > 0) {
+                    remainingNanos = relieved.awaitNanos(remainingNanos);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        if (pressure != MemoryPressure.NORMAL) {
+            TimeUnit.NANOSECONDS.sleep(properties.getThrottleDelay().toNanos());
+        }
+        return pressure;
+    }
+
+    @PreDestroy
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(listener);
+            } catch (ListenerNotFoundException e) {
+                // 이미 제거됨
+            }
+        }
+        emitters.clear();
+    }
+
+    private void addListener(Object bean) {
+        if (bean instanceof NotificationEmitter emitter) {
+            emitter.addNotificationListener(listener, null, null);
+            emitters.add(emitter);
+        }
+    }
+
+    private void handleNotification(Notification notification, Object handback) {
+        switch (notification.getType()) {
+            // 할당 중 사용량이 임계치를 넘음 - 가비지가 섞인 값이므로 압박 시작으로만 취급
+            case MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED -> {
+                if (pressure == MemoryPressure.NORMAL) {
+                    update(MemoryPressure.ELEVATED, currentUsageRatio());
+                }
+            }
+            // GC 직후 사용량이 임계치를 넘음
+            case MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED -> update(currentUsageRatio());
+            // GC 완료 - GC 후 old 영역 사용량으로 단계 재계산 (압박 해제도 여기서 감지)
+            case GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION -> {
+                GarbageCollectionNotificationInfo info =
+                        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                update(usageRatioAfterGc(info));
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * old 영역 사용률로 압박 단계 재계산 (JMX 알림 처리 경로, 테스트에서 직접 호출)
+     */
+    void update(double usageRatio) {
+        MemoryPressure next;
+        if (usageRatio >= properties.getRejectThreshold()) {
+            next = MemoryPressure.CRITICAL;
+        } else if (usageRatio >= properties.getThrottleThreshold()) {
+            next = MemoryPressure.ELEVATED;
+        } else {
+            next = MemoryPressure.NORMAL;
+        }
+        update(next, usageRatio);
+    }
+
+    private void update(MemoryPressure next, double usageRatio) {
+        MemoryPressure previous = pressure;
+        if (previous == next) {
+            return;
+        }
+        pressure = next;
+
+        if (next.compareTo(previous) > 0) {
+            log.warn("메모리 압박 단계 상승: {} → {} (old 영역 사용률 {}%)", previous, next, Math.round(usageRatio * 100));
+        } else {
+            log.info("메모리 압박 단계 하락: {} → {} (old 영역 사용률 {}%)", previous, next, Math.round(usageRatio * 100));
+        }
+
+        if (next != MemoryPressure.CRITICAL) {
+            lock.lock();
+            try {
+                relieved.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private double currentUsageRatio() {
+        double ratio = 0;
+        for (MemoryPoolMXBean pool : tenuredPools) {
+            ratio = Math.max(ratio, ratioOf(pool.getUsage()));
+        }
+        return ratio;
+    }
+
+    private double usageRatioAfterGc(GarbageCollectionNotificationInfo info) {
+        double ratio = 0;
+        for (MemoryPoolMXBean pool : tenuredPools) {
+            MemoryUsage usage = info.getGcInfo().getMemoryUsageAfterGc().get(pool.getName());
+            if (usage != null) {
+                ratio = Math.max(ratio, ratioOf(usage));
+            }
+        }
+        return ratio;
+    }
+
+    private static double ratioOf(MemoryUsage usage) {
+        return (double) usage.getUsed() / maxOf(usage);
+    }
+
+    /**
+     * 풀 최대 크기 (정의되지 않았으면 힙 최대 크기)
+     */
+    private static long maxOf(MemoryUsage usage) {
+        return usage.getMax() > 0 ? usage.getMax() : Runtime.getRuntime().maxMemory();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.repository.UserMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+
+/**
+ * 리액티브 사용자 스트림 - MyBatis Cursor를 요청(request(n)) 기반 Flux<DataBuffer>로 노출
+ *
+ * ResultHandler 경로는 DB가 행을 밀어 넣고 느린 클라이언트는 소켓 쓰기에서 요청 스레드를 붙잡는다.
+ * 여기서는 구독자가 청크를 요청할 때만 커서에서 chunkRows행을 꺼내 인코딩하므로,
+ * 소켓이 쓰기 가능해질 때만 다음 청크를 요청하는 응답 쪽과 이어지면 느린 클라이언트가 곧 느린 조회가 된다.
+ * 1. 구독: 직접 연 SqlSession에서 커서 열기 (취소/완료/오류 시 세션을 닫아 커넥션 반납)
+ * 2. 요청 하나 = 청크 하나: 조회와 인코딩은 exportReactiveScheduler에서 청크 단위로 실행 (스트림마다 스레드를 점유하지 않음)
+ * 3. 메모리: 스트림마다 청크 하나와 드라이버 fetch 버퍼 정도만 유지
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveUserStreamService {
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final ExportProperties exportProperties;
+    private final MemoryPressureGovernor memoryPressureGovernor;
+
+    @Qualifier("exportReactiveScheduler")
+    private final Scheduler exportReactiveScheduler;
+
+    /**
+     * 조건에 맞는 사용자를 청크 단위로 내보내는 Flux (구독할 때마다 새로 조회)
+     *
+     * @param filter        조회 조건과 열 선택
+     * @param format        출력 형식
+     * @param bufferFactory 응답의 DataBuffer 팩토리
+     */
+    public Flux<DataBuffer> streamUsers(UserExportFilter filter, StreamFormat format, DataBufferFactory bufferFactory) {
+        int chunkRows = exportProperties.getReactive().getChunkRows();
+        return Flux.<DataBuffer, CursorChunks>generate(
+                        () -> CursorChunks.open(sqlSessionFactory, filter, format, bufferFactory, chunkRows),
+                        (chunks, sink) -> {
+                            try {
+                                memoryPressureGovernor.throttle();
+                                DataBuffer chunk = chunks.encoder.next();
+                                if (chunk == null) {
+                                    chunks.completed = true;
+                                    sink.complete();
+                                } else {
+                                    sink.next(chunk);
+                                }
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                sink.error(e);
+                            } catch (Exception e) {
+                                sink.error(e);
+                            }
+                            return chunks;
+                        },
+                        CursorChunks::close)
+                .subscribeOn(exportReactiveScheduler);
+    }
+
+    /**
+     * 구독 하나의 상태 - 세션, 커서, 인코더 (generate 콜백에서 한 번에 한 스레드만 접근)
+     */
+    private static final class CursorChunks {
+
+        private final SqlSession session;
+        private final Cursor<UserDto> cursor;
+        private final UserChunkEncoder encoder;
+        private final long startTime = System.currentTimeMillis();
+        private boolean completed;
+
+        private CursorChunks(SqlSession session, Cursor<UserDto> cursor, UserChunkEncoder encoder) {
+            this.session = session;
+            this.cursor = cursor;
+            this.encoder = encoder;
+        }
+
+        static CursorChunks open(SqlSessionFactory sqlSessionFactory, UserExportFilter filter, StreamFormat format,
+                                 DataBufferFactory bufferFactory, int chunkRows) throws IOException {
+            SqlSession session = sqlSessionFactory.openSession();
+            try {
+                Cursor<UserDto> cursor = session.getMapper(UserMapper.class).findUsersCursor(filter);
+                UserChunkEncoder encoder = new UserChunkEncoder(cursor.iterator(), format, filter.getColumns(),
+                        bufferFactory, chunkRows);
+                log.info("리액티브 스트림 시작 - 형식: {}, 청크: {}행, 조건: {}", format, chunkRows, filter);
+                return new CursorChunks(session, cursor, encoder);
+            } catch (RuntimeException | IOException e) {
+                session.close();
+                throw e;
+            }
+        }
+
+        void close() {
+            long elapsed = System.currentTimeMillis() - startTime;
+            if (completed) {
+                log.info("리액티브 스트림 완료 - {}건, {}ms", encoder.getRowCount(), elapsed);
+            } else {
+                log.info("리액티브 스트림 중단 - {}건 전송 후 취소/오류, {}ms", encoder.getRowCount(), elapsed);
+            }
+            try {
+                cursor.close();
+            } catch (IOException e) {
+                log.warn("커서 닫기 실패", e);
+            } finally {
+                session.close();
+            }
+        }
+    }
+}
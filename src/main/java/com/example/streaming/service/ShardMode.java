@@ -0,0 +1,17 @@
+package com.example.streaming.service;
+
+/**
+ * 샤드 병렬 export 결과 구성 방식
+ */
+public enum ShardMode {
+
+    /**
+     * 샤드마다 별도 시트 - 샤드별 fetch 스레드가 렌더링까지 병렬 실행
+     */
+    SHEET_PER_SHARD,
+
+    /**
+     * 하나의 시트로 병합 - 조회는 병렬, 렌더링은 샤드 순서대로 이어 붙임
+     */
+    MERGED
+}
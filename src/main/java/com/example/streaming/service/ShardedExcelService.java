@@ -0,0 +1,614 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.dto.UserIdRange;
+import com.example.streaming.metrics.ExportMetrics;
+import com.example.streaming.metrics.ExportRecording;
+import com.example.streaming.repository.UserMapper;
+import com.example.streaming.util.MemoryMonitor;
+import com.example.streaming.util.SpreadsheetMlWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ID 범위 샤드 병렬 Excel 생성 서비스
+ *
+ * users 테이블을 id 기준 N개 범위로 나누고, 샤드마다 별도 커넥션/스레드로 동시에 조회한다.
+ * 샤드 조회는 PK 범위 스캔이라 전체 정렬이 없고, 샤드마다 ExportPipeline 버퍼 하나(MERGED)나
+ * 시트 하나(SHEET_PER_SHARD)만 쓰므로 메모리는 (샤드 수 × 버퍼 크기 + 시트별 SXSSF window)로 제한된다.
+ *
+ * 결과는 항상 샤드 순서(= id 오름차순)로 이어진다.
+ * 기존 /excel/streaming 의 created_at 내림차순과 정렬 기준이 다르다.
+ *
+ * 결과 구성 방식 (ShardMode):
+ * - MERGED: 하나의 시트. 조회는 병렬, 렌더링은 요청 스레드가 샤드 순서대로 버퍼를 비움
+ *   (시트당 행 수 상한을 넘으면 헤더가 있는 새 시트로 넘어감)
+ * - SHEET_PER_SHARD: 샤드별 시트. 샤드마다 fetch 스레드 하나가 조회하면서 바로 자기 시트에 렌더링해서 렌더링까지 병렬
+ *   (SXSSF 시트는 시트별 임시파일에 따로 쓰고, 공유 문자열 테이블을 쓰지 않으므로 시트 간 공유 상태가 없음)
+ *   조회와 렌더링이 한 작업이라 다른 스레드 풀의 빈 자리를 기다리지 않음 - export 여러 개가 fetch 스레드를
+ *   나눠 가져도 실행 중인 샤드는 항상 끝까지 진행됨
+ *   새 시트 생성은 워크북 구조를 바꾸므로 이 모드는 시트를 나누지 않음 - 조건에 맞는 행 수가 (샤드 수 × 시트당 행 수)를
+ *   넘으면 조회를 시작하기 전에 거절하고, 행이 한 샤드에 몰려 시트 상한에 닿으면 그 시점에 중단한다
+ *   (이 규모는 MERGED나 분할 ZIP(createPartitionedZip)을 사용)
+ *
+ * 분할 ZIP: id 범위마다 독립된 xlsx 파일을 따로 작성해서 ZIP 하나로 응답 (파일 작성까지 병렬)
+ *
+ * 두 방식 모두 UserExportFilter의 조건은 id 범위 계산과 샤드 조회의 WHERE 절에, 열 선택은 조회 열과 시트 열에 적용한다.
+ * 조건에 맞는 행이 id 범위에 고르게 퍼져 있지 않으면 샤드/파일별 행 수가 치우칠 수 있다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShardedExcelService {
+
+    /**
+     * 시트별로 메모리에 유지할 최대 행 수
+     */
+    private static final int ROW_ACCESS_WINDOW_SIZE = 100;
+
+    /**
+     * 메모리 압박 확인 주기 (시트별 건수 기준)
+     */
+    private static final int PRESSURE_CHECK_INTERVAL = 1000;
+
+    private final UserMapper userMapper;
+    private final MemoryMonitor memoryMonitor;
+    private final ExportProperties exportProperties;
+    private final ExportMetrics exportMetrics;
+    private final MemoryPressureGovernor memoryPressureGovernor;
+
+    @Qualifier("exportFetchExecutor")
+    private final Executor exportFetchExecutor;
+
+    /**
+     * 샤드 병렬 방식으로 Excel 파일 생성 및 응답
+     *
+     * @param response HTTP 응답 객체
+     * @param mode     결과 구성 방식 (null이면 설정값 사용)
+     * @param filter   조회 조건과 열 선택 (null이면 전체)
+     * @throws IllegalArgumentException SHEET_PER_SHARD인데 조건에 맞는 행이 샤드별 시트에 다 들어가지 않는 경우
+     */
+    public void createShardedExcel(HttpServletResponse response, ShardMode mode, UserExportFilter filter) {
+        ShardMode shardMode = mode != null ? mode : exportProperties.getShard().getMode();
+        UserExportFilter exportFilter = filter != null ? filter : UserExportFilter.none();
+        long startTime = System.currentTimeMillis();
+        memoryMonitor.logMemoryStatus("샤드 병렬 Excel 생성 시작");
+
+        List<IdRange> shards = planShards(exportFilter);
+        if (shardMode == ShardMode.SHEET_PER_SHARD) {
+            checkSheetPerShardCapacity(exportFilter, shards.size());
+        }
+        ExportRecording recording = exportMetrics.start("xlsx-sharded");
+        List<ExportPipeline<UserDto>> pipelines = new ArrayList<>(shards.size());
+        SXSSFWorkbook workbook = null;
+
+        try {
+            workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW_SIZE);
+            workbook.setCompressTempFiles(exportProperties.getCompression().isSxssfTempFiles());
+            CellStyle headerStyle = ExcelUserWriter.createHeaderStyle(workbook);
+            CellStyle dataStyle = ExcelUserWriter.createDataStyle(workbook);
+            CellStyle dateStyle = ExcelUserWriter.createDateStyle(workbook);
+
+            // 1. 샤드 조회 + 렌더링
+            log.info("샤드 조회 시작 - 샤드 수: {}, 모드: {}, 범위: {}", shards.size(), shardMode, shards);
+            long rows = shardMode == ShardMode.MERGED
+                    ? renderMerged(workbook, shards, exportFilter, pipelines,
+                            headerStyle, dataStyle, dateStyle, recording)
+                    : renderSheetPerShard(workbook, shards, exportFilter,
+                            headerStyle, dataStyle, dateStyle, recording);
+            // 샤드 조회 시간 합 (커넥션 점유 시간 기준)
+            pipelines.forEach(pipeline -> recording.recordFetch(pipeline.getFetchNanos()));
+
+            // 2. 응답 헤더 설정 및 파일 출력
+            response.setContentType(ExportFormat.XLSX.getContentType());
+            response.setHeader("Content-Disposition", "attachment; filename=users_sharded.xlsx");
+            recording.flushStarted();
+            workbook.write(recording.meter(response.getOutputStream()));
+            recording.flushFinished();
+
+            memoryMonitor.logElapsed("샤드 병렬 Excel (" + shardMode + ", " + shards.size() + " 샤드)",
+                    System.currentTimeMillis() - startTime, rows);
+            recording.success();
+
+        } catch (Exception e) {
+            recording.failure();
+            log.error("샤드 병렬 Excel 생성 중 오류 발생", e);
+            throw new RuntimeException("샤드 병렬 Excel 생성 실패", e);
+        } finally {
+            // 렌더링되지 않은 샤드의 조회를 중단하고 커넥션 반납을 기다림
+            pipelines.forEach(ExportPipeline::abort);
+            disposeWorkbook(workbook);
+        }
+    }
+
+    /**
+     * 여러 xlsx 파일로 나눈 ZIP 생성 및 응답
+     *
+     * id 범위를 export.xlsx.part-rows 행 정도씩 나눠 파일마다 따로 조회/작성하고 (최대 part-threads개 동시),
+     * 완성된 파일부터 순서대로 ZIP 엔트리로 응답에 흘려보낸다.
+     * 파일은 POI 셀 객체 없이 SpreadsheetML을 직접 쓰고 임시파일에 기록하면서 CRC를 계산하므로,
+     * 이미 압축된 xlsx를 다시 압축하지 않고 STORED 엔트리로 그대로 복사한다.
+     * 디스크에는 동시에 작성 중인 파일 수만큼만 임시파일이 남는다.
+     *
+     * @param filter 조회 조건과 열 선택 (null이면 전체)
+     */
+    public void createPartitionedZip(HttpServletResponse response, UserExportFilter filter) {
+        UserExportFilter exportFilter = filter != null ? filter : UserExportFilter.none();
+        long startTime = System.currentTimeMillis();
+        memoryMonitor.logMemoryStatus("분할 ZIP Excel 생성 시작");
+
+        List<IdRange> parts = planParts(exportFilter);
+        int partThreads = resolvePartThreads();
+        ExportRecording recording = exportMetrics.start("xlsx-parts");
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Deque<CompletableFuture<PartFile>> renders = new ArrayDeque<>();
+
+        try {
+            log.info("분할 ZIP 작성 시작 - 파일 수: {}, 동시 작성: {}, 범위: {}", parts.size(), partThreads, parts);
+
+            // 1. 동시 작성 수만큼 먼저 시작
+            int nextPart = 0;
+            while (nextPart < Math.min(partThreads, parts.size())) {
+                renders.add(renderPart(parts.get(nextPart), ++nextPart, exportFilter, cancelled, recording));
+            }
+
+            response.setContentType("application/zip");
+            response.setHeader("Content-Disposition", "attachment; filename=users_parts.zip");
+            ZipOutputStream zip = new ZipOutputStream(recording.meter(response.getOutputStream()));
+
+            // 2. 파일 순서대로 완료를 기다려 ZIP에 복사하고, 빈 자리에 다음 파일 작성 시작
+            long rows = 0;
+            while (!renders.isEmpty()) {
+                PartFile part = awaitPart(renders.poll());
+                if (nextPart < parts.size()) {
+                    renders.add(renderPart(parts.get(nextPart), ++nextPart, exportFilter, cancelled, recording));
+                }
+                try {
+                    recording.flushStarted();
+                    copyStored(zip, part);
+                    recording.flushFinished();
+                } finally {
+                    deleteQuietly(part.path());
+                }
+                rows += part.rows();
+                // 파일별 조회 시간은 fetch 스레드에서 측정해서 PartFile로 넘겨받아 요청 스레드에서 기록
+                recording.recordFetch(part.fetchNanos());
+                log.info("분할 파일 {} 전송 - {}건, {}bytes (누적 {}건)", part.name(), part.rows(), part.size(), rows);
+            }
+            zip.finish();
+            zip.flush();
+
+            memoryMonitor.logElapsed("분할 ZIP Excel (" + parts.size() + " 파일, " + partThreads + " 동시)",
+                    System.currentTimeMillis() - startTime, rows);
+            recording.success();
+
+        } catch (Exception e) {
+            recording.failure();
+            log.error("분할 ZIP Excel 생성 중 오류 발생", e);
+            throw new RuntimeException("분할 ZIP Excel 생성 실패", e);
+        } finally {
+            // 작성 중인 파일은 조회를 멈추게 하고, 끝나는 대로 임시파일 삭제
+            cancelled.set(true);
+            renders.forEach(render -> render.whenComplete((part, failure) -> {
+                if (part != null) {
+                    deleteQuietly(part.path());
+                }
+            }));
+        }
+    }
+
+    /**
+     * 하나의 시트에 샤드 순서대로 이어 붙임
+     * 모든 샤드의 조회를 먼저 동시에 시작하고, 뒤 샤드들은 버퍼가 찬 상태로 대기하다가 차례가 오면 바로 비워짐
+     * (시작한 파이프라인은 pipelines에 담아 호출자가 정리)
+     */
+    private long renderMerged(SXSSFWorkbook workbook, List<IdRange> shards, UserExportFilter filter,
+                              List<ExportPipeline<UserDto>> pipelines,
+                              CellStyle headerStyle, CellStyle dataStyle, CellStyle dateStyle,
+                              ExportRecording recording) throws Exception {
+        for (IdRange shard : shards) {
+            pipelines.add(new ExportPipeline<UserDto>(exportFetchExecutor, exportProperties.getShard().getBufferSize(),
+                    exportProperties.getPipeline().getStallTimeout())
+                    .start(handler -> userMapper.findUsersByIdRangeStreaming(shard.fromId(), shard.toId(), filter,
+                            handler)));
+        }
+
+        ExcelUserWriter writer = new ExcelUserWriter(workbook.createSheet("사용자 목록"), headerStyle, dataStyle, dateStyle,
+                filter.getColumns(), exportProperties.getXlsx().getMaxRowsPerSheet());
+
+        long rows = 0;
+        for (int i = 0; i < pipelines.size(); i++) {
+            long shardRows = pipelines.get(i).drain(user -> renderRow(writer, user, recording));
+            rows += shardRows;
+            log.info("샤드 {} 병합 완료 - {}건 (누적 {}건)", i + 1, shardRows, rows);
+        }
+        log.info("병합 시트 수: {}", writer.getSheetCount());
+        return rows;
+    }
+
+    /**
+     * 샤드별 시트를 동시에 작성 - 샤드마다 fetch 스레드 하나가 조회하면서 바로 자기 시트에 렌더링
+     * 한 샤드라도 실패하면 나머지 샤드를 모두 취소
+     */
+    private long renderSheetPerShard(SXSSFWorkbook workbook, List<IdRange> shards, UserExportFilter filter,
+                                     CellStyle headerStyle, CellStyle dataStyle, CellStyle dateStyle,
+                                     ExportRecording recording) throws Exception {
+        List<CompletableFuture<ShardSheet>> renders = new ArrayList<>(shards.size());
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+
+        // 시트 생성은 워크북 구조를 바꾸므로 작성을 시작하기 전에 요청 스레드에서 모두 수행
+        List<ExcelUserWriter> writers = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            writers.add(new ExcelUserWriter(workbook.createSheet("사용자 목록 " + (i + 1)),
+                    headerStyle, dataStyle, dateStyle, filter.getColumns(), Integer.MAX_VALUE));
+        }
+
+        try {
+            for (int i = 0; i < shards.size(); i++) {
+                IdRange shard = shards.get(i);
+                ExcelUserWriter writer = writers.get(i);
+
+                CompletableFuture<ShardSheet> render = CompletableFuture.supplyAsync(
+                        () -> renderShardSheet(shard, filter, writer, cancelled, recording), exportFetchExecutor);
+                render.whenComplete((shardSheet, failure) -> {
+                    if (failure != null) {
+                        // 다른 샤드의 취소 예외가 아니라 처음 실패한 원인을 보존
+                        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                        if (!(cause instanceof CancellationException)) {
+                            firstFailure.compareAndSet(null, cause);
+                        }
+                        cancelled.set(true);
+                    }
+                });
+                renders.add(render);
+            }
+
+            CompletableFuture.allOf(renders.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = firstFailure.get() != null ? firstFailure.get() : e.getCause();
+            throw cause instanceof Exception exception ? exception : e;
+        } finally {
+            // 제출 중에 실패했으면 이미 시작한 샤드를 멈추고, 워크북 정리 전에 시트 작성이 끝나기를 기다림
+            cancelled.set(true);
+            renders.forEach(render -> render.handle((shardSheet, failure) -> null).join());
+        }
+
+        // 샤드별 조회 시간은 fetch 스레드에서 측정하고 기록은 요청 스레드에서 함
+        long rows = 0;
+        for (CompletableFuture<ShardSheet> render : renders) {
+            ShardSheet shardSheet = render.join();
+            recording.recordFetch(shardSheet.fetchNanos());
+            rows += shardSheet.rows();
+        }
+        return rows;
+    }
+
+    /**
+     * SHEET_PER_SHARD는 샤드마다 시트 하나만 쓰므로 (샤드 수 × 시트당 행 수)를 넘는 행은 담을 수 없음
+     * 샤드 수는 fetch 스레드(= DB 커넥션) 수로 제한되어 더 늘릴 수 없으므로 응답을 쓰기 전에 거절
+     */
+    private void checkSheetPerShardCapacity(UserExportFilter filter, int shardCount) {
+        long capacity = (long) shardCount * exportProperties.getXlsx().getMaxRowsPerSheet();
+        long rows = userMapper.countUsers(filter);
+        if (rows > capacity) {
+            throw new IllegalArgumentException("SHEET_PER_SHARD로 담을 수 없는 행 수입니다: " + rows + "건 > "
+                    + shardCount + " 샤드 × 시트당 " + exportProperties.getXlsx().getMaxRowsPerSheet()
+                    + "행 (mode=MERGED 또는 /test/excel/parts를 사용하세요)");
+        }
+    }
+
+    /**
+     * 샤드 하나 조회 + 시트 작성 (fetch 스레드에서 실행)
+     *
+     * @return 작성한 행 수와 순수 조회 시간
+     */
+    private ShardSheet renderShardSheet(IdRange shard, UserExportFilter filter, ExcelUserWriter writer,
+                                        AtomicBoolean cancelled, ExportRecording recording) {
+        FetchClock fetchClock = new FetchClock();
+        userMapper.findUsersByIdRangeStreaming(shard.fromId(), shard.toId(), filter,
+                context -> renderShardRow(writer, context, cancelled, recording, fetchClock));
+        long fetchNanos = fetchClock.fetchNanos();
+
+        if (cancelled.get()) {
+            throw new CancellationException("다른 샤드 실패로 취소됨 - 샤드: " + shard);
+        }
+        return new ShardSheet(writer.getRowCount(), fetchNanos);
+    }
+
+    /**
+     * 샤드 시트 행 렌더링 - 다른 샤드가 실패했으면 조회를 멈춤
+     * 시트를 새로 만들 수 없으므로 행이 한 샤드에 몰려 시트 상한에 닿으면 실패 처리
+     */
+    private void renderShardRow(ExcelUserWriter writer, ResultContext<? extends UserDto> context,
+                                AtomicBoolean cancelled, ExportRecording recording, FetchClock fetchClock) {
+        if (cancelled.get()) {
+            context.stop();
+            return;
+        }
+        if (writer.getRowCount() >= exportProperties.getXlsx().getMaxRowsPerSheet()) {
+            context.stop();
+            throw new IllegalStateException("샤드 시트의 최대 행 수(" + exportProperties.getXlsx().getMaxRowsPerSheet()
+                    + ")를 넘었습니다 - 조건에 맞는 행이 한 샤드에 몰려 있으면 mode=MERGED 또는 /test/excel/parts를 사용하세요");
+        }
+        long renderStart = System.nanoTime();
+        try {
+            renderRow(writer, context.getResultObject(), recording);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            context.stop();
+            throw new RuntimeException("샤드 시트 작성 중단 - 처리건수: " + writer.getRowCount(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("샤드 시트 기록 실패", e);
+        } finally {
+            fetchClock.excluded(renderStart);
+        }
+    }
+
+    /**
+     * 행 렌더링 + 렌더링 시간 기록 (SHEET_PER_SHARD에서는 여러 fetch 스레드가 동시에 호출)
+     * 메모리 압박 중에는 렌더링을 늦춰서 샤드 조회도 함께 멈추도록 함 (MERGED는 버퍼가 차서, SHEET_PER_SHARD는 같은 스레드라서)
+     */
+    private void renderRow(ExcelUserWriter writer, UserDto user, ExportRecording recording)
+            throws IOException, InterruptedException {
+        long renderStart = System.nanoTime();
+        writer.writeRow(user);
+        recording.rowRendered(renderStart);
+
+        if (writer.getRowCount() % PRESSURE_CHECK_INTERVAL == 0) {
+            writer.applyMemoryPressure(memoryPressureGovernor.throttle());
+        }
+    }
+
+    /**
+     * 분할 파일 하나 작성 - fetch 스레드에서 id 범위를 조회하면서 임시파일에 바로 기록
+     */
+    private CompletableFuture<PartFile> renderPart(IdRange range, int partNumber, UserExportFilter filter,
+                                                   AtomicBoolean cancelled, ExportRecording recording) {
+        String name = String.format("users_part_%03d.xlsx", partNumber);
+        int maxRowsPerSheet = exportProperties.getXlsx().getMaxRowsPerSheet();
+
+        return CompletableFuture.supplyAsync(() -> {
+            Path file = null;
+            try {
+                file = Files.createTempFile("users_part_", ".xlsx");
+                CRC32 crc = new CRC32();
+                FastXlsxUserWriter writer;
+                long fetchNanos;
+
+                try (OutputStream out = new CheckedOutputStream(Files.newOutputStream(file), crc)) {
+                    SpreadsheetMlWriter xlsxWriter = new SpreadsheetMlWriter(out);
+                    writer = new FastXlsxUserWriter(xlsxWriter, "사용자 목록", filter.getColumns(), maxRowsPerSheet,
+                            exportProperties.getXlsx().sharedStringPolicy());
+                    FetchClock fetchClock = new FetchClock();
+                    userMapper.findUsersByIdRangeStreaming(range.fromId(), range.toId(), filter,
+                            context -> renderPartRow(writer, context, cancelled, recording, fetchClock));
+                    fetchNanos = fetchClock.fetchNanos();
+                    xlsxWriter.close();
+                }
+
+                return new PartFile(name, file, Files.size(file), crc.getValue(), writer.getRowCount(), fetchNanos);
+
+            } catch (Exception e) {
+                if (file != null) {
+                    deleteQuietly(file);
+                }
+                throw new CompletionException(e);
+            }
+        }, exportFetchExecutor);
+    }
+
+    /**
+     * 분할 파일 행 렌더링 - 다른 파일이 실패했으면 조회를 멈춤
+     */
+    private void renderPartRow(FastXlsxUserWriter writer, ResultContext<? extends UserDto> context,
+                               AtomicBoolean cancelled, ExportRecording recording, FetchClock fetchClock) {
+        if (cancelled.get()) {
+            context.stop();
+            return;
+        }
+        long renderStart = System.nanoTime();
+        try {
+            writer.writeRow(context.getResultObject());
+            recording.rowRendered(renderStart);
+
+            if (writer.getRowCount() % PRESSURE_CHECK_INTERVAL == 0) {
+                memoryPressureGovernor.throttle();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            context.stop();
+            throw new RuntimeException("분할 파일 작성 중단 - 처리건수: " + writer.getRowCount(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("분할 파일 기록 실패", e);
+        } finally {
+            fetchClock.excluded(renderStart);
+        }
+    }
+
+    private PartFile awaitPart(CompletableFuture<PartFile> render) throws Exception {
+        try {
+            return render.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    /**
+     * 완성된 xlsx를 압축 없이 ZIP 엔트리로 복사 (크기와 CRC는 작성할 때 계산해 둠)
+     */
+    private void copyStored(ZipOutputStream zip, PartFile part) throws IOException {
+        ZipEntry entry = new ZipEntry(part.name());
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(part.size());
+        entry.setCompressedSize(part.size());
+        entry.setCrc(part.crc());
+
+        zip.putNextEntry(entry);
+        Files.copy(part.path(), zip);
+        zip.closeEntry();
+        zip.flush();
+    }
+
+    /**
+     * 조건에 맞는 id 범위를 export.xlsx.part-rows 행 정도씩 나눔
+     * (id에 빈 번호가 있거나 조건에 맞는 행이 고르게 퍼져 있지 않으면 파일당 행 수는 그보다 적거나 많음)
+     */
+    private List<IdRange> planParts(UserExportFilter filter) {
+        long partRows = Math.max(1, exportProperties.getXlsx().getPartRows());
+        long partCount = (userMapper.countUsers(filter) + partRows - 1) / partRows;
+        return splitIdRange((int) Math.max(1, partCount), filter);
+    }
+
+    /**
+     * 동시에 작성할 분할 파일 수 - 파일마다 fetch 스레드(= DB 커넥션)를 하나씩 점유하므로
+     * fetch 스레드 수와 커넥션 예산으로 제한
+     */
+    public int resolvePartThreads() {
+        return Math.max(1, Math.min(exportProperties.getXlsx().getPartThreads(), maxFetchConnections()));
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("분할 파일 삭제 실패: {}", path, e);
+        }
+    }
+
+    /**
+     * 조건에 맞는 id 최소~최대 범위를 샤드 수만큼 균등 분할
+     */
+    private List<IdRange> planShards(UserExportFilter filter) {
+        return splitIdRange(resolveShardCount(), filter);
+    }
+
+    /**
+     * 조건에 맞는 id 최소~최대 범위를 count개로 균등 분할
+     */
+    private List<IdRange> splitIdRange(int count, UserExportFilter filter) {
+        UserIdRange idRange = userMapper.findUserIdRange(filter);
+        if (idRange == null || idRange.getMinId() == null) {
+            // 데이터 없음 - 빈 범위 하나로 헤더만 있는 파일 생성
+            return List.of(new IdRange(0, 0));
+        }
+
+        long minId = idRange.getMinId();
+        long endId = idRange.getMaxId() + 1; // 끝은 미포함
+        int shardCount = (int) Math.min(count, endId - minId);
+        long step = (endId - minId + shardCount - 1) / shardCount;
+
+        List<IdRange> shards = new ArrayList<>(shardCount);
+        for (long from = minId; from < endId; from += step) {
+            shards.add(new IdRange(from, Math.min(from + step, endId)));
+        }
+        return shards;
+    }
+
+    /**
+     * 샤드 수 결정 - 샤드마다 fetch 스레드(= DB 커넥션)를 하나씩 점유하므로 fetch 스레드 수와 커넥션 예산으로 제한
+     */
+    public int resolveShardCount() {
+        int configured = exportProperties.getShard().getCount();
+        int shardCount = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+        return Math.max(1, Math.min(shardCount, maxFetchConnections()));
+    }
+
+    /**
+     * export 하나가 동시에 쓸 수 있는 fetch 스레드 수
+     * 수락 제어는 예산보다 많은 커넥션 요구를 예산 전체로 줄여서 배정하므로 예산도 넘지 않도록 함
+     * (가상 스레드 모드의 fetch 스레드 풀 크기가 예산)
+     */
+    private int maxFetchConnections() {
+        return Math.min(exportProperties.getPipeline().getFetchThreads(),
+                exportProperties.getAdmission().getConnectionBudget());
+    }
+
+    /**
+     * 리소스 정리
+     */
+    private void disposeWorkbook(SXSSFWorkbook workbook) {
+        if (workbook != null) {
+            try {
+                workbook.dispose(); // 임시 파일 정리
+                workbook.close();
+            } catch (IOException e) {
+                log.warn("워크북 정리 중 오류", e);
+            }
+        }
+    }
+
+    /**
+     * 작성을 마친 분할 파일 (임시파일 경로, 크기, CRC-32, 데이터 행 수, 순수 조회 시간)
+     */
+    private record PartFile(String name, Path path, long size, long crc, int rows, long fetchNanos) {
+    }
+
+    /**
+     * 작성을 마친 샤드 시트 (데이터 행 수, 순수 조회 시간)
+     */
+    private record ShardSheet(long rows, long fetchNanos) {
+    }
+
+    /**
+     * 조회하면서 같은 스레드에서 바로 렌더링하는 작업의 순수 조회 시간
+     * 조회 구간에서 ResultHandler 안의 렌더링/메모리 압박 대기 시간을 뺌 (ExportPipeline의 fetch 시간과 같은 기준)
+     * 한 fetch 스레드 안에서만 사용하고, 결과는 요청 스레드가 받아서 ExportRecording에 기록
+     */
+    private static final class FetchClock {
+
+        private final long startNanos = System.nanoTime();
+        private long excludedNanos = 0;
+
+        /**
+         * ResultHandler 안에서 조회가 아닌 작업에 쓴 시간 제외
+         *
+         * @param excludedStartNanos 해당 작업 시작 시점의 System.nanoTime()
+         */
+        void excluded(long excludedStartNanos) {
+            excludedNanos += System.nanoTime() - excludedStartNanos;
+        }
+
+        long fetchNanos() {
+            return Math.max(0, System.nanoTime() - startNanos - excludedNanos);
+        }
+    }
+
+    /**
+     * 샤드 ID 범위 [fromId, toId)
+     */
+    private record IdRange(long fromId, long toId) {
+        @Override
+        public String toString() {
+            return "[" + fromId + ", " + toId + ")";
+        }
+    }
+}
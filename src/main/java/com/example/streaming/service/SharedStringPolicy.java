@@ -0,0 +1,34 @@
+package com.example.streaming.service;
+
+import java.util.Set;
+
+/**
+ * 직접 XML xlsx의 공유 문자열 사용 기준 (FastXlsxUserWriter)
+ *
+ * 부서처럼 값 종류가 적은 열을 행마다 inlineStr로 쓰면 시트 XML과 압축 비용이 커지므로,
+ * 공유 문자열 테이블에 한 번만 넣고 셀에는 인덱스만 쓴다.
+ * 1. columns: 처음부터 공유 문자열로 쓸 열
+ * 2. 나머지 문자열 열: 처음 sampleRows행을 inlineStr로 쓰면서 값 종류를 세고,
+ *    maxDistinct 이하면 그다음 행부터 공유 문자열로 전환 (sampleRows가 0이면 자동 선택 안 함)
+ * 3. 테이블 크기는 limit로 제한 - 가득 차면 새 값은 inlineStr로 씀 (이미 들어간 값은 계속 인덱스로)
+ *
+ * @param columns     항상 공유 문자열로 쓸 열
+ * @param sampleRows  자동 선택에 쓸 앞부분 행 수
+ * @param maxDistinct 표본에서 이 값 이하의 종류만 나온 열을 공유 문자열로 전환
+ * @param limit       공유 문자열 테이블 크기 상한
+ */
+public record SharedStringPolicy(Set<UserColumn> columns, int sampleRows, int maxDistinct, int limit) {
+
+    /**
+     * 공유 문자열을 쓰지 않음 (모든 문자열 inlineStr)
+     */
+    public static final SharedStringPolicy NONE = new SharedStringPolicy(Set.of(), 0, 0, 0);
+
+    public SharedStringPolicy {
+        columns = Set.copyOf(columns);
+    }
+
+    public boolean isEnabled() {
+        return limit > 0 && (!columns.isEmpty() || sampleRows > 0);
+    }
+}
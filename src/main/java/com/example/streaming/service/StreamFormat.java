@@ -0,0 +1,34 @@
+package com.example.streaming.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 스트리밍 응답 형식 (행 단위로 끊어 보낼 수 있는 텍스트 형식)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum StreamFormat {
+
+    CSV("text/csv; charset=UTF-8", "csv"),
+
+    /**
+     * 한 줄에 JSON 객체 하나 (application/x-ndjson)
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * 전체가 JSON 배열 하나 - 배열을 한 번에 파싱하는 클라이언트용
+     */
+    JSON("application/json", "json");
+
+    /**
+     * 응답 Content-Type
+     */
+    private final String contentType;
+
+    /**
+     * 파일 확장자
+     */
+    private final String extension;
+}
@@ -0,0 +1,199 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.metrics.ExportMetrics;
+import com.example.streaming.metrics.ExportRecording;
+import com.example.streaming.repository.UserMapper;
+import com.example.streaming.util.CsvWriter;
+import com.example.streaming.util.MemoryMonitor;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 소켓 직결 스트리밍 CSV 생성 서비스
+ *
+ * StreamingExcelService는 SXSSF 임시파일에 모든 행을 쓴 뒤 마지막에 응답으로 내보내지만,
+ * 이 서비스는 ResultHandler 콜백에서 받은 행을 바로 CSV로 인코딩해 응답 스트림에 흘려보낸다.
+ * 1. 임시파일 없음: 재사용 바이트 버퍼 하나만 사용
+ * 2. 메모리 일정: 처리 건수와 무관
+ * 3. 첫 바이트 전송: 첫 행 처리 직후 (전체 조회 완료를 기다리지 않음)
+ * 4. 조건/열 선택: UserExportFilter를 SQL로 내려보내서 필요한 행과 열만 조회/인코딩
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StreamingCsvService {
+
+    /**
+     * 메모리 체크 주기 (건수 기준)
+     */
+    private static final int MEMORY_CHECK_INTERVAL = 10000;
+
+    /**
+     * 메모리 압박 확인 주기 (건수 기준)
+     */
+    private static final int PRESSURE_CHECK_INTERVAL = 1000;
+
+    private final UserMapper userMapper;
+    private final MemoryMonitor memoryMonitor;
+    private final ExportMetrics exportMetrics;
+    private final MemoryPressureGovernor memoryPressureGovernor;
+
+    /**
+     * 스트리밍 방식으로 CSV 생성 및 응답
+     *
+     * @param response   HTTP 응답 객체
+     * @param filter     조회 조건과 열 선택
+     * @param includeBom UTF-8 BOM 포함 여부 (Excel에서 한글 헤더가 깨지지 않도록)
+     */
+    public void createStreamingCsv(HttpServletResponse response, UserExportFilter filter, boolean includeBom) {
+        try {
+            // 응답 헤더는 첫 바이트를 쓰기 전에 설정
+            response.setContentType(ExportFormat.CSV.getContentType());
+            response.setHeader("Content-Disposition", "attachment; filename=users_streaming.csv");
+
+            writeStreamingCsv(response.getOutputStream(), filter, includeBom, new AtomicLong());
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("응답 스트림 열기 실패", e);
+        }
+    }
+
+    /**
+     * 스트리밍 방식으로 CSV를 생성해서 OutputStream에 출력
+     * HTTP 응답뿐 아니라 비동기 export 작업의 파일 출력에도 사용
+     *
+     * @param out        출력 대상 (닫지 않음)
+     * @param filter     조회 조건과 열 선택
+     * @param includeBom UTF-8 BOM 포함 여부
+     * @param progress   처리 건수를 실시간으로 반영할 카운터
+     * @return 총 처리 건수
+     */
+    public long writeStreamingCsv(OutputStream out, UserExportFilter filter, boolean includeBom, AtomicLong progress) {
+        long startMB = memoryMonitor.getCurrentMemoryUsageMB();
+        memoryMonitor.logMemoryStatus("스트리밍 CSV 생성 시작");
+
+        ExportRecording recording = exportMetrics.start("csv-streaming");
+        try {
+            // 1. 출력 스트림에 직접 연결된 CSV 인코더
+            CsvWriter csvWriter = new CsvWriter(recording.meter(out));
+            if (includeBom) {
+                csvWriter.writeBom();
+            }
+            CsvUserWriter writer = new CsvUserWriter(csvWriter, filter.getColumns(), true);
+
+            // 2. MyBatis ResultHandler로 데이터 스트리밍 처리
+            CsvStreamingResultHandler handler = new CsvStreamingResultHandler(csvWriter, writer, progress, recording);
+            log.info("CSV 데이터 스트리밍 처리 시작 - BOM: {}, 조건: {}", includeBom, filter);
+            recording.fetchStarted();
+            userMapper.findUsersStreaming(filter, handler);
+            recording.fetchFinished();
+
+            // 3. 남은 버퍼 출력
+            recording.flushStarted();
+            csvWriter.flush();
+            recording.flushFinished();
+
+            long endMB = memoryMonitor.getCurrentMemoryUsageMB();
+            log.info("스트리밍 CSV 생성 완료 - 시작: {}MB, 종료: {}MB, 총 처리건수: {}건",
+                    startMB, endMB, handler.getProcessedCount());
+
+            memoryMonitor.logMemoryStatus("스트리밍 CSV 생성 완료");
+            recording.success();
+
+            return handler.getProcessedCount();
+
+        } catch (Exception e) {
+            recording.failure();
+            log.error("스트리밍 CSV 생성 중 오류 발생", e);
+            throw new RuntimeException("스트리밍 CSV 생성 실패", e);
+        }
+    }
+
+    /**
+     * CSV 스트리밍용 ResultHandler
+     *
+     * 행을 받을 때마다 CsvWriter 버퍼에 인코딩하고,
+     * 버퍼가 차면 CsvWriter가 응답 스트림으로 바로 내보낸다.
+     */
+    private class CsvStreamingResultHandler implements ResultHandler<UserDto> {
+        private final CsvWriter csvWriter;
+        private final CsvUserWriter writer;
+        private final AtomicLong progress;
+        private final ExportRecording recording;
+        private int processedCount = 0;
+        private long peakMemoryMB = 0;
+
+        public CsvStreamingResultHandler(CsvWriter csvWriter, CsvUserWriter writer, AtomicLong progress,
+                                         ExportRecording recording) {
+            this.csvWriter = csvWriter;
+            this.writer = writer;
+            this.progress = progress;
+            this.recording = recording;
+            this.peakMemoryMB = memoryMonitor.getCurrentMemoryUsageMB();
+        }
+
+        @Override
+        public void handleResult(ResultContext<? extends UserDto> context) {
+            try {
+                long renderStart = System.nanoTime();
+                writer.writeRow(context.getResultObject());
+                recording.rowRendered(renderStart);
+                processedCount++;
+                progress.lazySet(processedCount);
+
+                // 첫 행은 즉시 내보내서 클라이언트가 바로 수신을 시작하도록 함
+                if (processedCount == 1) {
+                    csvWriter.flush();
+                }
+
+                // 메모리 압박 시 조회 속도 조절
+                if (processedCount % PRESSURE_CHECK_INTERVAL == 0) {
+                    memoryPressureGovernor.throttle();
+                }
+
+                // 주기적 메모리 체크
+                if (processedCount % MEMORY_CHECK_INTERVAL == 0) {
+                    checkAndLogMemoryUsage();
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                context.stop();
+                throw new IllegalStateException("CSV 생성 중단 - 처리건수: " + processedCount, e);
+            } catch (IOException e) {
+                // 클라이언트 연결 종료 등 - 더 이상 쓸 곳이 없으므로 조회 중단
+                context.stop();
+                throw new UncheckedIOException("CSV 응답 스트림 쓰기 실패 - 처리건수: " + processedCount, e);
+            }
+        }
+
+        /**
+         * 메모리 사용량 체크 및 로깅
+         */
+        private void checkAndLogMemoryUsage() {
+            long currentMB = memoryMonitor.getCurrentMemoryUsageMB();
+
+            if (currentMB > peakMemoryMB) {
+                peakMemoryMB = currentMB;
+            }
+
+            log.info("CSV 스트리밍 진행: {}건 처리 - 현재 메모리: {}MB, 최고 메모리: {}MB",
+                    processedCount, currentMB, peakMemoryMB);
+        }
+
+        public int getProcessedCount() {
+            return processedCount;
+        }
+    }
+}
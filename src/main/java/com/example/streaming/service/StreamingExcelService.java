@@ -1,8 +1,14 @@
 package com.example.streaming.service;
 
+import com.example.streaming.config.ExportProperties;
 import com.example.streaming.dto.UserDto;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.metrics.ExportMetrics;
+import com.example.streaming.metrics.ExportRecording;
 import com.example.streaming.repository.UserMapper;
+import com.example.streaming.util.ExcelUtil;
 import com.example.streaming.util.MemoryMonitor;
+import com.example.streaming.util.SpreadsheetMlWriter;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,17 +16,27 @@ import org.apache.ibatis.session.ResultContext;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 메모리 효율적인 스트리밍 Excel 생성 서비스
- * 
+ *
  * OOM 문제 해결을 위해 다음 기술들을 적용:
  * 1. SXSSFWorkbook: 메모리에 일정 행수만 유지하고 나머지는 임시파일로 플러시
  * 2. MyBatis ResultHandler: DB에서 한 건씩 스트리밍 처리
  * 3. 실시간 메모리 모니터링: 처리 과정의 메모리 사용량 추적
+ * 4. fetch/render 파이프라인: DB 조회와 행 렌더링을 다른 스레드에서 겹쳐 실행 (createPipelinedExcel)
+ * 5. 직접 XML 기록: POI 셀 객체 없이 SpreadsheetML을 응답 스트림에 바로 기록 (createFastExcel)
+ * 6. 조건/열 선택: UserExportFilter를 SQL로 내려보내서 필요한 행과 열만 조회/렌더링
+ * 7. 소량 export: 임시파일 없는 메모리 XSSF + Content-Length (createInMemoryExcel)
  */
 @Slf4j
 @Service
@@ -32,247 +48,447 @@ public class StreamingExcelService {
      * 이 값을 초과하는 행들은 자동으로 임시 파일로 플러시됨
      */
     private static final int ROW_ACCESS_WINDOW_SIZE = 100;
-    
+
     /**
      * 메모리 체크 주기 (건수 기준)
      */
     private static final int MEMORY_CHECK_INTERVAL = 10000;
-    
+
+    /**
+     * 메모리 압박 확인 주기 (건수 기준)
+     */
+    private static final int PRESSURE_CHECK_INTERVAL = 1000;
+
     private final UserMapper userMapper;
     private final MemoryMonitor memoryMonitor;
+    private final ExportProperties exportProperties;
+    private final ExportMetrics exportMetrics;
+    private final MemoryPressureGovernor memoryPressureGovernor;
+
+    @Qualifier("exportFetchExecutor")
+    private final Executor exportFetchExecutor;
 
     /**
      * 스트리밍 방식으로 Excel 파일 생성 및 응답
-     * 
+     *
      * @param response HTTP 응답 객체
+     * @param filter   조회 조건과 열 선택
+     */
+    public void createStreamingExcel(HttpServletResponse response, UserExportFilter filter) {
+        try {
+            response.setContentType(ExportFormat.XLSX.getContentType());
+            response.setHeader("Content-Disposition", "attachment; filename=users_streaming.xlsx");
+
+            writeStreamingExcel(response.getOutputStream(), filter, new AtomicLong());
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("응답 스트림 열기 실패", e);
+        }
+    }
+
+    /**
+     * 스트리밍 방식으로 Excel 파일을 생성해서 OutputStream에 출력
+     * HTTP 응답뿐 아니라 비동기 export 작업의 파일 출력에도 사용
+     *
+     * @param out      출력 대상 (닫지 않음)
+     * @param filter   조회 조건과 열 선택
+     * @param progress 처리 건수를 실시간으로 반영할 카운터
+     * @return 총 처리 건수
      */
-    public void createStreamingExcel(HttpServletResponse response) {
+    public long writeStreamingExcel(OutputStream out, UserExportFilter filter, AtomicLong progress) {
         long startMB = memoryMonitor.getCurrentMemoryUsageMB();
+        long startTime = System.currentTimeMillis();
+        long startAllocated = memoryMonitor.getCurrentThreadAllocatedBytes();
         memoryMonitor.logMemoryStatus("스트리밍 Excel 생성 시작");
-        
+
+        ExportRecording recording = exportMetrics.start("xlsx-streaming");
         SXSSFWorkbook workbook = null;
-        
+
         try {
             // 1. 스트리밍 워크북 생성 (메모리 제한)
             workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW_SIZE);
-            Sheet sheet = workbook.createSheet("사용자 목록");
-            
-            log.info("SXSSFWorkbook 생성 완료 - ROW_ACCESS_WINDOW_SIZE: {}", ROW_ACCESS_WINDOW_SIZE);
-            
-            // 2. 스타일 생성 (미리 생성해서 재사용)
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle dataStyle = createDataStyle(workbook);
-            
-            // 3. 헤더 생성
-            createHeader(sheet, headerStyle);
-            
-            // 4. 스트리밍 핸들러 생성
-            StreamingResultHandler handler = new StreamingResultHandler(sheet, dataStyle);
-            
-            // 5. MyBatis ResultHandler로 데이터 스트리밍 처리
-            log.info("데이터 스트리밍 처리 시작");
-            userMapper.findAllUsersStreaming(handler);
-            
-            // 6. 응답 헤더 설정
-            response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
-            response.setHeader("Content-Disposition", "attachment; filename=users_streaming.xlsx");
-            
-            // 7. 파일 출력
-            workbook.write(response.getOutputStream());
-            
+            workbook.setCompressTempFiles(exportProperties.getCompression().isSxssfTempFiles());
+            ExcelUserWriter writer = createUserSheet(workbook, filter);
+
+            // 2. 스트리밍 핸들러 생성
+            StreamingResultHandler handler = new StreamingResultHandler(writer, progress, recording);
+
+            // 3. MyBatis ResultHandler로 데이터 스트리밍 처리
+            log.info("데이터 스트리밍 처리 시작 - 조건: {}", filter);
+            recording.fetchStarted();
+            userMapper.findUsersStreaming(filter, handler);
+            recording.fetchFinished();
+
+            // 4. 파일 출력
+            recording.flushStarted();
+            workbook.write(recording.meter(out));
+            recording.flushFinished();
+
             long endMB = memoryMonitor.getCurrentMemoryUsageMB();
-            log.info("스트리밍 Excel 생성 완료 - 시작: {}MB, 종료: {}MB, 총 처리건수: {}건", 
-                    startMB, endMB, handler.getProcessedCount());
-            
-            memoryMonitor.logMemoryStatus("스트리밍 Excel 생성 완료");
-            
+            log.info("스트리밍 Excel 생성 완료 - 시작: {}MB, 종료: {}MB, 총 처리건수: {}건, 시트: {}개",
+                    startMB, endMB, handler.getProcessedCount(), writer.getSheetCount());
+
+            memoryMonitor.logElapsed("스트리밍 Excel (단일 스레드)",
+                    System.currentTimeMillis() - startTime, handler.getProcessedCount());
+            memoryMonitor.logAllocation("스트리밍 Excel (SXSSF)", startAllocated, handler.getProcessedCount());
+            recording.success();
+
+            return handler.getProcessedCount();
+
         } catch (Exception e) {
+            recording.failure();
             log.error("스트리밍 Excel 생성 중 오류 발생", e);
             throw new RuntimeException("스트리밍 Excel 생성 실패", e);
         } finally {
-            // 8. 리소스 정리
-            if (workbook != null) {
-                try {
-                    workbook.dispose(); // 임시 파일 정리
-                    workbook.close();
-                    log.debug("SXSSFWorkbook 리소스 정리 완료");
-                } catch (IOException e) {
-                    log.warn("워크북 정리 중 오류", e);
-                }
-            }
+            disposeWorkbook(workbook);
         }
     }
 
     /**
-     * 헤더 행 생성
+     * fetch/render 파이프라인 방식으로 Excel 파일 생성 및 응답
+     *
+     * fetch 단계(MyBatis ResultHandler)는 exportFetchExecutor 스레드에서,
+     * render 단계(SXSSF 행 생성 + 임시파일 플러시)는 요청 스레드에서 실행되어
+     * DB I/O와 POI의 CPU/디스크 작업이 겹쳐서 진행된다.
+     *
+     * @param response HTTP 응답 객체
+     * @param filter   조회 조건과 열 선택
      */
-    private void createHeader(Sheet sheet, CellStyle headerStyle) {
-        Row headerRow = sheet.createRow(0);
-        
-        String[] headers = {"ID", "사용자명", "이메일", "나이", "부서", "생성일시", "활성상태"};
-        
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
+    public void createPipelinedExcel(HttpServletResponse response, UserExportFilter filter) {
+        long startMB = memoryMonitor.getCurrentMemoryUsageMB();
+        long startTime = System.currentTimeMillis();
+        memoryMonitor.logMemoryStatus("파이프라인 Excel 생성 시작");
+
+        ExportRecording recording = exportMetrics.start("xlsx-pipeline");
+        SXSSFWorkbook workbook = null;
+
+        try {
+            workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW_SIZE);
+            workbook.setCompressTempFiles(exportProperties.getCompression().isSxssfTempFiles());
+            ExcelUserWriter writer = createUserSheet(workbook, filter);
+
+            ExportPipeline<UserDto> pipeline = new ExportPipeline<>(exportFetchExecutor,
+                    exportProperties.getPipeline().getBufferSize(), exportProperties.getPipeline().getStallTimeout());
+
+            log.info("파이프라인 데이터 처리 시작 - 버퍼 크기: {}", exportProperties.getPipeline().getBufferSize());
+            long rows = pipeline.run(
+                    handler -> userMapper.findUsersStreaming(filter, handler),
+                    user -> {
+                        long renderStart = System.nanoTime();
+                        writer.writeRow(user);
+                        recording.rowRendered(renderStart);
+                        // render 단계를 늦추면 버퍼가 차서 fetch 단계도 함께 멈춤
+                        if (writer.getRowCount() % PRESSURE_CHECK_INTERVAL == 0) {
+                            writer.applyMemoryPressure(memoryPressureGovernor.throttle());
+                        }
+                        if (writer.getRowCount() % MEMORY_CHECK_INTERVAL == 0) {
+                            log.info("파이프라인 진행: {}건 처리 - 현재 메모리: {}MB",
+                                    writer.getRowCount(), memoryMonitor.getCurrentMemoryUsageMB());
+                        }
+                    });
+
+            recording.recordFetch(pipeline.getFetchNanos());
+
+            response.setContentType(ExportFormat.XLSX.getContentType());
+            response.setHeader("Content-Disposition", "attachment; filename=users_streaming.xlsx");
+            recording.flushStarted();
+            workbook.write(recording.meter(response.getOutputStream()));
+            recording.flushFinished();
+
+            long endMB = memoryMonitor.getCurrentMemoryUsageMB();
+            log.info("파이프라인 Excel 생성 완료 - 시작: {}MB, 종료: {}MB, 총 처리건수: {}건, 시트: {}개, " +
+                            "fetch 대기(render 병목): {}ms, render 대기(DB 병목): {}ms",
+                    startMB, endMB, rows, writer.getSheetCount(),
+                    pipeline.getFetchWaitMillis(), pipeline.getRenderWaitMillis());
+
+            memoryMonitor.logElapsed("파이프라인 Excel (fetch/render 분리)",
+                    System.currentTimeMillis() - startTime, rows);
+            recording.success();
+
+        } catch (Exception e) {
+            recording.failure();
+            log.error("파이프라인 Excel 생성 중 오류 발생", e);
+            throw new RuntimeException("파이프라인 Excel 생성 실패", e);
+        } finally {
+            disposeWorkbook(workbook);
         }
-        
-        log.debug("헤더 생성 완료 - 컬럼 수: {}", headers.length);
     }
 
     /**
-     * 헤더 스타일 생성
+     * 직접 XML 기록 방식으로 Excel 파일 생성 및 응답
+     *
+     * SXSSF는 행을 임시파일에 모두 쓴 뒤 마지막에 응답으로 복사하지만,
+     * 이 방식은 시트 XML을 ZIP 엔트리로 응답 스트림에 바로 압축해서 흘려보낸다.
+     * 행마다 Row/Cell 객체, 박싱, 문자열 변환이 없어 GC 부담이 작고 임시파일도 만들지 않는다.
+     *
+     * @param response HTTP 응답 객체
+     * @param filter   조회 조건과 열 선택
      */
-    private CellStyle createHeaderStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        Font font = workbook.createFont();
-        
-        // 헤더 폰트 설정
-        font.setBold(true);
-        font.setFontHeightInPoints((short) 12);
-        style.setFont(font);
-        
-        // 헤더 배경색 설정
-        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        
-        // 경계선 설정
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        
-        return style;
+    public void createFastExcel(HttpServletResponse response, UserExportFilter filter) {
+        try {
+            response.setContentType(ExportFormat.XLSX.getContentType());
+            response.setHeader("Content-Disposition", "attachment; filename=users_fast.xlsx");
+
+            writeFastExcel(response.getOutputStream(), filter, new AtomicLong());
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("응답 스트림 열기 실패", e);
+        }
     }
 
     /**
-     * 데이터 스타일 생성
+     * 직접 XML 기록 방식으로 Excel 파일을 생성해서 OutputStream에 출력
+     *
+     * @param out      출력 대상 (닫지 않음)
+     * @param filter   조회 조건과 열 선택
+     * @param progress 처리 건수를 실시간으로 반영할 카운터
+     * @return 총 처리 건수
      */
-    private CellStyle createDataStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        
-        // 경계선 설정
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        
-        return style;
+    public long writeFastExcel(OutputStream out, UserExportFilter filter, AtomicLong progress) {
+        long startMB = memoryMonitor.getCurrentMemoryUsageMB();
+        long startTime = System.currentTimeMillis();
+        long startAllocated = memoryMonitor.getCurrentThreadAllocatedBytes();
+        memoryMonitor.logMemoryStatus("직접 XML Excel 생성 시작");
+
+        ExportRecording recording = exportMetrics.start("xlsx-fast");
+        try {
+            // 1. 출력 스트림에 직접 연결된 xlsx writer
+            SpreadsheetMlWriter xlsxWriter = new SpreadsheetMlWriter(recording.meter(out));
+            FastXlsxUserWriter writer = new FastXlsxUserWriter(xlsxWriter, "사용자 목록", filter.getColumns(),
+                    exportProperties.getXlsx().getMaxRowsPerSheet(), exportProperties.getXlsx().sharedStringPolicy());
+
+            // 2. MyBatis ResultHandler로 데이터 스트리밍 처리 (행 단위로 바로 XML 기록)
+            StreamingResultHandler handler = new StreamingResultHandler(writer, progress, recording);
+            log.info("직접 XML 데이터 스트리밍 처리 시작 - 조건: {}", filter);
+            recording.fetchStarted();
+            userMapper.findUsersStreaming(filter, handler);
+            recording.fetchFinished();
+
+            // 3. 워크북/스타일 파트 기록 후 ZIP 마무리
+            recording.flushStarted();
+            xlsxWriter.close();
+            recording.flushFinished();
+
+            long endMB = memoryMonitor.getCurrentMemoryUsageMB();
+            log.info("직접 XML Excel 생성 완료 - 시작: {}MB, 종료: {}MB, 총 처리건수: {}건, 시트: {}개, 출력: {}bytes(압축 전)",
+                    startMB, endMB, handler.getProcessedCount(), xlsxWriter.getSheetCount(), xlsxWriter.getBytesWritten());
+
+            memoryMonitor.logElapsed("직접 XML Excel",
+                    System.currentTimeMillis() - startTime, handler.getProcessedCount());
+            memoryMonitor.logAllocation("직접 XML Excel", startAllocated, handler.getProcessedCount());
+            recording.success();
+
+            return handler.getProcessedCount();
+
+        } catch (Exception e) {
+            recording.failure();
+            log.error("직접 XML Excel 생성 중 오류 발생", e);
+            throw new RuntimeException("직접 XML Excel 생성 실패", e);
+        }
+    }
+
+    /**
+     * 메모리 XSSF 방식으로 Excel 파일 생성 및 응답 (소량 export 전용 - ExportStrategySelector)
+     *
+     * SXSSF는 행을 임시파일에 쓰고 workbook.write에서 다시 읽어 압축하는데,
+     * 행이 적으면 이 파일 생성/쓰기/읽기 비용이 렌더링보다 크다.
+     * 이 방식은 워크북을 힙에 만들고 예상 크기로 잡은 버퍼에 한 번에 기록해서 Content-Length와 함께 응답한다.
+     * 조회 결과는 List로 모으지 않고 ResultHandler에서 바로 시트에 기록한다.
+     *
+     * 예상 행 수가 틀려서 실제 행이 export.strategy.in-memory-hard-max-rows를 넘으면
+     * 응답을 쓰기 전에 조회를 멈추고 워크북을 버린 뒤 SXSSF 스트리밍(createStreamingExcel)으로 다시 export한다.
+     *
+     * @param response     HTTP 응답 객체
+     * @param filter       조회 조건과 열 선택
+     * @param expectedRows 예상 행 수 (출력 버퍼 크기 계산용)
+     * @return 실제로 응답한 방식
+     */
+    public ExportStrategy createInMemoryExcel(HttpServletResponse response, UserExportFilter filter, long expectedRows) {
+        if (writeInMemoryExcel(response, filter, expectedRows)) {
+            return ExportStrategy.IN_MEMORY;
+        }
+        // 메모리 워크북을 닫은 뒤에 다시 export해서 두 워크북이 동시에 힙에 있지 않도록 함
+        createStreamingExcel(response, filter);
+        return ExportStrategy.STREAMING;
+    }
+
+    /**
+     * @return false면 행 수 상한을 넘어서 응답하지 않고 중단함
+     */
+    private boolean writeInMemoryExcel(HttpServletResponse response, UserExportFilter filter, long expectedRows) {
+        long startTime = System.currentTimeMillis();
+        long startAllocated = memoryMonitor.getCurrentThreadAllocatedBytes();
+        int hardMaxRows = exportProperties.getStrategy().getInMemoryHardMaxRows();
+
+        ExportRecording recording = exportMetrics.start("xlsx-in-memory");
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        try {
+            ExcelUserWriter writer = ExcelUtil.createUserSheet(workbook, filter.getColumns(),
+                    exportProperties.getXlsx().getMaxRowsPerSheet());
+
+            StreamingResultHandler handler = new StreamingResultHandler(writer, new AtomicLong(), recording, hardMaxRows);
+            log.info("메모리 XSSF 데이터 처리 시작 - 예상: {}건, 상한: {}건, 조건: {}", expectedRows, hardMaxRows, filter);
+            recording.fetchStarted();
+            userMapper.findUsersStreaming(filter, handler);
+            recording.fetchFinished();
+
+            if (handler.isLimitReached()) {
+                log.warn("메모리 XSSF 행 수 상한 초과 - 예상: {}건, 상한: {}건 → SXSSF 스트리밍으로 다시 export",
+                        expectedRows, hardMaxRows);
+                recording.fallback();
+                return false;
+            }
+
+            // 완성된 파일을 한 번에 응답 (임시파일 없음, Content-Length 포함)
+            recording.flushStarted();
+            byte[] bytes = ExcelUtil.toBytes(workbook, expectedRows);
+            ExcelUtil.setHeaders(response, "users.xlsx", bytes.length);
+            OutputStream out = recording.meter(response.getOutputStream());
+            out.write(bytes);
+            out.flush();
+            recording.flushFinished();
+
+            log.info("메모리 XSSF Excel 생성 완료 - 총 처리건수: {}건, 크기: {}bytes",
+                    handler.getProcessedCount(), bytes.length);
+            memoryMonitor.logElapsed("메모리 XSSF Excel",
+                    System.currentTimeMillis() - startTime, handler.getProcessedCount());
+            memoryMonitor.logAllocation("메모리 XSSF Excel", startAllocated, handler.getProcessedCount());
+            recording.success();
+            return true;
+
+        } catch (Exception e) {
+            recording.failure();
+            log.error("메모리 XSSF Excel 생성 중 오류 발생", e);
+            throw new RuntimeException("메모리 XSSF Excel 생성 실패", e);
+        } finally {
+            try {
+                workbook.close();
+            } catch (IOException e) {
+                log.warn("워크북 정리 중 오류", e);
+            }
+        }
+    }
+
+    /**
+     * 사용자 목록 시트 생성 (스타일은 미리 생성해서 재사용)
+     * 시트당 행 수 상한(export.xlsx.max-rows-per-sheet)을 넘으면 writer가 헤더가 있는 새 시트로 넘어감
+     */
+    private ExcelUserWriter createUserSheet(SXSSFWorkbook workbook, UserExportFilter filter) {
+        Sheet sheet = workbook.createSheet("사용자 목록");
+        log.info("SXSSFWorkbook 생성 완료 - ROW_ACCESS_WINDOW_SIZE: {}, 임시파일 압축: {}",
+                ROW_ACCESS_WINDOW_SIZE, workbook.isCompressTempFiles());
+
+        return new ExcelUserWriter(sheet,
+                ExcelUserWriter.createHeaderStyle(workbook),
+                ExcelUserWriter.createDataStyle(workbook),
+                ExcelUserWriter.createDateStyle(workbook),
+                filter.getColumns(),
+                exportProperties.getXlsx().getMaxRowsPerSheet());
+    }
+
+    /**
+     * 리소스 정리
+     */
+    private void disposeWorkbook(SXSSFWorkbook workbook) {
+        if (workbook != null) {
+            try {
+                workbook.dispose(); // 임시 파일 정리
+                workbook.close();
+                log.debug("SXSSFWorkbook 리소스 정리 완료");
+            } catch (IOException e) {
+                log.warn("워크북 정리 중 오류", e);
+            }
+        }
     }
 
     /**
      * 스트리밍용 ResultHandler
-     * 
+     *
      * MyBatis가 DB에서 한 건씩 조회할 때마다 이 핸들러가 호출됨
      * 메모리에 전체 데이터를 로드하지 않고 건별로 처리
      */
     private class StreamingResultHandler implements ResultHandler<UserDto> {
-        private final Sheet sheet;
-        private final CellStyle dataStyle;
-        private int currentRowNum = 1; // 헤더 다음 행부터 시작
+        private final UserRowWriter writer;
+        private final AtomicLong progress;
+        private final ExportRecording recording;
+        private final int maxRows;
         private int processedCount = 0;
         private long peakMemoryMB = 0;
+        private boolean limitReached = false;
 
-        public StreamingResultHandler(Sheet sheet, CellStyle dataStyle) {
-            this.sheet = sheet;
-            this.dataStyle = dataStyle;
+        public StreamingResultHandler(UserRowWriter writer, AtomicLong progress, ExportRecording recording) {
+            this(writer, progress, recording, Integer.MAX_VALUE);
+        }
+
+        /**
+         * @param maxRows 기록할 최대 행 수 - 다음 행이 오면 기록하지 않고 조회를 멈춤
+         */
+        public StreamingResultHandler(UserRowWriter writer, AtomicLong progress, ExportRecording recording, int maxRows) {
+            this.writer = writer;
+            this.progress = progress;
+            this.recording = recording;
+            this.maxRows = maxRows;
             this.peakMemoryMB = memoryMonitor.getCurrentMemoryUsageMB();
         }
 
         @Override
         public void handleResult(ResultContext<? extends UserDto> context) {
+            if (processedCount >= maxRows) {
+                limitReached = true;
+                context.stop();
+                return;
+            }
             try {
                 UserDto user = context.getResultObject();
-                
+
                 // Excel 행 생성
-                createDataRow(user);
+                long renderStart = System.nanoTime();
+                writer.writeRow(user);
+                recording.rowRendered(renderStart);
                 processedCount++;
+                progress.lazySet(processedCount);
+
+                // 메모리 압박 시 조회 속도 조절 (GC를 직접 호출하지 않음)
+                if (processedCount % PRESSURE_CHECK_INTERVAL == 0) {
+                    writer.applyMemoryPressure(memoryPressureGovernor.throttle());
+                }
 
                 // 주기적 메모리 체크
                 if (processedCount % MEMORY_CHECK_INTERVAL == 0) {
                     checkAndLogMemoryUsage();
                 }
 
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                context.stop();
+                throw new RuntimeException("Excel 데이터 처리 중단 - 처리건수: " + processedCount, e);
             } catch (Exception e) {
                 log.error("사용자 데이터 처리 중 오류 발생 - 처리건수: {}", processedCount, e);
                 throw new RuntimeException("Excel 데이터 처리 실패", e);
             }
         }
 
-        /**
-         * 사용자 데이터로 Excel 행 생성
-         */
-        private void createDataRow(UserDto user) {
-            Row row = sheet.createRow(currentRowNum++);
-            int col = 0;
-
-            // ID
-            Cell idCell = row.createCell(col++);
-            idCell.setCellValue(user.getId());
-            idCell.setCellStyle(dataStyle);
-
-            // 사용자명
-            Cell usernameCell = row.createCell(col++);
-            usernameCell.setCellValue(user.getUsername());
-            usernameCell.setCellStyle(dataStyle);
-
-            // 이메일
-            Cell emailCell = row.createCell(col++);
-            emailCell.setCellValue(user.getEmail());
-            emailCell.setCellStyle(dataStyle);
-
-            // 나이
-            Cell ageCell = row.createCell(col++);
-            if (user.getAge() != null) {
-                ageCell.setCellValue(user.getAge());
-            }
-            ageCell.setCellStyle(dataStyle);
-
-            // 부서
-            Cell deptCell = row.createCell(col++);
-            deptCell.setCellValue(user.getDepartment());
-            deptCell.setCellStyle(dataStyle);
-
-            // 생성일시
-            Cell createdAtCell = row.createCell(col++);
-            if (user.getCreatedAt() != null) {
-                createdAtCell.setCellValue(user.getCreatedAt().toString());
-            }
-            createdAtCell.setCellStyle(dataStyle);
-
-            // 활성상태
-            Cell activeCell = row.createCell(col++);
-            activeCell.setCellValue(user.getActive() != null ? user.getActive().toString() : "");
-            activeCell.setCellStyle(dataStyle);
-        }
-
         /**
          * 메모리 사용량 체크 및 로깅
          */
         private void checkAndLogMemoryUsage() {
             long currentMB = memoryMonitor.getCurrentMemoryUsageMB();
-            
+
             // 최고 메모리 사용량 업데이트
             if (currentMB > peakMemoryMB) {
                 peakMemoryMB = currentMB;
             }
 
-            log.info("스트리밍 진행: {}건 처리 - 현재 메모리: {}MB, 최고 메모리: {}MB", 
-                    processedCount, currentMB, peakMemoryMB);
-
-            // 메모리 사용률이 80% 초과시 경고
-            double memoryUsage = memoryMonitor.getMemoryUsagePercentage();
-            if (memoryUsage > 80.0) {
-                log.warn("메모리 사용률 높음: {:.2f}% - 처리건수: {}", memoryUsage, processedCount);
-                
-                // 명시적 GC 수행 (개발/테스트 환경에서만)
-                System.gc();
-                log.info("명시적 GC 수행 완료");
-            }
+            log.info("스트리밍 진행: {}건 처리 - 현재 메모리: {}MB, 최고 메모리: {}MB, 메모리 압박: {}",
+                    processedCount, currentMB, peakMemoryMB, memoryPressureGovernor.getPressure());
         }
 
         public int getProcessedCount() {
             return processedCount;
         }
+
+        public boolean isLimitReached() {
+            return limitReached;
+        }
     }
 }
\ No newline at end of file
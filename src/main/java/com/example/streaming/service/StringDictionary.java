@@ -0,0 +1,53 @@
+package com.example.streaming.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 값 종류가 적은 문자열 열의 사전 (부서 등)
+ *
+ * 값마다 코드 하나와 미리 인코딩한 UTF-8 바이트를 한 번만 만들어 두고, 행에는 코드만 저장한다.
+ * 코드 배열은 크기가 고정이라 늘어나지 않으므로, 한 스레드가 추가하고 다른 스레드가
+ * (배치를 넘겨받은 뒤) 이미 받은 코드로 읽는 것은 안전하다. 추가는 한 스레드에서만 한다.
+ */
+public final class StringDictionary {
+
+    /**
+     * 사전 크기 상한 - 넘는 값은 코드를 받지 못하고 행마다 따로 저장됨
+     */
+    public static final int MAX_SIZE = 1024;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final byte[][] values = new byte[MAX_SIZE][];
+    private int size = 0;
+
+    /**
+     * 값의 코드 (처음 보는 값이면 추가)
+     *
+     * @return 코드, 사전이 가득 찼으면 -1
+     */
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (size == MAX_SIZE) {
+            return -1;
+        }
+        values[size] = value.getBytes(StandardCharsets.UTF_8);
+        codes.put(value, size);
+        return size++;
+    }
+
+    /**
+     * 코드의 UTF-8 바이트 (수정하면 안 됨)
+     */
+    public byte[] utf8(int code) {
+        return values[code];
+    }
+
+    public String value(int code) {
+        return new String(values[code], StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * 사용자 행 묶음의 컬럼형 표현 (UserDto 대신 export 파이프라인에서 사용)
+ *
+ * 행마다 UserDto(박싱된 Long/Integer/Boolean, LocalDateTime, String 3개)를 만들었다가 바로 버리는 대신,
+ * 열마다 원시 배열 하나에 값을 채우고 배치째로 재사용한다.
+ * 1. id, age, active, created_at: 원시 배열 (created_at은 로컬 시각 기준 1970-01-01부터의 밀리초)
+ * 2. department: StringDictionary 코드 (값 종류가 적으므로 행에는 2바이트만)
+ * 3. username, email: 배치 하나가 공유하는 바이트 영역에 UTF-8로 이어 붙이고 행에는 위치/길이만
+ *
+ * 배치는 UserBatchPool에서 빌려 쓰고 렌더링 후 반납하므로 정상 상태에서는 새 배열이 생기지 않는다.
+ * 한 번에 한 스레드만 사용한다 (채우는 스레드 → 파이프라인 버퍼 → 렌더링 스레드 순서로 넘겨짐).
+ */
+public final class UserBatch {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * 문자열 열 번호 (stringBytes 등의 field 인자)
+     */
+    public static final int USERNAME = 0;
+    public static final int EMAIL = 1;
+    public static final int DEPARTMENT = 2;
+
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final byte NULL_BOOLEAN = -1;
+
+    /**
+     * 부서 코드: 값 없음 / 사전이 가득 차서 바이트 영역에 따로 저장
+     */
+    private static final short NULL_CODE = -1;
+    private static final short UNCODED = -2;
+
+    private final int capacity;
+    private final StringDictionary departments;
+
+    private final long[] ids;
+    private final int[] ages;
+    private final boolean[] ageNulls;
+    private final long[] createdAtMillis;
+    private final byte[] actives;
+    private final short[] departmentCodes;
+
+    /**
+     * 문자열 열별 바이트 영역 위치와 길이 (길이 -1은 null)
+     */
+    private final int[][] stringOffsets = new int[3][];
+    private final int[][] stringLengths = new int[3][];
+    private byte[] arena;
+    private int arenaSize = 0;
+
+    private int size = 0;
+
+    public UserBatch(int capacity, StringDictionary departments) {
+        this.capacity = capacity;
+        this.departments = departments;
+        this.ids = new long[capacity];
+        this.ages = new int[capacity];
+        this.ageNulls = new boolean[capacity];
+        this.createdAtMillis = new long[capacity];
+        this.actives = new byte[capacity];
+        this.departmentCodes = new short[capacity];
+        for (int field = 0; field < 3; field++) {
+            stringOffsets[field] = new int[capacity];
+            stringLengths[field] = new int[capacity];
+        }
+        // 이메일/사용자명 평균 20바이트 기준, 부족하면 두 배씩 늘림
+        this.arena = new byte[capacity * 48];
+    }
+
+    /**
+     * 새 행 추가 - 모든 값이 null인 상태로 시작
+     *
+     * @return 행 번호
+     */
+    public int addRow() {
+        if (size == capacity) {
+            throw new IllegalStateException("배치가 가득 찼습니다: " + capacity);
+        }
+        int row = size++;
+        ids[row] = 0;
+        ageNulls[row] = true;
+        createdAtMillis[row] = NULL_TIME;
+        actives[row] = NULL_BOOLEAN;
+        departmentCodes[row] = NULL_CODE;
+        for (int field = 0; field < 3; field++) {
+            stringLengths[field][row] = -1;
+        }
+        return row;
+    }
+
+    public void setId(int row, long id) {
+        ids[row] = id;
+    }
+
+    public void setAge(int row, int age) {
+        ages[row] = age;
+        ageNulls[row] = false;
+    }
+
+    /**
+     * @param localEpochMillis 로컬 시각 기준 1970-01-01T00:00부터의 밀리초
+     */
+    public void setCreatedAt(int row, long localEpochMillis) {
+        createdAtMillis[row] = localEpochMillis;
+    }
+
+    public void setActive(int row, boolean active) {
+        actives[row] = (byte) (active ? 1 : 0);
+    }
+
+    public void setUsername(int row, String value) {
+        putString(USERNAME, row, value);
+    }
+
+    public void setEmail(int row, String value) {
+        putString(EMAIL, row, value);
+    }
+
+    /**
+     * 부서 - 사전 코드로 저장 (사전이 가득 찼으면 바이트 영역에)
+     */
+    public void setDepartment(int row, String value) {
+        if (value == null) {
+            departmentCodes[row] = NULL_CODE;
+            return;
+        }
+        int code = departments.encode(value);
+        if (code >= 0) {
+            departmentCodes[row] = (short) code;
+        } else {
+            departmentCodes[row] = UNCODED;
+            putString(DEPARTMENT, row, value);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * 재사용을 위해 비움 (배열은 유지)
+     */
+    public void clear() {
+        size = 0;
+        arenaSize = 0;
+    }
+
+    public long getId(int row) {
+        return ids[row];
+    }
+
+    public boolean isAgeNull(int row) {
+        return ageNulls[row];
+    }
+
+    public int getAge(int row) {
+        return ages[row];
+    }
+
+    public boolean isCreatedAtNull(int row) {
+        return createdAtMillis[row] == NULL_TIME;
+    }
+
+    public long getCreatedAtMillis(int row) {
+        return createdAtMillis[row];
+    }
+
+    public boolean isActiveNull(int row) {
+        return actives[row] == NULL_BOOLEAN;
+    }
+
+    public boolean isActive(int row) {
+        return actives[row] == 1;
+    }
+
+    /**
+     * 부서의 사전 코드 (값이 없거나 사전에 없는 값이면 음수)
+     */
+    public int getDepartmentCode(int row) {
+        return departmentCodes[row];
+    }
+
+    /**
+     * 부서 코드를 해석할 사전 (같은 풀의 배치는 같은 사전)
+     */
+    public StringDictionary getDepartments() {
+        return departments;
+    }
+
+    /**
+     * 문자열 열의 UTF-8 바이트 길이 (null이면 -1)
+     */
+    public int stringLength(int field, int row) {
+        if (field == DEPARTMENT && departmentCodes[row] != UNCODED) {
+            short code = departmentCodes[row];
+            return code == NULL_CODE ? -1 : departments.utf8(code).length;
+        }
+        return stringLengths[field][row];
+    }
+
+    /**
+     * 문자열 열 값이 들어 있는 바이트 배열 (stringOffset부터 stringLength만큼, 수정하면 안 됨)
+     */
+    public byte[] stringBytes(int field, int row) {
+        if (field == DEPARTMENT && departmentCodes[row] >= 0) {
+            return departments.utf8(departmentCodes[row]);
+        }
+        return arena;
+    }
+
+    public int stringOffset(int field, int row) {
+        if (field == DEPARTMENT && departmentCodes[row] >= 0) {
+            return 0;
+        }
+        return stringOffsets[field][row];
+    }
+
+    public String getString(int field, int row) {
+        int length = stringLength(field, row);
+        if (length < 0) {
+            return null;
+        }
+        return new String(stringBytes(field, row), stringOffset(field, row), length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 행 하나를 UserDto로 (배치를 지원하지 않는 writer용)
+     */
+    public UserDto toUserDto(int row) {
+        UserDto user = new UserDto();
+        user.setId(ids[row]);
+        user.setUsername(getString(USERNAME, row));
+        user.setEmail(getString(EMAIL, row));
+        user.setAge(ageNulls[row] ? null : ages[row]);
+        user.setDepartment(getString(DEPARTMENT, row));
+        if (!isCreatedAtNull(row)) {
+            long millis = createdAtMillis[row];
+            user.setCreatedAt(LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                    (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC));
+        }
+        user.setActive(isActiveNull(row) ? null : isActive(row));
+        return user;
+    }
+
+    /**
+     * 문자열을 바이트 영역 끝에 UTF-8로 인코딩 (String.getBytes처럼 임시 배열을 만들지 않음)
+     */
+    private void putString(int field, int row, String value) {
+        if (value == null) {
+            stringLengths[field][row] = -1;
+            return;
+        }
+        int length = value.length();
+        ensureArena(length * 3);
+
+        int start = arenaSize;
+        int p = arenaSize;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                arena[p++] = (byte) c;
+            } else if (c < 0x800) {
+                arena[p++] = (byte) (0xC0 | (c >> 6));
+                arena[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                arena[p++] = (byte) (0xF0 | (codePoint >> 18));
+                arena[p++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                arena[p++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                arena[p++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                arena[p++] = '?';
+            } else {
+                arena[p++] = (byte) (0xE0 | (c >> 12));
+                arena[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                arena[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        stringOffsets[field][row] = start;
+        stringLengths[field][row] = p - start;
+        arenaSize = p;
+    }
+
+    private void ensureArena(int bytes) {
+        if (arenaSize + bytes > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + bytes));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.streaming.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * export 한 건이 쓰는 UserBatch 풀
+ *
+ * 채우는 스레드가 빌리고 렌더링 스레드가 반납한다. 빌릴 때 남은 배치가 없으면 새로 만들고 기다리지 않는다
+ * (배치 수는 파이프라인 버퍼가 제한하므로, 정상 상태에서는 버퍼 크기 + 2개 정도에서 더 늘지 않음).
+ * 풀이 가득 찬 상태에서 반납된 배치는 버림. 같은 풀의 배치는 부서 사전 하나를 공유한다.
+ */
+public class UserBatchPool {
+
+    private final int batchCapacity;
+    private final StringDictionary departments = new StringDictionary();
+    private final BlockingQueue<UserBatch> free;
+
+    /**
+     * @param batchCapacity 배치 하나의 행 수
+     * @param maxPooled     보관할 빈 배치 수
+     */
+    public UserBatchPool(int batchCapacity, int maxPooled) {
+        this.batchCapacity = batchCapacity;
+        this.free = new ArrayBlockingQueue<>(Math.max(1, maxPooled));
+    }
+
+    public UserBatch acquire() {
+        UserBatch batch = free.poll();
+        return batch != null ? batch : new UserBatch(batchCapacity, departments);
+    }
+
+    public void release(UserBatch batch) {
+        batch.clear();
+        free.offer(batch);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.util.CsvWriter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 사용자 행을 chunkRows행씩 잘라 DataBuffer 청크로 인코딩 (리액티브 스트리밍)
+ *
+ * next()를 호출할 때만 원본 Iterator(MyBatis Cursor)에서 다음 행들을 꺼내므로,
+ * 호출 쪽이 구독자의 요청(request(n))에 맞춰 부르면 클라이언트가 읽은 만큼만 DB에서 읽는다.
+ * 행 렌더러는 하나를 계속 쓰고, 출력 대상만 청크마다 새 DataBuffer로 바꾼다 (CSV 헤더는 첫 청크에 포함).
+ */
+public class UserChunkEncoder {
+
+    /**
+     * 첫 청크 버퍼 크기 - 이후 청크는 직전 청크 크기로 시작 (모자라면 DataBuffer가 늘림)
+     */
+    private static final int INITIAL_CHUNK_CAPACITY = 8 * 1024;
+
+    private final Iterator<UserDto> rows;
+    private final DataBufferFactory bufferFactory;
+    private final int chunkRows;
+    private final ChunkOutputStream out = new ChunkOutputStream();
+    private final UserRowWriter writer;
+    private final Flushable flusher;
+    private final JsonUserWriter jsonWriter;
+    private int chunkCapacity = INITIAL_CHUNK_CAPACITY;
+    private boolean finished;
+
+    public UserChunkEncoder(Iterator<UserDto> rows, StreamFormat format, List<UserColumn> columns,
+                            DataBufferFactory bufferFactory, int chunkRows) throws IOException {
+        this.rows = rows;
+        this.bufferFactory = bufferFactory;
+        this.chunkRows = Math.max(1, chunkRows);
+
+        if (format == StreamFormat.CSV) {
+            CsvWriter csvWriter = new CsvWriter(out);
+            this.writer = new CsvUserWriter(csvWriter, columns, true);
+            this.flusher = csvWriter;
+            this.jsonWriter = null;
+        } else {
+            this.jsonWriter = new JsonUserWriter(out, columns, format == StreamFormat.JSON);
+            this.writer = jsonWriter;
+            this.flusher = jsonWriter;
+        }
+    }
+
+    /**
+     * 다음 청크 - 행이 더 없으면 null (CSV 헤더나 빈 JSON 배열만 남은 경우에는 그 청크 하나)
+     */
+    public DataBuffer next() throws IOException {
+        if (finished) {
+            return null;
+        }
+
+        out.target = bufferFactory.allocateBuffer(chunkCapacity);
+        int rowsBefore = writer.getRowCount();
+        while (writer.getRowCount() - rowsBefore < chunkRows && rows.hasNext()) {
+            writer.writeRow(rows.next());
+        }
+        if (!rows.hasNext()) {
+            finished = true;
+            if (jsonWriter != null) {
+                jsonWriter.finish();
+            }
+        }
+        flusher.flush();
+
+        DataBuffer chunk = out.target;
+        out.target = null;
+        chunkCapacity = Math.max(chunkCapacity, chunk.readableByteCount());
+        if (chunk.readableByteCount() == 0) {
+            return null;
+        }
+        return chunk;
+    }
+
+    /**
+     * 지금까지 인코딩한 데이터 행 수
+     */
+    public int getRowCount() {
+        return writer.getRowCount();
+    }
+
+    /**
+     * 현재 청크 DataBuffer에 쓰는 스트림 (청크마다 target 교체 - 렌더러는 next() 안에서만 이 스트림에 씀)
+     */
+    private static final class ChunkOutputStream extends OutputStream {
+
+        private DataBuffer target;
+
+        @Override
+        public void write(int b) {
+            target.write((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            target.write(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.streaming.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * export 열 - 조회 SELECT 목록과 시트/CSV 열을 같은 순서로 결정
+ */
+@Getter
+@RequiredArgsConstructor
+public enum UserColumn {
+
+    ID("id", "id", "ID"),
+
+    USERNAME("username", "username", "사용자명"),
+
+    EMAIL("email", "email", "이메일"),
+
+    AGE("age", "age", "나이"),
+
+    DEPARTMENT("department", "department", "부서"),
+
+    CREATED_AT("created_at", "createdAt", "생성일시"),
+
+    ACTIVE("active", "active", "활성상태");
+
+    /**
+     * 전체 열 (열 선택이 없을 때)
+     */
+    public static final List<UserColumn> ALL = List.of(values());
+
+    /**
+     * users 테이블 컬럼명 - 매퍼 XML에서 ${}로 SELECT 목록에 치환되므로 상수만 사용
+     */
+    private final String columnName;
+
+    /**
+     * UserDto 필드명 - JSON 출력의 키
+     */
+    private final String fieldName;
+
+    /**
+     * 헤더 행에 쓰는 열 이름
+     */
+    private final String header;
+
+    /**
+     * 헤더 행의 열 이름으로 열 찾기 - 헤더(사용자명), 컬럼명(username), 열 이름(USERNAME) 모두 허용
+     * export한 파일을 그대로 다시 import할 수 있도록 함
+     */
+    public static Optional<UserColumn> fromHeader(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        String trimmed = name.trim();
+        for (UserColumn column : values()) {
+            if (column.header.equalsIgnoreCase(trimmed) || column.columnName.equalsIgnoreCase(trimmed)
+                    || column.name().equals(trimmed.toUpperCase(Locale.ROOT))) {
+                return Optional.of(column);
+            }
+        }
+        return Optional.empty();
+    }
+}
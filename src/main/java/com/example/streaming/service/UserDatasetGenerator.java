@@ -0,0 +1,73 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.example.streaming.repository.UserMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+/**
+ * 재현 가능한 대량 사용자 데이터 생성
+ *
+ * n번째 사용자의 값은 순번 n으로만 정해지므로 (UserMapper.insertGeneratedUsers)
+ * 빈 테이블에서 같은 행 수를 만들면 언제 어디서 실행해도 같은 데이터가 된다.
+ * 1. generate: 현재 행 다음 순번부터 rows건 추가 (/test/data/setup)
+ * 2. ensureRows: 목표 행 수까지 부족한 만큼만 추가 - 중간에 끊겨도 다시 실행하면 이어서 채움
+ * 3. 기동 시 export.dataset.rows까지 채움 (부하 테스트 하니스가 파일 DB를 준비할 때 사용)
+ * INSERT는 chunkRows건씩 나눠 실행해서 1000만건도 DB 트랜잭션 로그가 커지지 않게 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserDatasetGenerator implements ApplicationRunner {
+
+    private final UserMapper userMapper;
+    private final ExportProperties exportProperties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long target = exportProperties.getDataset().getRows();
+        if (target > 0) {
+            ensureRows(target);
+        }
+    }
+
+    /**
+     * 목표 행 수까지 부족한 만큼 생성
+     *
+     * @return 생성 후 전체 행 수
+     */
+    public long ensureRows(long target) {
+        long current = userMapper.countAllUsers();
+        if (current >= target) {
+            log.info("테스트 데이터 준비됨 - 현재: {}건, 목표: {}건", current, target);
+            return current;
+        }
+        return generate(target - current);
+    }
+
+    /**
+     * 현재 행 다음 순번부터 rows건 생성
+     *
+     * @return 생성 후 전체 행 수
+     */
+    public long generate(long rows) {
+        long startTime = System.currentTimeMillis();
+        long first = userMapper.countAllUsers() + 1;
+        long last = first + rows - 1;
+        int chunkRows = Math.max(1, exportProperties.getDataset().getChunkRows());
+        log.info("테스트 데이터 생성 시작 - 순번 {} ~ {} ({}건, {}건씩)", first, last, rows, chunkRows);
+
+        for (long from = first; from <= last; from += chunkRows) {
+            long to = Math.min(last, from + chunkRows - 1);
+            userMapper.insertGeneratedUsers(from, to);
+            log.info("테스트 데이터 생성 진행: {} / {}건", to - first + 1, rows);
+        }
+
+        long total = userMapper.countAllUsers();
+        log.info("테스트 데이터 생성 완료 - 총 {}건, 처리시간: {}ms", total, System.currentTimeMillis() - startTime);
+        return total;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.example.streaming.dto.ImportResult;
+import com.example.streaming.util.CsvReader;
+import com.example.streaming.util.MemoryMonitor;
+import com.example.streaming.util.XlsxRowReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CSV/xlsx 일괄 import 서비스
+ *
+ * export의 역방향으로, 업로드 파일 전체를 메모리에 올리지 않고 행 단위로 읽어서 저장한다.
+ * 1. CSV: 업로드 스트림을 채널로 감싸 CsvReader로 바로 해석 (재사용 버퍼 하나, 중간 문자열 없음)
+ * 2. xlsx: 임시파일로 받은 뒤 POI SAX 이벤트 API(XlsxRowReader)로 시트 XML을 스트리밍 해석
+ *    (XSSFWorkbook으로 열면 셀마다 객체가 생겨 수십만 행에서 힙이 부족함)
+ * 3. 변환/검증/저장: UserRowImporter - BATCH 실행기로 export.ingest.chunk-size건씩 JDBC 배치 + 커밋
+ *
+ * 트랜잭션은 청크 단위이므로 중간에 실패하면 이미 커밋한 청크는 남는다 (응답 오류 메시지에 저장 건수 포함).
+ * 헤더 누락, CSV 형식 오류처럼 파일 자체가 잘못된 경우는 IllegalArgumentException 그대로 던짐.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final Validator validator;
+    private final MemoryMonitor memoryMonitor;
+    private final MemoryPressureGovernor memoryPressureGovernor;
+    private final ExportProperties.Ingest properties;
+    private final MeterRegistry registry;
+
+    public UserImportService(SqlSessionFactory sqlSessionFactory, Validator validator, MemoryMonitor memoryMonitor,
+                             MemoryPressureGovernor memoryPressureGovernor, ExportProperties exportProperties,
+                             MeterRegistry registry) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.validator = validator;
+        this.memoryMonitor = memoryMonitor;
+        this.memoryPressureGovernor = memoryPressureGovernor;
+        this.properties = exportProperties.getIngest();
+        this.registry = registry;
+    }
+
+    /**
+     * 업로드 파일의 사용자 행을 저장
+     *
+     * @param file   업로드 파일 (첫 행은 헤더, xlsx는 시트마다 첫 행이 헤더)
+     * @param format 파일 형식
+     * @return 저장/거부 건수, 처리 속도, 거부 사유
+     */
+    public ImportResult importUsers(MultipartFile file, ExportFormat format) {
+        long startTime = System.currentTimeMillis();
+        memoryMonitor.logMemoryStatus("사용자 import 시작");
+        log.info("사용자 import 시작 - {}, {}, {}bytes", format, file.getOriginalFilename(), file.getSize());
+
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            UserRowImporter importer = new UserRowImporter(session, validator, memoryPressureGovernor,
+                    properties.getChunkSize(), properties.getMaxErrors());
+            try {
+                switch (format) {
+                    case CSV -> readCsv(file, importer);
+                    case XLSX -> readXlsx(file, importer);
+                }
+                importer.finish();
+            } catch (IllegalArgumentException e) {
+                session.rollback();
+                log.warn("사용자 import 중단 - 잘못된 파일: {}, 저장 건수: {}", e.getMessage(), importer.getImportedRows());
+                throw e;
+            } catch (Exception e) {
+                session.rollback();
+                log.error("사용자 import 실패 - 저장 건수: {}", importer.getImportedRows(), e);
+                throw new RuntimeException("사용자 import 실패 - 저장 건수: " + importer.getImportedRows(), e);
+            }
+
+            ImportResult result = importer.toResult(format, System.currentTimeMillis() - startTime);
+            record(format, result);
+            log.info("=== 사용자 import 완료 - 저장: {}건, 거부: {}건, 청크: {}개, {}ms, {}rows/s ===",
+                    result.getImportedRows(), result.getRejectedRows(), result.getChunks(),
+                    result.getElapsedMs(), result.getRowsPerSecond());
+            memoryMonitor.logMemoryStatus("사용자 import 완료");
+            return result;
+        }
+    }
+
+    /**
+     * 업로드 스트림을 그대로 해석 (Tomcat이 받아 둔 임시파일을 한 번만 읽음)
+     */
+    private void readCsv(MultipartFile file, UserRowImporter importer) throws IOException {
+        try (CsvReader reader = new CsvReader(Channels.newChannel(file.getInputStream()),
+                (int) properties.getBufferSize().toBytes())) {
+            String[] header = reader.readRecord();
+            if (header == null) {
+                return;
+            }
+            importer.header(header);
+
+            String[] record;
+            while ((record = reader.readRecord()) != null) {
+                importer.row(null, reader.getRecordNumber(), record);
+            }
+        }
+    }
+
+    /**
+     * xlsx는 ZIP 중앙 디렉터리를 읽어야 하므로 파일 경로로 열어야 함 - 임시파일로 옮긴 뒤 해석
+     */
+    private void readXlsx(MultipartFile file, UserRowImporter importer) throws IOException {
+        Path temp = Files.createTempFile("users_import_", ".xlsx");
+        try {
+            file.transferTo(temp);
+
+            AtomicInteger headerSheet = new AtomicInteger(-1);
+            XlsxRowReader.read(temp.toFile(), (sheetIndex, sheetName, rowIndex, cells) -> {
+                if (headerSheet.get() != sheetIndex) {
+                    headerSheet.set(sheetIndex);
+                    importer.header(cells);
+                    return;
+                }
+                importer.row(sheetName, rowIndex + 1L, cells);
+            });
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("import 임시파일 삭제 실패: {}", temp, e);
+            }
+        }
+    }
+
+    private void record(ExportFormat format, ImportResult result) {
+        counter(format, "imported").increment(result.getImportedRows());
+        counter(format, "rejected").increment(result.getRejectedRows());
+    }
+
+    private Counter counter(ExportFormat format, String outcome) {
+        return Counter.builder("import.rows")
+                .description("일괄 import 처리 행 수")
+                .tag("format", format.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
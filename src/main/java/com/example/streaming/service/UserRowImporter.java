@@ -0,0 +1,255 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.ImportResult;
+import com.example.streaming.dto.ImportRowError;
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.repository.UserMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.SqlSession;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 일괄 import 행 처리기
+ *
+ * 1. 헤더: 열 이름(헤더/컬럼명)으로 열 순서를 맞춤 - 모르는 열과 ID 열은 무시 (ID는 새로 발급)
+ * 2. 변환: 셀 문자열 → UserDto (숫자/일시/불리언 변환 실패는 거부 사유로 기록)
+ * 3. 검증: UserDto의 Bean Validation 제약
+ * 4. 저장: BATCH 실행기 세션에 쌓다가 chunkSize건마다 커밋 (JDBC 배치 한 번 + 커밋 한 번)
+ *
+ * 거부된 행은 건너뛰고 계속 진행하며, 사유는 앞에서부터 maxErrors건까지만 보관한다.
+ * 한 요청 스레드에서만 사용한다.
+ */
+@Slf4j
+class UserRowImporter {
+
+    /**
+     * 진행 로그 주기 (청크 수 기준)
+     */
+    private static final int PROGRESS_LOG_INTERVAL = 100;
+
+    private final SqlSession session;
+    private final UserMapper mapper;
+    private final Validator validator;
+    private final MemoryPressureGovernor memoryPressureGovernor;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    /**
+     * 생성일시가 없는 행에 넣을 값 (import 시작 시각)
+     */
+    private final LocalDateTime importedAt = LocalDateTime.now();
+    private final List<ImportRowError> errors = new ArrayList<>();
+
+    private UserColumn[] columns;
+    private int pending = 0;
+    private long totalRows = 0;
+    private long importedRows = 0;
+    private long rejectedRows = 0;
+    private long chunks = 0;
+
+    UserRowImporter(SqlSession session, Validator validator, MemoryPressureGovernor memoryPressureGovernor,
+                    int chunkSize, int maxErrors) {
+        this.session = session;
+        this.mapper = session.getMapper(UserMapper.class);
+        this.validator = validator;
+        this.memoryPressureGovernor = memoryPressureGovernor;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * 헤더 행으로 열 순서 결정 (XLSX는 시트마다 호출)
+     *
+     * @throws IllegalArgumentException 필수 열(사용자명, 이메일)이 없는 경우
+     */
+    void header(String[] cells) {
+        UserColumn[] mapped = new UserColumn[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            mapped[i] = UserColumn.fromHeader(cells[i]).orElse(null);
+        }
+
+        List<UserColumn> found = List.of(mapped).stream().filter(column -> column != null).toList();
+        if (!found.contains(UserColumn.USERNAME) || !found.contains(UserColumn.EMAIL)) {
+            throw new IllegalArgumentException("헤더 행에 필수 열(" + UserColumn.USERNAME.getHeader() + ", "
+                    + UserColumn.EMAIL.getHeader() + ")이 없습니다: " + String.join(",", cells));
+        }
+        if (columns == null) {
+            log.info("import 열 구성: {}", found);
+        }
+        columns = mapped;
+    }
+
+    /**
+     * 데이터 행 하나 처리 - 변환/검증에 실패하면 거부 사유만 기록하고 건너뜀
+     *
+     * @param sheet     시트 이름 (CSV는 null)
+     * @param rowNumber 파일에서의 행 번호 (1부터, 헤더 포함)
+     */
+    void row(String sheet, long rowNumber, String[] cells) {
+        if (isBlank(cells)) {
+            return;
+        }
+        totalRows++;
+
+        List<String> messages = new ArrayList<>();
+        UserDto user = toUser(cells, messages);
+        if (messages.isEmpty()) {
+            Set<ConstraintViolation<UserDto>> violations = validator.validate(user);
+            for (ConstraintViolation<UserDto> violation : violations) {
+                String property = violation.getPropertyPath().toString();
+                messages.add(UserColumn.fromHeader(property).map(UserColumn::getHeader).orElse(property)
+                        + ": " + violation.getMessage());
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            rejectedRows++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportRowError(sheet, rowNumber, messages));
+            }
+            return;
+        }
+
+        mapper.insertUser(user);
+        if (++pending == chunkSize) {
+            commitChunk();
+        }
+    }
+
+    /**
+     * 남은 행 커밋
+     */
+    void finish() {
+        commitChunk();
+    }
+
+    long getImportedRows() {
+        return importedRows;
+    }
+
+    ImportResult toResult(ExportFormat format, long elapsedMs) {
+        return ImportResult.builder()
+                .format(format.name())
+                .totalRows(totalRows)
+                .importedRows(importedRows)
+                .rejectedRows(rejectedRows)
+                .chunks(chunks)
+                .elapsedMs(elapsedMs)
+                .rowsPerSecond(elapsedMs > 0 ? importedRows * 1000 / elapsedMs : importedRows)
+                .errors(errors)
+                .errorsTruncated(rejectedRows > errors.size())
+                .build();
+    }
+
+    /**
+     * 쌓인 insert를 JDBC 배치로 실행하고 커밋
+     * 메모리 압박 중에는 다음 청크를 읽기 전에 쉼 (업로드 읽기도 함께 늦춰짐)
+     */
+    private void commitChunk() {
+        if (pending == 0) {
+            return;
+        }
+        session.commit();
+        session.clearCache();
+        importedRows += pending;
+        pending = 0;
+        chunks++;
+
+        if (chunks % PROGRESS_LOG_INTERVAL == 0) {
+            log.info("import 진행: {}건 저장, {}건 거부", importedRows, rejectedRows);
+        }
+
+        try {
+            memoryPressureGovernor.throttle();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("사용자 import 중단 - 저장 건수: " + importedRows, e);
+        }
+    }
+
+    private UserDto toUser(String[] cells, List<String> messages) {
+        UserDto user = new UserDto();
+        int count = Math.min(cells.length, columns.length);
+        for (int i = 0; i < count; i++) {
+            UserColumn column = columns[i];
+            String value = cells[i] != null ? cells[i].trim() : "";
+            if (column == null || value.isEmpty()) {
+                continue;
+            }
+            switch (column) {
+                case ID -> {
+                    // 새 ID로 저장
+                }
+                case USERNAME -> user.setUsername(value);
+                case EMAIL -> user.setEmail(value);
+                case DEPARTMENT -> user.setDepartment(value);
+                case AGE -> {
+                    try {
+                        user.setAge(Integer.parseInt(value));
+                    } catch (NumberFormatException e) {
+                        messages.add(column.getHeader() + ": 정수가 아닙니다: " + value);
+                    }
+                }
+                case CREATED_AT -> {
+                    try {
+                        user.setCreatedAt(parseDateTime(value));
+                    } catch (DateTimeParseException e) {
+                        messages.add(column.getHeader() + ": yyyy-MM-dd HH:mm:ss 형식이 아닙니다: " + value);
+                    }
+                }
+                case ACTIVE -> {
+                    Boolean active = parseBoolean(value);
+                    if (active == null) {
+                        messages.add(column.getHeader() + ": true/false가 아닙니다: " + value);
+                    }
+                    user.setActive(active);
+                }
+            }
+        }
+
+        // 테이블 기본값과 같게 (NULL을 명시하면 DEFAULT가 적용되지 않음)
+        if (user.getCreatedAt() == null) {
+            user.setCreatedAt(importedAt);
+        }
+        if (user.getActive() == null) {
+            user.setActive(Boolean.TRUE);
+        }
+        return user;
+    }
+
+    /**
+     * CsvWriter/SpreadsheetMlWriter 형식(yyyy-MM-dd HH:mm:ss), ISO 형식(T 구분), 날짜만 있는 형식 허용
+     */
+    private static LocalDateTime parseDateTime(String value) {
+        if (value.length() == 10) {
+            return LocalDate.parse(value).atStartOfDay();
+        }
+        return LocalDateTime.parse(value.replace(' ', 'T'));
+    }
+
+    private static Boolean parseBoolean(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "y" -> Boolean.TRUE;
+            case "false", "0", "n" -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+
+    private static boolean isBlank(String[] cells) {
+        for (String cell : cells) {
+            if (cell != null && !cell.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.UserDto;
+
+import java.io.IOException;
+
+/**
+ * 사용자 데이터 행 렌더러 공통 인터페이스
+ *
+ * ResultHandler/파이프라인 같은 조회 경로와 출력 형식(SXSSF, 직접 XML 등)을 분리해서
+ * 같은 조회 코드로 어떤 형식이든 렌더링할 수 있도록 함
+ */
+public interface UserRowWriter {
+
+    /**
+     * 사용자 데이터 한 건을 한 행으로 출력
+     */
+    void writeRow(UserDto user) throws IOException;
+
+    /**
+     * 컬럼형 배치의 행을 순서대로 출력
+     * 기본 구현은 행마다 UserDto로 바꿔 writeRow를 호출하고, 원시 값을 바로 쓸 수 있는 writer가 재정의한다.
+     */
+    default void writeBatch(UserBatch batch) throws IOException {
+        for (int row = 0; row < batch.size(); row++) {
+            writeRow(batch.toUserDto(row));
+        }
+    }
+
+    /**
+     * 지금까지 쓴 데이터 행 수 (헤더 제외)
+     */
+    int getRowCount();
+
+    /**
+     * 메모리 압박 단계 변경 반영 (메모리에 행을 쌓아 두는 writer만 재정의)
+     */
+    default void applyMemoryPressure(MemoryPressure pressure) throws IOException {
+    }
+}
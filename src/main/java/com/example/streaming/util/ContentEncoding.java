@@ -0,0 +1,142 @@
+package com.example.streaming.util;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.github.luben.zstd.util.Native;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 응답 본문 압축 방식 (HTTP Content-Encoding)
+ *
+ * negotiate()로 Accept-Encoding에서 클라이언트가 받을 수 있는 방식을 고르고,
+ * wrap()으로 출력 스트림을 압축 스트림으로 감싼다.
+ * 서버 선호 순서: zstd(사용 설정 + 네이티브 라이브러리 로드 가능할 때) → gzip → 압축 안 함
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor
+public enum ContentEncoding {
+
+    ZSTD("zstd") {
+        @Override
+        public OutputStream wrap(OutputStream out, int level, int bufferSize) throws IOException {
+            // zstd 스트림은 자체 버퍼(블록 크기)를 쓰므로 bufferSize는 사용하지 않음
+            return new ZstdOutputStream(out, level);
+        }
+    },
+
+    GZIP("gzip") {
+        @Override
+        public OutputStream wrap(OutputStream out, int level, int bufferSize) throws IOException {
+            return new LeveledGzipOutputStream(out, level, bufferSize);
+        }
+    },
+
+    IDENTITY("identity") {
+        @Override
+        public OutputStream wrap(OutputStream out, int level, int bufferSize) {
+            return out;
+        }
+    };
+
+    /**
+     * Content-Encoding 헤더 값
+     */
+    private final String token;
+
+    /**
+     * 출력 스트림을 압축 스트림으로 감쌈
+     * flush()는 지금까지 쓴 내용을 압축 블록으로 내보내고(첫 행 즉시 전송 유지), close()는 압축을 마무리하고 대상 스트림도 닫는다.
+     *
+     * @param level      압축 레벨 (gzip 1~9, zstd 1~22)
+     * @param bufferSize 압축 출력 버퍼 크기 (바이트)
+     */
+    public abstract OutputStream wrap(OutputStream out, int level, int bufferSize) throws IOException;
+
+    /**
+     * Accept-Encoding에서 응답 압축 방식 선택 (q=0은 거부로 처리)
+     * *는 목록에 따로 적지 않은 방식에만 적용 (RFC 9110 - "gzip;q=0, *"이면 gzip은 거부)
+     * zstd는 지원하지 않는 클라이언트가 많으므로 *로는 고르지 않고 명시한 경우에만 사용
+     *
+     * @param acceptEncoding 요청 헤더 값 (없으면 null)
+     * @param zstdEnabled    zstd 사용 여부 설정
+     */
+    public static ContentEncoding negotiate(String acceptEncoding, boolean zstdEnabled) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return IDENTITY;
+        }
+
+        // null: 목록에 없음, true/false: 명시적으로 허용/거부
+        Boolean gzip = null;
+        Boolean zstd = null;
+        boolean wildcard = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = isAccepted(tokens);
+            switch (coding) {
+                case "gzip", "x-gzip" -> gzip = accepted || Boolean.TRUE.equals(gzip);
+                case "zstd" -> zstd = accepted || Boolean.TRUE.equals(zstd);
+                case "*" -> wildcard = accepted;
+                default -> {
+                }
+            }
+        }
+
+        if (Boolean.TRUE.equals(zstd) && zstdEnabled && ZstdSupport.AVAILABLE) {
+            return ZSTD;
+        }
+        boolean gzipAccepted = gzip != null ? gzip : wildcard;
+        return gzipAccepted ? GZIP : IDENTITY;
+    }
+
+    private static boolean isAccepted(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String parameter = tokens[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) > 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * zstd 네이티브 라이브러리 로드 여부 (플랫폼에 맞는 라이브러리가 없으면 gzip으로 대체)
+     */
+    private static final class ZstdSupport {
+
+        private static final boolean AVAILABLE = load();
+
+        private static boolean load() {
+            try {
+                Native.load();
+                return true;
+            } catch (Throwable e) {
+                log.warn("zstd 네이티브 라이브러리를 로드할 수 없어 gzip만 사용합니다: {}", e.toString());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 압축 레벨과 버퍼 크기를 지정할 수 있는 gzip 스트림
+     * syncFlush: flush() 시 압축기에 남은 내용까지 내보냄 (스트리밍 응답의 첫 바이트 지연 방지)
+     */
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        private LeveledGzipOutputStream(OutputStream out, int level, int bufferSize) throws IOException {
+            super(out, bufferSize, true);
+            def.setLevel(level);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.streaming.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * RFC 4180 CSV 스트리밍 파서 (CsvWriter의 역방향)
+ *
+ * 채널에서 재사용 바이트 버퍼로 읽고, 버퍼 안에서 바로 필드 경계를 찾은 뒤 필드마다 UTF-8 String 하나만 만든다.
+ * 줄/문자 배열 같은 중간 복사본이 없고, 메모리는 버퍼 크기(가장 긴 레코드가 더 길면 그만큼)로 일정하다.
+ * - 큰따옴표로 감싼 필드: 쉼표/CR/LF 포함 가능, 안의 큰따옴표는 두 번 써서 이스케이프
+ * - 행 구분자: CRLF, LF, CR 모두 허용
+ * - 파일 맨 앞의 UTF-8 BOM은 건너뜀, 빈 줄은 무시
+ */
+public class CsvReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+    private ByteBuffer buffer;
+
+    /**
+     * 아직 해석하지 않은 데이터 시작 위치 / 읽어 둔 데이터 끝
+     */
+    private int position;
+    private int limit;
+    private boolean endOfInput = false;
+    private boolean started = false;
+
+    /**
+     * 현재 레코드의 필드 범위 (버퍼 안의 [start, end)), 이스케이프된 큰따옴표 포함 여부
+     */
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private boolean[] fieldEscaped = new boolean[16];
+    private int fieldCount;
+    private long recordNumber = 0;
+
+    public CsvReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvReader(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * 다음 레코드 읽기
+     *
+     * @return 필드 값 배열 (빈 필드는 빈 문자열), 입력 끝이면 null
+     * @throws CsvFormatException 닫히지 않은 큰따옴표 등 형식 오류
+     */
+    public String[] readRecord() throws IOException {
+        if (!started) {
+            started = true;
+            fill();
+            skipBom();
+        }
+
+        while (true) {
+            int end = parseRecord(position);
+            if (end >= 0) {
+                boolean blank = fieldCount == 1 && fieldStarts[0] == fieldEnds[0];
+                String[] record = blank ? null : decodeFields();
+                position = end;
+                if (record != null) {
+                    recordNumber++;
+                    return record;
+                }
+                continue;
+            }
+            if (endOfInput && position >= limit) {
+                return null;
+            }
+            // 레코드가 버퍼 끝에서 잘림 - 앞으로 당기고(필요하면 버퍼를 늘려서) 더 읽은 뒤 처음부터 다시 해석
+            compact();
+            fill();
+        }
+    }
+
+    /**
+     * 지금까지 읽은 레코드 수 (빈 줄 제외, 헤더 포함) - 방금 읽은 레코드의 번호
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * from부터 레코드 하나의 필드 경계를 찾음
+     *
+     * @return 레코드 다음 위치 (행 구분자 포함), 버퍼에 레코드가 다 들어 있지 않으면 -1
+     */
+    private int parseRecord(int from) {
+        byte[] bytes = buffer.array();
+        int i = from;
+        fieldCount = 0;
+
+        if (i >= limit) {
+            return -1;
+        }
+
+        while (true) {
+            if (i < limit && bytes[i] == '"') {
+                // 큰따옴표 필드 - 닫는 큰따옴표까지 (""는 이스케이프)
+                int start = i + 1;
+                boolean escaped = false;
+                int r = start;
+                while (true) {
+                    if (r >= limit) {
+                        if (endOfInput) {
+                            throw new CsvFormatException("닫히지 않은 큰따옴표 - 레코드 " + (recordNumber + 1));
+                        }
+                        return -1;
+                    }
+                    if (bytes[r] == '"') {
+                        if (r + 1 >= limit && !endOfInput) {
+                            return -1;
+                        }
+                        if (r + 1 < limit && bytes[r + 1] == '"') {
+                            escaped = true;
+                            r += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    r++;
+                }
+                addField(start, r, escaped);
+                i = r + 1;
+            } else {
+                int start = i;
+                while (i < limit && bytes[i] != ',' && bytes[i] != '\n' && bytes[i] != '\r') {
+                    i++;
+                }
+                if (i >= limit && !endOfInput) {
+                    return -1;
+                }
+                addField(start, i, false);
+            }
+
+            if (i >= limit) {
+                // 마지막 줄에 행 구분자 없음 (입력 끝이 아니면 더 읽어야 앎)
+                return endOfInput ? i : -1;
+            }
+            byte b = bytes[i];
+            if (b == ',') {
+                i++;
+                continue;
+            }
+            if (b == '\n') {
+                return i + 1;
+            }
+            if (b == '\r') {
+                if (i + 1 >= limit && !endOfInput) {
+                    return -1;
+                }
+                return i + 1 < limit && bytes[i + 1] == '\n' ? i + 2 : i + 1;
+            }
+            throw new CsvFormatException("닫는 큰따옴표 뒤에 구분자가 없습니다 - 레코드 " + (recordNumber + 1));
+        }
+    }
+
+    private void addField(int start, int end, boolean escaped) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+            fieldEscaped = Arrays.copyOf(fieldEscaped, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldEscaped[fieldCount] = escaped;
+        fieldCount++;
+    }
+
+    private String[] decodeFields() {
+        byte[] bytes = buffer.array();
+        String[] fields = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            String value = new String(bytes, fieldStarts[i], fieldEnds[i] - fieldStarts[i], StandardCharsets.UTF_8);
+            fields[i] = fieldEscaped[i] ? value.replace("\"\"", "\"") : value;
+        }
+        return fields;
+    }
+
+    /**
+     * 해석하지 않은 데이터를 버퍼 앞으로 옮김 - 버퍼가 레코드 하나로 가득 차 있으면 두 배로 늘림
+     */
+    private void compact() {
+        int remaining = limit - position;
+        if (position == 0 && limit == buffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+            larger.put(buffer.array(), 0, remaining);
+            buffer = larger;
+        } else {
+            System.arraycopy(buffer.array(), position, buffer.array(), 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+    }
+
+    /**
+     * 버퍼의 빈 공간을 채널에서 채움 (입력 끝이면 endOfInput)
+     */
+    private void fill() throws IOException {
+        buffer.clear().position(limit);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer);
+            if (read < 0) {
+                endOfInput = true;
+                break;
+            }
+            if (read == 0) {
+                break;
+            }
+        }
+        limit = buffer.position();
+    }
+
+    private void skipBom() {
+        byte[] bytes = buffer.array();
+        if (limit >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF) {
+            position = 3;
+        }
+    }
+
+    /**
+     * CSV 형식 오류 (잘못된 입력)
+     */
+    public static class CsvFormatException extends IllegalArgumentException {
+        public CsvFormatException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.streaming.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 매핑된 파일 위의 CSV 레코드 하나 (MappedCsvReader가 레코드마다 재사용)
+ *
+ * 필드는 매핑 버퍼 안의 [start, end) 범위로만 들고 있고, 값이 필요할 때 버퍼에서 바로 해석한다.
+ * 숫자/일시는 String을 만들지 않고 바이트에서 직접 변환하며, 문자열이 필요한 필드만 getString()으로 디코딩한다.
+ * 콜백 밖으로 가져가면 다음 레코드로 덮어써지므로 필요한 값은 콜백 안에서 꺼내야 한다.
+ */
+public final class CsvRecord {
+
+    private ByteBuffer buffer;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private boolean[] escaped = new boolean[16];
+    private int count;
+    private long endOffset;
+
+    CsvRecord() {
+    }
+
+    /**
+     * 필드 수
+     */
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty(int field) {
+        return field >= count || starts[field] == ends[field];
+    }
+
+    /**
+     * 필드 바이트 범위의 읽기 전용 뷰 (복사 없음, 큰따옴표 이스케이프는 그대로)
+     */
+    public ByteBuffer slice(int field) {
+        return buffer.slice(starts[field], ends[field] - starts[field]).asReadOnlyBuffer();
+    }
+
+    /**
+     * 필드 값 UTF-8 디코딩 (이스케이프된 큰따옴표 복원)
+     */
+    public String getString(int field) {
+        int length = ends[field] - starts[field];
+        byte[] bytes = new byte[length];
+        buffer.get(starts[field], bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        return escaped[field] ? value.replace("\"\"", "\"") : value;
+    }
+
+    /**
+     * ASCII 정수 필드를 바이트에서 바로 변환
+     *
+     * @throws NumberFormatException 정수가 아니거나 long 범위를 넘는 경우
+     */
+    public long getLong(int field) {
+        int i = starts[field];
+        int end = ends[field];
+        boolean negative = i < end && buffer.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == end) {
+            throw new NumberFormatException("정수가 아닙니다: " + getString(field));
+        }
+
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+                throw new NumberFormatException("정수가 아닙니다: " + getString(field));
+            }
+            // 음수로 누적해야 Long.MIN_VALUE까지 표현됨
+            value = value * 10 - digit;
+        }
+        if (!negative && value == Long.MIN_VALUE) {
+            throw new NumberFormatException("정수가 아닙니다: " + getString(field));
+        }
+        return negative ? value : -value;
+    }
+
+    /**
+     * @throws NumberFormatException 정수가 아니거나 int 범위를 넘는 경우
+     */
+    public int getInt(int field) {
+        long value = getLong(field);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("int 범위를 넘습니다: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * CsvWriter 형식(true/false) 불리언 - 1/0도 허용
+     *
+     * @throws IllegalArgumentException 불리언이 아닌 경우
+     */
+    public boolean getBoolean(int field) {
+        if (equalsAscii(field, "true") || equalsAscii(field, "1")) {
+            return true;
+        }
+        if (equalsAscii(field, "false") || equalsAscii(field, "0")) {
+            return false;
+        }
+        throw new IllegalArgumentException("true/false가 아닙니다: " + getString(field));
+    }
+
+    /**
+     * CsvWriter 형식(yyyy-MM-dd HH:mm:ss)은 바이트에서 바로, 그 밖의 ISO 형식은 문자열로 변환
+     *
+     * @throws java.time.format.DateTimeParseException 일시가 아닌 경우
+     */
+    public LocalDateTime getDateTime(int field) {
+        int s = starts[field];
+        if (ends[field] - s == 19 && buffer.get(s + 4) == '-' && buffer.get(s + 7) == '-'
+                && (buffer.get(s + 10) == ' ' || buffer.get(s + 10) == 'T')
+                && buffer.get(s + 13) == ':' && buffer.get(s + 16) == ':') {
+            int year = digits(s, 4);
+            int month = digits(s + 5, 2);
+            int day = digits(s + 8, 2);
+            int hour = digits(s + 11, 2);
+            int minute = digits(s + 14, 2);
+            int second = digits(s + 17, 2);
+            if ((year | month | day | hour | minute | second) >= 0) {
+                return LocalDateTime.of(year, month, day, hour, minute, second);
+            }
+        }
+        return LocalDateTime.parse(getString(field).replace(' ', 'T'));
+    }
+
+    /**
+     * 필드가 ASCII 문자열과 같은지 (디코딩 없이 바이트 비교)
+     */
+    public boolean equalsAscii(int field, String value) {
+        int start = starts[field];
+        if (ends[field] - start != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (buffer.get(start + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 모든 필드를 문자열로 (헤더 행 등)
+     */
+    public String[] toStrings() {
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = getString(i);
+        }
+        return values;
+    }
+
+    /**
+     * 파일에서 이 레코드 다음 위치 (행 구분자 포함)
+     */
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    void reset(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.count = 0;
+    }
+
+    void addField(int start, int end, boolean escapedQuotes) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+            escaped = Arrays.copyOf(escaped, count * 2);
+        }
+        starts[count] = start;
+        ends[count] = end;
+        escaped[count] = escapedQuotes;
+        count++;
+    }
+
+    void setEndOffset(long endOffset) {
+        this.endOffset = endOffset;
+    }
+
+    /**
+     * 빈 줄 (필드 하나, 내용 없음)
+     */
+    boolean isBlankLine() {
+        return count == 1 && starts[0] == ends[0];
+    }
+
+    /**
+     * 고정 길이 ASCII 숫자 - 숫자가 아닌 바이트가 있으면 -1
+     */
+    private int digits(int from, int length) {
+        int value = 0;
+        for (int i = from; i < from + length; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
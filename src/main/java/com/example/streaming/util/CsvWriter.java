@@ -0,0 +1,234 @@
+package com.example.streaming.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * RFC 4180 CSV 인코더
+ *
+ * 필드 값을 재사용 바이트 버퍼에 UTF-8로 직접 인코딩하고,
+ * 버퍼가 가득 차면 그대로 OutputStream에 흘려보낸다.
+ * 행/필드마다 String이나 byte[]를 새로 만들지 않으므로 처리 건수와 무관하게 메모리 사용량이 일정하다.
+ *
+ * 인용 규칙 (RFC 4180):
+ * - 쉼표, 큰따옴표, CR, LF가 포함된 필드만 큰따옴표로 감싼다
+ * - 필드 안의 큰따옴표는 두 번 써서 이스케이프한다
+ * - 행 구분자는 CRLF
+ */
+public class CsvWriter extends Utf8BufferedWriter {
+
+    /**
+     * Excel이 UTF-8 CSV를 인식하도록 파일 맨 앞에 붙이는 BOM
+     */
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private boolean firstField = true;
+
+    public CsvWriter(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvWriter(OutputStream out, int bufferSize) {
+        super(out, bufferSize);
+    }
+
+    /**
+     * UTF-8 BOM 출력 (첫 행을 쓰기 전에 호출)
+     */
+    public void writeBom() throws IOException {
+        writeBytes(UTF8_BOM);
+    }
+
+    /**
+     * 문자열 필드 출력 - null은 빈 필드로 처리
+     */
+    public void writeField(String value) throws IOException {
+        writeSeparator();
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        boolean quoted = needsQuoting(value);
+        if (quoted) {
+            writeByte('"');
+        }
+
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            if (value.charAt(i) == '"') {
+                writeByte('"');
+            }
+            i = writeChar(value, i);
+        }
+
+        if (quoted) {
+            writeByte('"');
+        }
+    }
+
+    /**
+     * 정수 필드 출력 - 중간 String 없이 숫자를 바로 버퍼에 기록
+     */
+    public void writeField(long value) throws IOException {
+        writeSeparator();
+        writeDigits(value);
+    }
+
+    /**
+     * 박싱 타입 정수 필드 출력 - null은 빈 필드로 처리
+     */
+    public void writeField(Number value) throws IOException {
+        if (value == null) {
+            writeSeparator();
+            return;
+        }
+        writeField(value.longValue());
+    }
+
+    /**
+     * 불리언 필드 출력 - null은 빈 필드로 처리
+     */
+    public void writeField(Boolean value) throws IOException {
+        writeSeparator();
+        if (value != null) {
+            writeAscii(value ? "true" : "false");
+        }
+    }
+
+    /**
+     * 일시 필드를 "yyyy-MM-dd HH:mm:ss" 형식으로 출력 (Excel이 날짜로 인식하는 형식)
+     */
+    public void writeField(LocalDateTime value) throws IOException {
+        writeSeparator();
+        if (value == null) {
+            return;
+        }
+        ensureCapacity(32);
+        writePadded(value.getYear(), 4);
+        buffer[position++] = '-';
+        writePadded(value.getMonthValue(), 2);
+        buffer[position++] = '-';
+        writePadded(value.getDayOfMonth(), 2);
+        buffer[position++] = ' ';
+        writePadded(value.getHour(), 2);
+        buffer[position++] = ':';
+        writePadded(value.getMinute(), 2);
+        buffer[position++] = ':';
+        writePadded(value.getSecond(), 2);
+    }
+
+    /**
+     * UTF-8로 인코딩해 둔 문자열 필드 출력 (인용 규칙은 writeField(String)과 같음)
+     * 큰따옴표/구분자는 모두 ASCII라 멀티바이트 문자 중간과 겹치지 않으므로 바이트 단위로 검사한다.
+     */
+    public void writeUtf8Field(byte[] utf8, int offset, int length) throws IOException {
+        writeSeparator();
+        if (length <= 0) {
+            return;
+        }
+
+        int end = offset + length;
+        if (!needsQuoting(utf8, offset, end)) {
+            writeBytes(utf8, offset, length);
+            return;
+        }
+
+        writeByte('"');
+        int start = offset;
+        for (int i = offset; i < end; i++) {
+            if (utf8[i] == '"') {
+                writeBytes(utf8, start, i - start + 1);
+                writeByte('"');
+                start = i + 1;
+            }
+        }
+        writeBytes(utf8, start, end - start);
+        writeByte('"');
+    }
+
+    /**
+     * 로컬 일시를 writeField(LocalDateTime)과 같은 형식으로 출력 - LocalDateTime 객체 없이 날짜를 계산
+     *
+     * @param localEpochMillis 로컬 시각 기준 1970-01-01T00:00부터의 밀리초
+     */
+    public void writeDateTimeField(long localEpochMillis) throws IOException {
+        writeSeparator();
+        long epochDay = Math.floorDiv(localEpochMillis, MILLIS_PER_DAY);
+        long secondOfDay = Math.floorMod(localEpochMillis, MILLIS_PER_DAY) / 1000;
+
+        // 그레고리력 일수 → 연/월/일 (H. Hinnant, civil_from_days)
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        ensureCapacity(32);
+        writePadded(year, 4);
+        buffer[position++] = '-';
+        writePadded(month, 2);
+        buffer[position++] = '-';
+        writePadded(day, 2);
+        buffer[position++] = ' ';
+        writePadded(secondOfDay / 3600, 2);
+        buffer[position++] = ':';
+        writePadded(secondOfDay / 60 % 60, 2);
+        buffer[position++] = ':';
+        writePadded(secondOfDay % 60, 2);
+    }
+
+    /**
+     * 빈 필드 출력 (null 값)
+     */
+    public void writeEmptyField() throws IOException {
+        writeSeparator();
+    }
+
+    /**
+     * 행 종료 (CRLF)
+     */
+    public void endRow() throws IOException {
+        ensureCapacity(2);
+        buffer[position++] = '\r';
+        buffer[position++] = '\n';
+        firstField = true;
+    }
+
+    private boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean needsQuoting(byte[] utf8, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = utf8[i];
+            if (b == ',' || b == '"' || b == '\r' || b == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeSeparator() throws IOException {
+        if (firstField) {
+            firstField = false;
+        } else {
+            writeByte(',');
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.streaming.util;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.service.ExcelUserWriter;
+import com.example.streaming.service.ExportFormat;
+import com.example.streaming.service.UserColumn;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * 메모리 XSSF Excel 유틸
+ *
+ * 워크북 전체를 힙에 만들고 완성된 파일을 바이트 배열로 한 번에 응답한다.
+ * 1. 임시파일 없음: SXSSF처럼 행을 디스크에 썼다가 workbook.write에서 다시 읽지 않음
+ * 2. Content-Length: 파일 크기를 알고 응답하므로 클라이언트가 진행률을 표시할 수 있음
+ * 3. 메모리: 행 수에 비례 (행당 셀 객체 수 KB) - 소량 export 전용 (ExportStrategySelector)
+ */
+@Slf4j
+public final class ExcelUtil {
+
+    /**
+     * 압축된 xlsx의 행당 예상 크기 - 출력 버퍼를 미리 잡아서 배열 복사(2배씩 증가)를 줄임
+     */
+    public static final int ESTIMATED_BYTES_PER_ROW = 48;
+
+    /**
+     * 행이 없어도 들어가는 xlsx 기본 파트(스타일, 워크북, 콘텐츠 타입 등) 크기
+     */
+    private static final int BASE_BYTES = 8 * 1024;
+
+    /**
+     * 미리 잡는 버퍼 상한 - 예상이 크게 빗나가도 이만큼만 먼저 할당하고 나머지는 필요할 때 늘림
+     */
+    private static final int MAX_INITIAL_BYTES = 64 * 1024 * 1024;
+
+    private ExcelUtil() {
+    }
+
+    /**
+     * 전체 열로 Excel 생성 후 응답 (조회 결과가 이미 List로 있는 경우)
+     *
+     * @param users    출력할 사용자
+     * @param response HTTP 응답 객체
+     */
+    public static void createExcel(List<UserDto> users, HttpServletResponse response) {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        try {
+            ExcelUserWriter writer = createUserSheet(workbook, UserColumn.ALL,
+                    SpreadsheetMlWriter.MAX_ROWS_PER_SHEET - 1);
+            for (UserDto user : users) {
+                writer.writeRow(user);
+            }
+            log.info("XSSFWorkbook 생성 완료 - {}건, 시트: {}개", writer.getRowCount(), writer.getSheetCount());
+
+            byte[] bytes = toBytes(workbook, users.size());
+            setHeaders(response, "users.xlsx", bytes.length);
+            OutputStream out = response.getOutputStream();
+            out.write(bytes);
+            out.flush();
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Excel 생성 실패", e);
+        } finally {
+            close(workbook);
+        }
+    }
+
+    /**
+     * 메모리 워크북에 사용자 시트 생성 (스타일은 미리 생성해서 재사용)
+     *
+     * @param maxRowsPerSheet 시트당 데이터 행 수 상한 - 넘으면 헤더가 있는 새 시트로 넘어감
+     */
+    public static ExcelUserWriter createUserSheet(Workbook workbook, List<UserColumn> columns, int maxRowsPerSheet) {
+        return new ExcelUserWriter(workbook.createSheet("사용자 목록"),
+                ExcelUserWriter.createHeaderStyle(workbook),
+                ExcelUserWriter.createDataStyle(workbook),
+                ExcelUserWriter.createDateStyle(workbook),
+                columns,
+                maxRowsPerSheet);
+    }
+
+    /**
+     * 워크북을 xlsx 바이트로 변환 - 예상 행 수로 출력 버퍼 크기를 미리 잡음
+     *
+     * @param expectedRows 예상 행 수 (버퍼 크기 계산용)
+     */
+    public static byte[] toBytes(Workbook workbook, long expectedRows) throws IOException {
+        long estimated = BASE_BYTES + Math.max(0, expectedRows) * ESTIMATED_BYTES_PER_ROW;
+        int initialSize = (int) Math.min(MAX_INITIAL_BYTES, estimated);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(initialSize);
+        workbook.write(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 완성된 xlsx 응답 헤더 (Content-Length 포함 - 본문을 쓰기 전에 호출)
+     */
+    public static void setHeaders(HttpServletResponse response, String filename, int contentLength) {
+        response.setContentType(ExportFormat.XLSX.getContentType());
+        response.setHeader("Content-Disposition", "attachment; filename=" + filename);
+        response.setContentLength(contentLength);
+    }
+
+    private static void close(Workbook workbook) {
+        try {
+            workbook.close();
+        } catch (IOException e) {
+            log.warn("워크북 정리 중 오류", e);
+        }
+    }
+}
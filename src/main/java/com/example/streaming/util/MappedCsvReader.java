@@ -0,0 +1,351 @@
+package com.example.streaming.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 메모리 매핑 CSV 리더 (로컬 디스크의 큰 CSV 파일용)
+ *
+ * CsvReader는 채널에서 힙 버퍼로 복사해 읽지만, 이 리더는 파일을 매핑해서 페이지 캐시를 그대로 해석한다.
+ * 1. 경계 탐색: 8바이트씩 읽어 구분자(쉼표/CR/LF)나 큰따옴표가 있는 자리를 SWAR 비트 연산으로 한 번에 찾음
+ *    (Java 17에는 정식 Vector API가 없어서 long 단위 병렬 비교로 대신함)
+ * 2. 필드: 매핑 버퍼 안의 범위만 기록한 CsvRecord를 레코드마다 재사용 (String은 꺼낼 때만 생성)
+ * 3. 병렬: split()으로 파일을 레코드 경계에 맞춘 바이트 범위로 나누면 범위마다 다른 스레드에서 read() 가능
+ *    (인스턴스의 상태는 채널뿐이고 FileChannel.map은 스레드 안전)
+ * 4. 큰 파일: int 범위를 넘는 파일도 읽을 수 있도록 windowSize씩 매핑하며 진행 (레코드 하나는 창보다 작아야 함)
+ *
+ * 형식은 CsvReader와 같다 (RFC 4180, CRLF/LF/CR, 맨 앞 BOM 건너뜀, 빈 줄 무시).
+ * 매핑은 GC가 버퍼를 회수할 때 해제되므로 매핑 중인 파일을 잘라내거나 덮어쓰면 안 된다.
+ */
+public class MappedCsvReader implements Closeable {
+
+    private static final long DEFAULT_WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+    private static final long COMMAS = ONES * ',';
+    private static final long QUOTES = ONES * '"';
+    private static final long LFS = ONES * '\n';
+    private static final long CRS = ONES * '\r';
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+
+    public MappedCsvReader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedCsvReader(Path path, long windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = Math.max(16, Math.min(windowSize, Integer.MAX_VALUE - 8));
+    }
+
+    /**
+     * 파일 크기 (바이트)
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * [from, 파일 끝)을 레코드 경계에 맞춘 parts개 이하의 범위로 나눔
+     *
+     * 균등 분할 지점에서 다음 LF로 넘어가되, 그 LF가 큰따옴표 필드 안에 있으면 경계가 아니므로
+     * 분할 지점까지의 큰따옴표 수 홀짝으로 필드 안인지를 판단한다 (큰따옴표 개수 세기도 SWAR).
+     * CR만 쓰는 파일은 LF가 없으므로 범위 하나가 된다.
+     *
+     * @param from 레코드 시작 위치 (보통 헤더 다음, CsvRecord.getEndOffset())
+     */
+    public List<Range> split(long from, int parts) throws IOException {
+        List<Range> ranges = new ArrayList<>();
+        long length = size - from;
+        if (parts <= 1 || length < (long) parts * 1024) {
+            ranges.add(new Range(from, size));
+            return ranges;
+        }
+
+        long start = from;
+        long segmentStart = from;
+        boolean inQuotes = false;
+        for (int i = 1; i < parts; i++) {
+            long target = from + length * i / parts;
+            if (target <= start) {
+                continue;
+            }
+            // 지난 분할 지점(또는 시작)부터 이번 분할 지점까지의 큰따옴표 홀짝
+            inQuotes ^= (countQuotes(segmentStart, target) & 1) == 1;
+            segmentStart = target;
+
+            long boundary = nextRecordStart(target, inQuotes);
+            if (boundary < 0 || boundary >= size) {
+                break;
+            }
+            // 경계까지 지나온 큰따옴표 반영
+            inQuotes ^= (countQuotes(target, boundary) & 1) == 1;
+            segmentStart = boundary;
+
+            ranges.add(new Range(start, boundary));
+            start = boundary;
+        }
+        ranges.add(new Range(start, size));
+        return ranges;
+    }
+
+    /**
+     * 범위 안의 레코드를 순서대로 읽음
+     *
+     * @return 읽은 레코드 수 (빈 줄 제외)
+     * @throws CsvReader.CsvFormatException 닫히지 않은 큰따옴표, 창보다 긴 레코드 등 형식 오류
+     */
+    public long read(Range range, RecordHandler handler) throws IOException {
+        CsvRecord record = new CsvRecord();
+        long records = 0;
+        long position = range.start();
+
+        while (position < range.end()) {
+            long length = Math.min(windowSize, size - position);
+            ByteBuffer buffer = map(position, length);
+            boolean endOfInput = position + length == size;
+            int limit = (int) length;
+
+            int i = 0;
+            if (position == 0) {
+                i = skipBom(buffer, limit);
+            }
+            while (position + i < range.end()) {
+                record.reset(buffer);
+                int end = parseRecord(buffer, i, limit, endOfInput, record);
+                if (end < 0) {
+                    if (i == 0) {
+                        throw new CsvReader.CsvFormatException(
+                                "레코드가 매핑 창(" + windowSize + "bytes)보다 깁니다 - offset " + position);
+                    }
+                    // 창 끝에서 잘린 레코드 - 레코드 시작부터 다시 매핑
+                    break;
+                }
+                record.setEndOffset(position + end);
+                i = end;
+                if (!record.isBlankLine()) {
+                    records++;
+                    if (!handler.record(record)) {
+                        return records;
+                    }
+                }
+            }
+            position += i;
+        }
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 레코드 단위 콜백 - record는 재사용되므로 콜백 안에서만 유효
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+
+        /**
+         * @return false면 읽기 중단
+         */
+        boolean record(CsvRecord record) throws IOException;
+    }
+
+    /**
+     * 파일 바이트 범위 [start, end) - start는 항상 레코드 시작
+     */
+    public record Range(long start, long end) {
+
+        public long length() {
+            return end - start;
+        }
+    }
+
+    /**
+     * from부터 레코드 하나의 필드 경계를 찾아 record에 기록 (CsvReader.parseRecord와 같은 규칙)
+     *
+     * @return 레코드 다음 위치, 창 안에 레코드가 다 들어 있지 않으면 -1
+     */
+    private static int parseRecord(ByteBuffer buffer, int from, int limit, boolean endOfInput, CsvRecord record) {
+        int i = from;
+        if (i >= limit) {
+            return -1;
+        }
+
+        while (true) {
+            if (i < limit && buffer.get(i) == '"') {
+                int start = i + 1;
+                boolean escaped = false;
+                int r = start;
+                while (true) {
+                    r = nextQuote(buffer, r, limit);
+                    if (r >= limit) {
+                        if (endOfInput) {
+                            throw new CsvReader.CsvFormatException("닫히지 않은 큰따옴표 - 범위 offset " + from);
+                        }
+                        return -1;
+                    }
+                    if (r + 1 >= limit && !endOfInput) {
+                        return -1;
+                    }
+                    if (r + 1 < limit && buffer.get(r + 1) == '"') {
+                        escaped = true;
+                        r += 2;
+                        continue;
+                    }
+                    break;
+                }
+                record.addField(start, r, escaped);
+                i = r + 1;
+            } else {
+                int start = i;
+                i = nextDelimiter(buffer, i, limit);
+                if (i >= limit && !endOfInput) {
+                    return -1;
+                }
+                record.addField(start, i, false);
+            }
+
+            if (i >= limit) {
+                return endOfInput ? i : -1;
+            }
+            byte b = buffer.get(i);
+            if (b == ',') {
+                i++;
+                continue;
+            }
+            if (b == '\n') {
+                return i + 1;
+            }
+            if (b == '\r') {
+                if (i + 1 >= limit && !endOfInput) {
+                    return -1;
+                }
+                return i + 1 < limit && buffer.get(i + 1) == '\n' ? i + 2 : i + 1;
+            }
+            throw new CsvReader.CsvFormatException("닫는 큰따옴표 뒤에 구분자가 없습니다 - 범위 offset " + from);
+        }
+    }
+
+    /**
+     * 다음 쉼표/CR/LF 위치 (없으면 limit)
+     */
+    private static int nextDelimiter(ByteBuffer buffer, int i, int limit) {
+        while (i + Long.BYTES <= limit) {
+            long word = buffer.getLong(i);
+            long found = matches(word, COMMAS) | matches(word, LFS) | matches(word, CRS);
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+            i += Long.BYTES;
+        }
+        for (; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == ',' || b == '\n' || b == '\r') {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * 다음 큰따옴표 위치 (없으면 limit)
+     */
+    private static int nextQuote(ByteBuffer buffer, int i, int limit) {
+        while (i + Long.BYTES <= limit) {
+            long found = matches(buffer.getLong(i), QUOTES);
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+            i += Long.BYTES;
+        }
+        for (; i < limit; i++) {
+            if (buffer.get(i) == '"') {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * word에서 pattern과 같은 바이트 자리의 최상위 비트만 1인 값
+     * (x - 0x01..) & ~x 방식과 달리 자리 내림이 없어서 일치한 바이트 뒤쪽에 오탐이 생기지 않음
+     */
+    static long matches(long word, long pattern) {
+        long x = word ^ pattern;
+        long t = (x & LOW7) + LOW7;
+        return ~(t | x | LOW7);
+    }
+
+    /**
+     * [from, to) 구간의 큰따옴표 수
+     */
+    private long countQuotes(long from, long to) throws IOException {
+        long count = 0;
+        long position = from;
+        while (position < to) {
+            long length = Math.min(windowSize, to - position);
+            ByteBuffer buffer = map(position, length);
+            int limit = (int) length;
+            int i = 0;
+            for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+                count += Long.bitCount(matches(buffer.getLong(i), QUOTES));
+            }
+            for (; i < limit; i++) {
+                if (buffer.get(i) == '"') {
+                    count++;
+                }
+            }
+            position += length;
+        }
+        return count;
+    }
+
+    /**
+     * from 이후 큰따옴표 필드 밖에 있는 첫 LF 다음 위치 (없으면 -1)
+     *
+     * @param inQuotes from 위치가 큰따옴표 필드 안인지
+     */
+    private long nextRecordStart(long from, boolean inQuotes) throws IOException {
+        long position = from;
+        while (position < size) {
+            long length = Math.min(windowSize, size - position);
+            ByteBuffer buffer = map(position, length);
+            int limit = (int) length;
+            for (int i = 0; i < limit; i++) {
+                byte b = buffer.get(i);
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                } else if (b == '\n' && !inQuotes) {
+                    return position + i + 1;
+                }
+            }
+            position += length;
+        }
+        return -1;
+    }
+
+    private ByteBuffer map(long position, long length) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int skipBom(ByteBuffer buffer, int limit) {
+        if (limit >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB
+                && buffer.get(2) == (byte) 0xBF) {
+            return 3;
+        }
+        return 0;
+    }
+}
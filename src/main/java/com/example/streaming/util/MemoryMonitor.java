@@ -3,6 +3,13 @@ package com.example.streaming.util;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * 메모리 사용량 모니터링 유틸리티
  *
@@ -12,6 +19,9 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @Component
 public class MemoryMonitor {
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
     /**
      * 현재 메모리 사용량을 MB 단위로 반환
      */
@@ -48,6 +58,19 @@ public class MemoryMonitor {
         return (double) usedMemory / maxMemory * 100;
     }
 
+    /**
+     * 힙 메모리 풀(Eden, Survivor, Old 등)별 사용량을 MB 단위로 반환
+     */
+    public Map<String, Long> getHeapPoolUsageMB() {
+        Map<String, Long> pools = new LinkedHashMap<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pools.put(pool.getName(), pool.getUsage().getUsed() / (1024 * 1024));
+            }
+        }
+        return pools;
+    }
+
     /**
      * 현재 메모리 상태를 로그로 출력
      */
@@ -61,4 +84,46 @@ public class MemoryMonitor {
         log.info(message);
     }
 
+    /**
+     * 처리 시간/처리량과 현재 메모리 상태를 함께 로그로 출력
+     * 같은 데이터로 방식별(기존/파이프라인 등) 소요 시간을 비교할 때 사용
+     */
+    public void logElapsed(String context, long elapsedMs, long rows) {
+        long rowsPerSecond = elapsedMs > 0 ? rows * 1000 / elapsedMs : rows;
+
+        String message = String.format("처리 시간 [%s] - %dms, %d건, %d건/초, 메모리 사용: %dMB (%.2f%%)",
+                context, elapsedMs, rows, rowsPerSecond, getCurrentMemoryUsageMB(), getMemoryUsagePercentage());
+        log.info(message);
+    }
+
+    /**
+     * 현재 스레드가 지금까지 힙에 할당한 누적 바이트 수 (HotSpot 전용, 지원하지 않으면 -1)
+     * 작업 전후 값의 차이로 해당 작업의 할당량(GC 부담)을 측정한다
+     */
+    public long getCurrentThreadAllocatedBytes() {
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean hotspot
+                && hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+            return hotspot.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /**
+     * 작업 중 할당량과 행당 할당량을 로그로 출력
+     * 같은 데이터로 렌더링 방식별(SXSSF/직접 XML 등) GC 부담을 비교할 때 사용
+     *
+     * @param startAllocatedBytes 작업 시작 시점의 getCurrentThreadAllocatedBytes() 값
+     */
+    public void logAllocation(String context, long startAllocatedBytes, long rows) {
+        long endAllocatedBytes = getCurrentThreadAllocatedBytes();
+        if (startAllocatedBytes < 0 || endAllocatedBytes < 0) {
+            return;
+        }
+        long allocated = endAllocatedBytes - startAllocatedBytes;
+        long perRow = rows > 0 ? allocated / rows : allocated;
+
+        String message = String.format("할당량 [%s] - 총 %dMB, %d건, 행당 %d bytes",
+                context, allocated / (1024 * 1024), rows, perRow);
+        log.info(message);
+    }
 }
@@ -0,0 +1,63 @@
+package com.example.streaming.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 앞부분을 버리고 나머지만 내보내는 출력 스트림 (끊긴 다운로드 이어받기용)
+ *
+ * 같은 내용을 처음(또는 체크포인트)부터 다시 생성하면서, 클라이언트가 이미 받은 바이트는
+ * 대상 스트림으로 보내지 않고 건너뛴다.
+ * getPosition()은 건너뛴 바이트를 포함한 전체 파일 기준 위치를 돌려준다.
+ */
+public class SkippingOutputStream extends FilterOutputStream {
+
+    private long remainingSkip;
+    private long position;
+
+    /**
+     * @param out           대상 스트림
+     * @param startPosition 이 스트림에 처음 쓰는 바이트의 파일 기준 위치
+     * @param skipBytes     대상 스트림으로 보내지 않고 버릴 바이트 수
+     */
+    public SkippingOutputStream(OutputStream out, long startPosition, long skipBytes) {
+        super(out);
+        if (startPosition < 0 || skipBytes < 0) {
+            throw new IllegalArgumentException("위치는 0 이상이어야 합니다: " + startPosition + ", " + skipBytes);
+        }
+        this.position = startPosition;
+        this.remainingSkip = skipBytes;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        position++;
+        if (remainingSkip > 0) {
+            remainingSkip--;
+            return;
+        }
+        out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        position += len;
+        if (remainingSkip > 0) {
+            int skipped = (int) Math.min(remainingSkip, len);
+            remainingSkip -= skipped;
+            off += skipped;
+            len -= skipped;
+        }
+        if (len > 0) {
+            out.write(b, off, len);
+        }
+    }
+
+    /**
+     * 지금까지 쓴 내용의 파일 기준 위치 (건너뛴 바이트 포함)
+     */
+    public long getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,576 @@
+package com.example.streaming.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * POI 없이 xlsx(SpreadsheetML) 패키지를 직접 쓰는 스트리밍 writer
+ *
+ * SXSSF는 행마다 Row/Cell 객체를 만들고 값을 박싱/문자열 변환한 뒤 다시 XML로 직렬화하지만,
+ * 이 writer는 원시 값을 재사용 바이트 버퍼에 바로 XML로 인코딩해서 ZIP 엔트리(시트 XML)에 흘려보낸다.
+ * 1. 셀 객체/임시파일 없음: 행 수와 무관하게 버퍼 하나만 사용
+ * 2. 스타일: 고정된 styles.xml의 인덱스(STYLE_*)를 그대로 사용
+ * 3. 날짜: 문자열 변환 없이 Excel 일련번호(1900 날짜 체계)로 기록
+ * 4. 문자열: 기본은 inlineStr (행 단위로 바로 쓸 수 있도록), 값 종류가 적은 열은 크기 제한이 있는
+ *    공유 문자열 테이블(sharedString → writeSharedString)로 인덱스만 기록하고 테이블은 close 때 씀
+ *
+ * 사용 순서: startSheet → (startRow → write* → endRow)* → [startSheet ...] → close
+ * close는 워크북/스타일/관계 파트를 쓰고 ZIP을 마무리하지만 대상 스트림은 닫지 않는다.
+ */
+public class SpreadsheetMlWriter extends Utf8BufferedWriter implements Closeable {
+
+    /**
+     * styles.xml의 cellXfs 인덱스
+     */
+    public static final int STYLE_DEFAULT = 0;
+    public static final int STYLE_HEADER = 1;
+    public static final int STYLE_DATA = 2;
+    public static final int STYLE_DATE = 3;
+
+    /**
+     * xlsx 시트의 최대 행 수
+     */
+    public static final int MAX_ROWS_PER_SHEET = 1_048_576;
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 공유 문자열 테이블 기본 크기 상한
+     */
+    public static final int DEFAULT_SHARED_STRING_LIMIT = 4096;
+
+    /**
+     * 1970-01-01의 Excel 일련번호 (1900 날짜 체계, 1900-02-29 버그 반영)
+     */
+    private static final long EPOCH_DAY_OFFSET = 25_569;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /**
+     * 하루 중 시각을 소수부로 쓸 때의 자릿수 (밀리초를 표현하기에 충분)
+     */
+    private static final int FRACTION_DIGITS = 10;
+    private static final long FRACTION_SCALE = 10_000_000_000L;
+
+    /**
+     * ZIP 엔트리 수정 시각 (DOS 시간 형식의 최솟값 이후 고정값)
+     */
+    private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String SPREADSHEETML_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String OFFICE_RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private static final byte[] SHEET_START = ascii(XML_DECLARATION
+            + "<worksheet xmlns=\"" + SPREADSHEETML_NS + "\"><sheetData>");
+    private static final byte[] SHEET_END = ascii("</sheetData></worksheet>");
+    private static final byte[] ROW_START = ascii("<row r=\"");
+    private static final byte[] ROW_END = ascii("</row>");
+    private static final byte[] CELL_START = ascii("<c r=\"");
+    private static final byte[] STYLE_ATTR = ascii("\" s=\"");
+    private static final byte[] NUMBER_OPEN = ascii("\"><v>");
+    private static final byte[] BOOLEAN_OPEN = ascii("\" t=\"b\"><v>");
+    private static final byte[] VALUE_CLOSE = ascii("</v></c>");
+    private static final byte[] INLINE_OPEN = ascii("\" t=\"inlineStr\"><is><t>");
+    private static final byte[] INLINE_OPEN_PRESERVE = ascii("\" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+    private static final byte[] INLINE_CLOSE = ascii("</t></is></c>");
+    private static final byte[] SHARED_OPEN = ascii("\" t=\"s\"><v>");
+    private static final byte[] BLANK_CLOSE = ascii("\"/>");
+
+    private static final String STYLES_XML = XML_DECLARATION
+            + "<styleSheet xmlns=\"" + SPREADSHEETML_NS + "\">"
+            + "<numFmts count=\"1\"><numFmt numFmtId=\"164\" formatCode=\"yyyy-mm-dd hh:mm:ss\"/></numFmts>"
+            + "<fonts count=\"2\">"
+            + "<font><sz val=\"11\"/><name val=\"Calibri\"/><family val=\"2\"/></font>"
+            + "<font><b/><sz val=\"12\"/><name val=\"Calibri\"/><family val=\"2\"/></font>"
+            + "</fonts>"
+            + "<fills count=\"3\">"
+            + "<fill><patternFill patternType=\"none\"/></fill>"
+            + "<fill><patternFill patternType=\"gray125\"/></fill>"
+            + "<fill><patternFill patternType=\"solid\"><fgColor indexed=\"22\"/><bgColor indexed=\"64\"/></patternFill></fill>"
+            + "</fills>"
+            + "<borders count=\"2\">"
+            + "<border><left/><right/><top/><bottom/><diagonal/></border>"
+            + "<border><left style=\"thin\"/><right style=\"thin\"/><top style=\"thin\"/><bottom style=\"thin\"/><diagonal/></border>"
+            + "</borders>"
+            + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+            + "<cellXfs count=\"4\">"
+            + "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+            + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"2\" borderId=\"1\" xfId=\"0\" applyFont=\"1\" applyFill=\"1\" applyBorder=\"1\"/>"
+            + "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"1\" xfId=\"0\" applyBorder=\"1\"/>"
+            + "<xf numFmtId=\"164\" fontId=\"0\" fillId=\"0\" borderId=\"1\" xfId=\"0\" applyNumberFormat=\"1\" applyBorder=\"1\"/>"
+            + "</cellXfs>"
+            + "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>"
+            + "</styleSheet>";
+
+    private static final String ROOT_RELS_XML = XML_DECLARATION
+            + "<Relationships xmlns=\"" + RELATIONSHIPS_NS + "\">"
+            + "<Relationship Id=\"rId1\" Type=\"" + OFFICE_RELATIONSHIPS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+            + "</Relationships>";
+
+    private final ZipOutputStream zip;
+    private final List<String> sheetNames = new ArrayList<>();
+
+    /**
+     * 공유 문자열 테이블 - 값 → 인덱스, 인덱스 순서의 값 (close 때 sharedStrings.xml로 기록)
+     */
+    private final Map<String, Integer> sharedStringIndexes = new HashMap<>();
+    private final List<String> sharedStrings = new ArrayList<>();
+    private int sharedStringLimit = DEFAULT_SHARED_STRING_LIMIT;
+    private long sharedStringRefs = 0;
+
+    private boolean sheetOpen = false;
+    private int rowIndex = 0;   // 현재 시트에서 마지막으로 시작한 행 번호 (1부터)
+    private int columnIndex = 0; // 현재 행에서 다음에 쓸 열 번호 (0부터)
+
+    public SpreadsheetMlWriter(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param bufferSize       XML 인코딩 버퍼 크기
+     * @param compressionLevel ZIP 압축 레벨 (Deflater.BEST_SPEED ~ BEST_COMPRESSION)
+     */
+    public SpreadsheetMlWriter(OutputStream out, int bufferSize, int compressionLevel) {
+        super(new ZipOutputStream(out, StandardCharsets.UTF_8), bufferSize);
+        this.zip = (ZipOutputStream) this.out;
+        this.zip.setLevel(compressionLevel);
+    }
+
+    /**
+     * 새 시트 시작 - 열려 있는 시트가 있으면 먼저 닫는다
+     *
+     * @param name 시트 이름 (Excel 제한: 31자 이하, []:*?/\ 불가)
+     */
+    public void startSheet(String name) throws IOException {
+        if (sheetOpen) {
+            endSheet();
+        }
+        sheetNames.add(name);
+        zip.putNextEntry(newEntry("xl/worksheets/sheet" + sheetNames.size() + ".xml"));
+        writeBytes(SHEET_START);
+        sheetOpen = true;
+        rowIndex = 0;
+    }
+
+    /**
+     * 새 행 시작
+     */
+    public void startRow() throws IOException {
+        if (!sheetOpen) {
+            throw new IllegalStateException("startSheet를 먼저 호출해야 합니다");
+        }
+        if (rowIndex >= MAX_ROWS_PER_SHEET) {
+            throw new IllegalStateException("시트 최대 행 수 초과: " + MAX_ROWS_PER_SHEET);
+        }
+        rowIndex++;
+        columnIndex = 0;
+        writeBytes(ROW_START);
+        writeDigits(rowIndex);
+        writeByte('"');
+        writeByte('>');
+    }
+
+    public void endRow() throws IOException {
+        writeBytes(ROW_END);
+    }
+
+    /**
+     * 숫자 셀
+     */
+    public void writeNumber(long value, int style) throws IOException {
+        writeCellStart(style);
+        writeBytes(NUMBER_OPEN);
+        writeDigits(value);
+        writeBytes(VALUE_CLOSE);
+    }
+
+    /**
+     * 박싱 타입 숫자 셀 - null은 스타일만 있는 빈 셀
+     */
+    public void writeNumber(Number value, int style) throws IOException {
+        if (value == null) {
+            writeBlank(style);
+            return;
+        }
+        writeNumber(value.longValue(), style);
+    }
+
+    /**
+     * 문자열 셀 (inlineStr) - null은 스타일만 있는 빈 셀
+     */
+    public void writeString(String value, int style) throws IOException {
+        if (value == null) {
+            writeBlank(style);
+            return;
+        }
+        writeCellStart(style);
+        writeBytes(needsSpacePreserve(value) ? INLINE_OPEN_PRESERVE : INLINE_OPEN);
+        writeEscaped(value);
+        writeBytes(INLINE_CLOSE);
+    }
+
+    /**
+     * UTF-8로 인코딩해 둔 문자열 셀 (이스케이프 규칙은 writeString과 같음)
+     * 앞뒤 공백 판단은 ASCII 공백 문자만 본다.
+     */
+    public void writeUtf8String(byte[] utf8, int offset, int length, int style) throws IOException {
+        if (length < 0) {
+            writeBlank(style);
+            return;
+        }
+        writeCellStart(style);
+        boolean preserve = length > 0 && (isAsciiWhitespace(utf8[offset]) || isAsciiWhitespace(utf8[offset + length - 1]));
+        writeBytes(preserve ? INLINE_OPEN_PRESERVE : INLINE_OPEN);
+        writeEscaped(utf8, offset, offset + length);
+        writeBytes(INLINE_CLOSE);
+    }
+
+    /**
+     * 공유 문자열 테이블의 인덱스 (처음 보는 값이면 추가)
+     *
+     * @return 인덱스, 테이블이 상한에 도달해서 추가할 수 없으면 -1 (호출한 쪽에서 inlineStr로 기록)
+     */
+    public int sharedString(String value) {
+        Integer index = sharedStringIndexes.get(value);
+        if (index != null) {
+            return index;
+        }
+        if (sharedStrings.size() >= sharedStringLimit) {
+            return -1;
+        }
+        int added = sharedStrings.size();
+        sharedStrings.add(value);
+        sharedStringIndexes.put(value, added);
+        return added;
+    }
+
+    /**
+     * 공유 문자열 셀 - sharedString()이 돌려준 인덱스만 기록
+     */
+    public void writeSharedString(int index, int style) throws IOException {
+        writeCellStart(style);
+        writeBytes(SHARED_OPEN);
+        writeDigits(index);
+        writeBytes(VALUE_CLOSE);
+        sharedStringRefs++;
+    }
+
+    /**
+     * 공유 문자열 테이블 크기 상한 (기본 DEFAULT_SHARED_STRING_LIMIT) - 이미 추가된 값은 유지
+     */
+    public void setSharedStringLimit(int limit) {
+        this.sharedStringLimit = Math.max(0, limit);
+    }
+
+    public int getSharedStringCount() {
+        return sharedStrings.size();
+    }
+
+    /**
+     * 불리언 셀 - null은 스타일만 있는 빈 셀
+     */
+    public void writeBoolean(Boolean value, int style) throws IOException {
+        if (value == null) {
+            writeBlank(style);
+            return;
+        }
+        writeCellStart(style);
+        writeBytes(BOOLEAN_OPEN);
+        writeByte(value ? '1' : '0');
+        writeBytes(VALUE_CLOSE);
+    }
+
+    /**
+     * 일시 셀 - Excel 일련번호로 기록 (날짜 표시 형식은 STYLE_DATE 같은 스타일이 담당)
+     *
+     * 정수부 = 1899-12-30부터의 일수, 소수부 = 하루 중 경과 비율.
+     * LocalDateTime의 내부 필드만 읽으므로 중간 객체가 생기지 않는다.
+     */
+    public void writeDate(LocalDateTime value, int style) throws IOException {
+        if (value == null) {
+            writeBlank(style);
+            return;
+        }
+        writeSerial(value.toLocalDate().toEpochDay(), value.toLocalTime().toNanoOfDay() / 1_000_000, style);
+    }
+
+    /**
+     * 일시 셀 - 로컬 시각 기준 1970-01-01T00:00부터의 밀리초로 받음 (컬럼형 배치용)
+     */
+    public void writeDate(long localEpochMillis, int style) throws IOException {
+        writeSerial(Math.floorDiv(localEpochMillis, MILLIS_PER_DAY), Math.floorMod(localEpochMillis, MILLIS_PER_DAY), style);
+    }
+
+    private void writeSerial(long epochDay, long millisOfDay, int style) throws IOException {
+        writeCellStart(style);
+        writeBytes(NUMBER_OPEN);
+        writeDigits(epochDay + EPOCH_DAY_OFFSET);
+
+        long fraction = millisOfDay * FRACTION_SCALE / MILLIS_PER_DAY;
+        if (fraction > 0) {
+            int width = FRACTION_DIGITS;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                width--;
+            }
+            ensureCapacity(FRACTION_DIGITS + 1);
+            buffer[position++] = '.';
+            writePadded(fraction, width);
+        }
+        writeBytes(VALUE_CLOSE);
+    }
+
+    /**
+     * 값 없이 스타일만 있는 셀
+     */
+    public void writeBlank(int style) throws IOException {
+        writeCellStart(style);
+        writeBytes(BLANK_CLOSE);
+    }
+
+    /**
+     * 현재 시트에 쓴 행 수 (헤더 포함)
+     */
+    public int getRowCount() {
+        return rowIndex;
+    }
+
+    public int getSheetCount() {
+        return sheetNames.size();
+    }
+
+    /**
+     * 열린 시트를 닫고 워크북 파트를 쓴 뒤 ZIP을 마무리 (대상 스트림은 닫지 않음)
+     */
+    @Override
+    public void close() throws IOException {
+        if (sheetOpen) {
+            endSheet();
+        }
+        if (sheetNames.isEmpty()) {
+            startSheet("Sheet1");
+            endSheet();
+        }
+
+        writeEntry("[Content_Types].xml", contentTypesXml());
+        writeEntry("_rels/.rels", ROOT_RELS_XML);
+        writeEntry("xl/workbook.xml", workbookXml());
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRelsXml());
+        writeEntry("xl/styles.xml", STYLES_XML);
+        if (!sharedStrings.isEmpty()) {
+            writeSharedStrings();
+        }
+
+        zip.finish();
+        zip.flush();
+    }
+
+    /**
+     * 공유 문자열 파트 - 값이 많을 수 있으므로 문자열로 모으지 않고 버퍼로 바로 기록
+     */
+    private void writeSharedStrings() throws IOException {
+        zip.putNextEntry(newEntry("xl/sharedStrings.xml"));
+        writeAscii(XML_DECLARATION + "<sst xmlns=\"" + SPREADSHEETML_NS + "\" count=\"" + sharedStringRefs
+                + "\" uniqueCount=\"" + sharedStrings.size() + "\">");
+        for (String value : sharedStrings) {
+            writeAscii(needsSpacePreserve(value) ? "<si><t xml:space=\"preserve\">" : "<si><t>");
+            writeEscaped(value);
+            writeAscii("</t></si>");
+        }
+        writeAscii("</sst>");
+        flushBuffer();
+        zip.closeEntry();
+    }
+
+    private void endSheet() throws IOException {
+        writeBytes(SHEET_END);
+        flushBuffer();
+        zip.closeEntry();
+        sheetOpen = false;
+    }
+
+    /**
+     * &lt;c r="B12" s="2" 까지 기록
+     */
+    private void writeCellStart(int style) throws IOException {
+        writeBytes(CELL_START);
+        writeColumnName(columnIndex++);
+        writeDigits(rowIndex);
+        writeBytes(STYLE_ATTR);
+        writeDigits(style);
+    }
+
+    /**
+     * 열 번호(0부터)를 A, B, ..., Z, AA, ... 형식으로 기록
+     */
+    private void writeColumnName(int column) throws IOException {
+        ensureCapacity(3);
+        int letters = 1;
+        for (int n = column / 26; n > 0; n = (n - 1) / 26) {
+            letters++;
+        }
+        int n = column + 1;
+        for (int i = position + letters - 1; i >= position; i--) {
+            int remainder = (n - 1) % 26;
+            buffer[i] = (byte) ('A' + remainder);
+            n = (n - 1) / 26;
+        }
+        position += letters;
+    }
+
+    /**
+     * XML 텍스트 이스케이프 후 UTF-8로 기록
+     * XML 1.0에서 허용되지 않는 제어 문자는 건너뛴다
+     */
+    private void writeEscaped(String value) throws IOException {
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> writeAscii("&amp;");
+                case '<' -> writeAscii("&lt;");
+                case '>' -> writeAscii("&gt;");
+                default -> {
+                    if ((c < 0x20 && c != '\t' && c != '\n' && c != '\r') || c == 0xFFFE || c == 0xFFFF) {
+                        i++;
+                        continue;
+                    }
+                    i = writeChar(value, i);
+                    continue;
+                }
+            }
+            i++;
+        }
+    }
+
+    /**
+     * UTF-8 바이트 XML 이스케이프 - 특수 문자와 제어 문자는 모두 ASCII라 바이트 단위로 처리하고,
+     * 그 밖의 구간은 그대로 복사 (U+FFFE, U+FFFF는 3바이트 시퀀스로 찾아서 건너뜀)
+     */
+    private void writeEscaped(byte[] utf8, int from, int to) throws IOException {
+        int start = from;
+        int i = from;
+        while (i < to) {
+            int b = utf8[i] & 0xFF;
+            int skip = 0;
+            String entity = null;
+            if (b == '&') {
+                entity = "&amp;";
+            } else if (b == '<') {
+                entity = "&lt;";
+            } else if (b == '>') {
+                entity = "&gt;";
+            } else if (b < 0x20 && b != '\t' && b != '\n' && b != '\r') {
+                skip = 1;
+            } else if (b == 0xEF && i + 2 < to && (utf8[i + 1] & 0xFF) == 0xBF && (utf8[i + 2] & 0xFE) == 0xBE) {
+                skip = 3;
+            }
+
+            if (entity == null && skip == 0) {
+                i++;
+                continue;
+            }
+            writeBytes(utf8, start, i - start);
+            if (entity != null) {
+                writeAscii(entity);
+                i++;
+            } else {
+                i += skip;
+            }
+            start = i;
+        }
+        writeBytes(utf8, start, to - start);
+    }
+
+    private static boolean isAsciiWhitespace(byte b) {
+        return b == ' ' || (b >= 0x09 && b <= 0x0D) || (b >= 0x1C && b <= 0x1F);
+    }
+
+    private boolean needsSpacePreserve(String value) {
+        return !value.isEmpty()
+                && (Character.isWhitespace(value.charAt(0)) || Character.isWhitespace(value.charAt(value.length() - 1)));
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(newEntry(name));
+        int i = 0;
+        while (i < content.length()) {
+            i = writeChar(content, i);
+        }
+        flushBuffer();
+        zip.closeEntry();
+    }
+
+    /**
+     * 엔트리 수정 시각을 고정해서 같은 데이터면 같은 바이트가 나오도록 함 (이어받기 시 재생성 결과 비교)
+     */
+    private static ZipEntry newEntry(String name) {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTimeLocal(ENTRY_TIME);
+        return entry;
+    }
+
+    private String contentTypesXml() {
+        StringBuilder xml = new StringBuilder(XML_DECLARATION)
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+                .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            xml.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        if (!sharedStrings.isEmpty()) {
+            xml.append("<Override PartName=\"/xl/sharedStrings.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>");
+        }
+        return xml.append("</Types>").toString();
+    }
+
+    private String workbookXml() {
+        StringBuilder xml = new StringBuilder(XML_DECLARATION)
+                .append("<workbook xmlns=\"").append(SPREADSHEETML_NS)
+                .append("\" xmlns:r=\"").append(OFFICE_RELATIONSHIPS).append("\"><sheets>");
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            xml.append("<sheet name=\"").append(escapeAttribute(sheetNames.get(i - 1)))
+                    .append("\" sheetId=\"").append(i).append("\" r:id=\"rId").append(i).append("\"/>");
+        }
+        return xml.append("</sheets></workbook>").toString();
+    }
+
+    private String workbookRelsXml() {
+        StringBuilder xml = new StringBuilder(XML_DECLARATION)
+                .append("<Relationships xmlns=\"").append(RELATIONSHIPS_NS).append("\">");
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            xml.append("<Relationship Id=\"rId").append(i).append("\" Type=\"").append(OFFICE_RELATIONSHIPS)
+                    .append("/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        }
+        xml.append("<Relationship Id=\"rId").append(sheetNames.size() + 1).append("\" Type=\"")
+                .append(OFFICE_RELATIONSHIPS).append("/styles\" Target=\"styles.xml\"/>");
+        if (!sharedStrings.isEmpty()) {
+            xml.append("<Relationship Id=\"rId").append(sheetNames.size() + 2).append("\" Type=\"")
+                    .append(OFFICE_RELATIONSHIPS).append("/sharedStrings\" Target=\"sharedStrings.xml\"/>");
+        }
+        return xml.append("</Relationships>").toString();
+    }
+
+    private static String escapeAttribute(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
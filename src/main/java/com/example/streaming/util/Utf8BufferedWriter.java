@@ -0,0 +1,178 @@
+package com.example.streaming.util;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 재사용 바이트 버퍼 기반 UTF-8 출력 기반 클래스
+ *
+ * 문자/숫자를 버퍼에 UTF-8로 직접 인코딩하고 버퍼가 차면 OutputStream으로 흘려보낸다.
+ * 값마다 String/byte[]를 새로 만들지 않으므로 출력량과 무관하게 할당이 일정하다.
+ * 형식별 이스케이프 규칙(CSV 인용, XML 엔티티)은 하위 클래스가 담당한다.
+ */
+public abstract class Utf8BufferedWriter implements Flushable {
+
+    /**
+     * 문자 하나를 쓸 때 필요한 최대 바이트 수 (서로게이트 쌍 4바이트)
+     */
+    protected static final int MAX_CHAR_BYTES = 4;
+
+    protected final OutputStream out;
+    protected final byte[] buffer;
+    protected int position = 0;
+
+    /**
+     * 지금까지 OutputStream으로 내보낸 바이트 수
+     */
+    private long flushedBytes = 0;
+
+    protected Utf8BufferedWriter(OutputStream out, int bufferSize) {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("bufferSize는 64 이상이어야 합니다: " + bufferSize);
+        }
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * 지금까지 쓴 총 바이트 수 (버퍼에 남은 것 포함)
+     */
+    public long getBytesWritten() {
+        return flushedBytes + position;
+    }
+
+    /**
+     * 버퍼에 쌓인 내용을 OutputStream으로 내보내고 flush
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * value[index]의 문자 하나를 UTF-8로 기록 (이스케이프 없음)
+     *
+     * @return 다음에 읽을 인덱스 (서로게이트 쌍이면 2칸 전진)
+     */
+    protected final int writeChar(CharSequence value, int index) throws IOException {
+        char c = value.charAt(index);
+        ensureCapacity(MAX_CHAR_BYTES);
+
+        if (c < 0x80) {
+            buffer[position++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+            buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            return index + 2;
+        } else if (Character.isSurrogate(c)) {
+            // 짝이 맞지 않는 서로게이트는 '?'로 대체 (String.getBytes와 동일한 동작)
+            buffer[position++] = '?';
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return index + 1;
+    }
+
+    protected final void writeByte(int b) throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = (byte) b;
+    }
+
+    /**
+     * ASCII 전용 문자열 기록 (태그, 상수 등)
+     */
+    protected final void writeAscii(String value) throws IOException {
+        int length = value.length();
+        int offset = 0;
+        while (offset < length) {
+            ensureCapacity(1);
+            int chunk = Math.min(length - offset, buffer.length - position);
+            for (int i = 0; i < chunk; i++) {
+                buffer[position++] = (byte) value.charAt(offset + i);
+            }
+            offset += chunk;
+        }
+    }
+
+    /**
+     * 미리 인코딩해 둔 바이트 기록
+     */
+    protected final void writeBytes(byte[] bytes) throws IOException {
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    protected final void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+        if (length > buffer.length) {
+            flushBuffer();
+            out.write(bytes, offset, length);
+            flushedBytes += length;
+            return;
+        }
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    /**
+     * 정수 기록 - 중간 String 없이 숫자를 바로 버퍼에 씀
+     */
+    protected final void writeDigits(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+
+        // 뒤에서부터 자릿수를 채운 뒤 position 이동
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        position = end;
+    }
+
+    /**
+     * 0으로 왼쪽을 채운 고정 폭 정수 기록 (호출 전에 ensureCapacity 필요)
+     */
+    protected final void writePadded(long value, int width) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        position += width;
+    }
+
+    protected final void ensureCapacity(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    protected final void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            flushedBytes += position;
+            position = 0;
+        }
+    }
+}
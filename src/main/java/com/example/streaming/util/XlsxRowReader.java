@@ -0,0 +1,123 @@
+package com.example.streaming.util;
+
+import org.apache.poi.ooxml.util.XMLHelper;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * xlsx 스트리밍 리더 (POI SAX 이벤트 API)
+ *
+ * XSSFWorkbook처럼 시트 전체를 객체로 올리지 않고, 시트 XML을 SAX로 읽으면서 행마다 셀 값 배열을 넘긴다.
+ * 메모리는 행 하나 + 공유 문자열 테이블(SST) 크기다. SST는 시작할 때 전부 메모리에 올리므로
+ * 공유 문자열이 많은 파일(엑셀에서 저장한 파일)은 그만큼 더 쓴다.
+ * 이 프로젝트의 직접 XML export도 공유 문자열을 쓰지만 테이블 크기는 export.xlsx.shared-string-limit개 이하다.
+ * 셀 값은 셀 서식을 적용한 문자열 (날짜는 서식대로, 불리언은 TRUE/FALSE)이고 빈 셀은 빈 문자열이다.
+ * 파일은 ZIP 중앙 디렉터리로 시트 파트를 바로 찾을 수 있도록 경로로 연다 (InputStream으로 열면 전체를 메모리에 올림).
+ */
+public final class XlsxRowReader {
+
+    private XlsxRowReader() {
+    }
+
+    /**
+     * 모든 시트의 모든 행을 순서대로 읽음
+     */
+    public static void read(File file, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+            XSSFReader reader = new XSSFReader(pkg);
+            StylesTable styles = reader.getStylesTable();
+            DataFormatter formatter = new DataFormatter();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            int sheetIndex = 0;
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings,
+                            new RowCollector(sheetIndex, sheets.getSheetName(), handler), formatter, false));
+                    parser.parse(new InputSource(sheet));
+                }
+                sheetIndex++;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("xlsx 읽기 실패: " + file.getName(), e);
+        }
+    }
+
+    /**
+     * 행 단위 콜백
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+
+        /**
+         * @param sheetIndex 시트 순서 (0부터)
+         * @param sheetName  시트 이름
+         * @param rowIndex   시트 안의 행 번호 (0부터, 빈 행은 건너뛰므로 연속되지 않을 수 있음)
+         * @param cells      열 순서대로의 셀 값 (빈 셀은 빈 문자열)
+         */
+        void row(int sheetIndex, String sheetName, int rowIndex, String[] cells) throws IOException;
+    }
+
+    /**
+     * SAX 셀 이벤트를 행 단위 배열로 모음 (빈 셀은 이벤트가 없으므로 셀 참조의 열 번호로 자리를 맞춤)
+     */
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final int sheetIndex;
+        private final String sheetName;
+        private final RowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+
+        private RowCollector(int sheetIndex, String sheetName, RowHandler handler) {
+            this.sheetIndex = sheetIndex;
+            this.sheetName = sheetName;
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            try {
+                handler.row(sheetIndex, sheetName, rowNum, cells.toArray(new String[0]));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : cells.size();
+            if (column > cells.size()) {
+                cells.addAll(Collections.nCopies(column - cells.size(), ""));
+            }
+            cells.add(formattedValue != null ? formattedValue : "");
+        }
+    }
+}
@@ -5,6 +5,16 @@ CREATE TABLE IF NOT EXISTS users (
                                      email VARCHAR(100) NOT NULL,
                                      age INTEGER,
                                      department VARCHAR(50),
-                                     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
                                      active BOOLEAN DEFAULT TRUE
-);
\ No newline at end of file
+);
+
+-- keyset 페이지 조회용 (created_at, id) 인덱스 - export 정렬 순서와 같은 내림차순
+-- 페이지 경계는 이 인덱스만 읽어서 찾고 (정렬 없음), 본문 컬럼은 PK로 가져옴
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users (created_at DESC, id DESC);
+
+-- export 조건용 인덱스
+-- 부서 조건 + created_at 정렬: 부서 범위 안에서 이미 정렬된 순서로 읽음
+CREATE INDEX IF NOT EXISTS idx_users_department_created_at ON users (department, created_at DESC);
+-- 나이 범위 조건
+CREATE INDEX IF NOT EXISTS idx_users_age ON users (age);
@@ -0,0 +1,73 @@
+package com.example.streaming.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExportClientResolverTest {
+
+	private final ExportProperties properties = new ExportProperties();
+
+	@Test
+	void headerFromUntrustedAddressIsIgnored() {
+		ExportClientResolver resolver = new ExportClientResolver(properties);
+
+		assertThat(resolver.resolve(request("203.0.113.7", "dashboard"))).isEqualTo("203.0.113.7");
+		assertThat(resolver.resolve(request("203.0.113.7", "another-id"))).isEqualTo("203.0.113.7");
+	}
+
+	@Test
+	void headerFromTrustedProxyIsUsed() {
+		properties.getAdmission().setTrustedProxies(List.of("10.0.0.0/8", "192.168.1.10"));
+		ExportClientResolver resolver = new ExportClientResolver(properties);
+
+		assertThat(resolver.resolve(request("10.1.2.3", " dashboard "))).isEqualTo("dashboard");
+		assertThat(resolver.resolve(request("192.168.1.10", "reporting-batch"))).isEqualTo("reporting-batch");
+		assertThat(resolver.resolve(request("192.168.1.11", "reporting-batch"))).isEqualTo("192.168.1.11");
+		assertThat(resolver.resolve(request("11.0.0.1", "dashboard"))).isEqualTo("11.0.0.1");
+		// 프록시를 거쳤지만 헤더가 없으면 프록시 주소
+		assertThat(resolver.resolve(request("10.1.2.3", null))).isEqualTo("10.1.2.3");
+	}
+
+	@Test
+	void partialPrefixMatchesOnlyNetworkBits() {
+		properties.getAdmission().setTrustedProxies(List.of("172.16.0.0/12"));
+		ExportClientResolver resolver = new ExportClientResolver(properties);
+
+		assertThat(resolver.resolve(request("172.31.255.1", "dashboard"))).isEqualTo("dashboard");
+		assertThat(resolver.resolve(request("172.32.0.1", "dashboard"))).isEqualTo("172.32.0.1");
+	}
+
+	@Test
+	void authenticatedRequestUsesHeaderOrPrincipal() {
+		ExportClientResolver resolver = new ExportClientResolver(properties);
+
+		MockHttpServletRequest withHeader = request("203.0.113.7", "dashboard");
+		withHeader.setUserPrincipal(() -> "alice");
+		MockHttpServletRequest withoutHeader = request("203.0.113.7", null);
+		withoutHeader.setUserPrincipal(() -> "alice");
+
+		assertThat(resolver.resolve(withHeader)).isEqualTo("dashboard");
+		assertThat(resolver.resolve(withoutHeader)).isEqualTo("alice");
+	}
+
+	@Test
+	void invalidTrustedProxyFailsAtStartup() {
+		properties.getAdmission().setTrustedProxies(List.of("10.0.0.0/33"));
+
+		assertThatThrownBy(() -> new ExportClientResolver(properties)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static MockHttpServletRequest request(String remoteAddress, String clientId) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/test/excel/streaming");
+		request.setRemoteAddr(remoteAddress);
+		if (clientId != null) {
+			request.addHeader("X-Client-Id", clientId);
+		}
+		return request;
+	}
+}
@@ -0,0 +1,142 @@
+package com.example.streaming.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시 export 부하 벤치마크
+ *
+ * 동시 요청 수를 단계적으로 늘리면서 /excel/streaming, /csv/streaming 의
+ * 성공 건수, 지연시간(p50/p99), 처리량, 최고 스레드 수를 출력한다.
+ * 같은 테스트를 플랫폼 스레드(기본 Tomcat 풀)와 가상 스레드 모드로 각각 실행해서 비교한다.
+ * 요청이 모두 같은 클라이언트(localhost)에서 오므로, 수락 제어가 요청을 직렬화하지 않도록
+ * 커넥션 풀과 수락 제어 상한을 최대 동시 요청 수보다 크게 잡는다.
+ *
+ * 실행:
+ *   ./gradlew performanceTest --tests '*ConcurrentExportLoadTest'
+ *   ./gradlew performanceTest --tests '*ConcurrentExportLoadTest' -PjavaVersion=21 -Dspring.threads.virtual.enabled=true
+ *
+ * 옵션: -Dload.rows=20000 -Dload.levels=10,50,100,200
+ */
+@Tag("performance")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.hikari.maximum-pool-size=220",
+		"export.pipeline.fetch-threads=210",
+		"export.admission.max-concurrent=250",
+		"export.admission.max-per-client=250",
+		"export.admission.connection-budget=210",
+		"export.admission.max-queue=500",
+		"export.admission.queue-timeout=5m"
+})
+class ConcurrentExportLoadTest {
+
+	private static final int ROWS = Integer.getInteger("load.rows", 20_000);
+	private static final int[] LEVELS = Arrays.stream(System.getProperty("load.levels", "10,50,100,200").split(","))
+			.mapToInt(Integer::parseInt)
+			.toArray();
+
+	private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+	private final HttpClient client = HttpClient.newBuilder()
+			.connectTimeout(Duration.ofSeconds(10))
+			.build();
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void seedUsers() {
+		Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+		if (count != null && count >= ROWS) {
+			return;
+		}
+		jdbcTemplate.update("""
+				INSERT INTO users (username, email, age, department, created_at, active)
+				SELECT CONCAT('user_', x), CONCAT('user', x, '@company.com'), 20 + MOD(x, 40),
+				       'Engineering', DATEADD('DAY', -MOD(x, 365), CURRENT_TIMESTAMP), TRUE
+				FROM SYSTEM_RANGE(1, ?)
+				""", ROWS);
+	}
+
+	@Test
+	void concurrentStreamingDownloads() throws Exception {
+		boolean virtual = Boolean.getBoolean("spring.threads.virtual.enabled");
+		System.out.printf("%n=== 동시 export 부하 (%s 스레드, Java %s, %d건) ===%n",
+				virtual ? "가상" : "플랫폼", Runtime.version().feature(), ROWS);
+		System.out.println("endpoint            동시요청  성공  실패  p50(ms)  p99(ms)  req/s  최고스레드");
+
+		for (String path : List.of("/test/excel/streaming", "/test/csv/streaming")) {
+			for (int level : LEVELS) {
+				LoadResult result = run(path, level);
+				System.out.printf("%-20s %7d %5d %5d %8d %8d %6.1f %10d%n",
+						path, level, result.succeeded(), result.failed(),
+						result.p50Ms(), result.p99Ms(), result.requestsPerSecond(), result.peakThreads());
+
+				// 적은 동시 요청은 모두 성공해야 함
+				if (level <= 10) {
+					assertThat(result.failed()).isZero();
+				}
+			}
+		}
+	}
+
+	private LoadResult run(String path, int concurrency) {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.timeout(Duration.ofMinutes(5))
+				.build();
+
+		threadMXBean.resetPeakThreadCount();
+		long start = System.nanoTime();
+
+		List<CompletableFuture<Long>> calls = new ArrayList<>(concurrency);
+		for (int i = 0; i < concurrency; i++) {
+			long requestStart = System.nanoTime();
+			calls.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+					.thenApply(response -> response.statusCode() == 200 ? System.nanoTime() - requestStart : -1L)
+					.exceptionally(e -> -1L));
+		}
+
+		long[] latencies = calls.stream().mapToLong(CompletableFuture::join).filter(nanos -> nanos >= 0).sorted().toArray();
+		double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+		return new LoadResult(
+				latencies.length,
+				concurrency - latencies.length,
+				percentileMs(latencies, 0.50),
+				percentileMs(latencies, 0.99),
+				latencies.length / elapsedSeconds,
+				threadMXBean.getPeakThreadCount());
+	}
+
+	private static long percentileMs(long[] sortedNanos, double percentile) {
+		if (sortedNanos.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+		return Duration.ofNanos(sortedNanos[Math.max(0, index)]).toMillis();
+	}
+
+	private record LoadResult(int succeeded, int failed, long p50Ms, long p99Ms, double requestsPerSecond, int peakThreads) {
+	}
+}
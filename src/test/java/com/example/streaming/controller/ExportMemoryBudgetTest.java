@@ -0,0 +1,323 @@
+package com.example.streaming.controller;
+
+import com.example.streaming.StreamingApplication;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * export 방식별 메모리 예산 검증 - 힙을 제한한 별도 JVM에서 실행
+ *
+ * 1. 데이터 준비: build/export-harness/users-{rows} 파일 DB를 export.dataset.rows로 채움
+ *    (순번으로 값이 정해지므로 같은 행 수는 항상 같은 데이터, 이미 채워져 있으면 재사용)
+ * 2. 방식마다 새 JVM을 -Xmx{heap}로 띄워서 한 번 다운로드하고 종료 (다른 방식의 힙/JIT 상태가 섞이지 않음)
+ * 3. 측정: 첫 바이트까지 시간, 전체 시간, GC 로그의 GC 전 최고 힙/GC 후 최고 힙/일시정지, /proc의 최고 RSS(VmHWM)
+ * 4. 검증: 스트리밍 방식은 끝까지 받아야 하고, GC 후 최고 힙(살아 있는 데이터)이 예산을 넘으면 실패
+ *    (OOM이면 -XX:+ExitOnOutOfMemoryError로 JVM이 바로 종료되어 다운로드 실패로 잡힘)
+ * 결과는 표로 출력하고 build/export-harness/results.csv에 남긴다.
+ *
+ * 실행:
+ *   ./gradlew performanceTest --tests '*ExportMemoryBudgetTest'
+ *   ./gradlew performanceTest --tests '*ExportMemoryBudgetTest' -Dload.rows=10000000 -Dload.heap=256m
+ *
+ * 옵션: -Dload.rows=1000000 -Dload.heap=256m -Dload.heapBudgetMb=128 -Dload.rssBudgetMb=0(검사 안 함)
+ *      -Dload.modes=/test/excel/streaming,/test/csv/streaming,... (/test/excel/traditional은 OOM 재현용 - 예산 검사 제외)
+ */
+@Tag("performance")
+class ExportMemoryBudgetTest {
+
+	private static final long ROWS = Long.getLong("load.rows", 1_000_000);
+	private static final String HEAP = System.getProperty("load.heap", "256m");
+	private static final long HEAP_BUDGET_MB = Long.getLong("load.heapBudgetMb", 128);
+	private static final long RSS_BUDGET_MB = Long.getLong("load.rssBudgetMb", 0);
+	private static final List<String> MODES = Arrays.stream(System.getProperty("load.modes",
+					"/test/excel/streaming,/test/excel/fast,/test/excel/columnar,/test/csv/streaming,"
+							+ "/users/stream,/test/reactive/users?format=CSV").split(","))
+			.map(String::trim)
+			.filter(mode -> !mode.isEmpty())
+			.toList();
+
+	/**
+	 * 전체 데이터를 힙에 올리는 방식 - 결과만 출력하고 예산은 검사하지 않음
+	 */
+	private static final Set<String> UNBOUNDED_MODES = Set.of("/test/excel/traditional", "/test/payments/excel");
+
+	private static final Path WORK_DIR = Path.of("build", "export-harness").toAbsolutePath();
+	private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+	private static final Duration PREPARE_TIMEOUT = Duration.ofHours(1);
+	private static final Duration DOWNLOAD_TIMEOUT = Duration.ofHours(1);
+
+	/**
+	 * G1 일시정지 로그: "GC(3) Pause Young (Normal) (G1 Evacuation Pause) 120M->8M(256M) 3.456ms"
+	 */
+	private static final Pattern GC_PAUSE = Pattern.compile(
+			"GC\\(\\d+\\) Pause .*? (\\d+)([KMG])->(\\d+)([KMG])\\((\\d+)[KMG]\\) ([\\d.]+)ms");
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(10))
+			.build();
+
+	@Test
+	void streamingExportsStayWithinMemoryBudget() throws Exception {
+		Files.createDirectories(WORK_DIR);
+		String databaseUrl = "jdbc:h2:file:" + WORK_DIR.resolve("users-" + ROWS) + ";CACHE_SIZE=16384";
+		prepareDataset(databaseUrl);
+
+		System.out.printf("%n=== export 메모리 예산 (%d건, -Xmx%s, GC 후 힙 예산 %dMB) ===%n", ROWS, HEAP, HEAP_BUDGET_MB);
+		System.out.println("mode                                상태       바이트  TTFB(ms)  전체(ms)  최고힙(MB)  "
+				+ "GC후힙(MB)  GC횟수  GC합(ms)  GC최대(ms)  최고RSS(MB)");
+
+		List<RunResult> results = new ArrayList<>();
+		for (String mode : MODES) {
+			RunResult result = run(mode, databaseUrl);
+			results.add(result);
+			print(result);
+		}
+		writeReport(results);
+
+		SoftAssertions softly = new SoftAssertions();
+		for (RunResult result : results) {
+			if (UNBOUNDED_MODES.contains(result.mode())) {
+				continue;
+			}
+			softly.assertThat(result.status()).as("%s 응답 상태", result.mode()).isEqualTo(200);
+			softly.assertThat(result.error()).as("%s 다운로드 오류 (로그: %s)", result.mode(), result.log()).isNull();
+			softly.assertThat(result.bytes()).as("%s 응답 크기", result.mode()).isPositive();
+			softly.assertThat(result.liveHeapMb()).as("%s GC 후 최고 힙", result.mode()).isLessThanOrEqualTo(HEAP_BUDGET_MB);
+			if (RSS_BUDGET_MB > 0) {
+				softly.assertThat(result.peakRssMb()).as("%s 최고 RSS", result.mode()).isLessThanOrEqualTo(RSS_BUDGET_MB);
+			}
+		}
+		softly.assertAll();
+	}
+
+	/**
+	 * 파일 DB를 ROWS건까지 채움 - 생성 중에는 힙 제한 없이 (H2 INSERT ... SELECT 버퍼)
+	 */
+	private void prepareDataset(String databaseUrl) throws Exception {
+		long start = System.currentTimeMillis();
+		Path log = WORK_DIR.resolve("prepare-" + ROWS + ".log");
+		ForkedApp app = ForkedApp.start(List.of("-Xmx1g"), databaseUrl, List.of("--export.dataset.rows=" + ROWS), log);
+		try {
+			// 데이터 생성(ApplicationRunner)이 끝나야 readiness가 UP
+			app.awaitReady(client, PREPARE_TIMEOUT);
+		} finally {
+			app.stop();
+		}
+		System.out.printf("%n데이터 준비: %d건, %dms (%s)%n", ROWS, System.currentTimeMillis() - start, databaseUrl);
+	}
+
+	private RunResult run(String mode, String databaseUrl) throws Exception {
+		String slug = mode.replaceAll("[^A-Za-z0-9]+", "-").replaceAll("^-|-$", "");
+		Path gcLog = WORK_DIR.resolve(slug + "-gc.log");
+		Path log = WORK_DIR.resolve(slug + ".log");
+		Files.deleteIfExists(gcLog);
+
+		ForkedApp app = ForkedApp.start(List.of(
+						"-Xms" + HEAP, "-Xmx" + HEAP,
+						"-XX:+UseG1GC",
+						"-XX:+ExitOnOutOfMemoryError",
+						"-Xlog:gc:file=" + gcLog),
+				databaseUrl, List.of(), log);
+		int status = -1;
+		long bytes = 0;
+		long ttfbMs = -1;
+		long totalMs = -1;
+		long peakRssMb = -1;
+		String error = null;
+		try {
+			app.awaitReady(client, STARTUP_TIMEOUT);
+
+			HttpRequest request = HttpRequest.newBuilder(app.uri(mode)).timeout(DOWNLOAD_TIMEOUT).build();
+			long start = System.nanoTime();
+			HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+			status = response.statusCode();
+			try (InputStream body = response.body()) {
+				byte[] buffer = new byte[64 * 1024];
+				int read = body.read(buffer);
+				ttfbMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+				while (read >= 0) {
+					bytes += read;
+					read = body.read(buffer);
+				}
+			}
+			totalMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			peakRssMb = app.peakRssMb();
+		} catch (IOException e) {
+			error = e.toString();
+		} finally {
+			app.stop();
+		}
+
+		GcSummary gc = GcSummary.parse(gcLog);
+		return new RunResult(mode, status, bytes, ttfbMs, totalMs, gc.peakHeapMb(), gc.liveHeapMb(), gc.pauses(),
+				gc.totalPauseMs(), gc.maxPauseMs(), peakRssMb, error, log);
+	}
+
+	private static void print(RunResult result) {
+		System.out.printf("%-34s %5s %12d %9d %9d %11d %11d %7d %9.1f %11.1f %12d%n",
+				result.mode(), result.error() != null ? "ERR" : String.valueOf(result.status()), result.bytes(),
+				result.ttfbMs(), result.totalMs(), result.peakHeapMb(), result.liveHeapMb(), result.gcPauses(),
+				result.gcTotalMs(), result.gcMaxMs(), result.peakRssMb());
+	}
+
+	private static void writeReport(List<RunResult> results) throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add("mode,rows,heap,status,bytes,ttfb_ms,total_ms,peak_heap_mb,live_heap_mb,gc_pauses,gc_total_ms,"
+				+ "gc_max_ms,peak_rss_mb,error");
+		for (RunResult result : results) {
+			lines.add(String.join(",", result.mode(), String.valueOf(ROWS), HEAP, String.valueOf(result.status()),
+					String.valueOf(result.bytes()), String.valueOf(result.ttfbMs()), String.valueOf(result.totalMs()),
+					String.valueOf(result.peakHeapMb()), String.valueOf(result.liveHeapMb()),
+					String.valueOf(result.gcPauses()), String.format("%.1f", result.gcTotalMs()),
+					String.format("%.1f", result.gcMaxMs()), String.valueOf(result.peakRssMb()),
+					result.error() == null ? "" : '"' + result.error().replace("\"", "'") + '"'));
+		}
+		Path report = WORK_DIR.resolve("results.csv");
+		Files.write(report, lines);
+		System.out.println("결과: " + report);
+	}
+
+	/**
+	 * 테스트 클래스패스로 띄운 애플리케이션 JVM
+	 */
+	private record ForkedApp(Process process, int port, Path log) {
+
+		static ForkedApp start(List<String> jvmArgs, String databaseUrl, List<String> appArgs, Path log)
+				throws IOException {
+			int port;
+			try (ServerSocket socket = new ServerSocket(0)) {
+				port = socket.getLocalPort();
+			}
+			List<String> command = new ArrayList<>();
+			command.add(ProcessHandle.current().info().command()
+					.orElse(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+			command.addAll(jvmArgs);
+			command.add("-cp");
+			command.add(System.getProperty("java.class.path"));
+			command.add(StreamingApplication.class.getName());
+			command.add("--server.port=" + port);
+			command.add("--spring.datasource.url=" + databaseUrl);
+			command.add("--management.endpoint.health.probes.enabled=true");
+			command.add("--logging.level.org.apache.ibatis=INFO");
+			command.addAll(appArgs);
+
+			Process process = new ProcessBuilder(command)
+					.redirectErrorStream(true)
+					.redirectOutput(log.toFile())
+					.start();
+			return new ForkedApp(process, port, log);
+		}
+
+		URI uri(String path) {
+			return URI.create("http://localhost:" + port + path);
+		}
+
+		void awaitReady(HttpClient client, Duration timeout) throws Exception {
+			HttpRequest request = HttpRequest.newBuilder(uri("/actuator/health/readiness"))
+					.timeout(Duration.ofSeconds(5))
+					.build();
+			long deadline = System.nanoTime() + timeout.toNanos();
+			while (System.nanoTime() < deadline) {
+				if (!process.isAlive()) {
+					throw new IllegalStateException("애플리케이션 JVM 종료 (exit " + process.exitValue() + ", 로그: " + log + ")");
+				}
+				try {
+					if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+						return;
+					}
+				} catch (IOException e) {
+					// 아직 기동 중
+				}
+				Thread.sleep(500);
+			}
+			throw new IllegalStateException("애플리케이션 기동 시간 초과 (" + timeout + ", 로그: " + log + ")");
+		}
+
+		/**
+		 * 프로세스 최고 RSS - Linux의 /proc/{pid}/status VmHWM (다른 OS는 -1)
+		 */
+		long peakRssMb() throws IOException {
+			Path status = Path.of("/proc", String.valueOf(process.pid()), "status");
+			if (!Files.isReadable(status)) {
+				return -1;
+			}
+			for (String line : Files.readAllLines(status)) {
+				if (line.startsWith("VmHWM:")) {
+					return Long.parseLong(line.replaceAll("\\D", "")) / 1024;
+				}
+			}
+			return -1;
+		}
+
+		void stop() throws InterruptedException {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) {
+				process.destroyForcibly().waitFor();
+			}
+		}
+	}
+
+	/**
+	 * GC 로그 요약 - GC 전 최고 힙(높은 수위), GC 후 최고 힙(살아 있는 데이터), 일시정지 횟수/합/최대
+	 */
+	private record GcSummary(long peakHeapMb, long liveHeapMb, int pauses, double totalPauseMs, double maxPauseMs) {
+
+		static GcSummary parse(Path gcLog) throws IOException {
+			if (!Files.exists(gcLog)) {
+				return new GcSummary(-1, -1, 0, 0, 0);
+			}
+			long peak = 0;
+			long live = 0;
+			int pauses = 0;
+			double total = 0;
+			double max = 0;
+			for (String line : Files.readAllLines(gcLog)) {
+				Matcher matcher = GC_PAUSE.matcher(line);
+				if (!matcher.find()) {
+					continue;
+				}
+				peak = Math.max(peak, toMb(matcher.group(1), matcher.group(2)));
+				live = Math.max(live, toMb(matcher.group(3), matcher.group(4)));
+				double pauseMs = Double.parseDouble(matcher.group(6));
+				pauses++;
+				total += pauseMs;
+				max = Math.max(max, pauseMs);
+			}
+			return new GcSummary(peak, live, pauses, total, max);
+		}
+
+		private static long toMb(String value, String unit) {
+			long amount = Long.parseLong(value);
+			return switch (unit) {
+				case "K" -> amount / 1024;
+				case "G" -> amount * 1024;
+				default -> amount;
+			};
+		}
+	}
+
+	private record RunResult(String mode, int status, long bytes, long ttfbMs, long totalMs, long peakHeapMb,
+							 long liveHeapMb, int gcPauses, double gcTotalMs, double gcMaxMs, long peakRssMb,
+							 String error, Path log) {
+	}
+}
@@ -0,0 +1,201 @@
+package com.example.streaming.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 느린 클라이언트 부하 비교 - Servlet 스트리밍 vs 리액티브 스트리밍
+ *
+ * 동시에 느린 클라이언트(응답 조각마다 readDelay만큼 쉬었다가 다음 조각을 요청)를 붙여서
+ * /test/csv/streaming (요청 스레드가 소켓 쓰기에서 대기)과 /test/reactive/users (소켓이 쓰기 가능할 때만 다음 청크 조회)의
+ * 성공 건수, 지연시간(p50/p99), 최고 스레드 수, 최고 힙 사용량을 출력한다.
+ * 두 경로 모두 동시에 실행되도록 커넥션 풀과 수락 제어 상한을 클라이언트 수보다 크게 잡는다.
+ *
+ * 실행:
+ *   ./gradlew performanceTest --tests '*ReactiveStreamLoadTest'
+ *
+ * 옵션: -Dload.rows=50000 -Dload.clients=200 -Dload.readDelayMs=10
+ */
+@Tag("performance")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.hikari.maximum-pool-size=220",
+		"export.pipeline.fetch-threads=210",
+		"export.admission.max-concurrent=250",
+		"export.admission.max-per-client=250",
+		"export.admission.connection-budget=210",
+		"export.admission.max-queue=500",
+		"export.admission.queue-timeout=5m"
+})
+class ReactiveStreamLoadTest {
+
+	private static final int ROWS = Integer.getInteger("load.rows", 50_000);
+	private static final int CLIENTS = Integer.getInteger("load.clients", 200);
+	private static final long READ_DELAY_MS = Long.getLong("load.readDelayMs", 10);
+
+	private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+	private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+	private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(10))
+			.build();
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void seedUsers() {
+		Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+		if (count != null && count >= ROWS) {
+			return;
+		}
+		jdbcTemplate.update("""
+				INSERT INTO users (username, email, age, department, created_at, active)
+				SELECT CONCAT('user_', x), CONCAT('user', x, '@company.com'), 20 + MOD(x, 40),
+				       'Engineering', DATEADD('DAY', -MOD(x, 365), CURRENT_TIMESTAMP), TRUE
+				FROM SYSTEM_RANGE(1, ?)
+				""", ROWS);
+	}
+
+	@AfterEach
+	void shutdown() {
+		scheduler.shutdownNow();
+	}
+
+	@Test
+	void slowClientsServletVersusReactive() {
+		System.out.printf("%n=== 느린 클라이언트 부하 (%d명, %d건, 조각마다 %dms 대기) ===%n", CLIENTS, ROWS, READ_DELAY_MS);
+		System.out.println("endpoint                          성공  실패  p50(ms)  p99(ms)  최고스레드  최고힙(MB)");
+
+		LoadResult servlet = run("/test/csv/streaming");
+		print("/test/csv/streaming", servlet);
+		LoadResult reactive = run("/test/reactive/users?format=CSV");
+		print("/test/reactive/users", reactive);
+
+		assertThat(reactive.failed()).isZero();
+	}
+
+	private LoadResult run(String path) {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.timeout(Duration.ofMinutes(10))
+				.build();
+
+		System.gc();
+		threadMXBean.resetPeakThreadCount();
+		AtomicLong peakHeap = new AtomicLong();
+		ScheduledFuture<?> sampler = scheduler.scheduleAtFixedRate(
+				() -> peakHeap.accumulateAndGet(memoryMXBean.getHeapMemoryUsage().getUsed(), Math::max),
+				0, 20, TimeUnit.MILLISECONDS);
+
+		List<CompletableFuture<Long>> calls = new ArrayList<>(CLIENTS);
+		for (int i = 0; i < CLIENTS; i++) {
+			long requestStart = System.nanoTime();
+			calls.add(client.sendAsync(request, info -> new SlowBodySubscriber(scheduler))
+					.thenApply(response -> response.statusCode() == 200 && response.body() > 0
+							? System.nanoTime() - requestStart : -1L)
+					.exceptionally(e -> -1L));
+		}
+
+		long[] latencies = calls.stream().mapToLong(CompletableFuture::join).filter(nanos -> nanos >= 0).sorted().toArray();
+		sampler.cancel(false);
+
+		return new LoadResult(
+				latencies.length,
+				CLIENTS - latencies.length,
+				percentileMs(latencies, 0.50),
+				percentileMs(latencies, 0.99),
+				threadMXBean.getPeakThreadCount(),
+				peakHeap.get() / (1024 * 1024));
+	}
+
+	private static void print(String endpoint, LoadResult result) {
+		System.out.printf("%-32s %5d %5d %8d %8d %10d %10d%n", endpoint, result.succeeded(), result.failed(),
+				result.p50Ms(), result.p99Ms(), result.peakThreads(), result.peakHeapMb());
+	}
+
+	private static long percentileMs(long[] sortedNanos, double percentile) {
+		if (sortedNanos.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+		return Duration.ofNanos(sortedNanos[Math.max(0, index)]).toMillis();
+	}
+
+	/**
+	 * 응답 조각을 하나 받을 때마다 READ_DELAY_MS만큼 쉬었다가 다음 조각을 요청하는 느린 클라이언트 (받은 바이트 수)
+	 */
+	private static final class SlowBodySubscriber implements HttpResponse.BodySubscriber<Long> {
+
+		private final ScheduledExecutorService scheduler;
+		private final CompletableFuture<Long> body = new CompletableFuture<>();
+		private Flow.Subscription subscription;
+		private long bytes;
+
+		private SlowBodySubscriber(ScheduledExecutorService scheduler) {
+			this.scheduler = scheduler;
+		}
+
+		@Override
+		public CompletionStage<Long> getBody() {
+			return body;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			subscription.request(1);
+		}
+
+		@Override
+		public void onNext(List<ByteBuffer> item) {
+			for (ByteBuffer buffer : item) {
+				bytes += buffer.remaining();
+			}
+			scheduler.schedule(() -> subscription.request(1), READ_DELAY_MS, TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			body.completeExceptionally(throwable);
+		}
+
+		@Override
+		public void onComplete() {
+			body.complete(bytes);
+		}
+	}
+
+	private record LoadResult(int succeeded, int failed, long p50Ms, long p99Ms, int peakThreads, long peakHeapMb) {
+	}
+}
@@ -0,0 +1,99 @@
+package com.example.streaming.controller;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가상 스레드 모드에서 파이프라인을 여러 개 먼저 시작하는 export가 동시에 실행될 때 멈추지 않는지 검증
+ *
+ * MERGED 샤드 export는 샤드 수만큼 파이프라인을 모두 시작한 뒤에 drain한다.
+ * 두 export의 샤드 합(4 + 4)이 pipeline.fetch-threads(4)를 넘지만, 가상 스레드 모드의 fetch 스레드 풀은
+ * 커넥션 예산(8)만큼 스레드를 두므로 수락된 두 export의 샤드가 모두 대기 없이 동시에 조회해야 한다.
+ * (제출이 막히는 실행기라면 두 요청 스레드가 서로 자리를 나눠 가진 채 다음 샤드 제출에서 멈춤)
+ *
+ * 실행 (Java 21 필요):
+ *   ./gradlew test --tests '*VirtualThreadShardedExportTest' -PjavaVersion=21
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.threads.virtual.enabled=true",
+		"spring.datasource.hikari.maximum-pool-size=12",
+		"export.pipeline.fetch-threads=4",
+		"export.shard.count=4",
+		"export.shard.buffer-size=16",
+		"export.admission.max-concurrent=2",
+		"export.admission.max-per-client=2",
+		"export.admission.connection-budget=8"
+})
+class VirtualThreadShardedExportTest {
+
+	private static final int ROWS = 20_000;
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.connectTimeout(Duration.ofSeconds(10))
+			.build();
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void seedUsers() {
+		Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+		if (count != null && count >= ROWS) {
+			return;
+		}
+		jdbcTemplate.update("""
+				INSERT INTO users (username, email, age, department, created_at, active)
+				SELECT CONCAT('user_', x), CONCAT('user', x, '@company.com'), 20 + MOD(x, 40),
+				       'Engineering', DATEADD('DAY', -MOD(x, 365), CURRENT_TIMESTAMP), TRUE
+				FROM SYSTEM_RANGE(1, ?)
+				""", ROWS);
+	}
+
+	@Test
+	void concurrentMergedShardExportsComplete() throws Exception {
+		Integer users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+		HttpRequest request = HttpRequest.newBuilder(
+						URI.create("http://localhost:" + port + "/test/excel/sharded?mode=MERGED"))
+				.timeout(Duration.ofMinutes(2))
+				.build();
+
+		List<CompletableFuture<HttpResponse<byte[]>>> calls = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			calls.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()));
+		}
+
+		for (CompletableFuture<HttpResponse<byte[]>> call : calls) {
+			HttpResponse<byte[]> response = call.get(2, TimeUnit.MINUTES);
+			assertThat(response.statusCode()).isEqualTo(200);
+			try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(response.body()))) {
+				// 헤더 1행 + 전체 사용자
+				assertThat(workbook.getSheetAt(0).getLastRowNum()).isEqualTo(users);
+			}
+		}
+	}
+}
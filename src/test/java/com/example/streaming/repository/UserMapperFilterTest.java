@@ -0,0 +1,139 @@
+package com.example.streaming.repository;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.service.UserColumn;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * export 조건/열 선택 SQL pushdown 검증 (H2 기본 데이터)
+ * findUsersStreaming의 WHERE 절 결과가 전체 조회를 메모리에서 거른 결과와 같은지 비교
+ */
+@SpringBootTest
+class UserMapperFilterTest {
+
+	@Autowired
+	private UserMapper userMapper;
+
+	private List<UserDto> allUsers;
+
+	@BeforeEach
+	void loadAllUsers() {
+		allUsers = userMapper.findAllUsers();
+		assertThat(allUsers).isNotEmpty();
+	}
+
+	@Test
+	void departmentFilter() {
+		assertPushedDown(filter -> filter.setDepartment("Engineering"),
+				user -> "Engineering".equals(user.getDepartment()));
+	}
+
+	@Test
+	void activeFilter() {
+		assertPushedDown(filter -> filter.setActive(false), user -> Boolean.FALSE.equals(user.getActive()));
+		assertPushedDown(filter -> filter.setActive(true), user -> Boolean.TRUE.equals(user.getActive()));
+	}
+
+	@Test
+	void ageRangeIncludesBothBounds() {
+		assertPushedDown(filter -> filter.setMinAge(50), user -> user.getAge() != null && user.getAge() >= 50);
+		assertPushedDown(filter -> filter.setMaxAge(25), user -> user.getAge() != null && user.getAge() <= 25);
+		List<UserDto> range = assertPushedDown(filter -> {
+			filter.setMinAge(30);
+			filter.setMaxAge(32);
+		}, user -> user.getAge() != null && user.getAge() >= 30 && user.getAge() <= 32);
+		assertThat(range).extracting(UserDto::getAge).contains(30, 32);
+	}
+
+	/**
+	 * createdFrom은 포함, createdTo는 미포함 - 경계값은 실제 행의 생성일시로 잡아서 같은 값의 행이 있게 함
+	 */
+	@Test
+	void createdRangeExcludesUpperBound() {
+		List<LocalDateTime> createdAts = allUsers.stream().map(UserDto::getCreatedAt).distinct().sorted().toList();
+		LocalDateTime from = createdAts.get(createdAts.size() / 4);
+		LocalDateTime to = createdAts.get(createdAts.size() / 2);
+
+		List<UserDto> users = assertPushedDown(filter -> {
+			filter.setCreatedFrom(from);
+			filter.setCreatedTo(to);
+		}, user -> !user.getCreatedAt().isBefore(from) && user.getCreatedAt().isBefore(to));
+
+		assertThat(users).extracting(UserDto::getCreatedAt).contains(from).doesNotContain(to);
+		assertThat(allUsers).extracting(UserDto::getCreatedAt).contains(to);
+	}
+
+	@Test
+	void combinedConditionsAreAnded() {
+		LocalDateTime from = allUsers.stream().map(UserDto::getCreatedAt).sorted().skip(allUsers.size() / 3)
+				.findFirst().orElseThrow();
+
+		assertPushedDown(filter -> {
+			filter.setDepartment("Sales");
+			filter.setActive(true);
+			filter.setMinAge(25);
+			filter.setMaxAge(45);
+			filter.setCreatedFrom(from);
+		}, user -> "Sales".equals(user.getDepartment()) && Boolean.TRUE.equals(user.getActive())
+				&& user.getAge() >= 25 && user.getAge() <= 45 && !user.getCreatedAt().isBefore(from));
+	}
+
+	/**
+	 * 선택하지 않은 열은 SELECT에 없으므로 UserDto 필드가 null
+	 */
+	@Test
+	void projectionLeavesUnselectedFieldsNull() {
+		UserExportFilter filter = new UserExportFilter();
+		filter.setDepartment("HR");
+		filter.setColumns(List.of(UserColumn.EMAIL, UserColumn.DEPARTMENT));
+
+		List<UserDto> users = stream(filter);
+
+		assertThat(users).hasSize((int) allUsers.stream().filter(user -> "HR".equals(user.getDepartment())).count());
+		assertThat(users).allSatisfy(user -> {
+			assertThat(user.getEmail()).isNotNull();
+			assertThat(user.getDepartment()).isEqualTo("HR");
+			assertThat(user.getId()).isNull();
+			assertThat(user.getUsername()).isNull();
+			assertThat(user.getAge()).isNull();
+			assertThat(user.getCreatedAt()).isNull();
+			assertThat(user.getActive()).isNull();
+		});
+	}
+
+	/**
+	 * SQL 조건 결과와 메모리 필터 결과의 행(id)이 같은지 확인
+	 *
+	 * @return SQL 조건으로 조회한 행
+	 */
+	private List<UserDto> assertPushedDown(Consumer<UserExportFilter> conditions, Predicate<UserDto> expected) {
+		UserExportFilter filter = new UserExportFilter();
+		conditions.accept(filter);
+
+		List<UserDto> users = stream(filter);
+		List<Long> expectedIds = allUsers.stream().filter(expected).map(UserDto::getId).toList();
+
+		assertThat(expectedIds).as("조건에 맞는 행이 있어야 의미 있는 비교").isNotEmpty();
+		assertThat(expectedIds.size()).as("조건이 일부 행만 걸러야 함").isLessThan(allUsers.size());
+		assertThat(users).extracting(UserDto::getId).containsExactlyInAnyOrderElementsOf(expectedIds);
+		return users;
+	}
+
+	private List<UserDto> stream(UserExportFilter filter) {
+		List<UserDto> users = new ArrayList<>();
+		userMapper.findUsersStreaming(filter, context -> users.add(context.getResultObject()));
+		return users;
+	}
+}
@@ -0,0 +1,296 @@
+package com.example.streaming.repository;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.service.UserDatasetGenerator;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cursor/ResultHandler 스트리밍 메모리 테스트
+ *
+ * UserDatasetGenerator로 100만건을 만든 뒤 10만건/100만건을 커서(findAllUsersCursor)와
+ * ResultHandler(findUsersStreaming)로 각각 순회하면서 힙 사용량을 비교한다.
+ * 행을 보관하지 않고 드라이버도 fetchSize 단위로만 가져오므로 처리 건수가 10배가 되어도
+ * 순회 중 GC 후 최고 힙과 순회 후 잔존 힙은 거의 같아야 한다.
+ * 순회 중 힙은 GC 완료 알림의 GC 후 사용량으로 잰다 - 그냥 사용량은 아직 수거하지 않은 young 영역
+ * 가비지를 포함해서 eden 크기와 GC 시점에 따라 달라지므로, 드라이버가 행을 쌓는지와 무관하게 흔들린다.
+ * 순회 중 GC가 한 번도 없으면 잴 값이 없으므로 두 순회 모두 GC가 일어났는지도 확인한다
+ * (streamingMemoryTest 태스크는 young 영역을 작게 고정해서 10만건 순회에서도 GC가 일어나게 함).
+ *
+ * 실행: ./gradlew streamingMemoryTest
+ */
+@Tag("performance")
+@SpringBootTest
+class UserMapperStreamingTest {
+
+	private static final int TARGET_ROWS = 1_000_000;
+	private static final long MB = 1024 * 1024;
+
+	private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+	@Autowired
+	private UserMapper userMapper;
+
+	@Autowired
+	private UserDatasetGenerator userDatasetGenerator;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private SqlSessionFactory sqlSessionFactory;
+
+	@Test
+	void cursorPeakHeapStaysFlatFrom100kTo1mRows() {
+		userDatasetGenerator.ensureRows(TARGET_ROWS);
+
+		assertFlat("cursor", streamWithCursor(100_000), streamWithCursor(TARGET_ROWS));
+	}
+
+	/**
+	 * export가 쓰는 ResultHandler 조회 - 설정한 fetchSize로 FORWARD_ONLY 조회해야 결과 전체를 버퍼링하지 않음
+	 */
+	@Test
+	void resultHandlerPeakHeapStaysFlatFrom100kTo1mRows() {
+		MappedStatement statement = sqlSessionFactory.getConfiguration()
+				.getMappedStatement(UserMapper.class.getName() + ".findUsersStreaming");
+		assertThat(statement.getResultSetType()).isEqualTo(ResultSetType.FORWARD_ONLY);
+		assertThat(statement.getFetchSize()).isEqualTo(
+				Integer.valueOf(sqlSessionFactory.getConfiguration().getVariables().getProperty("exportFetchSize")));
+
+		userDatasetGenerator.ensureRows(TARGET_ROWS);
+
+		assertFlat("ResultHandler", streamWithResultHandler(100_000), streamWithResultHandler(TARGET_ROWS));
+	}
+
+	private static void assertFlat(String path, HeapProfile small, HeapProfile large) {
+		System.out.printf("%s 100k rows: peak after GC +%dMB (%d GCs), retained +%dMB%n",
+				path, small.peakBytes() / MB, small.collections(), small.retainedBytes() / MB);
+		System.out.printf("%s 1M rows:   peak after GC +%dMB (%d GCs), retained +%dMB%n",
+				path, large.peakBytes() / MB, large.collections(), large.retainedBytes() / MB);
+
+		assertThat(small.rows()).isEqualTo(100_000);
+		assertThat(large.rows()).isEqualTo(TARGET_ROWS);
+		// GC가 없었으면 최고 사용량은 0으로 남아 아무것도 증명하지 못함
+		assertThat(small.collections()).as("100k 순회 중 GC 횟수").isPositive();
+		assertThat(large.collections()).as("1M 순회 중 GC 횟수").isPositive();
+		// 순회한 행이 힙에 남지 않음
+		assertThat(large.retainedBytes()).isLessThan(16 * MB);
+		// 처리 건수가 10배가 되어도 GC 후 최고 사용량(살아 있는 데이터)은 거의 그대로
+		assertThat(large.peakBytes()).isLessThan(small.peakBytes() + 32 * MB);
+	}
+
+	/**
+	 * 커서로 rowLimit건을 순회하며 첫 행 시점 대비 힙 증가량을 측정
+	 * (DB 쪽 정렬/결과 버퍼는 첫 행 이전에 잡히므로 기준선에 포함됨)
+	 */
+	private HeapProfile streamWithCursor(int rowLimit) {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(true);
+
+		return transaction.execute(status -> {
+			try (Cursor<UserDto> cursor = userMapper.findAllUsersCursor()) {
+				Iterator<UserDto> iterator = cursor.iterator();
+				HeapWalk walk = new HeapWalk();
+				try {
+					while (walk.rows() < rowLimit && iterator.hasNext()) {
+						iterator.next();
+						walk.row();
+					}
+				} finally {
+					walk.stop();
+				}
+				return walk.profile();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	/**
+	 * ResultHandler로 rowLimit건을 받고 조회를 멈추며 첫 행 시점 대비 힙 증가량을 측정
+	 */
+	private HeapProfile streamWithResultHandler(int rowLimit) {
+		HeapWalk walk = new HeapWalk();
+		try {
+			userMapper.findUsersStreaming(UserExportFilter.none(), context -> {
+				walk.row();
+				if (walk.rows() >= rowLimit) {
+					context.stop();
+				}
+			});
+		} finally {
+			walk.stop();
+		}
+		return walk.profile();
+	}
+
+	private long retainedHeap() {
+		System.gc();
+		return memoryMXBean.getHeapMemoryUsage().getUsed();
+	}
+
+	private record HeapProfile(int rows, long peakBytes, long collections, long retainedBytes) {
+	}
+
+	/**
+	 * 순회 한 번의 힙 측정 - 첫 행에서 기준선을 잡고 GC 감시를 시작
+	 * 최고 사용량은 순회 중에 일어난 GC의 GC 후 힙 사용량 중 최대값
+	 */
+	private class HeapWalk {
+
+		private int rows;
+		private long baseline;
+		private AfterGcPeak afterGc;
+
+		void row() {
+			if (rows++ == 0) {
+				baseline = retainedHeap();
+				afterGc = new AfterGcPeak();
+			}
+		}
+
+		int rows() {
+			return rows;
+		}
+
+		/**
+		 * GC 완료 알림은 별도 스레드로 늦게 올 수 있으므로 순회 중 일어난 GC의 알림을 모두 받은 뒤 해제
+		 */
+		void stop() {
+			if (afterGc != null) {
+				afterGc.awaitPendingNotifications();
+				afterGc.close();
+			}
+		}
+
+		HeapProfile profile() {
+			if (afterGc == null) {
+				return new HeapProfile(rows, 0, 0, 0);
+			}
+			long peak = Math.max(0, afterGc.peakUsed() - baseline);
+			return new HeapProfile(rows, peak, afterGc.collections(), retainedHeap() - baseline);
+		}
+	}
+
+	/**
+	 * 등록한 뒤 일어난 GC들의 GC 후 힙 사용량(힙 풀 합) 최대값
+	 */
+	private static class AfterGcPeak implements NotificationListener {
+
+		private static final long NOTIFICATION_TIMEOUT_MILLIS = 5000;
+
+		private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+		private final List<NotificationEmitter> emitters = new ArrayList<>();
+		private final Set<String> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+				.filter(pool -> pool.getType() == MemoryType.HEAP)
+				.map(MemoryPoolMXBean::getName)
+				.collect(Collectors.toSet());
+		private final AtomicLong peakUsed = new AtomicLong();
+		private final AtomicLong collections = new AtomicLong();
+
+		private final long startCollectionCount;
+
+		AfterGcPeak() {
+			for (GarbageCollectorMXBean collector : collectors) {
+				if (collector instanceof NotificationEmitter emitter) {
+					emitter.addNotificationListener(this, null, null);
+					emitters.add(emitter);
+				}
+			}
+			startCollectionCount = collectionCount();
+		}
+
+		/**
+		 * 등록 이후 GC 횟수만큼 알림을 받을 때까지 대기 (제한 시간 안에)
+		 */
+		void awaitPendingNotifications() {
+			long expected = collectionCount() - startCollectionCount;
+			long deadline = System.currentTimeMillis() + NOTIFICATION_TIMEOUT_MILLIS;
+			while (collections.get() < expected && System.currentTimeMillis() < deadline) {
+				try {
+					Thread.sleep(10);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+
+		private long collectionCount() {
+			long count = 0;
+			for (GarbageCollectorMXBean collector : collectors) {
+				count += Math.max(0, collector.getCollectionCount());
+			}
+			return count;
+		}
+
+		@Override
+		public void handleNotification(Notification notification, Object handback) {
+			if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+				return;
+			}
+			GarbageCollectionNotificationInfo info =
+					GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+			long used = 0;
+			for (Map.Entry<String, MemoryUsage> pool : info.getGcInfo().getMemoryUsageAfterGc().entrySet()) {
+				if (heapPools.contains(pool.getKey())) {
+					used += pool.getValue().getUsed();
+				}
+			}
+			peakUsed.accumulateAndGet(used, Math::max);
+			collections.incrementAndGet();
+		}
+
+		long peakUsed() {
+			return peakUsed.get();
+		}
+
+		long collections() {
+			return collections.get();
+		}
+
+		void close() {
+			for (NotificationEmitter emitter : emitters) {
+				try {
+					emitter.removeNotificationListener(this);
+				} catch (ListenerNotFoundException e) {
+					// 이미 제거됨
+				}
+			}
+		}
+	}
+}
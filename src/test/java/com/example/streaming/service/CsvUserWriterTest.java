@@ -0,0 +1,33 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.util.CsvWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvUserWriterTest {
+
+	@Test
+	void writesOnlySelectedColumnsInRequestedOrder() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CsvWriter csvWriter = new CsvWriter(out, 64);
+		CsvUserWriter writer = new CsvUserWriter(csvWriter, List.of(UserColumn.EMAIL, UserColumn.ID), true);
+
+		writer.writeRow(UserDto.builder()
+				.id(7L)
+				.username("user_000007")
+				.email("user7@company.com")
+				.createdAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5))
+				.build());
+		csvWriter.flush();
+
+		assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("이메일,ID\r\nuser7@company.com,7\r\n");
+		assertThat(writer.getRowCount()).isEqualTo(1);
+	}
+}
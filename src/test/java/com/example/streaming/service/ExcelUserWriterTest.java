@@ -0,0 +1,60 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.UserDto;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExcelUserWriterTest {
+
+	@Test
+	void rollsOverToNewSheetWithHeaderAtRowCap() throws Exception {
+		try (Workbook workbook = new XSSFWorkbook()) {
+			ExcelUserWriter writer = new ExcelUserWriter(workbook.createSheet("사용자 목록"),
+					null, null, List.of(UserColumn.ID), 2);
+
+			for (long id = 1; id <= 5; id++) {
+				writer.writeRow(UserDto.builder().id(id).build());
+			}
+
+			assertThat(writer.getRowCount()).isEqualTo(5);
+			assertThat(writer.getSheetCount()).isEqualTo(3);
+			assertThat(workbook.getNumberOfSheets()).isEqualTo(3);
+
+			Sheet last = workbook.getSheet("사용자 목록 (3)");
+			assertThat(last.getRow(0).getCell(0).getStringCellValue()).isEqualTo("ID");
+			assertThat(last.getRow(1).getCell(0).getNumericCellValue()).isEqualTo(5);
+			assertThat(workbook.getSheetAt(1).getLastRowNum()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	void writesDatesAndBooleansAsTypedCells() throws Exception {
+		try (Workbook workbook = new XSSFWorkbook()) {
+			ExcelUserWriter writer = new ExcelUserWriter(workbook.createSheet("사용자 목록"),
+					null, null, List.of(UserColumn.CREATED_AT, UserColumn.ACTIVE));
+			LocalDateTime createdAt = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+
+			writer.writeRow(UserDto.builder().createdAt(createdAt).active(false).build());
+			writer.writeRow(UserDto.builder().build());
+
+			Row row = workbook.getSheetAt(0).getRow(1);
+			assertThat(row.getCell(0).getLocalDateTimeCellValue()).isEqualTo(createdAt);
+			assertThat(row.getCell(0).getCellStyle().getDataFormatString()).isEqualTo("yyyy-mm-dd hh:mm:ss");
+			assertThat(row.getCell(1).getCellType()).isEqualTo(CellType.BOOLEAN);
+			assertThat(row.getCell(1).getBooleanCellValue()).isFalse();
+
+			Row empty = workbook.getSheetAt(0).getRow(2);
+			assertThat(empty.getCell(0).getCellType()).isEqualTo(CellType.BLANK);
+			assertThat(empty.getCell(1).getCellType()).isEqualTo(CellType.BLANK);
+		}
+	}
+}
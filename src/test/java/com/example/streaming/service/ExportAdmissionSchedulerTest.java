@@ -0,0 +1,103 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportAdmissionSchedulerTest {
+
+	@Test
+	void limitsExportsPerClientWithoutBlockingOthers() throws Exception {
+		ExportAdmissionScheduler scheduler = scheduler(8, 1, 8, Duration.ofMillis(50));
+
+		Optional<ExportAdmissionScheduler.Permit> first = scheduler.acquire("a", 100, 1);
+		Optional<ExportAdmissionScheduler.Permit> second = scheduler.acquire("a", 100, 1);
+		Optional<ExportAdmissionScheduler.Permit> other = scheduler.acquire("b", 100, 1);
+
+		assertThat(first).isPresent();
+		assertThat(second).isEmpty();
+		assertThat(other).isPresent();
+		assertThat(scheduler.getActiveCount()).isEqualTo(2);
+		assertThat(scheduler.getQueueDepth()).isZero();
+	}
+
+	@Test
+	void admitsCheaperExportsFirst() throws Exception {
+		ExportAdmissionScheduler scheduler = scheduler(1, 8, 8, Duration.ofSeconds(10));
+		ExportAdmissionScheduler.Permit running = scheduler.acquire("a", 100, 1).orElseThrow();
+
+		List<String> admitted = new CopyOnWriteArrayList<>();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			CompletableFuture<Void> large = enqueue(scheduler, "large", 1_000_000, admitted, executor);
+			awaitQueueDepth(scheduler, 1);
+			CompletableFuture<Void> small = enqueue(scheduler, "small", 1_000, admitted, executor);
+			awaitQueueDepth(scheduler, 2);
+
+			running.release();
+			CompletableFuture.allOf(large, small).get(10, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(admitted).containsExactly("small", "large");
+	}
+
+	@Test
+	void holdsExportsBeyondConnectionBudget() throws Exception {
+		ExportAdmissionScheduler scheduler = scheduler(8, 8, 2, Duration.ofMillis(50));
+
+		ExportAdmissionScheduler.Permit sharded = scheduler.acquire("a", 100, 4).orElseThrow();
+		assertThat(scheduler.getConnectionsInUse()).isEqualTo(2);
+		assertThat(scheduler.acquire("b", 100, 1)).isEmpty();
+		assertThat(scheduler.acquire("c", 100, 0)).isPresent();
+
+		sharded.release();
+		sharded.release();
+		assertThat(scheduler.getConnectionsInUse()).isZero();
+		assertThat(scheduler.acquire("b", 100, 1)).isPresent();
+	}
+
+	private static ExportAdmissionScheduler scheduler(int maxConcurrent, int maxPerClient, int connectionBudget,
+													  Duration queueTimeout) {
+		ExportProperties properties = new ExportProperties();
+		properties.getAdmission().setMaxConcurrent(maxConcurrent);
+		properties.getAdmission().setMaxPerClient(maxPerClient);
+		properties.getAdmission().setConnectionBudget(connectionBudget);
+		properties.getAdmission().setQueueTimeout(queueTimeout);
+		return new ExportAdmissionScheduler(properties, new SimpleMeterRegistry());
+	}
+
+	private static CompletableFuture<Void> enqueue(ExportAdmissionScheduler scheduler, String client, long cost,
+												   List<String> admitted, ExecutorService executor) {
+		return CompletableFuture.runAsync(() -> {
+			try {
+				ExportAdmissionScheduler.Permit permit = scheduler.acquire(client, cost, 1).orElseThrow();
+				admitted.add(client);
+				permit.release();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+		}, executor);
+	}
+
+	private static void awaitQueueDepth(ExportAdmissionScheduler scheduler, int depth) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (scheduler.getQueueDepth() < depth && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(scheduler.getQueueDepth()).isEqualTo(depth);
+	}
+}
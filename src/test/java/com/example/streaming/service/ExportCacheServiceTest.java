@@ -0,0 +1,167 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.repository.UserMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExportCacheServiceTest {
+
+	@TempDir
+	Path directory;
+
+	private final UserMapper userMapper = mock(UserMapper.class);
+	private final StreamingCsvService csvService = mock(StreamingCsvService.class);
+	private final ExportProperties properties = new ExportProperties();
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+	private final AtomicInteger tableRows = new AtomicInteger(100);
+	private final AtomicInteger renders = new AtomicInteger();
+	private final CountDownLatch renderStarted = new CountDownLatch(1);
+	private CountDownLatch renderReleased = new CountDownLatch(0);
+
+	@BeforeEach
+	void setUp() {
+		properties.getCache().setDirectory(directory);
+		when(userMapper.countAllUsers()).thenAnswer(invocation -> tableRows.get());
+		when(csvService.writeStreamingCsv(any(), any(), anyBoolean(), any())).thenAnswer(invocation -> {
+			renders.incrementAndGet();
+			renderStarted.countDown();
+			renderReleased.await(10, TimeUnit.SECONDS);
+			OutputStream out = invocation.getArgument(0);
+			UserExportFilter filter = invocation.getArgument(1);
+			out.write(("users," + filter.getDepartment() + "," + tableRows.get()).getBytes(StandardCharsets.UTF_8));
+			return 1L;
+		});
+	}
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentRequestsShareOneRender() throws Exception {
+		ExportCacheService cache = cacheService();
+		renderReleased = new CountDownLatch(1);
+
+		Future<MockHttpServletResponse> first = executor.submit(() -> serve(cache, "Engineering"));
+		assertThat(renderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+		Future<MockHttpServletResponse> second = executor.submit(() -> serve(cache, "Engineering"));
+		awaitCoalesced();
+		renderReleased.countDown();
+
+		assertThat(resultOf(first.get(5, TimeUnit.SECONDS))).isEqualTo("MISS");
+		assertThat(resultOf(second.get(5, TimeUnit.SECONDS))).isEqualTo("COALESCED");
+		assertThat(second.get().getContentAsString()).isEqualTo(first.get().getContentAsString());
+		assertThat(renders).hasValue(1);
+		assertThat(resultOf(serve(cache, "Engineering"))).isEqualTo("HIT");
+	}
+
+	@Test
+	void rejectedRenderIsHandedToWaitersAndDeletedAfterLastTransfer() throws Exception {
+		properties.getCache().setMaxSize(DataSize.ofBytes(1));
+		ExportCacheService cache = cacheService();
+		renderReleased = new CountDownLatch(1);
+
+		Future<MockHttpServletResponse> first = executor.submit(() -> serve(cache, "Engineering"));
+		assertThat(renderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+		Future<MockHttpServletResponse> second = executor.submit(() -> serve(cache, "Engineering"));
+		awaitCoalesced();
+		renderReleased.countDown();
+
+		assertThat(resultOf(first.get(5, TimeUnit.SECONDS))).isEqualTo("MISS");
+		assertThat(resultOf(second.get(5, TimeUnit.SECONDS))).isEqualTo("COALESCED");
+		assertThat(second.get().getContentAsString()).isEqualTo("users,Engineering,100");
+		assertThat(renders).hasValue(1);
+		assertThat(cacheFiles()).isZero();
+		assertThat(registry.get("export.cache.entries").gauge().value()).isZero();
+	}
+
+	@Test
+	void admitEvictsLeastRecentlyUsedEntry() throws Exception {
+		properties.getCache().setMaxEntries(2);
+		ExportCacheService cache = cacheService();
+
+		assertThat(resultOf(serve(cache, "A"))).isEqualTo("MISS");
+		assertThat(resultOf(serve(cache, "B"))).isEqualTo("MISS");
+		assertThat(resultOf(serve(cache, "A"))).isEqualTo("HIT");
+		assertThat(resultOf(serve(cache, "C"))).isEqualTo("MISS");
+
+		assertThat(cacheFiles()).isEqualTo(2);
+		assertThat(resultOf(serve(cache, "A"))).isEqualTo("HIT");
+		assertThat(resultOf(serve(cache, "B"))).isEqualTo("MISS");
+		assertThat(renders).hasValue(4);
+	}
+
+	@Test
+	void tableChangeInvalidatesCachedFiles() throws Exception {
+		ExportCacheService cache = cacheService();
+
+		assertThat(resultOf(serve(cache, "A"))).isEqualTo("MISS");
+		tableRows.set(101);
+		MockHttpServletResponse changed = serve(cache, "A");
+
+		assertThat(resultOf(changed)).isEqualTo("MISS");
+		assertThat(changed.getContentAsString()).isEqualTo("users,A,101");
+		assertThat(cacheFiles()).isEqualTo(1);
+	}
+
+	private ExportCacheService cacheService() {
+		return new ExportCacheService(mock(StreamingExcelService.class), csvService, userMapper, properties, registry);
+	}
+
+	private MockHttpServletResponse serve(ExportCacheService cache, String department) {
+		UserExportFilter filter = new UserExportFilter();
+		filter.setDepartment(department);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		cache.serve(response, ExportFormat.CSV, filter);
+		return response;
+	}
+
+	/**
+	 * 두 번째 요청이 테이블 버전을 읽은 뒤 진행 중인 렌더링에 합류할 때까지 대기
+	 */
+	private void awaitCoalesced() throws InterruptedException {
+		verify(userMapper, timeout(5000).times(2)).countAllUsers();
+		Thread.sleep(200);
+	}
+
+	private static String resultOf(MockHttpServletResponse response) {
+		return response.getHeader(ExportCacheService.CACHE_HEADER);
+	}
+
+	private long cacheFiles() throws Exception {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+}
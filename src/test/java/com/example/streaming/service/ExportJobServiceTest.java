@@ -0,0 +1,141 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.example.streaming.dto.ExportJobStatus;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.repository.UserMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExportJobServiceTest {
+
+	@TempDir
+	Path directory;
+
+	private final UserMapper userMapper = mock(UserMapper.class);
+	private final StreamingCsvService csvService = mock(StreamingCsvService.class);
+	private final ExportProperties properties = new ExportProperties();
+	private final Queue<Runnable> queued = new ArrayDeque<>();
+
+	private ExportJobService jobService;
+
+	@BeforeEach
+	void setUp() {
+		properties.getJob().setDirectory(directory);
+		jobService = new ExportJobService(mock(StreamingExcelService.class), csvService, userMapper, properties,
+				queued::add);
+		when(userMapper.countUsers(any())).thenReturn(3);
+		when(csvService.writeStreamingCsv(any(), any(), anyBoolean(), any())).thenAnswer(invocation -> {
+			OutputStream out = invocation.getArgument(0);
+			AtomicLong progress = invocation.getArgument(3);
+			out.write("id,name\n1,a\n2,b\n3,c\n".getBytes(StandardCharsets.UTF_8));
+			progress.set(3);
+			return 3L;
+		});
+	}
+
+	@Test
+	void submittedJobRunsToCompletedFile() throws Exception {
+		ExportJobStatus submitted = jobService.submit(ExportFormat.CSV, new UserExportFilter());
+
+		assertThat(submitted.getState()).isEqualTo("QUEUED");
+		assertThat(jobService.getCompletedFile(submitted.getJobId())).isEmpty();
+
+		runQueued();
+
+		ExportJobStatus status = jobService.getStatus(submitted.getJobId()).orElseThrow();
+		assertThat(status.getState()).isEqualTo("COMPLETED");
+		assertThat(status.getProcessedRows()).isEqualTo(3);
+		assertThat(status.getTotalRows()).isEqualTo(3);
+		assertThat(status.getEtaSeconds()).isZero();
+		assertThat(status.getDownloadUrl()).endsWith(submitted.getJobId() + "/file");
+
+		ExportJobService.ExportFile file = jobService.getCompletedFile(submitted.getJobId()).orElseThrow();
+		assertThat(file.filename()).isEqualTo("users_" + submitted.getJobId() + ".csv");
+		assertThat(Files.readString(file.path())).isEqualTo("id,name\n1,a\n2,b\n3,c\n");
+		assertThat(status.getFileSize()).isEqualTo(Files.size(file.path()));
+	}
+
+	@Test
+	void failedJobKeepsErrorAndRemovesPartialFile() throws Exception {
+		when(csvService.writeStreamingCsv(any(), any(), anyBoolean(), any()))
+				.thenThrow(new IllegalStateException("조회 실패"));
+
+		String jobId = jobService.submit(ExportFormat.CSV, new UserExportFilter()).getJobId();
+		runQueued();
+
+		ExportJobStatus status = jobService.getStatus(jobId).orElseThrow();
+		assertThat(status.getState()).isEqualTo("FAILED");
+		assertThat(status.getError()).isEqualTo("조회 실패");
+		assertThat(status.getDownloadUrl()).isNull();
+		assertThat(jobService.getCompletedFile(jobId)).isEmpty();
+		assertThat(files()).isZero();
+	}
+
+	@Test
+	void expiredJobsArePurgedWithoutNewSubmissions() throws Exception {
+		String jobId = jobService.submit(ExportFormat.CSV, new UserExportFilter()).getJobId();
+		runQueued();
+		Path file = jobService.getCompletedFile(jobId).orElseThrow().path();
+
+		properties.getJob().setRetention(Duration.ZERO);
+		Thread.sleep(10);
+		jobService.purgeExpiredJobs();
+
+		assertThat(file).doesNotExist();
+		assertThat(jobService.getStatus(jobId)).isEmpty();
+	}
+
+	@Test
+	void downloadOfExpiredJobIsRefusedBeforeScheduledPurge() throws Exception {
+		String jobId = jobService.submit(ExportFormat.CSV, new UserExportFilter()).getJobId();
+		runQueued();
+
+		properties.getJob().setRetention(Duration.ZERO);
+		Thread.sleep(10);
+
+		assertThat(jobService.getCompletedFile(jobId)).isEmpty();
+		assertThat(files()).isZero();
+	}
+
+	@Test
+	void runningJobIsNotPurged() {
+		String jobId = jobService.submit(ExportFormat.CSV, new UserExportFilter()).getJobId();
+		properties.getJob().setRetention(Duration.ZERO);
+
+		jobService.purgeExpiredJobs();
+
+		assertThat(jobService.getStatus(jobId)).hasValueSatisfying(
+				status -> assertThat(status.getState()).isEqualTo("QUEUED"));
+	}
+
+	private void runQueued() {
+		Runnable task;
+		while ((task = queued.poll()) != null) {
+			task.run();
+		}
+	}
+
+	private long files() throws Exception {
+		try (Stream<Path> paths = Files.list(directory)) {
+			return paths.count();
+		}
+	}
+}
@@ -0,0 +1,187 @@
+package com.example.streaming.service;
+
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExportPipelineTest {
+
+	private static final Duration STALL_TIMEOUT = Duration.ofSeconds(10);
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void runRendersRowsInFetchOrder() throws Exception {
+		ExportPipeline<Integer> pipeline = new ExportPipeline<>(executor, 4, STALL_TIMEOUT);
+		List<Integer> rendered = new CopyOnWriteArrayList<>();
+
+		long rows = pipeline.run(handler -> emit(handler, 100), rendered::add);
+
+		assertThat(rows).isEqualTo(100);
+		assertThat(rendered).hasSize(100).startsWith(1, 2, 3).endsWith(100);
+		assertThat(pipeline.getFetchedCount()).isEqualTo(100);
+	}
+
+	@Test
+	void fetchFailureSurfacesFromDrain() {
+		ExportPipeline<Integer> pipeline = new ExportPipeline<>(executor, 4, STALL_TIMEOUT);
+		IllegalStateException failure = new IllegalStateException("조회 실패");
+
+		pipeline.start(handler -> {
+			emit(handler, 3);
+			throw failure;
+		});
+
+		assertThatThrownBy(() -> pipeline.drain(row -> {
+		})).isSameAs(failure);
+		assertThat(pipeline.getRenderedCount()).isEqualTo(3);
+	}
+
+	@Test
+	void renderFailureCancelsFetch() throws Exception {
+		ExportPipeline<Integer> pipeline = new ExportPipeline<>(executor, 4, STALL_TIMEOUT);
+		AtomicInteger offered = new AtomicInteger();
+		IllegalStateException failure = new IllegalStateException("렌더링 실패");
+
+		pipeline.start(handler -> emit(handler, Integer.MAX_VALUE, offered));
+
+		assertThatThrownBy(() -> pipeline.drain(row -> {
+			if (row == 5) {
+				throw failure;
+			}
+		})).isSameAs(failure);
+
+		// drain이 fetch 종료를 기다린 뒤 반환하므로 fetch 스레드는 이미 비어 있음
+		assertThat(offered.get()).isLessThanOrEqualTo(5 + 4 + 1);
+		assertThat(executor.submit(() -> true).get(1, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void abortBeforeFetchStartsSkipsQuery() throws Exception {
+		CountDownLatch busy = new CountDownLatch(1);
+		executor.execute(() -> awaitQuietly(busy));
+		ExportPipeline<Integer> pipeline = new ExportPipeline<>(executor, 4, STALL_TIMEOUT);
+		AtomicBoolean queried = new AtomicBoolean();
+
+		pipeline.start(handler -> queried.set(true));
+		CompletableFuture.runAsync(pipeline::abort).get(1, TimeUnit.SECONDS);
+
+		busy.countDown();
+		executor.submit(() -> true).get(1, TimeUnit.SECONDS);
+		assertThat(queried).isFalse();
+	}
+
+	@Test
+	void drainTimesOutWhenFetchNeverStarts() {
+		CountDownLatch busy = new CountDownLatch(1);
+		executor.execute(() -> awaitQuietly(busy));
+		ExportPipeline<Integer> pipeline = new ExportPipeline<>(executor, 4, Duration.ofMillis(300));
+
+		pipeline.start(handler -> emit(handler, 10));
+
+		try {
+			assertThatThrownBy(() -> pipeline.drain(row -> {
+			})).isInstanceOf(TimeoutException.class);
+			assertThat(pipeline.getRenderedCount()).isZero();
+		} finally {
+			busy.countDown();
+		}
+	}
+
+	@Test
+	void fullBufferHoldsFetch() throws Exception {
+		ExportPipeline<Integer> pipeline = new ExportPipeline<>(executor, 2, STALL_TIMEOUT);
+		AtomicInteger offered = new AtomicInteger();
+
+		pipeline.start(handler -> emit(handler, 50, offered));
+		// 버퍼 2개 + 자리를 기다리는 1개에서 멈춤
+		awaitValue(offered, 3);
+		Thread.sleep(300);
+		assertThat(offered.get()).isEqualTo(3);
+
+		long rows = pipeline.drain(row -> {
+		});
+
+		assertThat(rows).isEqualTo(50);
+		assertThat(offered.get()).isEqualTo(50);
+		assertThat(pipeline.getFetchWaitMillis()).isGreaterThanOrEqualTo(200);
+	}
+
+	private static void emit(ResultHandler<Integer> handler, int rows) {
+		emit(handler, rows, new AtomicInteger());
+	}
+
+	/**
+	 * MyBatis 스트리밍 조회처럼 context.stop()까지 행을 하나씩 넘김
+	 */
+	private static void emit(ResultHandler<Integer> handler, int rows, AtomicInteger offered) {
+		RowContext context = new RowContext();
+		for (int row = 1; row <= rows && !context.isStopped(); row++) {
+			context.row = row;
+			offered.incrementAndGet();
+			handler.handleResult(context);
+		}
+	}
+
+	private static void awaitValue(AtomicInteger value, int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (value.get() < expected && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class RowContext implements ResultContext<Integer> {
+
+		private int row;
+		private boolean stopped;
+
+		@Override
+		public Integer getResultObject() {
+			return row;
+		}
+
+		@Override
+		public int getResultCount() {
+			return row;
+		}
+
+		@Override
+		public boolean isStopped() {
+			return stopped;
+		}
+
+		@Override
+		public void stop() {
+			stopped = true;
+		}
+	}
+}
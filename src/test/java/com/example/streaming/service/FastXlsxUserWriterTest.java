@@ -0,0 +1,78 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.util.SpreadsheetMlWriter;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FastXlsxUserWriterTest {
+
+	private static final String[] DEPARTMENTS = {"Engineering", "Marketing", "Sales", "HR", "Finance"};
+
+	private static final List<UserColumn> COLUMNS = List.of(UserColumn.EMAIL, UserColumn.DEPARTMENT);
+
+	@Test
+	void switchesLowCardinalityColumnsToSharedStringsAfterSample() throws Exception {
+		SharedStringPolicy policy = new SharedStringPolicy(Set.of(), 10, 8, 100);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SpreadsheetMlWriter xlsxWriter = new SpreadsheetMlWriter(out);
+		FastXlsxUserWriter writer = new FastXlsxUserWriter(xlsxWriter, "사용자 목록", COLUMNS, 1000, policy);
+
+		for (int i = 0; i < 50; i++) {
+			writer.writeRow(user(i));
+		}
+		xlsxWriter.close();
+
+		// 부서 5종만 공유 문자열로 (이메일은 표본에서 기준을 넘어 inlineStr 유지)
+		assertThat(xlsxWriter.getSharedStringCount()).isEqualTo(DEPARTMENTS.length);
+		assertRows(out, 50);
+	}
+
+	@Test
+	void batchPathSharesDictionaryCodedDepartments() throws Exception {
+		SharedStringPolicy policy = new SharedStringPolicy(Set.of(UserColumn.DEPARTMENT), 0, 0, 3);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SpreadsheetMlWriter xlsxWriter = new SpreadsheetMlWriter(out);
+		FastXlsxUserWriter writer = new FastXlsxUserWriter(xlsxWriter, "사용자 목록", COLUMNS, 1000, policy);
+
+		UserBatch batch = new UserBatch(16, new StringDictionary());
+		for (int i = 0; i < 16; i++) {
+			UserDto user = user(i);
+			int row = batch.addRow();
+			batch.setEmail(row, user.getEmail());
+			batch.setDepartment(row, user.getDepartment());
+		}
+		writer.writeBatch(batch);
+		xlsxWriter.close();
+
+		// 테이블 상한(3)을 넘는 부서는 inlineStr로 기록
+		assertThat(xlsxWriter.getSharedStringCount()).isEqualTo(3);
+		assertRows(out, 16);
+	}
+
+	private static UserDto user(int i) {
+		return UserDto.builder()
+				.email("user" + i + "@company.com")
+				.department(DEPARTMENTS[i % DEPARTMENTS.length])
+				.build();
+	}
+
+	private static void assertRows(ByteArrayOutputStream out, int rows) throws Exception {
+		try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+			Sheet sheet = workbook.getSheetAt(0);
+			assertThat(sheet.getLastRowNum()).isEqualTo(rows);
+			for (int i = 0; i < rows; i++) {
+				assertThat(sheet.getRow(i + 1).getCell(0).getStringCellValue()).isEqualTo("user" + i + "@company.com");
+				assertThat(sheet.getRow(i + 1).getCell(1).getStringCellValue()).isEqualTo(DEPARTMENTS[i % DEPARTMENTS.length]);
+			}
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.UserDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonUserWriterTest {
+
+	private static final List<UserDto> USERS = IntStream.range(0, 5)
+			.mapToObj(i -> UserDto.builder()
+					.id((long) i)
+					.username(i == 2 ? "김 \"철수\"\n" : "user_" + i)
+					.email("user" + i + "@company.com")
+					.age(i % 2 == 0 ? 20 + i : null)
+					.department("Engineering")
+					.createdAt(LocalDateTime.of(2025, 1, 2, 3, 4, 0).plusSeconds(i))
+					.active(i % 3 != 0)
+					.build())
+			.toList();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void ndjsonWritesOneObjectPerLine() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		JsonUserWriter writer = new JsonUserWriter(out, UserColumn.ALL, false);
+		for (UserDto user : USERS) {
+			writer.writeRow(user);
+		}
+		writer.finish();
+
+		String body = out.toString(StandardCharsets.UTF_8);
+		String[] lines = body.split("\n");
+
+		assertThat(body).endsWith("\n");
+		assertThat(lines).hasSize(USERS.size());
+		assertThat(writer.getRowCount()).isEqualTo(USERS.size());
+		JsonNode escaped = objectMapper.readTree(lines[2]);
+		assertThat(escaped.get("username").asText()).isEqualTo("김 \"철수\"\n");
+		assertThat(escaped.fieldNames()).toIterable()
+				.containsExactly("id", "username", "email", "age", "department", "createdAt", "active");
+	}
+
+	@Test
+	void arrayWritesSelectedColumnsAsSingleDocument() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		JsonUserWriter writer = new JsonUserWriter(out, List.of(UserColumn.EMAIL, UserColumn.AGE), true);
+		for (UserDto user : USERS) {
+			writer.writeRow(user);
+		}
+		writer.finish();
+
+		JsonNode array = objectMapper.readTree(out.toByteArray());
+
+		assertThat(array.isArray()).isTrue();
+		assertThat(array).hasSize(USERS.size());
+		assertThat(array.get(0).fieldNames()).toIterable().containsExactly("email", "age");
+		assertThat(array.get(0).get("age").asInt()).isEqualTo(20);
+		assertThat(array.get(1).get("age").isNull()).isTrue();
+	}
+
+	@Test
+	void emptyArrayIsStillValidJson() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		JsonUserWriter writer = new JsonUserWriter(out, UserColumn.ALL, true);
+		writer.finish();
+
+		assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+	}
+
+	@Test
+	void flushWritesBufferedRowsWithoutClosingArray() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		JsonUserWriter writer = new JsonUserWriter(out, List.of(UserColumn.ID), true);
+		writer.writeRow(USERS.get(0));
+		writer.writeRow(USERS.get(1));
+		writer.flush();
+
+		assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[{\"id\":0},{\"id\":1}");
+	}
+}
@@ -0,0 +1,363 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.ExportCheckpointStatus;
+import com.example.streaming.dto.UserExportFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 끊긴 다운로드를 offset부터 이어받으면 한 번에 받은 것과 바이트 단위로 같은지 검증 (H2)
+ */
+@SpringBootTest(properties = {
+		"export.keyset.page-size=" + KeysetExportServiceTest.PAGE_SIZE,
+		"export.keyset.max-checkpoints=" + KeysetExportServiceTest.MAX_CHECKPOINTS
+})
+class KeysetExportServiceTest {
+
+	static final int PAGE_SIZE = 1000;
+	static final int MAX_CHECKPOINTS = 40;
+
+	@Autowired
+	private KeysetExportService keysetExportService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void csvResumesFromNearestCheckpointAtAnyOffset() {
+		String exportId = keysetExportService.begin(ExportFormat.CSV, UserExportFilter.none()).getExportId();
+		byte[] full = download(exportId);
+		long users = countUsers();
+		List<Long> boundaries = pageBoundaries(full, users);
+		int lastPage = boundaries.size() - 1;
+		assertThat(lastPage).isGreaterThan(MAX_CHECKPOINTS);
+
+		long[] offsets = {
+				0,
+				1,
+				// 오래된 체크포인트는 밀려나서 처음부터 다시 생성
+				boundaries.get(1) + 5,
+				boundaries.get(lastPage - 10),
+				boundaries.get(lastPage - 10) + 1,
+				(boundaries.get(lastPage - 5) + boundaries.get(lastPage - 4)) / 2,
+				full.length
+		};
+		for (long offset : offsets) {
+			ByteArrayOutputStream rest = new ByteArrayOutputStream();
+
+			long rows = keysetExportService.write(exportId, offset, rest);
+
+			assertThat(join(full, offset, rest.toByteArray())).as("offset %d", offset).isEqualTo(full);
+			assertThat(rows).as("offset %d", offset).isEqualTo(users - resumedRows(boundaries, offset, users));
+		}
+	}
+
+	@Test
+	void interruptedCsvDownloadResumesByteForByte() {
+		byte[] full = download(keysetExportService.begin(ExportFormat.CSV, UserExportFilter.none()).getExportId());
+		List<Long> boundaries = pageBoundaries(full, countUsers());
+
+		// 페이지 경계, 경계 바로 뒤, 페이지 중간에서 끊김
+		long[] cuts = {boundaries.get(2), boundaries.get(2) + 1, boundaries.get(5) - 17};
+		for (long cut : cuts) {
+			String exportId = keysetExportService.begin(ExportFormat.CSV, UserExportFilter.none()).getExportId();
+			ByteArrayOutputStream received = new ByteArrayOutputStream();
+
+			assertThatThrownBy(() -> keysetExportService.write(exportId, 0, new CutOutputStream(received, cut)))
+					.isInstanceOf(RuntimeException.class);
+			ExportCheckpointStatus status = keysetExportService.getCheckpoint(exportId).orElseThrow();
+			assertThat(received.size()).isEqualTo(cut);
+			assertThat(status.isCompleted()).isFalse();
+			assertThat(status.getBytesEmitted()).isGreaterThanOrEqualTo(cut);
+
+			ByteArrayOutputStream rest = new ByteArrayOutputStream();
+			keysetExportService.write(exportId, cut, rest);
+
+			assertThat(join(received.toByteArray(), cut, rest.toByteArray())).as("cut %d", cut).isEqualTo(full);
+			assertThat(keysetExportService.getCheckpoint(exportId).orElseThrow().isCompleted()).isTrue();
+		}
+	}
+
+	@Test
+	void xlsxResumeRegeneratesFromStart() {
+		String exportId = keysetExportService.begin(ExportFormat.XLSX, UserExportFilter.none()).getExportId();
+		byte[] full = download(exportId);
+		long users = countUsers();
+		assertThat(new String(full, 0, 2, StandardCharsets.US_ASCII)).isEqualTo("PK");
+
+		for (long offset : new long[]{1, full.length / 3, full.length / 2 + 1, full.length}) {
+			ByteArrayOutputStream rest = new ByteArrayOutputStream();
+
+			long rows = keysetExportService.write(exportId, offset, rest);
+
+			assertThat(join(full, offset, rest.toByteArray())).as("offset %d", offset).isEqualTo(full);
+			assertThat(rows).as("offset %d", offset).isEqualTo(users);
+		}
+	}
+
+	/**
+	 * 같은 export를 새로 요청하면 이전 요청은 끝나더라도 체크포인트를 바꾸지 못함
+	 */
+	@Test
+	void newerRequestTakesOverCheckpoints() throws Exception {
+		String exportId = keysetExportService.begin(ExportFormat.CSV, UserExportFilter.none()).getExportId();
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ByteArrayOutputStream first = new ByteArrayOutputStream();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			// 1. 첫 요청은 첫 페이지 전송에서 멈춤
+			Future<Long> stale = executor.submit(() -> keysetExportService.write(exportId, 0,
+					new BlockingOutputStream(first, blocked, release)));
+			assertThat(blocked.await(30, TimeUnit.SECONDS)).isTrue();
+
+			// 2. 다음 요청이 세 페이지 넘게 보내고 끊김
+			byte[] sample = download(keysetExportService.begin(ExportFormat.CSV, UserExportFilter.none()).getExportId());
+			long cut = pageBoundaries(sample, countUsers()).get(3) + 10;
+			ByteArrayOutputStream received = new ByteArrayOutputStream();
+			assertThatThrownBy(() -> keysetExportService.write(exportId, 0, new CutOutputStream(received, cut)))
+					.isInstanceOf(RuntimeException.class);
+
+			// 3. 첫 요청이 끝까지 보내도 완료로 기록되지 않음
+			release.countDown();
+			assertThat(stale.get(60, TimeUnit.SECONDS)).isEqualTo(countUsers());
+			ExportCheckpointStatus status = keysetExportService.getCheckpoint(exportId).orElseThrow();
+			assertThat(status.isCompleted()).isFalse();
+			assertThat(status.getRowsEmitted()).isEqualTo(3L * PAGE_SIZE);
+
+			// 4. 끊긴 지점부터 이어받으면 완료
+			ByteArrayOutputStream rest = new ByteArrayOutputStream();
+			keysetExportService.write(exportId, cut, rest);
+			assertThat(join(received.toByteArray(), cut, rest.toByteArray())).isEqualTo(first.toByteArray());
+			assertThat(keysetExportService.getCheckpoint(exportId).orElseThrow().isCompleted()).isTrue();
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 스냅샷 이후 created_at이 과거 값인 행이 추가되어도 (import, 데이터 생성) 이어받은 내용이 바뀌지 않음 (테스트 후 롤백)
+	 */
+	@Test
+	@Transactional
+	void rowsInsertedAfterSnapshotAreExcludedEvenWhenBackDated() {
+		String exportId = keysetExportService.begin(ExportFormat.CSV, UserExportFilter.none()).getExportId();
+		long users = countUsers();
+		byte[] full = download(exportId);
+		List<Long> boundaries = pageBoundaries(full, users);
+
+		// 첫 요청과 이어받기 사이에 스냅샷 범위 한가운데와 맨 끝 created_at으로 행 추가
+		Timestamp middle = jdbcTemplate.queryForObject(
+				"SELECT created_at FROM users ORDER BY created_at DESC, id DESC LIMIT 1 OFFSET ?",
+				Timestamp.class, users / 2);
+		insertUser("backdated_middle", middle);
+		insertUser("backdated_oldest", Timestamp.valueOf("2000-01-01 00:00:00"));
+		assertThat(countUsers()).isEqualTo(users + 2);
+
+		int lastPage = boundaries.size() - 1;
+		for (long offset : new long[]{0, boundaries.get(lastPage - 10) + 1, boundaries.get(lastPage - 1)}) {
+			ByteArrayOutputStream rest = new ByteArrayOutputStream();
+
+			long rows = keysetExportService.write(exportId, offset, rest);
+
+			assertThat(join(full, offset, rest.toByteArray())).as("offset %d", offset).isEqualTo(full);
+			assertThat(rows).as("offset %d", offset).isEqualTo(users - resumedRows(boundaries, offset, users));
+		}
+		assertThat(new String(full, StandardCharsets.UTF_8)).doesNotContain("backdated_");
+	}
+
+	/**
+	 * 조회 조건과 열 선택은 시작할 때 보관하고 이어받기도 같은 조건으로 조회
+	 */
+	@Test
+	void resumeReplaysFilterAndColumns() {
+		UserExportFilter filter = new UserExportFilter();
+		filter.setDepartment("Sales");
+		filter.setColumns(List.of(UserColumn.USERNAME, UserColumn.DEPARTMENT));
+		ExportCheckpointStatus begun = keysetExportService.begin(ExportFormat.CSV, filter);
+		assertThat(begun.getFilter()).isSameAs(filter);
+
+		byte[] full = download(begun.getExportId());
+		long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE department = 'Sales'", Long.class);
+		assertThat(users).isLessThan(countUsers());
+		List<Long> boundaries = pageBoundaries(full, users);
+		assertThat(boundaries.size()).isGreaterThan(3);
+
+		List<String> lines = new String(full, StandardCharsets.UTF_8).lines().toList();
+		assertThat(lines.get(0)).isEqualTo("\uFEFF사용자명,부서");
+		assertThat(lines.subList(1, lines.size())).allSatisfy(line -> assertThat(line).endsWith(",Sales"));
+
+		long offset = boundaries.get(boundaries.size() / 2) + 3;
+		ByteArrayOutputStream rest = new ByteArrayOutputStream();
+
+		long rows = keysetExportService.write(begun.getExportId(), offset, rest);
+
+		assertThat(join(full, offset, rest.toByteArray())).isEqualTo(full);
+		assertThat(rows).isEqualTo(users - resumedRows(boundaries, offset, users));
+	}
+
+	/**
+	 * 시작 시점에 행이 없으면 헤더만 쓰고 완료 (테스트 후 롤백)
+	 */
+	@Test
+	@Transactional
+	void emptySnapshotWritesHeaderOnly() {
+		jdbcTemplate.update("DELETE FROM users");
+		String exportId = keysetExportService.begin(ExportFormat.CSV, UserExportFilter.none()).getExportId();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		assertThat(keysetExportService.write(exportId, 0, out)).isZero();
+
+		String csv = out.toString(StandardCharsets.UTF_8);
+		assertThat(csv).startsWith("\uFEFF").endsWith("\n");
+		assertThat(csv.indexOf('\n')).isEqualTo(csv.length() - 1);
+		ExportCheckpointStatus status = keysetExportService.getCheckpoint(exportId).orElseThrow();
+		assertThat(status.isCompleted()).isTrue();
+		assertThat(status.getRowsEmitted()).isZero();
+		assertThat(status.getBytesEmitted()).isEqualTo(out.size());
+
+		ByteArrayOutputStream rest = new ByteArrayOutputStream();
+		assertThat(keysetExportService.write(exportId, out.size(), rest)).isZero();
+		assertThat(rest.size()).isZero();
+	}
+
+	private byte[] download(String exportId) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		keysetExportService.write(exportId, 0, out);
+		return out.toByteArray();
+	}
+
+	private void insertUser(String username, Timestamp createdAt) {
+		jdbcTemplate.update("INSERT INTO users (username, email, age, department, created_at, active) VALUES (?, ?, ?, ?, ?, ?)",
+				username, username + "@company.com", 30, "Engineering", createdAt, true);
+	}
+
+	private long countUsers() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+	}
+
+	/**
+	 * k번째 값 = k페이지까지 보낸 바이트 수 (0번째는 처음)
+	 */
+	private static List<Long> pageBoundaries(byte[] csv, long users) {
+		List<Long> lineEnds = new ArrayList<>();
+		for (int i = 0; i < csv.length; i++) {
+			if (csv[i] == '\n') {
+				lineEnds.add((long) i + 1);
+			}
+		}
+		// 헤더 1줄 + 사용자
+		assertThat(lineEnds).hasSize((int) users + 1);
+
+		List<Long> boundaries = new ArrayList<>();
+		boundaries.add(0L);
+		for (long rows = PAGE_SIZE; rows <= users; rows += PAGE_SIZE) {
+			boundaries.add(lineEnds.get((int) rows));
+		}
+		if (users % PAGE_SIZE != 0) {
+			boundaries.add((long) csv.length);
+		}
+		return boundaries;
+	}
+
+	/**
+	 * offset 이하의 보관 중인 체크포인트 중 가장 가까운 곳까지의 행 수
+	 */
+	private static long resumedRows(List<Long> boundaries, long offset, long users) {
+		int oldestRetained = boundaries.size() - MAX_CHECKPOINTS;
+		for (int page = boundaries.size() - 1; page >= oldestRetained; page--) {
+			if (boundaries.get(page) <= offset) {
+				return Math.min((long) page * PAGE_SIZE, users);
+			}
+		}
+		return 0;
+	}
+
+	private static byte[] join(byte[] received, long length, byte[] rest) {
+		byte[] joined = Arrays.copyOf(received, (int) length + rest.length);
+		System.arraycopy(rest, 0, joined, (int) length, rest.length);
+		return joined;
+	}
+
+	/**
+	 * limit 바이트까지만 받고 연결이 끊긴 것처럼 실패
+	 */
+	private static class CutOutputStream extends OutputStream {
+
+		private final ByteArrayOutputStream target;
+		private final long limit;
+
+		CutOutputStream(ByteArrayOutputStream target, long limit) {
+			this.target = target;
+			this.limit = limit;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[]{(byte) b}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			int accepted = (int) Math.min(len, limit - target.size());
+			target.write(b, off, accepted);
+			if (accepted < len) {
+				throw new IOException("연결 끊김");
+			}
+		}
+	}
+
+	/**
+	 * 처음 쓸 때 release까지 멈춤
+	 */
+	private static class BlockingOutputStream extends OutputStream {
+
+		private final ByteArrayOutputStream target;
+		private final CountDownLatch blocked;
+		private final CountDownLatch release;
+
+		BlockingOutputStream(ByteArrayOutputStream target, CountDownLatch blocked, CountDownLatch release) {
+			this.target = target;
+			this.blocked = blocked;
+			this.release = release;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[]{(byte) b}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			blocked.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException(e);
+			}
+			target.write(b, off, len);
+		}
+	}
+}
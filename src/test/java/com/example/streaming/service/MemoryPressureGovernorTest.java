@@ -0,0 +1,99 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoryPressureGovernorTest {
+
+	private final ExportProperties properties = new ExportProperties();
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	private MemoryPressureGovernor governor;
+
+	@BeforeEach
+	void setUp() {
+		properties.getMemory().setThrottleDelay(Duration.ofMillis(1));
+		governor = new MemoryPressureGovernor(properties, registry);
+		// 실제 GC 알림이 테스트 중 단계를 바꾸지 않도록 바로 분리
+		governor.close();
+	}
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void usageRatioMapsToPressure() {
+		assertThat(governor.getPressure()).isEqualTo(MemoryPressure.NORMAL);
+
+		governor.update(0.75);
+		assertThat(governor.getPressure()).isEqualTo(MemoryPressure.ELEVATED);
+		assertThat(governor.isAcceptingExports()).isTrue();
+		assertThat(registry.get("export.memory.pressure").gauge().value()).isEqualTo(1);
+
+		governor.update(0.90);
+		assertThat(governor.getPressure()).isEqualTo(MemoryPressure.CRITICAL);
+		assertThat(governor.isAcceptingExports()).isFalse();
+		assertThat(registry.get("export.memory.pressure").gauge().value()).isEqualTo(2);
+
+		governor.update(0.30);
+		assertThat(governor.getPressure()).isEqualTo(MemoryPressure.NORMAL);
+		assertThat(governor.isAcceptingExports()).isTrue();
+	}
+
+	@Test
+	void criticalThrottleWaitsUntilPressureDrops() throws Exception {
+		properties.getMemory().setMaxPause(Duration.ofSeconds(10));
+		governor.update(0.90);
+
+		CompletableFuture<MemoryPressure> throttled = CompletableFuture.supplyAsync(this::throttle, executor);
+		Thread.sleep(200);
+		assertThat(throttled).isNotDone();
+
+		governor.update(0.75);
+
+		assertThat(throttled.get(5, TimeUnit.SECONDS)).isEqualTo(MemoryPressure.ELEVATED);
+	}
+
+	@Test
+	void criticalThrottleGivesUpAfterMaxPause() throws Exception {
+		properties.getMemory().setMaxPause(Duration.ofMillis(200));
+		governor.update(0.90);
+
+		long start = System.nanoTime();
+		MemoryPressure pressure = CompletableFuture.supplyAsync(this::throttle, executor).get(5, TimeUnit.SECONDS);
+
+		assertThat(pressure).isEqualTo(MemoryPressure.CRITICAL);
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(200);
+	}
+
+	@Test
+	void normalThrottleReturnsImmediately() throws Exception {
+		properties.getMemory().setThrottleDelay(Duration.ofSeconds(10));
+
+		assertThat(CompletableFuture.supplyAsync(this::throttle, executor).get(1, TimeUnit.SECONDS))
+				.isEqualTo(MemoryPressure.NORMAL);
+	}
+
+	private MemoryPressure throttle() {
+		try {
+			return governor.throttle();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,273 @@
+package com.example.streaming.service;
+
+import com.example.streaming.config.ExportProperties;
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.dto.UserExportFilter;
+import com.example.streaming.dto.UserIdRange;
+import com.example.streaming.metrics.ExportMetrics;
+import com.example.streaming.repository.UserMapper;
+import com.example.streaming.util.MemoryMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShardedExcelServiceTest {
+
+	private static final long USERS = 250;
+	private static final int MAX_ROWS = 5_000_000;
+
+	private final UserMapper userMapper = mock(UserMapper.class);
+	private final MemoryMonitor memoryMonitor = mock(MemoryMonitor.class);
+	private final MemoryPressureGovernor governor = mock(MemoryPressureGovernor.class);
+	private final ExportProperties properties = new ExportProperties();
+	private final ExecutorService fetchExecutor = Executors.newFixedThreadPool(2);
+	private final ExecutorService requests = Executors.newFixedThreadPool(3);
+
+	private ShardedExcelService shardedExcelService;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		properties.getShard().setCount(2);
+		properties.getShard().setBufferSize(8);
+		properties.getPipeline().setFetchThreads(2);
+
+		UserIdRange idRange = new UserIdRange();
+		idRange.setMinId(1L);
+		idRange.setMaxId(USERS);
+		when(userMapper.findUserIdRange(any())).thenReturn(idRange);
+		when(governor.throttle()).thenReturn(MemoryPressure.NORMAL);
+		stubShards();
+
+		shardedExcelService = new ShardedExcelService(userMapper, memoryMonitor, properties,
+				new ExportMetrics(new SimpleMeterRegistry(), memoryMonitor), governor, fetchExecutor);
+	}
+
+	@AfterEach
+	void shutdown() {
+		requests.shutdownNow();
+		fetchExecutor.shutdownNow();
+	}
+
+	@Test
+	void mergedModeWritesShardsInIdOrder() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		shardedExcelService.createShardedExcel(response, ShardMode.MERGED, null);
+
+		try (Workbook workbook = read(response)) {
+			assertThat(workbook.getNumberOfSheets()).isEqualTo(1);
+			assertThat(ids(workbook.getSheetAt(0))).hasSize((int) USERS).startsWith(1L, 2L).endsWith(USERS)
+					.isSorted();
+		}
+	}
+
+	@Test
+	void sheetPerShardModeWritesOneSheetPerShard() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		shardedExcelService.createShardedExcel(response, ShardMode.SHEET_PER_SHARD, null);
+
+		try (Workbook workbook = read(response)) {
+			assertThat(workbook.getNumberOfSheets()).isEqualTo(2);
+			assertThat(ids(workbook.getSheetAt(0))).hasSize(125).startsWith(1L).endsWith(125L).isSorted();
+			assertThat(ids(workbook.getSheetAt(1))).hasSize(125).startsWith(126L).endsWith(USERS).isSorted();
+		}
+	}
+
+	/**
+	 * 조건은 id 범위와 샤드 조회에, 열 선택은 시트 열에 적용
+	 */
+	@Test
+	void filterNarrowsShardsAndColumns() throws Exception {
+		UserExportFilter filter = new UserExportFilter();
+		filter.setDepartment("Engineering");
+		filter.setColumns(List.of(UserColumn.USERNAME, UserColumn.EMAIL));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		shardedExcelService.createShardedExcel(response, ShardMode.MERGED, filter);
+
+		verify(userMapper).findUserIdRange(filter);
+		verify(userMapper).findUsersByIdRangeStreaming(eq(1L), anyLong(), eq(filter), any());
+		try (Workbook workbook = read(response)) {
+			Sheet sheet = workbook.getSheetAt(0);
+			assertThat(sheet.getRow(0).getLastCellNum()).isEqualTo((short) 2);
+			assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("사용자명");
+			assertThat(sheet.getRow(1).getCell(0).getStringCellValue()).isEqualTo("user1");
+		}
+	}
+
+	/**
+	 * 동시 export의 샤드 수 합이 fetch 스레드 수를 넘어도 모두 끝까지 진행됨 (샤드 작업끼리 서로 기다리지 않음)
+	 */
+	@Test
+	void concurrentSheetPerShardExportsShareFetchPool() throws Exception {
+		List<Future<MockHttpServletResponse>> exports = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			exports.add(requests.submit(() -> {
+				MockHttpServletResponse response = new MockHttpServletResponse();
+				shardedExcelService.createShardedExcel(response, ShardMode.SHEET_PER_SHARD, null);
+				return response;
+			}));
+		}
+
+		for (Future<MockHttpServletResponse> export : exports) {
+			try (Workbook workbook = read(export.get(30, TimeUnit.SECONDS))) {
+				assertThat(workbook.getNumberOfSheets()).isEqualTo(2);
+			}
+		}
+	}
+
+	@Test
+	void shardFailureStopsOtherShards() throws Exception {
+		AtomicInteger firstShardRows = new AtomicInteger();
+		IllegalStateException failure = new IllegalStateException("샤드 조회 실패");
+		doAnswer(invocation -> {
+			long fromId = invocation.getArgument(0);
+			ResultHandler<UserDto> handler = invocation.getArgument(3);
+			if (fromId == 126) {
+				emit(handler, fromId, fromId + 10, new AtomicInteger());
+				throw failure;
+			}
+			// 취소되지 않으면 MAX_ROWS까지 계속 조회
+			emit(handler, fromId, fromId + MAX_ROWS, firstShardRows);
+			return null;
+		}).when(userMapper).findUsersByIdRangeStreaming(anyLong(), anyLong(), any(), any());
+
+		assertThatThrownBy(() -> shardedExcelService.createShardedExcel(new MockHttpServletResponse(),
+				ShardMode.SHEET_PER_SHARD, null))
+				.hasRootCause(failure);
+		assertThat(firstShardRows.get()).isLessThan(MAX_ROWS);
+	}
+
+	/**
+	 * 조건에 맞는 행 수가 (샤드 수 × 시트당 행 수)를 넘으면 조회를 시작하기 전에 거절
+	 */
+	@Test
+	void sheetPerShardRejectsRowsBeyondSheetCapacity() {
+		properties.getXlsx().setMaxRowsPerSheet(100);
+		when(userMapper.countUsers(any())).thenReturn((int) USERS);
+
+		assertThatThrownBy(() -> shardedExcelService.createShardedExcel(new MockHttpServletResponse(),
+				ShardMode.SHEET_PER_SHARD, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("MERGED")
+				.hasMessageContaining("/test/excel/parts");
+		verify(userMapper, never()).findUsersByIdRangeStreaming(anyLong(), anyLong(), any(), any());
+	}
+
+	/**
+	 * 전체 행 수는 들어가도 한 샤드가 시트 상한에 닿으면 다음 행을 쓰기 전에 실패
+	 */
+	@Test
+	void sheetPerShardFailsWhenOneShardOverflowsItsSheet() {
+		properties.getXlsx().setMaxRowsPerSheet(100);
+		when(userMapper.countUsers(any())).thenReturn(200);
+
+		assertThatThrownBy(() -> shardedExcelService.createShardedExcel(new MockHttpServletResponse(),
+				ShardMode.SHEET_PER_SHARD, null))
+				.hasRootCauseInstanceOf(IllegalStateException.class)
+				.rootCause().hasMessageContaining("최대 행 수(100)");
+	}
+
+	@Test
+	void mergedModeIgnoresSheetPerShardCapacity() throws Exception {
+		properties.getXlsx().setMaxRowsPerSheet(100);
+		when(userMapper.countUsers(any())).thenReturn((int) USERS);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		shardedExcelService.createShardedExcel(response, ShardMode.MERGED, null);
+
+		try (Workbook workbook = read(response)) {
+			assertThat(workbook.getNumberOfSheets()).isEqualTo(3);
+		}
+	}
+
+	private void stubShards() {
+		doAnswer(invocation -> {
+			emit(invocation.getArgument(3), invocation.getArgument(0), invocation.getArgument(1), new AtomicInteger());
+			return null;
+		}).when(userMapper).findUsersByIdRangeStreaming(anyLong(), anyLong(), any(), any());
+	}
+
+	/**
+	 * MyBatis 스트리밍 조회처럼 [fromId, toId) 범위를 context.stop()까지 한 행씩 넘김
+	 */
+	private static void emit(ResultHandler<UserDto> handler, long fromId, long toId, AtomicInteger emitted) {
+		UserContext context = new UserContext();
+		for (long id = fromId; id < toId && !context.isStopped(); id++) {
+			context.user = UserDto.builder().id(id).username("user" + id).build();
+			context.count++;
+			emitted.incrementAndGet();
+			handler.handleResult(context);
+		}
+	}
+
+	private static Workbook read(MockHttpServletResponse response) throws Exception {
+		return new XSSFWorkbook(new ByteArrayInputStream(response.getContentAsByteArray()));
+	}
+
+	/**
+	 * 헤더를 뺀 ID 열 값
+	 */
+	private static List<Long> ids(Sheet sheet) {
+		List<Long> ids = new ArrayList<>();
+		for (int row = 1; row <= sheet.getLastRowNum(); row++) {
+			ids.add((long) sheet.getRow(row).getCell(0).getNumericCellValue());
+		}
+		return ids;
+	}
+
+	private static class UserContext implements ResultContext<UserDto> {
+
+		private UserDto user;
+		private int count;
+		private volatile boolean stopped;
+
+		@Override
+		public UserDto getResultObject() {
+			return user;
+		}
+
+		@Override
+		public int getResultCount() {
+			return count;
+		}
+
+		@Override
+		public boolean isStopped() {
+			return stopped;
+		}
+
+		@Override
+		public void stop() {
+			stopped = true;
+		}
+	}
+}
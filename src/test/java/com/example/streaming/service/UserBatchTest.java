@@ -0,0 +1,123 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.util.CsvWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserBatchTest {
+
+	private static final List<UserDto> USERS = List.of(
+			UserDto.builder()
+					.id(1L)
+					.username("user_000001")
+					.email("user1@company.com")
+					.age(31)
+					.department("Engineering")
+					.createdAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5))
+					.active(true)
+					.build(),
+			UserDto.builder()
+					.id(2L)
+					.username("김, \"철수\"")
+					.email("line\nbreak@company.com")
+					.department("영업팀")
+					.createdAt(LocalDateTime.of(1969, 12, 31, 23, 59, 59))
+					.active(false)
+					.build(),
+			UserDto.builder()
+					.id(3L)
+					.username("")
+					.email("emoji😀@company.com")
+					.createdAt(LocalDateTime.of(2024, 2, 29, 12, 0))
+					.build());
+
+	@Test
+	void writeBatchMatchesRowByRowCsv() throws Exception {
+		UserBatch batch = new UserBatch(8, new StringDictionary());
+		USERS.forEach(user -> fill(batch, user));
+
+		assertThat(csv(writer -> writer.writeBatch(batch))).isEqualTo(csv(writer -> {
+			for (UserDto user : USERS) {
+				writer.writeRow(user);
+			}
+		}));
+	}
+
+	@Test
+	void toUserDtoRestoresAllColumns() {
+		UserBatch batch = new UserBatch(8, new StringDictionary());
+		USERS.forEach(user -> fill(batch, user));
+
+		for (int row = 0; row < USERS.size(); row++) {
+			assertThat(batch.toUserDto(row)).isEqualTo(USERS.get(row));
+		}
+	}
+
+	@Test
+	void departmentsBeyondDictionaryAreStoredPerRow() {
+		StringDictionary dictionary = new StringDictionary();
+		for (int i = 0; i < StringDictionary.MAX_SIZE; i++) {
+			dictionary.encode("dept-" + i);
+		}
+		UserBatch batch = new UserBatch(2, dictionary);
+		batch.setDepartment(batch.addRow(), "dept-7");
+		batch.setDepartment(batch.addRow(), "새 부서");
+
+		assertThat(batch.getString(UserBatch.DEPARTMENT, 0)).isEqualTo("dept-7");
+		assertThat(batch.getString(UserBatch.DEPARTMENT, 1)).isEqualTo("새 부서");
+		assertThat(batch.isFull()).isTrue();
+	}
+
+	@Test
+	void clearedBatchStartsWithNullValues() {
+		UserBatchPool pool = new UserBatchPool(4, 1);
+		UserBatch batch = pool.acquire();
+		fill(batch, USERS.get(0));
+		pool.release(batch);
+
+		UserBatch reused = pool.acquire();
+		int row = reused.addRow();
+
+		assertThat(reused).isSameAs(batch);
+		assertThat(reused.size()).isEqualTo(1);
+		assertThat(reused.toUserDto(row)).isEqualTo(new UserDto(0L, null, null, null, null, null, null));
+	}
+
+	private static void fill(UserBatch batch, UserDto user) {
+		int row = batch.addRow();
+		batch.setId(row, user.getId());
+		batch.setUsername(row, user.getUsername());
+		batch.setEmail(row, user.getEmail());
+		if (user.getAge() != null) {
+			batch.setAge(row, user.getAge());
+		}
+		batch.setDepartment(row, user.getDepartment());
+		if (user.getCreatedAt() != null) {
+			batch.setCreatedAt(row, user.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+		}
+		if (user.getActive() != null) {
+			batch.setActive(row, user.getActive());
+		}
+	}
+
+	private static String csv(CsvBody body) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CsvWriter csvWriter = new CsvWriter(out, 64);
+		body.write(new CsvUserWriter(csvWriter, UserColumn.ALL, true));
+		csvWriter.flush();
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	@FunctionalInterface
+	private interface CsvBody {
+		void write(CsvUserWriter writer) throws Exception;
+	}
+}
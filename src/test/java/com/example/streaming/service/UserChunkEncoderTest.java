@@ -0,0 +1,119 @@
+package com.example.streaming.service;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.util.CsvWriter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserChunkEncoderTest {
+
+	private static final List<UserDto> USERS = IntStream.range(0, 10)
+			.mapToObj(i -> UserDto.builder()
+					.id((long) i)
+					.username(i == 3 ? "김, \"철수\"" : "user_" + i)
+					.email("user" + i + "@company.com")
+					.age(i % 2 == 0 ? 20 + i : null)
+					.department("Engineering")
+					.createdAt(LocalDateTime.of(2025, 1, 2, 3, 4, 0).plusSeconds(i))
+					.active(i % 3 != 0)
+					.build())
+			.toList();
+
+	@Test
+	void csvChunksMatchSingleStreamOutput() throws Exception {
+		UserChunkEncoder encoder = new UserChunkEncoder(USERS.iterator(), StreamFormat.CSV, UserColumn.ALL,
+				DefaultDataBufferFactory.sharedInstance, 4);
+
+		ByteArrayOutputStream chunks = new ByteArrayOutputStream();
+		int count = 0;
+		for (DataBuffer chunk = encoder.next(); chunk != null; chunk = encoder.next()) {
+			chunks.write(bytes(chunk));
+			count++;
+		}
+
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		CsvWriter csvWriter = new CsvWriter(expected);
+		CsvUserWriter writer = new CsvUserWriter(csvWriter, UserColumn.ALL, true);
+		for (UserDto user : USERS) {
+			writer.writeRow(user);
+		}
+		csvWriter.flush();
+
+		assertThat(count).isEqualTo(3);
+		assertThat(chunks.toString(StandardCharsets.UTF_8)).isEqualTo(expected.toString(StandardCharsets.UTF_8));
+		assertThat(encoder.getRowCount()).isEqualTo(USERS.size());
+	}
+
+	@Test
+	void readsOnlyOneChunkOfRowsPerCall() throws Exception {
+		CountingIterator rows = new CountingIterator(USERS.iterator());
+		UserChunkEncoder encoder = new UserChunkEncoder(rows, StreamFormat.NDJSON, UserColumn.ALL,
+				DefaultDataBufferFactory.sharedInstance, 4);
+
+		assertThat(rows.consumed).isZero();
+		encoder.next();
+		assertThat(rows.consumed).isEqualTo(4);
+		encoder.next();
+		assertThat(rows.consumed).isEqualTo(8);
+	}
+
+	@Test
+	void ndjsonWritesSelectedColumnsOnePerLine() throws Exception {
+		UserChunkEncoder encoder = new UserChunkEncoder(USERS.iterator(), StreamFormat.NDJSON,
+				List.of(UserColumn.ID, UserColumn.AGE, UserColumn.CREATED_AT, UserColumn.ACTIVE),
+				DefaultDataBufferFactory.sharedInstance, 100);
+
+		String body = new String(bytes(encoder.next()), StandardCharsets.UTF_8);
+		String[] lines = body.split("\n");
+
+		assertThat(encoder.next()).isNull();
+		assertThat(body).endsWith("\n");
+		assertThat(lines).hasSize(USERS.size());
+
+		ObjectMapper objectMapper = new ObjectMapper();
+		JsonNode first = objectMapper.readTree(lines[0]);
+		assertThat(first.fieldNames()).toIterable().containsExactly("id", "age", "createdAt", "active");
+		assertThat(first.get("createdAt").asText()).isEqualTo("2025-01-02T03:04:00");
+		assertThat(first.get("active").asBoolean()).isFalse();
+		assertThat(objectMapper.readTree(lines[1]).get("age").isNull()).isTrue();
+	}
+
+	private static byte[] bytes(DataBuffer buffer) {
+		byte[] bytes = new byte[buffer.readableByteCount()];
+		buffer.read(bytes);
+		return bytes;
+	}
+
+	private static final class CountingIterator implements Iterator<UserDto> {
+
+		private final Iterator<UserDto> delegate;
+		private int consumed;
+
+		private CountingIterator(Iterator<UserDto> delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return delegate.hasNext();
+		}
+
+		@Override
+		public UserDto next() {
+			consumed++;
+			return delegate.next();
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package com.example.streaming.service;
+
+import com.example.streaming.controller.UserImportController;
+import com.example.streaming.dto.ImportResult;
+import com.example.streaming.dto.ImportRowError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 일괄 import - 헤더 매핑, 변환/Bean Validation 거부, 거부 목록 상한, 청크 커밋, xlsx SAX 읽기 (H2)
+ * import는 청크마다 커밋하므로 테스트가 넣은 행은 사용자명 접두사로 지움
+ */
+@SpringBootTest(properties = {
+		"export.ingest.chunk-size=" + UserImportServiceTest.CHUNK_SIZE,
+		"export.ingest.max-errors=" + UserImportServiceTest.MAX_ERRORS
+})
+class UserImportServiceTest {
+
+	static final int CHUNK_SIZE = 2;
+	static final int MAX_ERRORS = 2;
+
+	private static final String PREFIX = "import_test_";
+
+	@Autowired
+	private UserImportService userImportService;
+
+	@Autowired
+	private UserImportController userImportController;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void deleteImportedUsers() {
+		jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", PREFIX + "%");
+	}
+
+	@Test
+	void csvImportsValidRowsAndReportsRejectedRows() {
+		// ID 열과 모르는 열(비고)은 무시, 헤더(사용자명)와 컬럼명(email) 모두 허용
+		String csv = "\uFEFFID,사용자명,email,나이,부서,생성일시,활성상태,비고\n"
+				+ "999," + PREFIX + "1," + PREFIX + "1@company.com,30,Engineering,2024-03-01 10:00:00,true,x\n"
+				+ "," + PREFIX + "2,not-an-email,31,Sales,,false,\n"
+				+ "," + PREFIX + "3," + PREFIX + "3@company.com,abc,HR,,,\n"
+				+ ",," + PREFIX + "4@company.com,200,HR,,,\n"
+				+ "," + PREFIX + "5," + PREFIX + "5@company.com,,Finance,2024-03-02,n,\n"
+				+ "," + PREFIX + "6," + PREFIX + "6@company.com,45,Sales,2024-03-03T08:15:30,,\n";
+
+		ImportResult result = userImportService.importUsers(csvFile(csv), ExportFormat.CSV);
+
+		assertThat(result.getTotalRows()).isEqualTo(6);
+		assertThat(result.getImportedRows()).isEqualTo(3);
+		assertThat(result.getRejectedRows()).isEqualTo(3);
+		// 2건씩 커밋 - 2건 + 남은 1건
+		assertThat(result.getChunks()).isEqualTo(2);
+
+		// 거부 사유는 앞에서부터 MAX_ERRORS건까지 (행 번호는 헤더를 1행으로 센 파일 기준)
+		assertThat(result.getErrors()).extracting(ImportRowError::getRow).containsExactly(3L, 4L);
+		assertThat(result.getErrors()).extracting(ImportRowError::getSheet).containsOnlyNulls();
+		assertThat(result.getErrors().get(0).getMessages()).singleElement().asString().startsWith("이메일:");
+		assertThat(result.getErrors().get(1).getMessages()).singleElement().asString().startsWith("나이: 정수가 아닙니다");
+		assertThat(result.isErrorsTruncated()).isTrue();
+
+		List<Map<String, Object>> users = importedUsers();
+		assertThat(users).extracting(user -> user.get("USERNAME"))
+				.containsExactly(PREFIX + "1", PREFIX + "5", PREFIX + "6");
+
+		Map<String, Object> first = users.get(0);
+		assertThat(first.get("ID")).isNotEqualTo(999L);
+		assertThat(first.get("EMAIL")).isEqualTo(PREFIX + "1@company.com");
+		assertThat(first.get("AGE")).isEqualTo(30);
+		assertThat(first.get("DEPARTMENT")).isEqualTo("Engineering");
+		assertThat(first.get("CREATED_AT")).isEqualTo(Timestamp.valueOf(LocalDateTime.of(2024, 3, 1, 10, 0)));
+		assertThat(first.get("ACTIVE")).isEqualTo(true);
+
+		Map<String, Object> fifth = users.get(1);
+		assertThat(fifth.get("AGE")).isNull();
+		assertThat(fifth.get("CREATED_AT")).isEqualTo(Timestamp.valueOf(LocalDateTime.of(2024, 3, 2, 0, 0)));
+		assertThat(fifth.get("ACTIVE")).isEqualTo(false);
+
+		// 활성상태가 비어 있으면 테이블 기본값과 같은 true
+		assertThat(users.get(2).get("CREATED_AT")).isEqualTo(Timestamp.valueOf(LocalDateTime.of(2024, 3, 3, 8, 15, 30)));
+		assertThat(users.get(2).get("ACTIVE")).isEqualTo(true);
+	}
+
+	@Test
+	void validationRejectionCarriesEveryViolatedColumn() {
+		String csv = "username,email,age\n"
+				+ ",bad,200\n";
+
+		ImportResult result = userImportService.importUsers(csvFile(csv), ExportFormat.CSV);
+
+		assertThat(result.getImportedRows()).isZero();
+		assertThat(result.getChunks()).isZero();
+		assertThat(result.isErrorsTruncated()).isFalse();
+		assertThat(result.getErrors()).singleElement().satisfies(error -> {
+			assertThat(error.getRow()).isEqualTo(2);
+			assertThat(error.getMessages()).hasSize(3).anyMatch(message -> message.startsWith("사용자명:"))
+					.anyMatch(message -> message.startsWith("이메일:")).anyMatch(message -> message.startsWith("나이:"));
+		});
+	}
+
+	@Test
+	void xlsxImportReadsEverySheetWithItsOwnHeader() throws Exception {
+		byte[] xlsx;
+		try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+			Sheet first = workbook.createSheet("첫 시트");
+			row(first, 0, "사용자명", "이메일", "나이");
+			row(first, 1, PREFIX + "x1", PREFIX + "x1@company.com", 25);
+			row(first, 2, PREFIX + "x2", "not-an-email", 26);
+			// 3행은 비어 있음 - 행 번호는 스프레드시트 기준으로 유지
+			row(first, 4, PREFIX + "x3", PREFIX + "x3@company.com", -1);
+
+			// 두 번째 시트는 열 순서가 다름
+			Sheet second = workbook.createSheet("둘째 시트");
+			row(second, 0, "email", "username", "active");
+			Row row = second.createRow(1);
+			row.createCell(0).setCellValue(PREFIX + "x4@company.com");
+			row.createCell(1).setCellValue(PREFIX + "x4");
+			row.createCell(2).setCellValue(false);
+			row(second, 2, PREFIX + "x5@company.com", PREFIX + "x5", "TRUE");
+
+			workbook.write(out);
+			xlsx = out.toByteArray();
+		}
+		MockMultipartFile file = new MockMultipartFile("file", "users.xlsx",
+				ExportFormat.XLSX.getContentType(), xlsx);
+
+		ImportResult result = userImportService.importUsers(file, ExportFormat.XLSX);
+
+		assertThat(result.getTotalRows()).isEqualTo(5);
+		assertThat(result.getImportedRows()).isEqualTo(3);
+		assertThat(result.getRejectedRows()).isEqualTo(2);
+		assertThat(result.getChunks()).isEqualTo(2);
+		assertThat(result.getErrors()).extracting(ImportRowError::getSheet, ImportRowError::getRow)
+				.containsExactly(tuple("첫 시트", 3L),
+						tuple("첫 시트", 5L));
+		assertThat(result.isErrorsTruncated()).isFalse();
+
+		List<Map<String, Object>> users = importedUsers();
+		assertThat(users).extracting(user -> user.get("USERNAME"))
+				.containsExactly(PREFIX + "x1", PREFIX + "x4", PREFIX + "x5");
+		assertThat(users.get(0).get("AGE")).isEqualTo(25);
+		assertThat(users.get(1).get("EMAIL")).isEqualTo(PREFIX + "x4@company.com");
+		assertThat(users.get(1).get("ACTIVE")).isEqualTo(false);
+		assertThat(users.get(2).get("ACTIVE")).isEqualTo(true);
+	}
+
+	@Test
+	void missingRequiredColumnIsRejectedAsBadRequest() {
+		String csv = "사용자명,나이\n" + PREFIX + "1,30\n";
+
+		assertThatThrownBy(() -> userImportService.importUsers(csvFile(csv), ExportFormat.CSV))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("필수 열");
+		assertThatThrownBy(() -> userImportController.importUsers(csvFile(csv), null))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+		assertThat(importedUsers()).isEmpty();
+	}
+
+	private List<Map<String, Object>> importedUsers() {
+		return jdbcTemplate.queryForList("SELECT * FROM users WHERE username LIKE ? ORDER BY id", PREFIX + "%");
+	}
+
+	private static MockMultipartFile csvFile(String csv) {
+		return new MockMultipartFile("file", "users.csv", ExportFormat.CSV.getContentType(),
+				csv.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void row(Sheet sheet, int rowIndex, Object... values) {
+		Row row = sheet.createRow(rowIndex);
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] instanceof Number number) {
+				row.createCell(i).setCellValue(number.doubleValue());
+			} else {
+				row.createCell(i).setCellValue((String) values[i]);
+			}
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.example.streaming.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentEncodingTest {
+
+	@Test
+	void negotiatesFromAcceptEncoding() {
+		assertThat(ContentEncoding.negotiate(null, true)).isEqualTo(ContentEncoding.IDENTITY);
+		assertThat(ContentEncoding.negotiate("br", true)).isEqualTo(ContentEncoding.IDENTITY);
+		assertThat(ContentEncoding.negotiate("gzip, deflate, br", true)).isEqualTo(ContentEncoding.GZIP);
+		assertThat(ContentEncoding.negotiate("gzip;q=0, deflate", true)).isEqualTo(ContentEncoding.IDENTITY);
+		assertThat(ContentEncoding.negotiate("*", false)).isEqualTo(ContentEncoding.GZIP);
+		// 명시한 거부(q=0)는 *보다 우선 - *는 목록에 없는 방식에만 적용
+		assertThat(ContentEncoding.negotiate("gzip;q=0, *", false)).isEqualTo(ContentEncoding.IDENTITY);
+		assertThat(ContentEncoding.negotiate("*, gzip;q=0", false)).isEqualTo(ContentEncoding.IDENTITY);
+		assertThat(ContentEncoding.negotiate("br, *;q=0.5", false)).isEqualTo(ContentEncoding.GZIP);
+		assertThat(ContentEncoding.negotiate("gzip, *;q=0", false)).isEqualTo(ContentEncoding.GZIP);
+		assertThat(ContentEncoding.negotiate("*;q=0", false)).isEqualTo(ContentEncoding.IDENTITY);
+		// zstd를 끄면 클라이언트가 지원해도 gzip
+		assertThat(ContentEncoding.negotiate("zstd, gzip", false)).isEqualTo(ContentEncoding.GZIP);
+	}
+
+	@Test
+	void gzipFlushEmitsWrittenRowsBeforeClose() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] row = "1,user_000001,user1@company.com\r\n".getBytes(StandardCharsets.UTF_8);
+
+		OutputStream gzip = ContentEncoding.GZIP.wrap(out, 1, 1024);
+		gzip.write(row);
+		gzip.flush();
+		int flushedBytes = out.size();
+		gzip.close();
+
+		// syncFlush - close 전에도 쓴 행이 압축 블록으로 나가 있어야 함 (헤더 10바이트보다 큼)
+		assertThat(flushedBytes).isGreaterThan(10);
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			assertThat(in.readAllBytes()).isEqualTo(row);
+		}
+	}
+}
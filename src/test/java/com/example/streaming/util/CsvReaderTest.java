@@ -0,0 +1,89 @@
+package com.example.streaming.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+	@Test
+	void readsQuotedFieldsWrittenByCsvWriter() throws Exception {
+		String csv = "\uFEFFID,사용자명,부서\r\n"
+				+ "1,\"kim, \"\"jr\"\"\",\"line1\nline2\"\r\n"
+				+ "2,,\r\n";
+
+		List<String[]> records = readAll(csv, 64);
+
+		assertThat(records).hasSize(3);
+		// BOM은 첫 필드에 남지 않음
+		assertThat(records.get(0)).containsExactly("ID", "사용자명", "부서");
+		assertThat(records.get(1)).containsExactly("1", "kim, \"jr\"", "line1\nline2");
+		assertThat(records.get(2)).containsExactly("2", "", "");
+	}
+
+	@Test
+	void acceptsMixedLineEndingsAndSkipsBlankLines() throws Exception {
+		List<String[]> records = readAll("a,b\n\r\nc,d\re,f", 64);
+
+		assertThat(records).extracting(record -> String.join("|", record))
+				.containsExactly("a|b", "c|d", "e|f");
+	}
+
+	@Test
+	void growsBufferForRecordsLongerThanBuffer() throws Exception {
+		StringBuilder csv = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			csv.append(i).append(",\"사용자_").append(i).append(" \"\"q\"\"\",").append("x".repeat(i)).append("\r\n");
+		}
+
+		// 버퍼보다 긴 레코드, 버퍼 경계에 걸친 큰따옴표/CRLF를 모두 지나가도록 아주 작은 버퍼
+		List<String[]> records = readAll(csv.toString(), 4);
+
+		assertThat(records).hasSize(200);
+		for (int i = 0; i < 200; i++) {
+			assertThat(records.get(i)).containsExactly(String.valueOf(i), "사용자_" + i + " \"q\"", "x".repeat(i));
+		}
+	}
+
+	@Test
+	void countsRecordsExcludingBlankLines() throws Exception {
+		try (CsvReader reader = reader("h\n\nv1\nv2\n", 64)) {
+			reader.readRecord();
+			reader.readRecord();
+			assertThat(reader.getRecordNumber()).isEqualTo(2);
+			reader.readRecord();
+			assertThat(reader.getRecordNumber()).isEqualTo(3);
+			assertThat(reader.readRecord()).isNull();
+		}
+	}
+
+	@Test
+	void rejectsUnterminatedQuote() throws Exception {
+		try (CsvReader reader = reader("a,\"b\nc", 64)) {
+			assertThatThrownBy(reader::readRecord).isInstanceOf(CsvReader.CsvFormatException.class);
+		}
+	}
+
+	private List<String[]> readAll(String csv, int bufferSize) throws Exception {
+		List<String[]> records = new ArrayList<>();
+		try (CsvReader reader = reader(csv, bufferSize)) {
+			String[] record;
+			while ((record = reader.readRecord()) != null) {
+				records.add(record);
+			}
+		}
+		return records;
+	}
+
+	private CsvReader reader(String csv, int bufferSize) {
+		return new CsvReader(Channels.newChannel(
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))), bufferSize);
+	}
+}
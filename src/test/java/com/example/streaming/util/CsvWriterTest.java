@@ -0,0 +1,49 @@
+package com.example.streaming.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTest {
+
+	@Test
+	void quotesOnlyFieldsThatNeedIt() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CsvWriter writer = new CsvWriter(out, 64);
+
+		writer.writeField("plain");
+		writer.writeField("a,b");
+		writer.writeField("say \"hi\"");
+		writer.writeField("line\nbreak");
+		writer.writeField((String) null);
+		writer.endRow();
+		writer.flush();
+
+		assertThat(out.toString(StandardCharsets.UTF_8))
+				.isEqualTo("plain,\"a,b\",\"say \"\"hi\"\"\",\"line\nbreak\",\r\n");
+	}
+
+	@Test
+	void writesBomAndMultiByteTextAcrossBufferBoundaries() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CsvWriter writer = new CsvWriter(out, 64);
+		String korean = "사용자명".repeat(20);
+
+		writer.writeBom();
+		writer.writeField(korean);
+		writer.writeField(-42L);
+		writer.writeField(LocalDateTime.of(2025, 1, 2, 3, 4, 5));
+		writer.writeField(Boolean.FALSE);
+		writer.endRow();
+		writer.flush();
+
+		byte[] bytes = out.toByteArray();
+		assertThat(bytes).startsWith((byte) 0xEF, (byte) 0xBB, (byte) 0xBF);
+		assertThat(new String(bytes, 3, bytes.length - 3, StandardCharsets.UTF_8))
+				.isEqualTo(korean + ",-42,2025-01-02 03:04:05,false\r\n");
+	}
+}
@@ -0,0 +1,56 @@
+package com.example.streaming.util;
+
+import com.example.streaming.dto.UserDto;
+import com.example.streaming.service.ExcelUserWriter;
+import com.example.streaming.service.ExportFormat;
+import com.example.streaming.service.UserColumn;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExcelUtilTest {
+
+	@Test
+	void createExcelRespondsWithContentLength() throws Exception {
+		List<UserDto> users = LongStream.rangeClosed(1, 50)
+				.mapToObj(id -> UserDto.builder().id(id).username("user_" + id).build())
+				.toList();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		ExcelUtil.createExcel(users, response);
+
+		byte[] body = response.getContentAsByteArray();
+		assertThat(response.getContentType()).isEqualTo(ExportFormat.XLSX.getContentType());
+		assertThat(response.getContentLength()).isEqualTo(body.length);
+
+		try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(body))) {
+			Sheet sheet = workbook.getSheetAt(0);
+			assertThat(sheet.getLastRowNum()).isEqualTo(users.size());
+			assertThat(sheet.getRow(50).getCell(1).getStringCellValue()).isEqualTo("user_50");
+		}
+	}
+
+	@Test
+	void toBytesGrowsPastUnderestimatedSize() throws Exception {
+		try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+			ExcelUserWriter writer = ExcelUtil.createUserSheet(workbook, List.of(UserColumn.ID), 10);
+			for (long id = 1; id <= 100; id++) {
+				writer.writeRow(UserDto.builder().id(id).build());
+			}
+
+			byte[] bytes = ExcelUtil.toBytes(workbook, 0);
+
+			try (Workbook read = new XSSFWorkbook(new ByteArrayInputStream(bytes))) {
+				assertThat(read.getNumberOfSheets()).isEqualTo(10);
+			}
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.example.streaming.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedCsvReaderTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void swarMatchesOnlyEqualBytes() {
+		long word = 0x2C41222C0A0D2C2CL; // 바이트(하위부터): , , \r \n , " A ,
+		long commas = MappedCsvReader.matches(word, 0x0101010101010101L * ',');
+
+		assertThat(Long.bitCount(commas)).isEqualTo(4);
+		assertThat(Long.numberOfTrailingZeros(commas) >>> 3).isZero();
+		assertThat(MappedCsvReader.matches(word, 0x0101010101010101L * '"'))
+				.isEqualTo(0x0000800000000000L);
+	}
+
+	@Test
+	void splitRangesStartAtRecordsOutsideQuotedNewlines() throws Exception {
+		StringBuilder csv = new StringBuilder("\uFEFFID,사용자명,생성일시,활성화\r\n");
+		for (int i = 1; i <= 5000; i++) {
+			String name = i % 3 == 0 ? "\"kim\n\"\"" + i + "\"\"\"" : "user_" + i;
+			csv.append(i).append(',').append(name).append(",2024-01-02 03:04:05,").append(i % 2 == 0).append("\r\n");
+		}
+		Path file = write(csv.toString());
+
+		// 작은 창으로 창 경계에 걸친 레코드를 다시 매핑하는 경로도 지나가도록 함
+		try (MappedCsvReader reader = new MappedCsvReader(file, 256)) {
+			long[] dataStart = new long[1];
+			reader.read(new MappedCsvReader.Range(0, reader.size()), record -> {
+				assertThat(record.toStrings()).containsExactly("ID", "사용자명", "생성일시", "활성화");
+				dataStart[0] = record.getEndOffset();
+				return false;
+			});
+
+			List<MappedCsvReader.Range> ranges = reader.split(dataStart[0], 7);
+			assertThat(ranges).hasSize(7);
+
+			List<Long> ids = new ArrayList<>();
+			for (MappedCsvReader.Range range : ranges) {
+				reader.read(range, record -> {
+					long id = record.getLong(0);
+					ids.add(id);
+					assertThat(record.getString(1)).isEqualTo(id % 3 == 0 ? "kim\n\"" + id + "\"" : "user_" + id);
+					assertThat(record.getDateTime(2)).isEqualTo(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+					assertThat(record.getBoolean(3)).isEqualTo(id % 2 == 0);
+					return true;
+				});
+			}
+			assertThat(ids).hasSize(5000);
+			assertThat(ids).isSorted().startsWith(1L).endsWith(5000L);
+		}
+	}
+
+	@Test
+	void parsesNumbersWithoutDecodingStrings() throws Exception {
+		Path file = write("-9223372036854775808,42,,x\n");
+
+		try (MappedCsvReader reader = new MappedCsvReader(file)) {
+			reader.read(new MappedCsvReader.Range(0, reader.size()), record -> {
+				assertThat(record.getLong(0)).isEqualTo(Long.MIN_VALUE);
+				assertThat(record.getInt(1)).isEqualTo(42);
+				assertThat(record.isEmpty(2)).isTrue();
+				assertThat(record.equalsAscii(3, "x")).isTrue();
+				assertThat(record.getEndOffset()).isEqualTo(reader.size());
+				return true;
+			});
+		}
+	}
+
+	private Path write(String csv) throws Exception {
+		Path file = tempDir.resolve("users.csv");
+		Files.write(file, csv.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
@@ -0,0 +1,42 @@
+package com.example.streaming.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkippingOutputStreamTest {
+
+	@Test
+	void skipsAcrossWritesAndTracksFilePosition() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SkippingOutputStream stream = new SkippingOutputStream(out, 10, 5);
+
+		stream.write("abc".getBytes(StandardCharsets.US_ASCII));
+		stream.write('d');
+		stream.write("efgh".getBytes(StandardCharsets.US_ASCII), 0, 4);
+		stream.write('i');
+
+		assertThat(out.toString(StandardCharsets.US_ASCII)).isEqualTo("fghi");
+		assertThat(stream.getPosition()).isEqualTo(19);
+	}
+
+	@Test
+	void resumedOutputCompletesOriginal() throws Exception {
+		byte[] original = "id,username\r\n1,user_000001\r\n2,user_000002\r\n".getBytes(StandardCharsets.UTF_8);
+		int received = 20;
+		int checkpoint = 13;
+
+		ByteArrayOutputStream resumed = new ByteArrayOutputStream();
+		SkippingOutputStream stream = new SkippingOutputStream(resumed, checkpoint, received - checkpoint);
+		stream.write(original, checkpoint, original.length - checkpoint);
+
+		ByteArrayOutputStream file = new ByteArrayOutputStream();
+		file.write(original, 0, received);
+		file.write(resumed.toByteArray());
+		assertThat(file.toByteArray()).isEqualTo(original);
+		assertThat(stream.getPosition()).isEqualTo(original.length);
+	}
+}
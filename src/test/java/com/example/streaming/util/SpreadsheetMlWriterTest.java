@@ -0,0 +1,108 @@
+package com.example.streaming.util;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.zip.Deflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpreadsheetMlWriterTest {
+
+	@Test
+	void writesWorkbookThatPoiCanRead() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SpreadsheetMlWriter writer = new SpreadsheetMlWriter(out, 64, Deflater.BEST_SPEED);
+		LocalDateTime createdAt = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+
+		writer.startSheet("사용자 목록");
+		writer.startRow();
+		writer.writeString("이름 <&>", SpreadsheetMlWriter.STYLE_HEADER);
+		writer.endRow();
+		writer.startRow();
+		writer.writeNumber(42L, SpreadsheetMlWriter.STYLE_DATA);
+		writer.writeString(" 사용자명😀 ", SpreadsheetMlWriter.STYLE_DATA);
+		writer.writeDate(createdAt, SpreadsheetMlWriter.STYLE_DATE);
+		writer.writeBoolean(Boolean.TRUE, SpreadsheetMlWriter.STYLE_DATA);
+		writer.writeNumber((Integer) null, SpreadsheetMlWriter.STYLE_DATA);
+		writer.endRow();
+		writer.close();
+
+		try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+			Sheet sheet = workbook.getSheet("사용자 목록");
+			assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("이름 <&>");
+			assertThat(sheet.getRow(0).getCell(0).getCellStyle().getFillPattern()).isEqualTo(FillPatternType.SOLID_FOREGROUND);
+
+			Row row = sheet.getRow(1);
+			assertThat(row.getCell(0).getNumericCellValue()).isEqualTo(42);
+			assertThat(row.getCell(1).getStringCellValue()).isEqualTo(" 사용자명😀 ");
+			assertThat(row.getCell(2).getLocalDateTimeCellValue()).isEqualTo(createdAt);
+			assertThat(row.getCell(2).getCellStyle().getDataFormatString()).isEqualTo("yyyy-mm-dd hh:mm:ss");
+			assertThat(row.getCell(3).getBooleanCellValue()).isTrue();
+
+			Cell blank = row.getCell(4);
+			assertThat(blank.getCellType()).isEqualTo(CellType.BLANK);
+		}
+	}
+
+	@Test
+	void writesOneWorksheetPartPerSheet() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SpreadsheetMlWriter writer = new SpreadsheetMlWriter(out);
+
+		for (int sheet = 1; sheet <= 3; sheet++) {
+			writer.startSheet("part " + sheet);
+			for (int i = 0; i < 30; i++) {
+				writer.startRow();
+				writer.writeNumber(i, SpreadsheetMlWriter.STYLE_DATA);
+				writer.endRow();
+			}
+		}
+		writer.close();
+
+		try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+			assertThat(workbook.getNumberOfSheets()).isEqualTo(3);
+			assertThat(workbook.getSheetAt(2).getSheetName()).isEqualTo("part 3");
+			assertThat(workbook.getSheetAt(2).getLastRowNum()).isEqualTo(29);
+			assertThat(workbook.getSheetAt(2).getRow(29).getCell(0).getNumericCellValue()).isEqualTo(29);
+		}
+	}
+
+	@Test
+	void writesBoundedSharedStringTable() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SpreadsheetMlWriter writer = new SpreadsheetMlWriter(out);
+		writer.setSharedStringLimit(2);
+
+		writer.startSheet("부서");
+		for (String department : new String[]{"영업 & 기획", " HR ", "영업 & 기획", "Finance"}) {
+			writer.startRow();
+			int index = writer.sharedString(department);
+			if (index < 0) {
+				writer.writeString(department, SpreadsheetMlWriter.STYLE_DATA);
+			} else {
+				writer.writeSharedString(index, SpreadsheetMlWriter.STYLE_DATA);
+			}
+			writer.endRow();
+		}
+		writer.close();
+
+		assertThat(writer.getSharedStringCount()).isEqualTo(2);
+		try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+			Sheet sheet = workbook.getSheet("부서");
+			assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("영업 & 기획");
+			assertThat(sheet.getRow(1).getCell(0).getStringCellValue()).isEqualTo(" HR ");
+			assertThat(sheet.getRow(2).getCell(0).getStringCellValue()).isEqualTo("영업 & 기획");
+			assertThat(sheet.getRow(3).getCell(0).getStringCellValue()).isEqualTo("Finance");
+			assertThat(workbook.getSharedStringSource().getUniqueCount()).isEqualTo(2);
+		}
+	}
+}